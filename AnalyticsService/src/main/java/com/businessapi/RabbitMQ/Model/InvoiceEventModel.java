@@ -0,0 +1,27 @@
+package com.businessapi.RabbitMQ.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class InvoiceEventModel {
+    Long id;
+    Long productId;
+    String productName;
+    Integer quantity;
+    BigDecimal price;
+    BigDecimal totalAmount;
+    LocalDate invoiceDate;
+    String status;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.businessapi.RabbitMQ.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class StockMovementEventModel {
+    Long id;
+    Long memberId;
+    Long productId;
+    Long warehouseId;
+    Integer quantity;
+    String stockMovementType;
+    String status;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -29,10 +29,10 @@ public class JwtTokenFilter extends OncePerRequestFilter {
             // Extract token value
             token = token.substring(7);
 
-            // Validate token
-            if (jwtTokenManager.validateToken(token)) {
-                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(null, token));
-            }
+            // Validate token, the authId is the principal and the raw token stays as credentials for DataSourceService
+            String credentials = token;
+            jwtTokenManager.getIdFromToken(token).ifPresent(authId ->
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(authId, credentials)));
         }
 
         filterChain.doFilter(request, response);
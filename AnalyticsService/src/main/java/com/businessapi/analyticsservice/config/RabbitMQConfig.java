@@ -0,0 +1,114 @@
+package com.businessapi.analyticsservice.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String DIRECT_EXCHANGE = "businessDirectExchange";
+
+    // Domain events published by Stock, Finance and HRM services after each committed write
+    public static final String QUEUE_ORDER_EVENT = "queueAnalyticsOrderEvent";
+    public static final String QUEUE_STOCK_MOVEMENT_EVENT = "queueAnalyticsStockMovementEvent";
+    public static final String QUEUE_INVOICE_EVENT = "queueAnalyticsInvoiceEvent";
+    public static final String QUEUE_EXPENSE_EVENT = "queueAnalyticsExpenseEvent";
+    public static final String QUEUE_PAYROLL_EVENT = "queueAnalyticsPayrollEvent";
+    public static final String QUEUE_PERFORMANCE_EVENT = "queueAnalyticsPerformanceEvent";
+
+    // Backfill RPC keys, the queues themselves are declared by the owning services
+    public static final String KEY_BACKFILL_ORDER = "keyAnalyticsBackfillOrder";
+    public static final String KEY_BACKFILL_STOCK_MOVEMENT = "keyAnalyticsBackfillStockMovement";
+    public static final String KEY_BACKFILL_INVOICE = "keyAnalyticsBackfillInvoice";
+    public static final String KEY_BACKFILL_EXPENSE = "keyAnalyticsBackfillExpense";
+    public static final String KEY_BACKFILL_PAYROLL = "keyAnalyticsBackfillPayroll";
+    public static final String KEY_BACKFILL_PERFORMANCE = "keyAnalyticsBackfillPerformance";
+
+    private static final long REPLY_TIMEOUT = 30_000;
+
+    @Bean
+    public DirectExchange directExchange() {
+        return new DirectExchange(DIRECT_EXCHANGE);
+    }
+
+    @Bean
+    public Queue queueAnalyticsOrderEvent() {
+        return new Queue(QUEUE_ORDER_EVENT);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsOrderEvent(Queue queueAnalyticsOrderEvent, DirectExchange directExchange) {
+        return BindingBuilder.bind(queueAnalyticsOrderEvent).to(directExchange).with("keyAnalyticsOrderEvent");
+    }
+
+    @Bean
+    public Queue queueAnalyticsStockMovementEvent() {
+        return new Queue(QUEUE_STOCK_MOVEMENT_EVENT);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsStockMovementEvent(Queue queueAnalyticsStockMovementEvent, DirectExchange directExchange) {
+        return BindingBuilder.bind(queueAnalyticsStockMovementEvent).to(directExchange).with("keyAnalyticsStockMovementEvent");
+    }
+
+    @Bean
+    public Queue queueAnalyticsInvoiceEvent() {
+        return new Queue(QUEUE_INVOICE_EVENT);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsInvoiceEvent(Queue queueAnalyticsInvoiceEvent, DirectExchange directExchange) {
+        return BindingBuilder.bind(queueAnalyticsInvoiceEvent).to(directExchange).with("keyAnalyticsInvoiceEvent");
+    }
+
+    @Bean
+    public Queue queueAnalyticsExpenseEvent() {
+        return new Queue(QUEUE_EXPENSE_EVENT);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsExpenseEvent(Queue queueAnalyticsExpenseEvent, DirectExchange directExchange) {
+        return BindingBuilder.bind(queueAnalyticsExpenseEvent).to(directExchange).with("keyAnalyticsExpenseEvent");
+    }
+
+    @Bean
+    public Queue queueAnalyticsPayrollEvent() {
+        return new Queue(QUEUE_PAYROLL_EVENT);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsPayrollEvent(Queue queueAnalyticsPayrollEvent, DirectExchange directExchange) {
+        return BindingBuilder.bind(queueAnalyticsPayrollEvent).to(directExchange).with("keyAnalyticsPayrollEvent");
+    }
+
+    @Bean
+    public Queue queueAnalyticsPerformanceEvent() {
+        return new Queue(QUEUE_PERFORMANCE_EVENT);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsPerformanceEvent(Queue queueAnalyticsPerformanceEvent, DirectExchange directExchange) {
+        return BindingBuilder.bind(queueAnalyticsPerformanceEvent).to(directExchange).with("keyAnalyticsPerformanceEvent");
+    }
+
+    @Bean
+    MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    RabbitTemplate rabbitTemplate(ConnectionFactory factory) {
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(factory);
+        rabbitTemplate.setMessageConverter(messageConverter());
+        rabbitTemplate.setReplyTimeout(REPLY_TIMEOUT);
+        return rabbitTemplate;
+    }
+}
@@ -4,6 +4,8 @@ import com.businessapi.analyticsservice.dto.request.DataSourceRequestDto;
 import com.businessapi.analyticsservice.dto.response.DataSourceResponseDto;
 import com.businessapi.analyticsservice.dto.response.ResponseDTO;
 import com.businessapi.analyticsservice.service.DataSourceService;
+import com.businessapi.analyticsservice.service.FactBackfillService;
+import com.businessapi.analyticsservice.service.RollupService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -14,9 +16,38 @@ import java.util.List;
 public class DataSourceController {
 
     private final DataSourceService dataSourceService;
+    private final FactBackfillService factBackfillService;
+    private final RollupService rollupService;
 
-    public DataSourceController(DataSourceService dataSourceService) {
+    public DataSourceController(DataSourceService dataSourceService, FactBackfillService factBackfillService, RollupService rollupService) {
         this.dataSourceService = dataSourceService;
+        this.factBackfillService = factBackfillService;
+        this.rollupService = rollupService;
+    }
+
+    // Loads existing order, stock-movement, invoice, expense, payroll or performance rows into the fact tables
+    @PostMapping("/backfill/{endpointType}")
+    public ResponseEntity<ResponseDTO<Long>> backfill(@PathVariable String endpointType, @RequestParam(defaultValue = "false") boolean reset) {
+        return ResponseEntity.ok(
+                ResponseDTO.<Long>builder()
+                        .data(factBackfillService.backfill(endpointType, reset))
+                        .message("Backfill completed successfully")
+                        .code(200)
+                        .build()
+        );
+    }
+
+    // Recomputes the sales and warehouse stock rollups from the fact tables
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ResponseDTO<Boolean>> rebuildRollups() {
+        rollupService.rebuild();
+        return ResponseEntity.ok(
+                ResponseDTO.<Boolean>builder()
+                        .data(true)
+                        .message("Rollups rebuilt successfully")
+                        .code(200)
+                        .build()
+        );
     }
 
     @PostMapping("/fetch-and-save/{serviceType}/{endpointType}")
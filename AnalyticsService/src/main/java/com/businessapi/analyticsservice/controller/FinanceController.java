@@ -3,10 +3,8 @@ package com.businessapi.analyticsservice.controller;
 import com.businessapi.analyticsservice.dto.response.ResponseDTO;
 import com.businessapi.analyticsservice.entity.financeService.entity.Expense;
 import com.businessapi.analyticsservice.entity.financeService.entity.FinancialReport;
-import com.businessapi.analyticsservice.entity.financeService.entity.Invoice;
 import com.businessapi.analyticsservice.entity.financeService.entity.Tax;
 import com.businessapi.analyticsservice.entity.financeService.enums.EFinancialReportType;
-import com.businessapi.analyticsservice.entity.financeService.enums.EInvoiceStatus;
 import com.businessapi.analyticsservice.entity.financeService.enums.ETaxType;
 import com.businessapi.analyticsservice.service.FinanceService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,12 +30,10 @@ public class FinanceController {
 
     @GetMapping("/status-count")
     @Operation(summary = "Get invoice status count")
-    public ResponseEntity<ResponseDTO<Map<EInvoiceStatus, Long>>> getInvoiceStatusCount() throws Exception {
-        String jsonInvoice = financeService.getDataFromDataSource("invoice");
-        List<Invoice> invoice = financeService.parseInvoice(jsonInvoice);
-        Map<EInvoiceStatus, Long> statusCount = financeService.getInvoiceStatusCount(invoice);
+    public ResponseEntity<ResponseDTO<Map<String, Long>>> getInvoiceStatusCount() {
+        Map<String, Long> statusCount = financeService.getInvoiceStatusCount();
         return ResponseEntity.ok(
-                ResponseDTO.<Map<EInvoiceStatus, Long>>builder()
+                ResponseDTO.<Map<String, Long>>builder()
                         .data(statusCount)
                         .message("Invoice status count fetched successfully")
                         .code(200)
@@ -88,7 +84,7 @@ public class FinanceController {
             @RequestParam(required = false) LocalDate startDate,
             @RequestParam(required = false) LocalDate endDate,
             @RequestParam(required = false) Double minAmount,
-            @RequestParam(required = false) Double maxAmount) throws Exception {
+            @RequestParam(required = false) Double maxAmount) {
 
         List<Expense> filteredExpenses = financeService.getExpenses(startDate, endDate, minAmount, maxAmount);
         return ResponseEntity.ok(
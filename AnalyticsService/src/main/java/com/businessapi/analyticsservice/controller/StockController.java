@@ -1,7 +1,6 @@
 package com.businessapi.analyticsservice.controller;
 
-import com.businessapi.analyticsservice.entity.stockService.entity.Order;
-import com.businessapi.analyticsservice.entity.stockService.entity.StockMovement;
+import com.businessapi.analyticsservice.entity.rollup.ERollupPeriod;
 import com.businessapi.analyticsservice.entity.stockService.entity.Supplier;
 import com.businessapi.analyticsservice.service.StockService;
 import com.businessapi.analyticsservice.entity.stockService.entity.Product;
@@ -32,9 +31,7 @@ public class StockController {
     @GetMapping("/get-total-sales")
     @Operation(summary = "Get total sales")
     public ResponseEntity<ResponseDTO<BigDecimal>> getTotalSales() throws Exception {
-        String jsonOrders = stockService.getDataFromDataSource("order");
-        List<Order> orders = stockService.parseOrders(jsonOrders);
-        BigDecimal totalSales = stockService.analyzeTotalSalesOverTime(orders);
+        BigDecimal totalSales = stockService.analyzeTotalSalesOverTime();
 
         return ResponseEntity.ok(ResponseDTO.<BigDecimal>builder()
                 .data(totalSales)
@@ -47,11 +44,12 @@ public class StockController {
      * Product
      */
     @GetMapping("/sales-per-day")
-    @Operation(summary = "Get total sales per day")
-    public ResponseEntity<ResponseDTO<Map<LocalDate, BigDecimal>>> calculateTotalSalesPerDay() throws Exception {
-        String jsonOrders = stockService.getDataFromDataSource("order");
-        List<Order> orders = stockService.parseOrders(jsonOrders);
-        Map<LocalDate, BigDecimal> totalSalesByDay = stockService.calculateTotalSalesPerDay(orders);
+    @Operation(summary = "Get total sales per day, week or month")
+    public ResponseEntity<ResponseDTO<Map<LocalDate, BigDecimal>>> calculateTotalSalesPerDay(
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") ERollupPeriod period) {
+        Map<LocalDate, BigDecimal> totalSalesByDay = stockService.calculateTotalSalesPerDay(startDate, endDate, period);
 
         return ResponseEntity.ok(ResponseDTO.<Map<LocalDate, BigDecimal>>builder()
                 .data(totalSalesByDay)
@@ -63,9 +61,7 @@ public class StockController {
     // Endpoint to export total sales to Excel
     @GetMapping("/export-total-sales")
     public ResponseEntity<byte[]> exportTotalSales() throws Exception {
-        String jsonOrders = stockService.getDataFromDataSource("order");
-        List<Order> orders = stockService.parseOrders(jsonOrders);
-        return stockService.exportTotalSalesToExcel(orders);
+        return stockService.exportTotalSalesToExcel();
     }
 
     @PostMapping("/low-stock")
@@ -88,9 +84,7 @@ public class StockController {
     @PostMapping("/stock-per-warehouse")
     @Operation(summary = "Get stock per warehouse")
     public ResponseEntity<ResponseDTO<Map<Long, Integer>>> getStockPerWarehouse() throws Exception {
-        String jsonStockMovements = stockService.getDataFromDataSource("stock-movement");
-        List<StockMovement> stockMovements = stockService.parseStockMovement(jsonStockMovements);
-        Map<Long, Integer> stockPerWarehouse = stockService.analyzeStockPerWarehouse(stockMovements);
+        Map<Long, Integer> stockPerWarehouse = stockService.analyzeStockPerWarehouse();
         return ResponseEntity.ok(ResponseDTO.<Map<Long, Integer>>builder()
                 .data(stockPerWarehouse)
                 .message("Success")
@@ -0,0 +1,24 @@
+package com.businessapi.analyticsservice.entity.fact;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Last source id copied for a fact stream, so an interrupted backfill resumes where it stopped
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tbl_backfill_cursor")
+public class BackfillCursor {
+
+    @Id
+    private String stream;
+    private Long lastId;
+    private LocalDateTime updatedAt;
+}
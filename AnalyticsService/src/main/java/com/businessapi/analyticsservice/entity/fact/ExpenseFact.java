@@ -0,0 +1,34 @@
+package com.businessapi.analyticsservice.entity.fact;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row per FinanceService expense, keyed by the source expense id
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tbl_expense_fact", indexes = {
+        @Index(name = "idx_expense_fact_date_amount", columnList = "expenseDate, amount")
+})
+public class ExpenseFact {
+
+    @Id
+    private Long id;
+    private Long departmentId;
+    private String expenseCategory;
+    private LocalDate expenseDate;
+    private BigDecimal amount;
+    private String description;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
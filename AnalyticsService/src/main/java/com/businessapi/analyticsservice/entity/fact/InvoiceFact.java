@@ -0,0 +1,36 @@
+package com.businessapi.analyticsservice.entity.fact;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row per FinanceService invoice, keyed by the source invoice id
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tbl_invoice_fact", indexes = {
+        @Index(name = "idx_invoice_fact_status", columnList = "status"),
+        @Index(name = "idx_invoice_fact_date", columnList = "invoiceDate")
+})
+public class InvoiceFact {
+
+    @Id
+    private Long id;
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal totalAmount;
+    private LocalDate invoiceDate;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.businessapi.analyticsservice.entity.fact;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row per StockService order, keyed by the source order id and kept current by order events
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tbl_order_fact", indexes = {
+        @Index(name = "idx_order_fact_member_type_date", columnList = "memberId, orderType, orderDate")
+})
+public class OrderFact {
+
+    @Id
+    private Long id;
+    private Long memberId;
+    private Long customerId;
+    private Long supplierId;
+    private Long productId;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal total;
+    private String orderType;  //BUY, SELL
+    private String status;
+    private LocalDate orderDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.businessapi.analyticsservice.entity.fact;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One row per HRMService payroll, keyed by the source payroll id
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tbl_payroll_fact", indexes = {
+        @Index(name = "idx_payroll_fact_salary_date", columnList = "salaryDate"),
+        @Index(name = "idx_payroll_fact_employee", columnList = "employeeId")
+})
+public class PayrollFact {
+
+    @Id
+    private Long id;
+    private Long employeeId;
+    private LocalDate salaryDate;
+    private Double grossSalary;
+    private Double deductions;
+    private Double netSalary;
+    private String status;
+}
@@ -0,0 +1,29 @@
+package com.businessapi.analyticsservice.entity.fact;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One row per HRMService performance record, keyed by the source performance id
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tbl_performance_fact", indexes = {
+        @Index(name = "idx_performance_fact_date", columnList = "date"),
+        @Index(name = "idx_performance_fact_employee", columnList = "employeeId")
+})
+public class PerformanceFact {
+
+    @Id
+    private Long id;
+    private Long employeeId;
+    private LocalDate date;
+    private Integer score;
+    private String status;
+}
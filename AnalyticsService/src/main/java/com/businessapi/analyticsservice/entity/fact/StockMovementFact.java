@@ -0,0 +1,32 @@
+package com.businessapi.analyticsservice.entity.fact;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per StockService stock movement, keyed by the source movement id
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tbl_stock_movement_fact", indexes = {
+        @Index(name = "idx_stock_movement_fact_member_warehouse", columnList = "memberId, warehouseId")
+})
+public class StockMovementFact {
+
+    @Id
+    private Long id;
+    private Long memberId;
+    private Long productId;
+    private Long warehouseId;
+    private Integer quantity;
+    private String stockMovementType;  //IN, OUT
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
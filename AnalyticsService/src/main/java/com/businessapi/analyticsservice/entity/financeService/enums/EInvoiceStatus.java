@@ -1,8 +0,0 @@
-package com.businessapi.analyticsservice.entity.financeService.enums;
-
-public enum EInvoiceStatus {
-    PAID,
-    UNPAID,
-    PARTIALLY_PAID,
-    PENDING
-}
@@ -0,0 +1,37 @@
+package com.businessapi.analyticsservice.entity.rollup;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Sales of one member on one day, maintained from ingested SELL orders that are not deleted
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@IdClass(DailySalesRollup.Key.class)
+@Table(name = "tbl_daily_sales_rollup")
+public class DailySalesRollup {
+
+    @Id
+    private Long memberId;
+    @Id
+    private LocalDate salesDate;
+    private BigDecimal total;
+    private Long orderCount;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class Key implements Serializable {
+        private Long memberId;
+        private LocalDate salesDate;
+    }
+}
@@ -0,0 +1,7 @@
+package com.businessapi.analyticsservice.entity.rollup;
+
+public enum ERollupPeriod {
+    DAY,
+    WEEK,   // ISO week, keyed by its Monday
+    MONTH   // keyed by the first day of the month
+}
@@ -0,0 +1,34 @@
+package com.businessapi.analyticsservice.entity.rollup;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Net stock of one member in one warehouse, IN movements add and OUT movements subtract
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@IdClass(WarehouseStockRollup.Key.class)
+@Table(name = "tbl_warehouse_stock_rollup")
+public class WarehouseStockRollup {
+
+    @Id
+    private Long memberId;
+    @Id
+    private Long warehouseId;
+    private Long quantity;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class Key implements Serializable {
+        private Long memberId;
+        private Long warehouseId;
+    }
+}
@@ -1,34 +0,0 @@
-package com.businessapi.analyticsservice.entity.stockService.entity;
-
-import com.businessapi.analyticsservice.util.CustomLocalDateTimeDeserializer;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-@Builder
-@JsonIgnoreProperties(ignoreUnknown = true)
-public class Order {
-    private Long id;
-    private Long customerId;
-    private Long productId;
-    private Integer quantity;
-    private BigDecimal unitPrice;
-    private BigDecimal total;
-    private String status;
-    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
-    private LocalDateTime createdAt;
-
-    @JsonDeserialize(using = CustomLocalDateTimeDeserializer.class)
-    private LocalDateTime updatedAt;
-
-}
-
@@ -1,6 +0,0 @@
-package com.businessapi.analyticsservice.entity.stockService.enums;
-
-public enum EStockMovementType
-{
-    IN,OUT
-}
@@ -0,0 +1,9 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.fact.BackfillCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BackfillCursorRepository extends JpaRepository<BackfillCursor, String> {
+}
@@ -0,0 +1,44 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.rollup.DailySalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, DailySalesRollup.Key> {
+
+    // Adds a delta to the (member, day) row in one statement, so concurrent consumers never lose an update
+    @Modifying
+    @Query(value = "INSERT INTO tbl_daily_sales_rollup (member_id, sales_date, total, order_count) " +
+            "VALUES (:memberId, :salesDate, :total, :orderCount) " +
+            "ON CONFLICT (member_id, sales_date) DO UPDATE SET " +
+            "total = tbl_daily_sales_rollup.total + EXCLUDED.total, " +
+            "order_count = tbl_daily_sales_rollup.order_count + EXCLUDED.order_count", nativeQuery = true)
+    void addSales(@Param("memberId") Long memberId, @Param("salesDate") LocalDate salesDate,
+                  @Param("total") BigDecimal total, @Param("orderCount") long orderCount);
+
+    List<DailySalesRollup> findAllByMemberIdAndSalesDateBetweenOrderBySalesDateAsc(Long memberId, LocalDate startDate, LocalDate endDate);
+
+    List<DailySalesRollup> findAllByMemberIdOrderBySalesDateAsc(Long memberId);
+
+    @Query("SELECT COALESCE(SUM(r.total), 0) FROM DailySalesRollup r WHERE r.memberId = :memberId")
+    BigDecimal sumTotal(@Param("memberId") Long memberId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tbl_daily_sales_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO tbl_daily_sales_rollup (member_id, sales_date, total, order_count) " +
+            "SELECT member_id, order_date, SUM(total), COUNT(*) FROM tbl_order_fact " +
+            "WHERE order_type = 'SELL' AND status <> 'DELETED' AND member_id IS NOT NULL AND order_date IS NOT NULL " +
+            "GROUP BY member_id, order_date", nativeQuery = true)
+    void rebuildFromFacts();
+}
@@ -0,0 +1,10 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.fact.ExpenseFact;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExpenseFactRepository extends JpaRepository<ExpenseFact, Long>, JpaSpecificationExecutor<ExpenseFact> {
+}
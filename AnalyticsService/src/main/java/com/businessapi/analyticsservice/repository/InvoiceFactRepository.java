@@ -0,0 +1,16 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.fact.InvoiceFact;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InvoiceFactRepository extends JpaRepository<InvoiceFact, Long> {
+
+    // [status, count]
+    @Query("SELECT i.status, COUNT(i) FROM InvoiceFact i WHERE i.status <> 'DELETED' GROUP BY i.status")
+    List<Object[]> countByStatus();
+}
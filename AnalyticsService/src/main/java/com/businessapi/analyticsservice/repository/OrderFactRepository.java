@@ -0,0 +1,31 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.fact.OrderFact;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderFactRepository extends JpaRepository<OrderFact, Long> {
+
+    // Empty rows for ids not stored yet, so the first version of a fact is locked like any later one. A concurrent
+    // insert of the same id makes this wait for its commit instead of failing
+    @Modifying
+    @Query(value = "INSERT INTO tbl_order_fact (id) SELECT id FROM unnest(ARRAY[:ids]) AS ids(id) ORDER BY id " +
+            "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    void insertMissing(@Param("ids") Collection<Long> ids);
+
+    // Locked in id order, so two batches touching the same orders queue up instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OrderFact o WHERE o.id IN :ids ORDER BY o.id ASC")
+    List<OrderFact> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    List<OrderFact> findAllByMemberIdAndOrderTypeAndStatusNotOrderByCreatedAtAsc(Long memberId, String orderType, String status);
+}
@@ -0,0 +1,9 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.fact.PayrollFact;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PayrollFactRepository extends JpaRepository<PayrollFact, Long> {
+}
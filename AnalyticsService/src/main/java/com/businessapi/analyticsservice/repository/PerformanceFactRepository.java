@@ -0,0 +1,13 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.fact.PerformanceFact;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PerformanceFactRepository extends JpaRepository<PerformanceFact, Long> {
+    List<PerformanceFact> findAllByDateBetweenAndStatusOrderByDateAsc(LocalDate startDate, LocalDate endDate, String status);
+}
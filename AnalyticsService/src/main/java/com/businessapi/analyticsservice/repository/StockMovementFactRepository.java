@@ -0,0 +1,29 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.fact.StockMovementFact;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockMovementFactRepository extends JpaRepository<StockMovementFact, Long> {
+
+    // Empty rows for ids not stored yet, so the first version of a fact is locked like any later one. A concurrent
+    // insert of the same id makes this wait for its commit instead of failing
+    @Modifying
+    @Query(value = "INSERT INTO tbl_stock_movement_fact (id) SELECT id FROM unnest(ARRAY[:ids]) AS ids(id) ORDER BY id " +
+            "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    void insertMissing(@Param("ids") Collection<Long> ids);
+
+    // Locked in id order, so two batches touching the same movements queue up instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM StockMovementFact m WHERE m.id IN :ids ORDER BY m.id ASC")
+    List<StockMovementFact> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+}
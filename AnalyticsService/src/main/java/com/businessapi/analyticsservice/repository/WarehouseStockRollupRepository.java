@@ -0,0 +1,36 @@
+package com.businessapi.analyticsservice.repository;
+
+import com.businessapi.analyticsservice.entity.rollup.WarehouseStockRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WarehouseStockRollupRepository extends JpaRepository<WarehouseStockRollup, WarehouseStockRollup.Key> {
+
+    // Adds a delta to the (member, warehouse) row in one statement, so concurrent consumers never lose an update
+    @Modifying
+    @Query(value = "INSERT INTO tbl_warehouse_stock_rollup (member_id, warehouse_id, quantity) " +
+            "VALUES (:memberId, :warehouseId, :quantity) " +
+            "ON CONFLICT (member_id, warehouse_id) DO UPDATE SET " +
+            "quantity = tbl_warehouse_stock_rollup.quantity + EXCLUDED.quantity", nativeQuery = true)
+    void addStock(@Param("memberId") Long memberId, @Param("warehouseId") Long warehouseId, @Param("quantity") long quantity);
+
+    List<WarehouseStockRollup> findAllByMemberId(Long memberId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tbl_warehouse_stock_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO tbl_warehouse_stock_rollup (member_id, warehouse_id, quantity) " +
+            "SELECT member_id, warehouse_id, SUM(CASE WHEN stock_movement_type = 'IN' THEN quantity ELSE -quantity END) " +
+            "FROM tbl_stock_movement_fact " +
+            "WHERE status <> 'DELETED' AND member_id IS NOT NULL AND warehouse_id IS NOT NULL " +
+            "GROUP BY member_id, warehouse_id", nativeQuery = true)
+    void rebuildFromFacts();
+}
@@ -0,0 +1,90 @@
+package com.businessapi.analyticsservice.service;
+
+import com.businessapi.RabbitMQ.Model.AnalyticsBackfillRequestModel;
+import com.businessapi.RabbitMQ.Model.ExpenseEventModel;
+import com.businessapi.RabbitMQ.Model.InvoiceEventModel;
+import com.businessapi.RabbitMQ.Model.OrderEventModel;
+import com.businessapi.RabbitMQ.Model.PayrollEventModel;
+import com.businessapi.RabbitMQ.Model.PerformanceEventModel;
+import com.businessapi.RabbitMQ.Model.StockMovementEventModel;
+import com.businessapi.analyticsservice.config.RabbitMQConfig;
+import com.businessapi.analyticsservice.entity.fact.BackfillCursor;
+import com.businessapi.analyticsservice.exception.AnalyticsServiceAppException;
+import com.businessapi.analyticsservice.exception.ErrorType;
+import com.businessapi.analyticsservice.repository.BackfillCursorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Loads rows that existed before the event feed was switched on. Each stream is pulled from its owning service in
+ * id order, one page per RPC call, and the last ingested id is stored after every page so an interrupted backfill
+ * resumes where it stopped instead of starting over.
+ */
+@Service
+@RequiredArgsConstructor
+public class FactBackfillService {
+    private static final int PAGE_SIZE = 500;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final BackfillCursorRepository backfillCursorRepository;
+    private final FactIngestionService factIngestionService;
+
+    // Stream names follow the DataSource endpoint types
+    public long backfill(String stream, boolean reset) {
+        return switch (stream) {
+            case "order" -> run(stream, reset, RabbitMQConfig.KEY_BACKFILL_ORDER,
+                    new ParameterizedTypeReference<List<OrderEventModel>>() {}, OrderEventModel::getId, factIngestionService::ingestOrders);
+            case "stock-movement" -> run(stream, reset, RabbitMQConfig.KEY_BACKFILL_STOCK_MOVEMENT,
+                    new ParameterizedTypeReference<List<StockMovementEventModel>>() {}, StockMovementEventModel::getId, factIngestionService::ingestStockMovements);
+            case "invoice" -> run(stream, reset, RabbitMQConfig.KEY_BACKFILL_INVOICE,
+                    new ParameterizedTypeReference<List<InvoiceEventModel>>() {}, InvoiceEventModel::getId, factIngestionService::ingestInvoices);
+            case "expense" -> run(stream, reset, RabbitMQConfig.KEY_BACKFILL_EXPENSE,
+                    new ParameterizedTypeReference<List<ExpenseEventModel>>() {}, ExpenseEventModel::getId, factIngestionService::ingestExpenses);
+            case "payroll" -> run(stream, reset, RabbitMQConfig.KEY_BACKFILL_PAYROLL,
+                    new ParameterizedTypeReference<List<PayrollEventModel>>() {}, PayrollEventModel::getId, factIngestionService::ingestPayrolls);
+            case "performance" -> run(stream, reset, RabbitMQConfig.KEY_BACKFILL_PERFORMANCE,
+                    new ParameterizedTypeReference<List<PerformanceEventModel>>() {}, PerformanceEventModel::getId, factIngestionService::ingestPerformances);
+            default -> throw new AnalyticsServiceAppException(ErrorType.BAD_REQUEST_ERROR, "Unknown backfill stream: " + stream);
+        };
+    }
+
+    private <E> long run(String stream, boolean reset, String routingKey, ParameterizedTypeReference<List<E>> pageType,
+                         Function<E, Long> id, Consumer<List<E>> ingest) {
+        BackfillCursor cursor = backfillCursorRepository.findById(stream)
+                .filter(existing -> !reset)
+                .orElseGet(() -> BackfillCursor.builder().stream(stream).lastId(0L).build());
+
+        long ingested = 0;
+        while (true) {
+            AnalyticsBackfillRequestModel request = AnalyticsBackfillRequestModel.builder()
+                    .afterId(cursor.getLastId())
+                    .limit(PAGE_SIZE)
+                    .build();
+            List<E> page = rabbitTemplate.convertSendAndReceiveAsType(RabbitMQConfig.DIRECT_EXCHANGE, routingKey, request, pageType);
+            if (page == null) {
+                throw new AnalyticsServiceAppException(ErrorType.INTERNAL_SERVER_ERROR, "Backfill of " + stream + " timed out after id " + cursor.getLastId());
+            }
+            if (page.isEmpty()) {
+                break;
+            }
+            ingest.accept(page);
+            ingested += page.size();
+
+            cursor.setLastId(id.apply(page.get(page.size() - 1)));
+            cursor.setUpdatedAt(LocalDateTime.now());
+            backfillCursorRepository.save(cursor);
+
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        return ingested;
+    }
+}
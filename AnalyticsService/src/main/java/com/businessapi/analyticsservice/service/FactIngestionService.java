@@ -0,0 +1,240 @@
+package com.businessapi.analyticsservice.service;
+
+import com.businessapi.RabbitMQ.Model.ExpenseEventModel;
+import com.businessapi.RabbitMQ.Model.InvoiceEventModel;
+import com.businessapi.RabbitMQ.Model.OrderEventModel;
+import com.businessapi.RabbitMQ.Model.PayrollEventModel;
+import com.businessapi.RabbitMQ.Model.PerformanceEventModel;
+import com.businessapi.RabbitMQ.Model.StockMovementEventModel;
+import com.businessapi.analyticsservice.config.RabbitMQConfig;
+import com.businessapi.analyticsservice.entity.fact.ExpenseFact;
+import com.businessapi.analyticsservice.entity.fact.InvoiceFact;
+import com.businessapi.analyticsservice.entity.fact.OrderFact;
+import com.businessapi.analyticsservice.entity.fact.PayrollFact;
+import com.businessapi.analyticsservice.entity.fact.PerformanceFact;
+import com.businessapi.analyticsservice.entity.fact.StockMovementFact;
+import com.businessapi.analyticsservice.repository.ExpenseFactRepository;
+import com.businessapi.analyticsservice.repository.InvoiceFactRepository;
+import com.businessapi.analyticsservice.repository.OrderFactRepository;
+import com.businessapi.analyticsservice.repository.PayrollFactRepository;
+import com.businessapi.analyticsservice.repository.PerformanceFactRepository;
+import com.businessapi.analyticsservice.repository.StockMovementFactRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the analytics fact tables in sync with the source services. Every fact row is keyed by the id of the
+ * source record, so replayed events and overlapping backfill pages simply overwrite the same row. An event older
+ * than the stored row (by updatedAt) is ignored, so a late backfill page can't roll back a newer live event.
+ * Order and stock movement changes are also handed to {@link RollupService} together with the version they replace,
+ * in the same transaction as the fact write. Missing ids get an empty row first and the stored versions are read
+ * with a row lock, so a backfill page and a live event for the same order run one after the other and the second
+ * one sees what the first one wrote. An empty row has no member, it contributes nothing to the rollups.
+ */
+@Service
+@RequiredArgsConstructor
+public class FactIngestionService {
+    private final OrderFactRepository orderFactRepository;
+    private final StockMovementFactRepository stockMovementFactRepository;
+    private final InvoiceFactRepository invoiceFactRepository;
+    private final ExpenseFactRepository expenseFactRepository;
+    private final PayrollFactRepository payrollFactRepository;
+    private final PerformanceFactRepository performanceFactRepository;
+    private final RollupService rollupService;
+
+    @Transactional
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_ORDER_EVENT)
+    public void onOrderEvent(OrderEventModel event) {
+        ingestOrders(List.of(event));
+    }
+
+    @Transactional
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_STOCK_MOVEMENT_EVENT)
+    public void onStockMovementEvent(StockMovementEventModel event) {
+        ingestStockMovements(List.of(event));
+    }
+
+    @Transactional
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_INVOICE_EVENT)
+    public void onInvoiceEvent(InvoiceEventModel event) {
+        ingestInvoices(List.of(event));
+    }
+
+    @Transactional
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_EXPENSE_EVENT)
+    public void onExpenseEvent(ExpenseEventModel event) {
+        ingestExpenses(List.of(event));
+    }
+
+    @Transactional
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_PAYROLL_EVENT)
+    public void onPayrollEvent(PayrollEventModel event) {
+        ingestPayrolls(List.of(event));
+    }
+
+    @Transactional
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_PERFORMANCE_EVENT)
+    public void onPerformanceEvent(PerformanceEventModel event) {
+        ingestPerformances(List.of(event));
+    }
+
+    @Transactional
+    public void ingestOrders(List<OrderEventModel> events) {
+        List<Long> orderIds = ids(events, OrderEventModel::getId);
+        orderFactRepository.insertMissing(orderIds);
+        Map<Long, OrderFact> stored = byId(orderFactRepository.findAllByIdForUpdate(orderIds), OrderFact::getId);
+        List<OrderFact> previous = new ArrayList<>();
+        List<OrderFact> facts = new ArrayList<>();
+        for (OrderEventModel event : events) {
+            OrderFact existing = stored.get(event.getId());
+            if (!isNewer(event.getUpdatedAt(), existing == null ? null : existing.getUpdatedAt())) {
+                continue;
+            }
+            OrderFact fact = OrderFact.builder()
+                    .id(event.getId())
+                    .memberId(event.getMemberId())
+                    .customerId(event.getCustomerId())
+                    .supplierId(event.getSupplierId())
+                    .productId(event.getProductId())
+                    .quantity(event.getQuantity())
+                    .unitPrice(event.getUnitPrice())
+                    .total(event.getTotal())
+                    .orderType(event.getOrderType())
+                    .status(event.getStatus())
+                    .orderDate(event.getCreatedAt() == null ? null : event.getCreatedAt().toLocalDate())
+                    .createdAt(event.getCreatedAt())
+                    .updatedAt(event.getUpdatedAt())
+                    .build();
+            previous.add(existing);
+            facts.add(fact);
+            stored.put(fact.getId(), fact);
+        }
+        rollupService.onOrdersChanged(previous, facts);
+        orderFactRepository.saveAll(facts);
+    }
+
+    @Transactional
+    public void ingestStockMovements(List<StockMovementEventModel> events) {
+        List<Long> movementIds = ids(events, StockMovementEventModel::getId);
+        stockMovementFactRepository.insertMissing(movementIds);
+        Map<Long, StockMovementFact> stored = byId(stockMovementFactRepository.findAllByIdForUpdate(movementIds), StockMovementFact::getId);
+        List<StockMovementFact> previous = new ArrayList<>();
+        List<StockMovementFact> facts = new ArrayList<>();
+        for (StockMovementEventModel event : events) {
+            StockMovementFact existing = stored.get(event.getId());
+            if (!isNewer(event.getUpdatedAt(), existing == null ? null : existing.getUpdatedAt())) {
+                continue;
+            }
+            StockMovementFact fact = StockMovementFact.builder()
+                    .id(event.getId())
+                    .memberId(event.getMemberId())
+                    .productId(event.getProductId())
+                    .warehouseId(event.getWarehouseId())
+                    .quantity(event.getQuantity())
+                    .stockMovementType(event.getStockMovementType())
+                    .status(event.getStatus())
+                    .createdAt(event.getCreatedAt())
+                    .updatedAt(event.getUpdatedAt())
+                    .build();
+            previous.add(existing);
+            facts.add(fact);
+            stored.put(fact.getId(), fact);
+        }
+        rollupService.onStockMovementsChanged(previous, facts);
+        stockMovementFactRepository.saveAll(facts);
+    }
+
+    @Transactional
+    public void ingestInvoices(List<InvoiceEventModel> events) {
+        Map<Long, InvoiceFact> existing = byId(invoiceFactRepository.findAllById(ids(events, InvoiceEventModel::getId)), InvoiceFact::getId);
+        List<InvoiceFact> facts = events.stream()
+                .filter(event -> isNewer(event.getUpdatedAt(), existing.get(event.getId()) == null ? null : existing.get(event.getId()).getUpdatedAt()))
+                .map(event -> InvoiceFact.builder()
+                        .id(event.getId())
+                        .productId(event.getProductId())
+                        .productName(event.getProductName())
+                        .quantity(event.getQuantity())
+                        .price(event.getPrice())
+                        .totalAmount(event.getTotalAmount())
+                        .invoiceDate(event.getInvoiceDate())
+                        .status(event.getStatus())
+                        .createdAt(event.getCreatedAt())
+                        .updatedAt(event.getUpdatedAt())
+                        .build())
+                .toList();
+        invoiceFactRepository.saveAll(facts);
+    }
+
+    @Transactional
+    public void ingestExpenses(List<ExpenseEventModel> events) {
+        Map<Long, ExpenseFact> existing = byId(expenseFactRepository.findAllById(ids(events, ExpenseEventModel::getId)), ExpenseFact::getId);
+        List<ExpenseFact> facts = events.stream()
+                .filter(event -> isNewer(event.getUpdatedAt(), existing.get(event.getId()) == null ? null : existing.get(event.getId()).getUpdatedAt()))
+                .map(event -> ExpenseFact.builder()
+                        .id(event.getId())
+                        .departmentId(event.getDepartmentId())
+                        .expenseCategory(event.getExpenseCategory())
+                        .expenseDate(event.getExpenseDate())
+                        .amount(event.getAmount())
+                        .description(event.getDescription())
+                        .status(event.getStatus())
+                        .createdAt(event.getCreatedAt())
+                        .updatedAt(event.getUpdatedAt())
+                        .build())
+                .toList();
+        expenseFactRepository.saveAll(facts);
+    }
+
+    // Payroll and performance rows carry no updatedAt in HRMService, the latest message always wins
+    @Transactional
+    public void ingestPayrolls(List<PayrollEventModel> events) {
+        List<PayrollFact> facts = events.stream()
+                .map(event -> PayrollFact.builder()
+                        .id(event.getId())
+                        .employeeId(event.getEmployeeId())
+                        .salaryDate(event.getSalaryDate())
+                        .grossSalary(event.getGrossSalary())
+                        .deductions(event.getDeductions())
+                        .netSalary(event.getNetSalary())
+                        .status(event.getStatus())
+                        .build())
+                .toList();
+        payrollFactRepository.saveAll(facts);
+    }
+
+    @Transactional
+    public void ingestPerformances(List<PerformanceEventModel> events) {
+        List<PerformanceFact> facts = events.stream()
+                .map(event -> PerformanceFact.builder()
+                        .id(event.getId())
+                        .employeeId(event.getEmployeeId())
+                        .date(event.getDate())
+                        .score(event.getScore())
+                        .status(event.getStatus())
+                        .build())
+                .toList();
+        performanceFactRepository.saveAll(facts);
+    }
+
+    private static boolean isNewer(LocalDateTime incoming, LocalDateTime stored) {
+        return stored == null || incoming == null || !incoming.isBefore(stored);
+    }
+
+    private static <E> List<Long> ids(List<E> events, Function<E, Long> id) {
+        return events.stream().map(id).toList();
+    }
+
+    private static <F> Map<Long, F> byId(List<F> facts, Function<F, Long> id) {
+        return facts.stream().collect(Collectors.toMap(id, Function.identity(), (first, second) -> second, HashMap::new));
+    }
+}
@@ -1,21 +1,24 @@
 package com.businessapi.analyticsservice.service;
 
 import com.businessapi.analyticsservice.entity.DataSource;
+import com.businessapi.analyticsservice.entity.fact.ExpenseFact;
 import com.businessapi.analyticsservice.entity.financeService.entity.Expense;
 import com.businessapi.analyticsservice.entity.financeService.entity.FinancialReport;
-import com.businessapi.analyticsservice.entity.financeService.entity.Invoice;
 import com.businessapi.analyticsservice.entity.financeService.entity.Tax;
 import com.businessapi.analyticsservice.entity.financeService.enums.EFinancialReportType;
-import com.businessapi.analyticsservice.entity.financeService.enums.EInvoiceStatus;
 import com.businessapi.analyticsservice.entity.financeService.enums.ETaxType;
 import com.businessapi.analyticsservice.repository.DataSourceRepository;
+import com.businessapi.analyticsservice.repository.ExpenseFactRepository;
+import com.businessapi.analyticsservice.repository.InvoiceFactRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
@@ -25,9 +28,14 @@ import java.util.stream.Collectors;
 @Service
 public class FinanceService {
     public DataSourceRepository dataSourceRepository;
+    private final InvoiceFactRepository invoiceFactRepository;
+    private final ExpenseFactRepository expenseFactRepository;
 
-    public FinanceService(DataSourceRepository dataSourceRepository) {
+    public FinanceService(DataSourceRepository dataSourceRepository, InvoiceFactRepository invoiceFactRepository,
+                          ExpenseFactRepository expenseFactRepository) {
         this.dataSourceRepository = dataSourceRepository;
+        this.invoiceFactRepository = invoiceFactRepository;
+        this.expenseFactRepository = expenseFactRepository;
     }
 
     // fetch data from the DataSource by serviceType
@@ -40,19 +48,13 @@ public class FinanceService {
     /*
      * Invoice
      */
-    // parse Invoice from JSON string
-    public List<Invoice> parseInvoice(String jsonInvoice) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-
-        JsonNode dataNode = objectMapper.readTree(jsonInvoice).get("data");
-        return Arrays.asList(objectMapper.treeToValue(dataNode, Invoice[].class));
-    }
-
     // get count of invoices by status
-    public Map<EInvoiceStatus, Long> getInvoiceStatusCount(List<Invoice> invoices) {
-        return invoices.stream()
-                .collect(Collectors.groupingBy(Invoice::getInvoiceStatus, Collectors.counting()));
+    public Map<String, Long> getInvoiceStatusCount() {
+        return invoiceFactRepository.countByStatus().stream()
+                .collect(Collectors.toMap(
+                        row -> (String) row[0],
+                        row -> (Long) row[1]
+                ));
     }
 
     /*
@@ -123,30 +125,34 @@ public class FinanceService {
     /*
      * Expense
      */
-    // Parse Financial Reports from JSON
-    public List<Expense> parseExpenses(String jsonExpenses) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-
-        JsonNode dataNode = objectMapper.readTree(jsonExpenses).get("data");
-        return Arrays.asList(objectMapper.treeToValue(dataNode, Expense[].class));
-    }
-
     // Filter Expenses by date range and amount range
     public List<Expense> getExpenses(
             LocalDate startDate,
             LocalDate endDate,
             Double minAmount,
-            Double maxAmount) throws Exception {
+            Double maxAmount) {
 
-        String jsonExpenses = getDataFromDataSource("expense");
-        List<Expense> allExpenses = parseExpenses(jsonExpenses);
+        Specification<ExpenseFact> specification = (root, query, cb) -> cb.notEqual(root.get("status"), "DELETED");
+        if (startDate != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("expenseDate"), startDate));
+        }
+        if (endDate != null) {
+            specification = specification.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("expenseDate"), endDate));
+        }
+        if (minAmount != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), BigDecimal.valueOf(minAmount)));
+        }
+        if (maxAmount != null) {
+            specification = specification.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), BigDecimal.valueOf(maxAmount)));
+        }
 
-        return allExpenses.stream()
-                .filter(expense -> (startDate == null || !expense.getExpenseDate().isBefore(startDate.atStartOfDay())))
-                .filter(expense -> (endDate == null || !expense.getExpenseDate().isAfter(endDate.atTime(LocalTime.MAX))))
-                .filter(expense -> (minAmount == null || expense.getAmount() >= minAmount))
-                .filter(expense -> (maxAmount == null || expense.getAmount() <= maxAmount))
+        return expenseFactRepository.findAll(specification, Sort.by("expenseDate", "id")).stream()
+                .map(expense -> Expense.builder()
+                        .id(expense.getId())
+                        .expenseDate(expense.getExpenseDate() == null ? null : expense.getExpenseDate().atStartOfDay())
+                        .amount(expense.getAmount() == null ? 0 : expense.getAmount().doubleValue())
+                        .description(expense.getDescription())
+                        .build())
                 .collect(Collectors.toList());
     }
 }
@@ -3,7 +3,9 @@ package com.businessapi.analyticsservice.service;
 import com.businessapi.analyticsservice.entity.DataSource;
 import com.businessapi.analyticsservice.entity.hrmService.entity.Benefit;
 import com.businessapi.analyticsservice.entity.hrmService.entity.Performance;
+import com.businessapi.analyticsservice.entity.hrmService.enums.EStatus;
 import com.businessapi.analyticsservice.repository.DataSourceRepository;
+import com.businessapi.analyticsservice.repository.PerformanceFactRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -19,9 +21,11 @@ import java.util.stream.Collectors;
 @Service
 public class HRMService {
     private final DataSourceRepository dataSourceRepository;
+    private final PerformanceFactRepository performanceFactRepository;
 
-    public HRMService(DataSourceRepository dataSourceRepository) {
+    public HRMService(DataSourceRepository dataSourceRepository, PerformanceFactRepository performanceFactRepository) {
         this.dataSourceRepository = dataSourceRepository;
+        this.performanceFactRepository = performanceFactRepository;
     }
 
     // fetch data from the DataSource by serviceType
@@ -34,25 +38,18 @@ public class HRMService {
     /*
      * Performance
      */
-    // Parse performance from JSON string
-    public List<Performance> parsePerformance(String jsonPerformance) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-
-        JsonNode dataNode = objectMapper.readTree(jsonPerformance).get("data");
-        return Arrays.asList(objectMapper.treeToValue(dataNode, Performance[].class));
-    }
-
     // Analyze total performance between given dates
-    public List<Performance> analyzeTotalPerformance(String startDateStr, String endDateStr) throws Exception {
+    public List<Performance> analyzeTotalPerformance(String startDateStr, String endDateStr) {
         LocalDate startDate = LocalDate.parse(startDateStr);
         LocalDate endDate = LocalDate.parse(endDateStr);
 
-        String jsonPerformance = getDataFromDataSource("performance");
-        List<Performance> performanceList = parsePerformance(jsonPerformance);
-        System.out.println(performanceList);
-        return performanceList.stream()
-                .filter(performance -> !performance.getDate().isBefore(startDate) && !performance.getDate().isAfter(endDate))
+        return performanceFactRepository.findAllByDateBetweenAndStatusOrderByDateAsc(startDate, endDate, EStatus.ACTIVE.name()).stream()
+                .map(performance -> Performance.builder()
+                        .employeeId(performance.getEmployeeId())
+                        .date(performance.getDate())
+                        .score(performance.getScore())
+                        .status(EStatus.valueOf(performance.getStatus()))
+                        .build())
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,133 @@
+package com.businessapi.analyticsservice.service;
+
+import com.businessapi.analyticsservice.entity.fact.OrderFact;
+import com.businessapi.analyticsservice.entity.fact.StockMovementFact;
+import com.businessapi.analyticsservice.entity.rollup.DailySalesRollup;
+import com.businessapi.analyticsservice.entity.rollup.ERollupPeriod;
+import com.businessapi.analyticsservice.entity.rollup.WarehouseStockRollup;
+import com.businessapi.analyticsservice.repository.DailySalesRollupRepository;
+import com.businessapi.analyticsservice.repository.WarehouseStockRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Daily sales per member and net stock per (member, warehouse), kept up to date from the fact ingestion path.
+ * A changed fact first takes back what its previous version contributed and then adds the new version, so status
+ * changes, edits and deletes move the totals the same way inserts do. Deltas of one batch are merged per row before
+ * they are written, so a backfill page costs one upsert per touched day or warehouse, not one per source row.
+ */
+@Service
+@RequiredArgsConstructor
+public class RollupService {
+    private static final LocalDate LAST_DAY = LocalDate.of(9999, 12, 31);
+
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final WarehouseStockRollupRepository warehouseStockRollupRepository;
+
+    // previous.get(i) is the stored version of current.get(i), or null for a new fact
+    @Transactional
+    public void onOrdersChanged(List<OrderFact> previous, List<OrderFact> current) {
+        Map<DailySalesRollup.Key, BigDecimal> totals = new HashMap<>();
+        Map<DailySalesRollup.Key, Long> counts = new HashMap<>();
+        for (int i = 0; i < current.size(); i++) {
+            addSales(totals, counts, previous.get(i), -1);
+            addSales(totals, counts, current.get(i), 1);
+        }
+        totals.forEach((key, total) -> {
+            long count = counts.get(key);
+            if (total.signum() != 0 || count != 0) {
+                dailySalesRollupRepository.addSales(key.getMemberId(), key.getSalesDate(), total, count);
+            }
+        });
+    }
+
+    @Transactional
+    public void onStockMovementsChanged(List<StockMovementFact> previous, List<StockMovementFact> current) {
+        Map<WarehouseStockRollup.Key, Long> quantities = new HashMap<>();
+        for (int i = 0; i < current.size(); i++) {
+            addStock(quantities, previous.get(i), -1);
+            addStock(quantities, current.get(i), 1);
+        }
+        quantities.forEach((key, quantity) -> {
+            if (quantity != 0) {
+                warehouseStockRollupRepository.addStock(key.getMemberId(), key.getWarehouseId(), quantity);
+            }
+        });
+    }
+
+    public BigDecimal getTotalSales(Long memberId) {
+        return dailySalesRollupRepository.sumTotal(memberId);
+    }
+
+    // Sales per day, week or month. Both dates are optional, an open range covers all stored days
+    public Map<LocalDate, BigDecimal> getSalesPerPeriod(Long memberId, LocalDate startDate, LocalDate endDate, ERollupPeriod period) {
+        List<DailySalesRollup> days = startDate == null && endDate == null
+                ? dailySalesRollupRepository.findAllByMemberIdOrderBySalesDateAsc(memberId)
+                : dailySalesRollupRepository.findAllByMemberIdAndSalesDateBetweenOrderBySalesDateAsc(memberId,
+                        startDate == null ? LocalDate.EPOCH : startDate, endDate == null ? LAST_DAY : endDate);
+
+        return days.stream()
+                .filter(day -> day.getTotal().signum() != 0 || day.getOrderCount() != 0)
+                .collect(Collectors.toMap(
+                        day -> periodStart(day.getSalesDate(), period),
+                        DailySalesRollup::getTotal,
+                        BigDecimal::add,
+                        TreeMap::new
+                ));
+    }
+
+    public Map<Long, Integer> getStockPerWarehouse(Long memberId) {
+        return warehouseStockRollupRepository.findAllByMemberId(memberId).stream()
+                .collect(Collectors.toMap(
+                        WarehouseStockRollup::getWarehouseId,
+                        rollup -> Math.toIntExact(rollup.getQuantity())
+                ));
+    }
+
+    // Recomputes every rollup row from the fact tables, for repairs after a manual change to the facts
+    @Transactional
+    public void rebuild() {
+        dailySalesRollupRepository.deleteAllRows();
+        dailySalesRollupRepository.rebuildFromFacts();
+        warehouseStockRollupRepository.deleteAllRows();
+        warehouseStockRollupRepository.rebuildFromFacts();
+    }
+
+    private static void addSales(Map<DailySalesRollup.Key, BigDecimal> totals, Map<DailySalesRollup.Key, Long> counts, OrderFact order, int sign) {
+        if (order == null || !"SELL".equals(order.getOrderType()) || "DELETED".equals(order.getStatus())
+                || order.getMemberId() == null || order.getOrderDate() == null || order.getTotal() == null) {
+            return;
+        }
+        DailySalesRollup.Key key = new DailySalesRollup.Key(order.getMemberId(), order.getOrderDate());
+        totals.merge(key, sign > 0 ? order.getTotal() : order.getTotal().negate(), BigDecimal::add);
+        counts.merge(key, (long) sign, Long::sum);
+    }
+
+    private static void addStock(Map<WarehouseStockRollup.Key, Long> quantities, StockMovementFact movement, int sign) {
+        if (movement == null || "DELETED".equals(movement.getStatus())
+                || movement.getMemberId() == null || movement.getWarehouseId() == null || movement.getQuantity() == null) {
+            return;
+        }
+        long quantity = "IN".equals(movement.getStockMovementType()) ? movement.getQuantity() : -movement.getQuantity();
+        quantities.merge(new WarehouseStockRollup.Key(movement.getMemberId(), movement.getWarehouseId()), sign * quantity, Long::sum);
+    }
+
+    private static LocalDate periodStart(LocalDate day, ERollupPeriod period) {
+        return switch (period) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+}
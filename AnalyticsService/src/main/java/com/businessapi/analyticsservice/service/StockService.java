@@ -1,13 +1,14 @@
 package com.businessapi.analyticsservice.service;
 
 import com.businessapi.analyticsservice.entity.DataSource;
-import com.businessapi.analyticsservice.entity.stockService.entity.Order;
+import com.businessapi.analyticsservice.entity.fact.OrderFact;
+import com.businessapi.analyticsservice.entity.rollup.ERollupPeriod;
 import com.businessapi.analyticsservice.entity.stockService.entity.Product;
-import com.businessapi.analyticsservice.entity.stockService.entity.StockMovement;
 import com.businessapi.analyticsservice.entity.stockService.entity.Supplier;
-import com.businessapi.analyticsservice.entity.stockService.enums.EStockMovementType;
 import com.businessapi.analyticsservice.repository.DataSourceRepository;
+import com.businessapi.analyticsservice.repository.OrderFactRepository;
 import com.businessapi.analyticsservice.util.ExcelUtil;
+import com.businessapi.analyticsservice.util.SessionManager;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -27,9 +28,14 @@ import java.util.stream.Collectors;
 @Service
 public class StockService {
     private final DataSourceRepository dataSourceRepository;
+    private final OrderFactRepository orderFactRepository;
+    private final RollupService rollupService;
 
-    public StockService(DataSourceRepository dataSourceRepository) {
+    public StockService(DataSourceRepository dataSourceRepository, OrderFactRepository orderFactRepository,
+                        RollupService rollupService) {
         this.dataSourceRepository = dataSourceRepository;
+        this.orderFactRepository = orderFactRepository;
+        this.rollupService = rollupService;
     }
 
     // fetch data from the DataSource by serviceType
@@ -42,33 +48,20 @@ public class StockService {
     /*
      * Order
      */
-    // parse orders from JSON string
-    public List<Order> parseOrders(String jsonOrders) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-
-        JsonNode dataNode = objectMapper.readTree(jsonOrders).get("data");
-        return Arrays.asList(objectMapper.treeToValue(dataNode, Order[].class));
+    // total sales of the member, summed over the daily rollups
+    public BigDecimal analyzeTotalSalesOverTime() {
+        return rollupService.getTotalSales(SessionManager.getMemberIdFromAuthenticatedMember());
     }
 
-    // total sales over time
-    public BigDecimal analyzeTotalSalesOverTime(List<Order> orders) {
-        return orders.stream()
-                .map(Order::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    // total sales per day
-    public Map<LocalDate, BigDecimal> calculateTotalSalesPerDay(List<Order> orders) {
-        return orders.stream()
-                .collect(Collectors.groupingBy(
-                        order -> order.getCreatedAt().toLocalDate(),  // group by date (without time)
-                        Collectors.reducing(BigDecimal.ZERO, Order::getTotal, BigDecimal::add)  // sum total for each date
-                ));
+    // total sales per day, week or month, keyed by the first day of the period
+    public Map<LocalDate, BigDecimal> calculateTotalSalesPerDay(LocalDate startDate, LocalDate endDate, ERollupPeriod period) {
+        return rollupService.getSalesPerPeriod(SessionManager.getMemberIdFromAuthenticatedMember(), startDate, endDate, period);
     }
 
-    public ResponseEntity<byte[]> exportTotalSalesToExcel(List<Order> orders) {
+    public ResponseEntity<byte[]> exportTotalSalesToExcel() {
         try {
+            List<OrderFact> orders = orderFactRepository.findAllByMemberIdAndOrderTypeAndStatusNotOrderByCreatedAtAsc(
+                    SessionManager.getMemberIdFromAuthenticatedMember(), "SELL", "DELETED");
             List<String> headers = Arrays.asList("Order ID", "Total", "Created At");
             List<List<Object>> data = orders.stream()
                     .map(order -> Arrays.asList((Object) order.getId(), order.getTotal(), order.getCreatedAt()))
@@ -107,24 +100,9 @@ public class StockService {
     /*
      * Stock
      */
-    // parse stock movement from JSON string
-    public List<StockMovement> parseStockMovement(String jsonStockMovements) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-
-        JsonNode dataNode = objectMapper.readTree(jsonStockMovements).get("data");
-        return Arrays.asList(objectMapper.treeToValue(dataNode, StockMovement[].class));
-    }
-
-    // Analyze stock allocation per warehouse
-    public Map<Long, Integer> analyzeStockPerWarehouse(List<StockMovement> stockMovements) {
-        return stockMovements.stream()
-                .collect(Collectors.groupingBy(
-                        StockMovement::getWarehouseId,
-                        Collectors.summingInt(movement -> movement.getStockMovementType() == EStockMovementType.IN
-                                ? movement.getQuantity()
-                                : -movement.getQuantity())
-                ));
+    // Analyze stock allocation per warehouse, IN movements add and OUT movements subtract
+    public Map<Long, Integer> analyzeStockPerWarehouse() {
+        return rollupService.getStockPerWarehouse(SessionManager.getMemberIdFromAuthenticatedMember());
     }
 
     /*
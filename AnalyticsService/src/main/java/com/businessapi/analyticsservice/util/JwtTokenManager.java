@@ -5,8 +5,14 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.Optional;
 
@@ -17,6 +23,48 @@ public class JwtTokenManager
     private final String ISSUER ="123";
     private final Long EXDATE = 1000L * 60 * 60 ; // 1 Hour
 
+    private static final long VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+    private JWTVerifier verifier;
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void initVerifier() {
+        verifier = JWT.require(Algorithm.HMAC512(SECRETKEY)).withIssuer(ISSUER).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(UNTIL_TOKEN_EXPIRES)
+                .build();
+    }
+
+    /**
+     * Verifies the token with the verifier built at startup. A token that verified once is served from a bounded
+     * cache until its exp, so a client reusing the same token doesn't pay for the HMAC-512 check on every request.
+     */
+    DecodedJWT verify(String token) {
+        return verifiedTokens.get(token, verifier::verify);
+    }
+
+    //Entries live until the token's exp, tokens without exp are not cached
+    private static final Expiry<String, DecodedJWT> UNTIL_TOKEN_EXPIRES = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(String token, DecodedJWT decodedJWT, long currentTime) {
+            Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+            if (expiresAt == null)
+                return 0;
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
     public Optional<String> createToken (Long authId){
         String token;
         try{
@@ -34,13 +82,20 @@ public class JwtTokenManager
 
     public boolean validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC512(SECRETKEY);
-            JWTVerifier verifier = JWT.require(algorithm).withIssuer(ISSUER).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
             return decodedJWT != null; // return true if token is valid
         } catch (Exception e) {
             return false; // return false if there's any exception
         }
     }
 
-}
\ No newline at end of file
+    public Optional<Long> getIdFromToken(String token) {
+        try {
+            DecodedJWT decodedJWT = verify(token);
+            return Optional.ofNullable(decodedJWT.getClaim("authId").asLong());
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.businessapi.analyticsservice.util;
+
+import com.businessapi.analyticsservice.exception.AnalyticsServiceAppException;
+import com.businessapi.analyticsservice.exception.ErrorType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class SessionManager {
+
+    public static Long getMemberIdFromAuthenticatedMember() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof Long memberId)) {
+            throw new AnalyticsServiceAppException(ErrorType.UNAUTHORIZED_REQUEST);
+        }
+
+        return memberId;
+    }
+}
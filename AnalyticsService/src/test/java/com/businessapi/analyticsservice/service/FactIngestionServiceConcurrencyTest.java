@@ -0,0 +1,134 @@
+package com.businessapi.analyticsservice.service;
+
+import com.businessapi.RabbitMQ.Model.OrderEventModel;
+import com.businessapi.RabbitMQ.Model.StockMovementEventModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Needs the PostgreSQL database of application.yml, like AnalyticsServiceApplicationTests.
+ * A backfill page and a live event for the same source record are ingested at the same moment from two threads,
+ * many times over. The rollups must count every record once, with the newest version, whichever thread gets there first.
+ */
+@SpringBootTest
+class FactIngestionServiceConcurrencyTest {
+    private static final int ROUNDS = 100;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @MockBean
+    RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    FactIngestionService factIngestionService;
+
+    @Autowired
+    RollupService rollupService;
+
+    // The database keeps its rows between runs, every run writes under a member of its own
+    private final long memberId = 1_000_000L + System.nanoTime() % 1_000_000_000L;
+
+    @Test
+    void backfillAndLiveEventOfANewOrderAreCountedOnce() throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            OrderEventModel order = order(orderId(i), "10.00", CREATED);
+            runTogether(() -> factIngestionService.ingestOrders(List.of(order)),
+                    () -> factIngestionService.ingestOrders(List.of(order)));
+        }
+
+        assertEquals(0, new BigDecimal("10.00").multiply(BigDecimal.valueOf(ROUNDS)).compareTo(rollupService.getTotalSales(memberId)));
+    }
+
+    @Test
+    void staleBackfillRacingAnUpdateKeepsTheNewerTotal() throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            factIngestionService.ingestOrders(List.of(order(orderId(i), "10.00", CREATED)));
+        }
+
+        for (int i = 0; i < ROUNDS; i++) {
+            OrderEventModel backfill = order(orderId(i), "10.00", CREATED);
+            OrderEventModel update = order(orderId(i), "25.00", CREATED.plusHours(1));
+            runTogether(() -> factIngestionService.ingestOrders(List.of(backfill)),
+                    () -> factIngestionService.ingestOrders(List.of(update)));
+        }
+
+        assertEquals(0, new BigDecimal("25.00").multiply(BigDecimal.valueOf(ROUNDS)).compareTo(rollupService.getTotalSales(memberId)));
+    }
+
+    @Test
+    void backfillAndLiveEventOfANewStockMovementAreCountedOnce() throws Exception {
+        long warehouseId = 7L;
+        for (int i = 0; i < ROUNDS; i++) {
+            StockMovementEventModel movement = StockMovementEventModel.builder()
+                    .id(orderId(i))
+                    .memberId(memberId)
+                    .productId(1L)
+                    .warehouseId(warehouseId)
+                    .quantity(3)
+                    .stockMovementType("IN")
+                    .status("ACTIVE")
+                    .createdAt(CREATED)
+                    .updatedAt(CREATED)
+                    .build();
+            runTogether(() -> factIngestionService.ingestStockMovements(List.of(movement)),
+                    () -> factIngestionService.ingestStockMovements(List.of(movement)));
+        }
+
+        assertEquals(Map.of(warehouseId, 3 * ROUNDS), rollupService.getStockPerWarehouse(memberId));
+    }
+
+    // Ids of this run only, derived from its member
+    private long orderId(int i) {
+        return memberId * 1_000 + i;
+    }
+
+    private OrderEventModel order(long id, String total, LocalDateTime updatedAt) {
+        return OrderEventModel.builder()
+                .id(id)
+                .memberId(memberId)
+                .quantity(1)
+                .unitPrice(new BigDecimal(total))
+                .total(new BigDecimal(total))
+                .orderType("SELL")
+                .status("ACTIVE")
+                .createdAt(CREATED)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    // Releases both tasks at the same moment and waits for both, so their transactions overlap
+    private static void runTogether(Runnable first, Runnable second) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            Future<?> a = executor.submit(() -> {
+                barrier.await();
+                first.run();
+                return null;
+            });
+            Future<?> b = executor.submit(() -> {
+                barrier.await();
+                second.run();
+                return null;
+            });
+            a.get(30, TimeUnit.SECONDS);
+            b.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
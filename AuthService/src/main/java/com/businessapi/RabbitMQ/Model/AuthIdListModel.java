@@ -0,0 +1,16 @@
+package com.businessapi.RabbitMQ.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class AuthIdListModel {
+    private List<Long> authIds;
+}
@@ -39,6 +39,9 @@ public class Config {
     //authId ile auth servisten kullanıcının mail adresini almak için kullanılan kuyrul yapısı
     public static final String queueGetMailByAuthId = "queueGetMailByAuthId";
     public static final String keyGetMailByAuthId = "keyGetMailByAuthId";
+    //authId listesi ile tek sorguda kullanıcıların mail adreslerini almak için kullanılan kuyruk yapısı
+    public static final String queueGetMailsByAuthIds = "queueGetMailsByAuthIds";
+    public static final String keyGetMailsByAuthIds = "keyGetMailsByAuthIds";
     //Admin tarafından kullanıcının şifresinin yenilenmesi
     private static final String queueChangePasswordFromUser = "queueChangePasswordFromUser";
     private static final String keyChangePasswordFromUser = "keyChangePasswordFromUser";
@@ -101,6 +104,10 @@ public class Config {
         return new Queue(queueGetMailByAuthId);
     }
     @Bean
+    public Queue queueGetMailsByAuthIds() {
+        return new Queue(queueGetMailsByAuthIds);
+    }
+    @Bean
     public Queue queueChangePasswordFromUser() {
         return new Queue(queueChangePasswordFromUser);
     }
@@ -185,6 +192,10 @@ public class Config {
         return BindingBuilder.bind(queueGetMailByAuthId).to(businessDirectExchange).with(keyGetMailByAuthId);
     }
     @Bean
+    public Binding bindingGetMailsByAuthIds(Queue queueGetMailsByAuthIds, DirectExchange businessDirectExchange) {
+        return BindingBuilder.bind(queueGetMailsByAuthIds).to(businessDirectExchange).with(keyGetMailsByAuthIds);
+    }
+    @Bean
     public Binding bindingChangePasswordFromUser(Queue queueChangePasswordFromUser, DirectExchange businessDirectExchange) {
         return BindingBuilder.bind(queueChangePasswordFromUser).to(businessDirectExchange).with(keyChangePasswordFromUser);
     }
@@ -1,5 +1,6 @@
 package com.businessapi.config.security;
 
+import com.businessapi.constants.EndPoints;
 import com.businessapi.entity.Auth;
 import com.businessapi.exception.AuthServiceException;
 import com.businessapi.exception.ErrorType;
@@ -26,6 +27,11 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     private final AuthService authService;
 
 
+    //The refresh endpoint verifies the (possibly expired) token itself
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getServletPath().endsWith(EndPoints.REFRESHTOKEN);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
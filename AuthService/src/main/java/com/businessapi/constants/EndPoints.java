@@ -16,6 +16,7 @@ public class EndPoints {
     public static final String DELETE = "/delete";
     public static final String RESETPASSWORD = "/reset-password" ;
     public static final String FORGETPASSWORD = "/forget-password";
+    public static final String REFRESHTOKEN = "/refresh-token";
 
 
 
@@ -58,6 +58,18 @@ public class AuthController {
                .build());
    }
 
+    @PostMapping(REFRESHTOKEN)
+    @Operation(
+            summary = "Refresh token",
+            description = "Issues a new token for the token in the Authorization header. Expired tokens are accepted within the refresh grace period, sessions older than the maximum session age have to log in again.")
+    public ResponseEntity<ResponseDTO<String>> refreshToken(@RequestHeader("Authorization") String token){
+        return ResponseEntity.ok(ResponseDTO.<String>builder()
+                .code(200)
+                .message("Token refreshed")
+                .data(authService.refreshToken(token))
+                .build());
+    }
+
     @DeleteMapping(DELETE)
     @Operation(
            summary = "Delete an auth",
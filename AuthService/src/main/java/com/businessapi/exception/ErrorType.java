@@ -29,7 +29,8 @@ public enum ErrorType {
     USER_IS_ACTIVE( 1016, "User is active." ,   HttpStatus.BAD_REQUEST),
     USER_ALREADY_DELETED( 1017, "User already deleted.", HttpStatus.BAD_REQUEST),
     EMAIL_OR_PASSWORD_WRONG( 1018, "Email or password wrong.", HttpStatus.BAD_REQUEST ),
-    PASSWORD_WRONG(1019,"Password Wrong",HttpStatus.BAD_REQUEST)
+    PASSWORD_WRONG(1019,"Password Wrong",HttpStatus.BAD_REQUEST),
+    SESSION_EXPIRED(1020, "The session has expired. Please log in again.", HttpStatus.UNAUTHORIZED)
     ;
 
 
@@ -17,9 +17,13 @@ import com.businessapi.utilty.PasswordEncoder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -29,6 +33,8 @@ public class AuthService {
     private final JwtTokenManager jwtTokenManager;
     private final PasswordEncoder passwordEncoder;
     private final RabbitTemplate rabbitTemplate;
+    @Value("${auth.token.role-claims.enabled:false}")
+    private boolean roleClaimsEnabled;
 
 
     @Transactional
@@ -111,11 +117,37 @@ public class AuthService {
         }
 
 
-        String token = jwtTokenManager.createToken(auth.getId()).orElseThrow(() -> new AuthServiceException(TOKEN_CREATION_FAILED));
-        return token;
+        return createLoginToken(auth.getId(), new Date());
 
     }
 
+    /**
+     * Issues a new token for a still valid (or recently expired) token. In role-claims mode the roles are
+     * fetched again, so this is how clients pick up role changes before their short-lived token expires.
+     * The new token keeps the login time of the old one, after auth.token.max-session-age the user has to log in again.
+     */
+    public String refreshToken(String token) {
+        String jwtToken = token.replace("Bearer ", "");
+        JwtTokenManager.RefreshableToken refreshable = jwtTokenManager.getRefreshableToken(jwtToken).orElseThrow(() -> new AuthServiceException(INVALID_TOKEN));
+        Auth auth = findById(refreshable.authId());
+        if (!auth.getStatus().equals(EStatus.ACTIVE)) {
+            throw new AuthServiceException(USER_IS_NOT_ACTIVE);
+        }
+        return createLoginToken(refreshable.authId(), refreshable.authTime());
+    }
+
+    private String createLoginToken(Long authId, Date authTime) {
+        if (!roleClaimsEnabled) {
+            return jwtTokenManager.createToken(authId, authTime).orElseThrow(() -> new AuthServiceException(TOKEN_CREATION_FAILED));
+        }
+        UserRoleListModel userRoles = (UserRoleListModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyRolesByAuthId", authId);
+        if (userRoles == null) {
+            throw new AuthServiceException(TOKEN_CREATION_FAILED);
+        }
+        return jwtTokenManager.createToken(authId, userRoles.getUserRoles(), authTime)
+                .orElseThrow(() -> new AuthServiceException(TOKEN_CREATION_FAILED));
+    }
+
 
 
     /**
@@ -268,6 +300,15 @@ public class AuthService {
         return authRepository.findEmailById(authId);
     }
 
+    @RabbitListener(queues = "queueGetMailsByAuthIds")
+    public MailsByAuthIdsModel getMailAdressesByAuthIds(AuthIdListModel model) {
+        Map<Long, String> mails = new HashMap<>();
+        if (model.getAuthIds() != null && !model.getAuthIds().isEmpty()) {
+            authRepository.findAllById(model.getAuthIds()).forEach(auth -> mails.put(auth.getId(), auth.getEmail()));
+        }
+        return MailsByAuthIdsModel.builder().mails(mails).build();
+    }
+
 
     public Boolean loginProfileManagement(LoginProfileManagementDTO dto,String token) {
         String jwtToken = token.replace("Bearer ", "");
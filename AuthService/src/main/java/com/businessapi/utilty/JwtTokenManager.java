@@ -7,10 +7,17 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.businessapi.exception.AuthServiceException;
 import com.businessapi.exception.ErrorType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -19,13 +26,74 @@ public class JwtTokenManager {
     String secretKey;
     @Value("${auth.secret.issuer}")
     String issuer;
+    @Value("${auth.token.role-claims.expiration:15m}")
+    Duration roleClaimsExpiration;
+    @Value("${auth.token.refresh-grace-period:1h}")
+    Duration refreshGracePeriod;
+    @Value("${auth.token.max-session-age:12h}")
+    Duration maxSessionAge;
     private final Long EXDATE = 1000L * 60 * 60 ;
 
+    private static final long VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+    private JWTVerifier verifier;
+    private JWTVerifier refreshVerifier;
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void initVerifier() {
+        verifier = JWT.require(Algorithm.HMAC512(secretKey)).withIssuer(issuer).build();
+        refreshVerifier = JWT.require(Algorithm.HMAC512(secretKey)).withIssuer(issuer)
+                .acceptExpiresAt(refreshGracePeriod.toSeconds())
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(UNTIL_TOKEN_EXPIRES)
+                .build();
+    }
+
+    /**
+     * Verifies the token with the verifier built at startup. A token that verified once is served from a bounded
+     * cache until its exp, so a client reusing the same token doesn't pay for the HMAC-512 check on every request.
+     */
+    DecodedJWT verify(String token) {
+        return verifiedTokens.get(token, verifier::verify);
+    }
+
+    //Entries live until the token's exp, tokens without exp are not cached
+    private static final Expiry<String, DecodedJWT> UNTIL_TOKEN_EXPIRES = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(String token, DecodedJWT decodedJWT, long currentTime) {
+            Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+            if (expiresAt == null)
+                return 0;
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
     public Optional<String> createToken (Long authId){
+        return createToken(authId, new Date());
+    }
+
+    /**
+     * authTime is when the user logged in with the password. Refreshed tokens carry it over, so the refresh
+     * endpoint can end the session after maxSessionAge however often the token was renewed.
+     */
+    public Optional<String> createToken (Long authId, Date authTime){
         String token;
         try{
             token = JWT.create().withAudience()
                     .withClaim("authId", authId)
+                    .withClaim("authTime", authTime)
                     .withIssuer(issuer)
                     .withIssuedAt(new Date())
                     .withExpiresAt(new Date(System.currentTimeMillis() + EXDATE))
@@ -36,11 +104,54 @@ public class JwtTokenManager {
         }
     }
 
+    /**
+     * Creates a short-lived token that carries the user's roles, so downstream JwtTokenFilters can build
+     * their authorities without asking UserManagement. Role changes reach the token on the next refresh.
+     */
+    public Optional<String> createToken (Long authId, List<String> roles, Date authTime){
+        String token;
+        try{
+            token = JWT.create().withAudience()
+                    .withClaim("authId", authId)
+                    .withClaim("roles", roles)
+                    .withClaim("authTime", authTime)
+                    .withIssuer(issuer)
+                    .withIssuedAt(new Date())
+                    .withExpiresAt(new Date(System.currentTimeMillis() + roleClaimsExpiration.toMillis()))
+                    .sign(Algorithm.HMAC512(secretKey));
+            return Optional.of(token);
+        }catch (Exception e){
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Same as getIdFromToken but also accepts tokens that expired less than refreshGracePeriod ago,
+     * used by the refresh endpoint. Tokens issued before the authTime claim existed count from their iat.
+     * Throws SESSION_EXPIRED once the login is older than maxSessionAge.
+     */
+    public Optional<RefreshableToken> getRefreshableToken(String token){
+        DecodedJWT decodedJWT;
+        try{
+            decodedJWT = refreshVerifier.verify(token);
+        }catch (Exception e){
+            return Optional.empty();
+        }
+        Long authId = decodedJWT.getClaim("authId").asLong();
+        Date authTime = decodedJWT.getClaim("authTime").isMissing() ? decodedJWT.getIssuedAt() : decodedJWT.getClaim("authTime").asDate();
+        if (authId == null || authTime == null)
+            return Optional.empty();
+        if (authTime.toInstant().plus(maxSessionAge).isBefore(Instant.now()))
+            throw new AuthServiceException(ErrorType.SESSION_EXPIRED);
+        return Optional.of(new RefreshableToken(authId, authTime));
+    }
+
+    public record RefreshableToken(Long authId, Date authTime) {
+    }
+
     public Optional<Long> validateToken(String token){
         try{
-            Algorithm algorithm = Algorithm.HMAC512(secretKey);
-            JWTVerifier verifier = JWT.require(algorithm).withIssuer(issuer).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
             if(decodedJWT == null)
                 return Optional.empty();
             Long authId = decodedJWT.getClaim("authId").asLong();
@@ -52,9 +163,7 @@ public class JwtTokenManager {
 
     public Optional<Long> getIdFromToken(String token){
         try {
-            Algorithm algorithm=Algorithm.HMAC512(secretKey);
-            JWTVerifier verifier=JWT.require(algorithm).withIssuer(issuer).build();
-            DecodedJWT decodedJWT= verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
 
             if (decodedJWT==null){
                 throw new AuthServiceException(ErrorType.INVALID_TOKEN);
@@ -87,9 +196,7 @@ public class JwtTokenManager {
 
     public Optional<String> getEmailFromToken(String token){
         try {
-            Algorithm algorithm = Algorithm.HMAC512(secretKey);
-            JWTVerifier verifier = JWT.require(algorithm).withIssuer(issuer).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
 
             if (decodedJWT == null) {
                 throw new AuthServiceException(ErrorType.INVALID_TOKEN);
@@ -1,9 +1,11 @@
 package com.businessapi.RabbitMQ;
 
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -15,6 +17,7 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
     private final String businessDirectExchange = "businessDirectExchange";
+    private final String roleChangeFanoutExchange = "roleChangeFanoutExchange";
 
     String queueFindAuthByToken = "find.auth.by.token";
     String keyFindAuthByToken = "key.find.auth.by.token";
@@ -50,6 +53,22 @@ public class RabbitMQConfig {
 //        return BindingBuilder.bind(queueSaveCustomerSendMail).to(directExchange).with(keySaveCustomerSendMail);
 //    }
 
+    //UserManagement publishes an authId here whenever that user's roles or status change, every instance gets its own queue
+    @Bean
+    public FanoutExchange roleChangeFanoutExchange(){
+        return new FanoutExchange(roleChangeFanoutExchange);
+    }
+
+    @Bean
+    public Queue queueRoleChange(){
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingRoleChange(Queue queueRoleChange, FanoutExchange roleChangeFanoutExchange){
+        return BindingBuilder.bind(queueRoleChange).to(roleChangeFanoutExchange);
+    }
+
     @Bean
     MessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
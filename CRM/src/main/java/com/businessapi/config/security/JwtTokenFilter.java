@@ -28,6 +28,7 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final JwtTokenManager jwtTokenManager;
     private final RabbitTemplate rabbitTemplate;
+    private final RoleCache roleCache;
 
 
     @Override
@@ -39,10 +40,12 @@ public class JwtTokenFilter extends OncePerRequestFilter {
             Long authId = jwtTokenManager.getIdFromToken(token).orElseThrow(() -> new CustomerServiceException(ErrorType.INVALID_TOKEN));
 
 
-            UserRoleListModel modal = (UserRoleListModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyRolesByAuthId", authId);
+            //Tokens issued in role-claims mode carry the roles, older tokens still go through UserManagement
+            List<String> userRoles = jwtTokenManager.getRolesFromToken(token)
+                    .orElseGet(() -> roleCache.getRoles(authId, id -> ((UserRoleListModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyRolesByAuthId", id)).getUserRoles()));
 
 
-            List<GrantedAuthority> authorities = modal.getUserRoles().stream()
+            List<GrantedAuthority> authorities = userRoles.stream()
                     .map(SimpleGrantedAuthority::new)
                     .collect(Collectors.toList());
 
@@ -21,6 +21,8 @@ public class EndPoints {
     public static final String MARKETINGCAMPAIGN=ROOT+"/marketing-campaign";
     public static final String SAVE = "/save";
     public static final String FINDALL = "/find-all";
+    public static final String FINDALL_BY_CURSOR = "/find-all-by-cursor";
+    public static final String SEARCH = "/search";
     public static final String FINDBYID = "/find-by-id";
     public static final String UPDATE = "/update";
     public static final String DELETE = "/delete";
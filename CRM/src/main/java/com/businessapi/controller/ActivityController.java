@@ -1,7 +1,9 @@
 package com.businessapi.controller;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.PageRequestLogDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.entity.Activities;
 import com.businessapi.service.ActivityService;
@@ -30,6 +32,16 @@ public class ActivityController {
                 .message("Activities found successfully")
                 .build());
     }
+
+    @PostMapping(FINDALL_BY_CURSOR)
+    @Operation(summary = "Find activities page by page with a cursor", description = "Find activities page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<Activities>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto) {
+        return ResponseEntity.ok(ResponseDTO.<CursorPageResponseDTO<Activities>>builder()
+                .data(service.findAllByCursor(dto))
+                .code(200)
+                .message("Activities found successfully")
+                .build());
+    }
 //    @PostMapping(FINDALL)
 //    @Operation(summary = "Find all activities", description = "Find all activities")
 //    public ResponseEntity<ResponseDTO<List<Activities>>> findAll() {
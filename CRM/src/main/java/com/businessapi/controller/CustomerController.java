@@ -2,6 +2,7 @@ package com.businessapi.controller;
 
 import com.businessapi.RabbitMQ.Model.CustomerSaveMailModel;
 import com.businessapi.dto.request.*;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.CustomerResponseForOpportunityDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.entity.Customer;
@@ -45,6 +46,26 @@ public class CustomerController {
                 .build());
     }
 
+    @PostMapping(FINDALL_BY_CURSOR)
+    @Operation(summary = "Find customers page by page with a cursor", description = "Find customers page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<Customer>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto) {
+        return ResponseEntity.ok(ResponseDTO.<CursorPageResponseDTO<Customer>>builder()
+                .data(customerService.findAllByCursor(dto))
+                .code(200)
+                .message("Customers found successfully")
+                .build());
+    }
+
+    @PostMapping(SEARCH)
+    @Operation(summary = "Search customers by name, surname or email",description = "Search customers by name, surname or email, best matches first")
+    public ResponseEntity<ResponseDTO<List<Customer>>> search(@RequestBody PageRequestDTO dto) {
+        return ResponseEntity.ok(ResponseDTO.<List<Customer>>builder()
+                .data(customerService.search(dto))
+                .code(200)
+                .message("Customers found successfully")
+                .build());
+    }
+
 
     @PutMapping(UPDATE)
     @Operation(summary = "Update customer by token",description = "Update customer by token")
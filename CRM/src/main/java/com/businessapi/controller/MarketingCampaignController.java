@@ -1,8 +1,10 @@
 package com.businessapi.controller;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.MarketingCampaignSaveDTO;
 import com.businessapi.dto.request.MarketingCampaignUpdateDTO;
 import com.businessapi.dto.request.PageRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.entity.MarketingCampaign;
 import com.businessapi.service.MarketingCampaignService;
@@ -40,6 +42,16 @@ public class MarketingCampaignController {
                 .message("Marketing campaigns found successfully")
                 .build());
     }
+
+    @PostMapping(FINDALL_BY_CURSOR)
+    @Operation(summary = "Find marketing campaigns page by page with a cursor", description = "Find marketing campaigns page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<MarketingCampaign>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto) {
+        return ResponseEntity.ok(ResponseDTO.<CursorPageResponseDTO<MarketingCampaign>>builder()
+                .data(marketingCampaignService.findAllByCursor(dto))
+                .code(200)
+                .message("Marketing campaigns found successfully")
+                .build());
+    }
     @PutMapping(UPDATE)
     @Operation(summary = "Update marketing campaign by id",description = "Update marketing campaign by id")
     public ResponseEntity<ResponseDTO<Boolean>> update(@RequestBody MarketingCampaignUpdateDTO dto) {
@@ -1,9 +1,11 @@
 package com.businessapi.controller;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.OpportunityForCustomerSaveDTO;
 import com.businessapi.dto.request.OpportunitySaveDTO;
 import com.businessapi.dto.request.OpportunityUpdateDTO;
 import com.businessapi.dto.request.PageRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.OpportunityDetailsDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.entity.Customer;
@@ -54,6 +56,16 @@ public class OpportunityController {
                 .build());
     }
 
+    @PostMapping(FINDALL_BY_CURSOR)
+    @Operation(summary = "Find opportunities page by page with a cursor", description = "Find opportunities page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<Opportunity>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto) {
+        return ResponseEntity.ok(ResponseDTO.<CursorPageResponseDTO<Opportunity>>builder()
+                .data(opportunityService.findAllByCursor(dto))
+                .code(200)
+                .message("Opportunities found successfully")
+                .build());
+    }
+
     @PutMapping(UPDATE)
     @Operation(summary = "Update opportunity by id", description = "Update opportunity by id")
     public ResponseEntity<ResponseDTO<Boolean>> update(@RequestBody OpportunityUpdateDTO dto) {
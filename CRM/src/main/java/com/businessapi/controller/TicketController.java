@@ -1,8 +1,10 @@
 package com.businessapi.controller;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.TicketSaveDTO;
 import com.businessapi.dto.request.TicketUpdateDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.entity.Ticket;
 import com.businessapi.service.TicketService;
@@ -60,6 +62,16 @@ public class TicketController {
                 .message("Tickets found successfully")
                 .build());
     }
+
+    @PostMapping(FINDALL_BY_CURSOR)
+    @Operation(summary = "Find tickets page by page with a cursor", description = "Find tickets page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<Ticket>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto) {
+        return ResponseEntity.ok(ResponseDTO.<CursorPageResponseDTO<Ticket>>builder()
+                .data(ticketService.findAllByCursor(dto))
+                .code(200)
+                .message("Tickets found successfully")
+                .build());
+    }
     @PostMapping(FINDBYID)
     @Operation(summary = "Find ticket by id",description = "Find ticket by id")
     public ResponseEntity<ResponseDTO<Ticket>> findById(@RequestParam Long id) {
@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
 @SuperBuilder
 @Data
 @Entity
-@Table(name = "tblactivities")
+@Table(name = "tblactivities", indexes = {
+        @Index(name = "idx_activities_member_message", columnList = "memberId, message, uuid")
+})
 public class Activities {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
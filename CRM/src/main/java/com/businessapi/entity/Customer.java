@@ -15,7 +15,9 @@ import java.util.List;
 @SuperBuilder
 @Data
 @Entity
-@Table(name = "tblcustomer")
+@Table(name = "tblcustomer", indexes = {
+        @Index(name = "idx_customer_member_first_name", columnList = "memberId, firstName, id")
+})
 @EqualsAndHashCode(callSuper = true)
 public class Customer extends BaseEntity{
     @Id
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 @SuperBuilder
 @Data
 @Entity
-@Table(name = "tblmarketingcampaign")
+@Table(name = "tblmarketingcampaign", indexes = {
+        @Index(name = "idx_marketing_campaign_member_name", columnList = "memberId, name, id")
+})
 public class MarketingCampaign extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
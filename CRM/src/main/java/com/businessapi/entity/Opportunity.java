@@ -15,7 +15,9 @@ import java.util.List;
 @SuperBuilder
 @Data
 @Entity
-@Table(name = "tblopportunity")
+@Table(name = "tblopportunity", indexes = {
+        @Index(name = "idx_opportunity_member_name", columnList = "memberId, name, id")
+})
 @EqualsAndHashCode(callSuper = true)
 public class Opportunity extends BaseEntity {
     @Id
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 @SuperBuilder
 @Data
 @Entity
-@Table(name = "tblticket")
+@Table(name = "tblticket", indexes = {
+        @Index(name = "idx_ticket_member_subject", columnList = "memberId, subject, id")
+})
 public class Ticket extends BaseEntity{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,7 +28,11 @@ public enum ErrorType {
      CUSTOMER_ALREADY_EXIST(3006,"Customer already exist" ,HttpStatus.BAD_REQUEST),
 
     // Marketing campaign errors
-    MARKETING_CAMPAIGN_ALREADY_DELETED(4000,"The marketing campaign already deleted" ,HttpStatus.BAD_REQUEST );
+    MARKETING_CAMPAIGN_ALREADY_DELETED(4000,"The marketing campaign already deleted" ,HttpStatus.BAD_REQUEST ),
+
+    // Pagination errors
+    INVALID_PAGE_CURSOR(5000, "The page cursor is invalid", HttpStatus.BAD_REQUEST),
+    INVALID_PAGE_SIZE(5001, "The page size must be at least 1", HttpStatus.BAD_REQUEST);
 
 
 
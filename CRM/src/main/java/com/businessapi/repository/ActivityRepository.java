@@ -1,11 +1,29 @@
 package com.businessapi.repository;
 import com.businessapi.entity.Activities;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface ActivityRepository extends JpaRepository<Activities, Long> {
-    List<Activities> findAllByCodeContainingIgnoreCaseAndMemberIdOrderByMessageAsc(String s, Long memberId, PageRequest of);
+    //ILIKE instead of the derived upper(code) LIKE, so idx_activities_code_trgm in import.sql can serve it
+    @Query("SELECT a FROM Activities a WHERE a.code ILIKE %:searchText% AND a.memberId = :memberId ORDER BY a.message ASC")
+    List<Activities> findAllByCodeContainingIgnoreCaseAndMemberIdOrderByMessageAsc(@Param("searchText") String s, @Param("memberId") Long memberId, PageRequest of);
+
+    //Row-value seek on (message, uuid) for the cursor endpoint instead of an OFFSET
+    @Query("SELECT a FROM Activities a WHERE a.code ILIKE %:searchText% AND a.memberId = :memberId " +
+            "AND (a.message, a.uuid) > (:afterKey, :afterId) " +
+            "ORDER BY a.message ASC, a.uuid ASC")
+    List<Activities> findAllAfterCursor(@Param("searchText") String searchText, @Param("memberId") Long memberId, @Param("afterKey") String afterKey, @Param("afterId") String afterId, Pageable pageable);
+
+    //Activities without a message sort last (NULLS LAST) and never pass the row-value seek, they are read by uuid after the others
+    @Query("SELECT a FROM Activities a WHERE a.code ILIKE %:searchText% AND a.memberId = :memberId " +
+            "AND a.message IS NULL AND a.uuid > :afterId " +
+            "ORDER BY a.uuid ASC")
+    List<Activities> findAllWithoutMessageAfterCursor(@Param("searchText") String searchText, @Param("memberId") Long memberId, @Param("afterId") String afterId, Pageable pageable);
+
     Activities findByUuid(String uuid);
 
 
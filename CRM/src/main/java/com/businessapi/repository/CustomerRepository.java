@@ -6,8 +6,10 @@ import com.businessapi.entity.Customer;
 import com.businessapi.utility.enums.EStatus;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,7 +18,24 @@ import java.util.Optional;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
-    List<Customer> findAllByFirstNameContainingIgnoreCaseAndStatusAndMemberIdOrderByFirstNameAsc(String s, EStatus status,Long memberId, PageRequest of);
+    //ILIKE instead of the derived upper(first_name) LIKE, so idx_customer_first_name_trgm in import.sql can serve it
+    @Query("SELECT c FROM Customer c WHERE c.firstName ILIKE %:searchText% AND c.status = :status AND c.memberId = :memberId ORDER BY c.firstName ASC")
+    List<Customer> findAllByFirstNameContainingIgnoreCaseAndStatusAndMemberIdOrderByFirstNameAsc(@Param("searchText") String s, @Param("status") EStatus status, @Param("memberId") Long memberId, PageRequest of);
+
+    //Ranked search over full name and email: prefix matches first, then by trigram word similarity so typos still match
+    @Query(value = "SELECT c.* FROM tblcustomer c " +
+            "WHERE c.member_id = :memberId AND c.status = 'ACTIVE' " +
+            "AND ((COALESCE(c.first_name, '') || ' ' || COALESCE(c.last_name, '')) ILIKE CONCAT('%', :text, '%') OR c.email ILIKE CONCAT('%', :text, '%') " +
+            "OR :text <% (COALESCE(c.first_name, '') || ' ' || COALESCE(c.last_name, '')) OR :text <% c.email) " +
+            "ORDER BY (c.first_name ILIKE CONCAT(:text, '%') OR c.last_name ILIKE CONCAT(:text, '%') OR c.email ILIKE CONCAT(:text, '%')) DESC, " +
+            "GREATEST(word_similarity(:text, COALESCE(c.first_name, '') || ' ' || COALESCE(c.last_name, '')), word_similarity(:text, COALESCE(c.email, ''))) DESC, c.first_name ASC, c.id ASC", nativeQuery = true)
+    List<Customer> search(@Param("text") String text, @Param("memberId") Long memberId, Pageable pageable);
+
+    //Row-value seek on (firstName, id) for the cursor endpoint instead of an OFFSET
+    @Query("SELECT c FROM Customer c WHERE c.firstName ILIKE %:searchText% AND c.status = :status AND c.memberId = :memberId " +
+            "AND (c.firstName, c.id) > (:afterKey, :afterId) " +
+            "ORDER BY c.firstName ASC, c.id ASC")
+    List<Customer> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
 
     Optional<Customer> findCustomerByEmailIgnoreCase(String email);
 
@@ -3,10 +3,21 @@ package com.businessapi.repository;
 import com.businessapi.entity.MarketingCampaign;
 import com.businessapi.utility.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface MarketingCampeignRepository extends JpaRepository<MarketingCampaign, Long> {
-    List<MarketingCampaign> findAllByNameContainingIgnoreCaseAndStatusAndMemberIdOrderByNameAsc(String s, EStatus eStatus, Long memberId, PageRequest of);
+    //ILIKE instead of the derived upper(name) LIKE, so idx_marketing_campaign_name_trgm in import.sql can serve it
+    @Query("SELECT m FROM MarketingCampaign m WHERE m.name ILIKE %:searchText% AND m.status = :status AND m.memberId = :memberId ORDER BY m.name ASC")
+    List<MarketingCampaign> findAllByNameContainingIgnoreCaseAndStatusAndMemberIdOrderByNameAsc(@Param("searchText") String s, @Param("status") EStatus eStatus, @Param("memberId") Long memberId, PageRequest of);
+
+    //Row-value seek on (name, id) for the cursor endpoint instead of an OFFSET
+    @Query("SELECT m FROM MarketingCampaign m WHERE m.name ILIKE %:searchText% AND m.status = :status AND m.memberId = :memberId " +
+            "AND (m.name, m.id) > (:afterKey, :afterId) " +
+            "ORDER BY m.name ASC, m.id ASC")
+    List<MarketingCampaign> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -4,6 +4,7 @@ package com.businessapi.repository;
 import com.businessapi.entity.Opportunity;
 import com.businessapi.utility.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,7 +14,15 @@ import java.util.List;
 
 @Repository
 public interface OpportunityRepository extends JpaRepository<Opportunity, Long> {
-    List<Opportunity> findAllByNameContainingIgnoreCaseAndStatusAndMemberIdOrderByNameAsc(String s, EStatus eStatus, Long memberId, PageRequest of);
+    //ILIKE instead of the derived upper(name) LIKE, so idx_opportunity_name_trgm in import.sql can serve it
+    @Query("SELECT o FROM Opportunity o WHERE o.name ILIKE %:searchText% AND o.status = :status AND o.memberId = :memberId ORDER BY o.name ASC")
+    List<Opportunity> findAllByNameContainingIgnoreCaseAndStatusAndMemberIdOrderByNameAsc(@Param("searchText") String s, @Param("status") EStatus eStatus, @Param("memberId") Long memberId, PageRequest of);
+
+    //Row-value seek on (name, id) for the cursor endpoint instead of an OFFSET
+    @Query("SELECT o FROM Opportunity o WHERE o.name ILIKE %:searchText% AND o.status = :status AND o.memberId = :memberId " +
+            "AND (o.name, o.id) > (:afterKey, :afterId) " +
+            "ORDER BY o.name ASC, o.id ASC")
+    List<Opportunity> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
 
     @Query("SELECT c.id FROM Customer c JOIN c.opportunities o WHERE o.id = :id")
     List<Long> findAllCustomersIdById(@Param("id") Long id);
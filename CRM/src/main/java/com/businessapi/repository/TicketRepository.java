@@ -3,11 +3,22 @@ package com.businessapi.repository;
 import com.businessapi.entity.Ticket;
 import com.businessapi.utility.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
-    List<Ticket> findAllBySubjectContainingIgnoreCaseAndStatusAndMemberIdOrderBySubjectAsc(String s, EStatus eStatus, Long memberId, PageRequest of);
+    //ILIKE instead of the derived upper(subject) LIKE, so idx_ticket_subject_trgm in import.sql can serve it
+    @Query("SELECT t FROM Ticket t WHERE t.subject ILIKE %:searchText% AND t.status = :status AND t.memberId = :memberId ORDER BY t.subject ASC")
+    List<Ticket> findAllBySubjectContainingIgnoreCaseAndStatusAndMemberIdOrderBySubjectAsc(@Param("searchText") String s, @Param("status") EStatus eStatus, @Param("memberId") Long memberId, PageRequest of);
+
+    //Row-value seek on (subject, id) for the cursor endpoint instead of an OFFSET
+    @Query("SELECT t FROM Ticket t WHERE t.subject ILIKE %:searchText% AND t.status = :status AND t.memberId = :memberId " +
+            "AND (t.subject, t.id) > (:afterKey, :afterId) " +
+            "ORDER BY t.subject ASC, t.id ASC")
+    List<Ticket> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,20 +1,25 @@
 package com.businessapi.service;
 
 import com.businessapi.dto.request.ActivitySaveDTO;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.PageRequestLogDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.entity.Activities;
 import com.businessapi.exception.CustomerServiceException;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.repository.ActivityRepository;
+import com.businessapi.utility.PageCursor;
 import com.businessapi.utility.SessionManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.random.RandomGenerator;
 
@@ -71,6 +76,22 @@ public class ActivityService {
         return activitiesList;
     }
 
+    public CursorPageResponseDTO<Activities> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        Long memberId = SessionManager.getMemberIdFromAuthenticatedMember();
+        Pageable pageable = PageCursor.pageable(dto.size());
+        //A cursor without a sort key points into the activities without a message, which come after all the others
+        boolean withoutMessage = after.id() != null && after.sortKey() == null;
+        List<Activities> activitiesList = new ArrayList<>();
+        if (!withoutMessage) {
+            activitiesList.addAll(repository.findAllAfterCursor(dto.searchText(), memberId, after.keyOrEmpty(), after.idOrEmpty(), pageable));
+        }
+        if (activitiesList.size() < pageable.getPageSize()) {
+            activitiesList.addAll(repository.findAllWithoutMessageAfterCursor(dto.searchText(), memberId, withoutMessage ? after.id() : "", PageRequest.ofSize(pageable.getPageSize() - activitiesList.size())));
+        }
+        return PageCursor.toPage(activitiesList, dto.size(), Activities::getMessage, Activities::getUuid);
+    }
+
     public Activities findById(String uuid) {
         return repository.findByUuid(uuid);
     }
@@ -2,12 +2,14 @@ package com.businessapi.service;
 
 import com.businessapi.RabbitMQ.Model.CustomerSaveMailModel;
 import com.businessapi.dto.request.*;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.CustomerResponseForOpportunityDTO;
 import com.businessapi.dto.response.OpportunityResponseDTO;
 import com.businessapi.entity.Customer;
 import com.businessapi.exception.CustomerServiceException;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.repository.CustomerRepository;
+import com.businessapi.utility.PageCursor;
 import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import jakarta.transaction.Transactional;
@@ -125,6 +127,21 @@ public class CustomerService {
 
     }
 
+    // Same list as findAll, sought on (firstName, id) with the cursor of the previous page instead of an offset
+    public CursorPageResponseDTO<Customer> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<Customer> customerList = customerRepository.findAllAfterCursor(dto.searchText(), EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), after.keyOrEmpty(), after.longIdOrZero(), PageCursor.pageable(dto.size()));
+        activityService.log(ActivitySaveDTO.builder().type("info").message("Customers viewed").build());
+        return PageCursor.toPage(customerList, dto.size(), Customer::getFirstName, Customer::getId);
+    }
+
+    // Ranked search over name, surname and email: prefix matches first, then closest matches, tolerates typos
+    public List<Customer> search(PageRequestDTO dto) {
+        List<Customer> customerList = customerRepository.search(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), PageRequest.of(dto.page(), dto.size()));
+        activityService.log(ActivitySaveDTO.builder().type("info").message("Customers searched").build());
+        return customerList;
+    }
+
     // This method will update customer by token //TEST
     public Boolean update(CustomerUpdateDTO customerUpdateDTO) {
         Customer customer = customerRepository.findById(customerUpdateDTO.id()).orElseThrow(() -> new CustomerServiceException(ErrorType.NOT_FOUNDED_CUSTOMER));
@@ -1,11 +1,13 @@
 package com.businessapi.service;
 
 import com.businessapi.dto.request.*;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.entity.Customer;
 import com.businessapi.entity.MarketingCampaign;
 import com.businessapi.exception.CustomerServiceException;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.repository.MarketingCampeignRepository;
+import com.businessapi.utility.PageCursor;
 import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import lombok.RequiredArgsConstructor;
@@ -53,6 +55,13 @@ public class MarketingCampaignService {
 
     }
 
+    public CursorPageResponseDTO<MarketingCampaign> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<MarketingCampaign> marketingCampaignList = marketingCampeignRepository.findAllAfterCursor(dto.searchText(), EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), after.keyOrEmpty(), after.longIdOrZero(), PageCursor.pageable(dto.size()));
+        activityService.log(ActivitySaveDTO.builder().type("info").message("Marketing campaigns viewed").build());
+        return PageCursor.toPage(marketingCampaignList, dto.size(), MarketingCampaign::getName, MarketingCampaign::getId);
+    }
+
 
     public Boolean update(MarketingCampaignUpdateDTO dto) {
         MarketingCampaign marketingCampaign = marketingCampeignRepository.findById(dto.id()).orElseThrow(() -> new CustomerServiceException(ErrorType.BAD_REQUEST_ERROR));
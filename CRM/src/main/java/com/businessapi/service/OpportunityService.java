@@ -1,6 +1,7 @@
 package com.businessapi.service;
 
 import com.businessapi.dto.request.*;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.CustomerResponseForOpportunityDTO;
 import com.businessapi.dto.response.OpportunityDetailsDTO;
 import com.businessapi.dto.response.OpportunityResponseDTO;
@@ -10,6 +11,7 @@ import com.businessapi.entity.Ticket;
 import com.businessapi.exception.CustomerServiceException;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.repository.OpportunityRepository;
+import com.businessapi.utility.PageCursor;
 import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import lombok.RequiredArgsConstructor;
@@ -94,6 +96,12 @@ public class OpportunityService {
 
     }
 
+    public CursorPageResponseDTO<Opportunity> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<Opportunity> opportunityList = opportunityRepository.findAllAfterCursor(dto.searchText(), EStatus.ACTIVE, SessionManager.memberId, after.keyOrEmpty(), after.longIdOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(opportunityList, dto.size(), Opportunity::getName, Opportunity::getId);
+    }
+
     public Boolean update(OpportunityUpdateDTO dto) {
         Opportunity opportunity = opportunityRepository.findById(dto.id()).orElseThrow(() -> new CustomerServiceException(ErrorType.BAD_REQUEST_ERROR));
         SessionManager.authorizationCheck(opportunity.getMemberId());
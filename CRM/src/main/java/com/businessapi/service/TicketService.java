@@ -1,11 +1,13 @@
 package com.businessapi.service;
 
 import com.businessapi.dto.request.*;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.entity.Customer;
 import com.businessapi.entity.Ticket;
 import com.businessapi.exception.CustomerServiceException;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.repository.TicketRepository;
+import com.businessapi.utility.PageCursor;
 import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import lombok.RequiredArgsConstructor;
@@ -86,6 +88,12 @@ public class TicketService {
         return ticketRepository.findAllBySubjectContainingIgnoreCaseAndStatusAndMemberIdOrderBySubjectAsc(dto.searchText(), EStatus.ACTIVE, SessionManager.memberId, PageRequest.of(dto.page(), dto.size()));
     }
 
+    public CursorPageResponseDTO<Ticket> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<Ticket> ticketList = ticketRepository.findAllAfterCursor(dto.searchText(), EStatus.ACTIVE, SessionManager.memberId, after.keyOrEmpty(), after.longIdOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(ticketList, dto.size(), Ticket::getSubject, Ticket::getId);
+    }
+
     public Ticket findById(Long id) {
         return ticketRepository.findById(id).orElseThrow(() -> new CustomerServiceException(ErrorType.BAD_REQUEST_ERROR));
     }
@@ -0,0 +1,10 @@
+-- Runs after Hibernate creates the schema (ddl-auto create-drop). Trigram indexes for the ILIKE '%text%' list searches and CustomerRepository.search, member_id first (btree_gin) so one tenant's rows are matched without scanning the others
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_customer_first_name_trgm ON tblcustomer USING gin (member_id, first_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customer_full_name_trgm ON tblcustomer USING gin (member_id, (COALESCE(first_name, '') || ' ' || COALESCE(last_name, '')) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customer_email_trgm ON tblcustomer USING gin (member_id, email gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_ticket_subject_trgm ON tblticket USING gin (member_id, subject gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_opportunity_name_trgm ON tblopportunity USING gin (member_id, name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_marketing_campaign_name_trgm ON tblmarketingcampaign USING gin (member_id, name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_activities_code_trgm ON tblactivities USING gin (member_id, code gin_trgm_ops);
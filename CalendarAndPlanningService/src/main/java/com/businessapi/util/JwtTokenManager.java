@@ -7,9 +7,15 @@ import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.businessapi.exception.CalendarAndPlannigServiceException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.Optional;
 
@@ -24,6 +30,48 @@ public class JwtTokenManager {
     Long expireTime = 1000L * 60 * 120; // 120 dakika
 
 
+    private static final long VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+    private JWTVerifier verifier;
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void initVerifier() {
+        verifier = JWT.require(Algorithm.HMAC512(secretKey)).withIssuer(issuer).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(UNTIL_TOKEN_EXPIRES)
+                .build();
+    }
+
+    /**
+     * Verifies the token with the verifier built at startup. A token that verified once is served from a bounded
+     * cache until its exp, so a client reusing the same token doesn't pay for the HMAC-512 check on every request.
+     */
+    DecodedJWT verify(String token) {
+        return verifiedTokens.get(token, verifier::verify);
+    }
+
+    //Entries live until the token's exp, tokens without exp are not cached
+    private static final Expiry<String, DecodedJWT> UNTIL_TOKEN_EXPIRES = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(String token, DecodedJWT decodedJWT, long currentTime) {
+            Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+            if (expiresAt == null)
+                return 0;
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
     public Optional<String> createToken(Long authId){
         String token="";
 
@@ -47,9 +95,7 @@ public class JwtTokenManager {
     public Optional<Long> getUserIdFromToken(String token){
         DecodedJWT decodedJWT = null;
         try {
-            Algorithm algorithm = Algorithm.HMAC512(secretKey);
-            JWTVerifier verifier = JWT.require(algorithm).withIssuer(issuer).build();
-            decodedJWT = verifier.verify(token);
+            decodedJWT = verify(token);
 
             if(decodedJWT==null){
                 return Optional.empty();
@@ -1,8 +1,10 @@
 package com.businessapi.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -15,6 +17,7 @@ import org.springframework.context.annotation.Configuration;
 public class Config {
 
     private final String businessDirectExchange = "businessDirectExchange";
+    private final String roleChangeFanoutExchange = "roleChangeFanoutExchange";
     private final String queueSaveUserFromAuth = "queueSaveUserFromAuth";
     private final String keySaveUserFromAuth = "keySaveUserFromAuth";
     private final String queueSendVerificationEmail = "queueSendVerificationEmail";
@@ -123,6 +126,22 @@ public class Config {
         return BindingBuilder.bind(queueSaveAuthFromUser).to(businessDirectExchange).with(keySaveAuthFromUser);
     }
 
+    //UserManagement publishes an authId here whenever that user's roles or status change, every instance gets its own queue
+    @Bean
+    public FanoutExchange roleChangeFanoutExchange(){
+        return new FanoutExchange(roleChangeFanoutExchange);
+    }
+
+    @Bean
+    public Queue queueRoleChange(){
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingRoleChange(Queue queueRoleChange, FanoutExchange roleChangeFanoutExchange){
+        return BindingBuilder.bind(queueRoleChange).to(roleChangeFanoutExchange);
+    }
+
     @Bean
     MessageConverter messageConverter(){
         return new Jackson2JsonMessageConverter();
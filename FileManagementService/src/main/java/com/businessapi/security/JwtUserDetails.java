@@ -21,6 +21,7 @@ import java.util.List;
 public class JwtUserDetails implements UserDetailsService {
 
     private final RabbitTemplate rabbitTemplate;
+    private final RoleCache roleCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -40,8 +41,10 @@ public class JwtUserDetails implements UserDetailsService {
     }
 
     public List<String> getRolesRabbit(Long authId){
-        UserRoleListModel userRoleListModel = (UserRoleListModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyRolesByAuthId", authId);
-        return userRoleListModel.getUserRoles();
+        return roleCache.getRoles(authId, id -> {
+            UserRoleListModel userRoleListModel = (UserRoleListModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyRolesByAuthId", id);
+            return userRoleListModel.getUserRoles();
+        });
     }
 
     public EmailAndPasswordModel getEmailAndPassword(Long authId){
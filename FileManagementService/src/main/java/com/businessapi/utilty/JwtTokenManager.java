@@ -8,9 +8,15 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.FileManagementServiceException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.Optional;
 
@@ -22,6 +28,48 @@ public class JwtTokenManager {
     String issuer;
     private final Long EXDATE = 1000L * 60 * 60 ;
 
+    private static final long VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+    private JWTVerifier verifier;
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void initVerifier() {
+        verifier = JWT.require(Algorithm.HMAC512(secretKey)).withIssuer(issuer).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(UNTIL_TOKEN_EXPIRES)
+                .build();
+    }
+
+    /**
+     * Verifies the token with the verifier built at startup. A token that verified once is served from a bounded
+     * cache until its exp, so a client reusing the same token doesn't pay for the HMAC-512 check on every request.
+     */
+    DecodedJWT verify(String token) {
+        return verifiedTokens.get(token, verifier::verify);
+    }
+
+    //Entries live until the token's exp, tokens without exp are not cached
+    private static final Expiry<String, DecodedJWT> UNTIL_TOKEN_EXPIRES = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(String token, DecodedJWT decodedJWT, long currentTime) {
+            Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+            if (expiresAt == null)
+                return 0;
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
     public Optional<String> createToken (Long authId){
         String token;
         try{
@@ -39,9 +87,7 @@ public class JwtTokenManager {
 
     public Optional<Long> validateToken(String token){
         try{
-            Algorithm algorithm = Algorithm.HMAC512(secretKey);
-            JWTVerifier verifier = JWT.require(algorithm).withIssuer(issuer).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
             if(decodedJWT == null)
                 return Optional.empty();
             Long authId = decodedJWT.getClaim("authId").asLong();
@@ -53,9 +99,7 @@ public class JwtTokenManager {
 
     public Optional<Long> getIdFromToken(String token){
         try {
-            Algorithm algorithm=Algorithm.HMAC512(secretKey);
-            JWTVerifier verifier=JWT.require(algorithm).withIssuer(issuer).build();
-            DecodedJWT decodedJWT= verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
 
             if (decodedJWT==null){
                 throw new FileManagementServiceException(ErrorType.INVALID_TOKEN);
@@ -0,0 +1,140 @@
+package com.businessapi.services;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BudgetService.findAll over 5k departments, 50k budgets and 2M expenses, using the SQL Hibernate sends for each version:
+ * perDepartmentCollections loads every department and then its budgets and expenses collections one department at a time
+ * (what the service used to do, the requested page was ignored), groupedPage is the single paginated query
+ * BudgetRepository now runs.
+ *
+ * Needs a PostgreSQL database, the tables are created in their own schema and dropped afterwards.
+ * Run with: BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/FinanceDB BENCHMARK_DB_USERNAME=postgres BENCHMARK_DB_PASSWORD=1234 ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetRollupBenchmark {
+    private static final String SCHEMA = "budget_rollup_benchmark";
+    private static final int DEPARTMENTS = 5_000;
+    private static final int BUDGETS = 50_000;
+    private static final int EXPENSES = 2_000_000;
+
+    @Param({"0", "100"})
+    public int page;
+
+    @Param({"20"})
+    public int size;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_DB_URL", "jdbc:postgresql://localhost:5432/FinanceDB"),
+                env("BENCHMARK_DB_USERNAME", "postgres"),
+                env("BENCHMARK_DB_PASSWORD", "1234"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            statement.execute("CREATE TABLE tbldepartment (id bigint PRIMARY KEY, name varchar(255), status varchar(255), created_at timestamp(6), updated_at timestamp(6))");
+            statement.execute("CREATE TABLE tblbudget (id bigint PRIMARY KEY, department_id bigint, total_amount numeric(38,2), sub_amount numeric(38,2), spent_amount numeric(38,2), " +
+                    "budget_category varchar(255), description varchar(255), status varchar(255), created_at timestamp(6), updated_at timestamp(6))");
+            statement.execute("CREATE TABLE tblexpense (id bigint PRIMARY KEY, department_id bigint, expense_category varchar(255), expense_date date, " +
+                    "amount numeric(38,2), description varchar(255), status varchar(255), created_at timestamp(6), updated_at timestamp(6))");
+            statement.execute("INSERT INTO tbldepartment SELECT i, 'department ' || i, 'ACTIVE', now(), now() FROM generate_series(1, " + DEPARTMENTS + ") i");
+            statement.execute("INSERT INTO tblbudget SELECT i, i % " + DEPARTMENTS + " + 1, 0, (i % 100) * 1000 + 5000, 0, 'OTHER', 'budget ' || i, " +
+                    "CASE WHEN i % 10 = 0 THEN 'DELETED' ELSE 'ACTIVE' END, now(), now() FROM generate_series(1, " + BUDGETS + ") i");
+            statement.execute("INSERT INTO tblexpense SELECT i, i % " + DEPARTMENTS + " + 1, 'OTHER', DATE '2024-12-31' - (i % 1095), (i % 997) * 3.25 + 10, 'expense ' || i, " +
+                    "CASE WHEN i % 50 = 0 THEN 'DELETED' ELSE 'APPROVED' END, now(), now() FROM generate_series(1, " + EXPENSES + ") i");
+            statement.execute("CREATE INDEX idx_budget_department_status ON tblbudget (department_id, status, sub_amount)");
+            statement.execute("CREATE INDEX idx_expense_department_status ON tblexpense (department_id, status, amount)");
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Row> perDepartmentCollections() throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement departments = connection.prepareStatement(
+                "SELECT d.id, d.name, d.status, d.created_at, d.updated_at FROM tbldepartment d");
+             PreparedStatement budgets = connection.prepareStatement(
+                     "SELECT b.id, b.department_id, b.total_amount, b.sub_amount, b.spent_amount, b.budget_category, b.description, b.status, b.created_at, b.updated_at " +
+                             "FROM tblbudget b WHERE b.department_id = ?");
+             PreparedStatement expenses = connection.prepareStatement(
+                     "SELECT e.id, e.department_id, e.expense_category, e.expense_date, e.amount, e.description, e.status, e.created_at, e.updated_at " +
+                             "FROM tblexpense e WHERE e.department_id = ?")) {
+            try (ResultSet department = departments.executeQuery()) {
+                while (department.next()) {
+                    if ("DELETED".equals(department.getString(3))) {
+                        continue;
+                    }
+                    long departmentId = department.getLong(1);
+                    BigDecimal totalAmount = BigDecimal.ZERO;
+                    BigDecimal spentAmount = BigDecimal.ZERO;
+                    budgets.setLong(1, departmentId);
+                    try (ResultSet budget = budgets.executeQuery()) {
+                        while (budget.next()) {
+                            if ("ACTIVE".equals(budget.getString(8))) {
+                                totalAmount = totalAmount.add(budget.getBigDecimal(4));
+                            }
+                        }
+                    }
+                    expenses.setLong(1, departmentId);
+                    try (ResultSet expense = expenses.executeQuery()) {
+                        while (expense.next()) {
+                            spentAmount = spentAmount.add(expense.getBigDecimal(5));
+                        }
+                    }
+                    rows.add(new Row(departmentId, totalAmount, spentAmount, department.getString(2)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<Row> groupedPage() throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT d.id, " +
+                        "(SELECT COALESCE(SUM(b.sub_amount), 0) FROM tblbudget b WHERE b.department_id = d.id AND b.status = 'ACTIVE'), " +
+                        "(SELECT COALESCE(SUM(e.amount), 0) FROM tblexpense e WHERE e.department_id = d.id AND e.status <> 'DELETED'), " +
+                        "d.name FROM tbldepartment d WHERE d.status <> 'DELETED' AND d.name ILIKE '%%' ORDER BY d.id ASC OFFSET ? ROWS FETCH FIRST ? ROWS ONLY")) {
+            statement.setInt(1, page * size);
+            statement.setInt(2, size);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(new Row(resultSet.getLong(1), resultSet.getBigDecimal(2), resultSet.getBigDecimal(3), resultSet.getString(4)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+
+    public record Row(Long id, BigDecimal totalAmount, BigDecimal spentAmount, String departmentName) {
+    }
+}
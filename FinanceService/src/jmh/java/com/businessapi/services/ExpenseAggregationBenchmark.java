@@ -0,0 +1,192 @@
+package com.businessapi.services;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpenseService dashboard calls over a seeded 1M row expense ledger spread over 3 years, using the SQL Hibernate sends for each version:
+ * the *InJava benchmarks load every expense of the range and sum, bucket or sort them in memory (what the service used to do),
+ * the *InDatabase benchmarks run the aggregate queries ExpenseRepository now has, answered from idx_expense_date_status_category.
+ * IncomeService runs the same queries on tblincome.
+ *
+ * Needs a PostgreSQL database, the tables are created in their own schema and dropped afterwards.
+ * Run with: BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/FinanceDB BENCHMARK_DB_USERNAME=postgres BENCHMARK_DB_PASSWORD=1234 ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpenseAggregationBenchmark {
+    private static final String SCHEMA = "expense_aggregation_benchmark";
+    private static final int EXPENSES = 1_000_000;
+    private static final int DAYS = 3 * 365;
+    private static final LocalDate LAST_DAY = LocalDate.of(2024, 12, 31);
+
+    // One month and the whole ledger
+    @Param({"30", "1095"})
+    public int rangeDays;
+
+    private Connection connection;
+    private Date startDate;
+    private Date endDate;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_DB_URL", "jdbc:postgresql://localhost:5432/FinanceDB"),
+                env("BENCHMARK_DB_USERNAME", "postgres"),
+                env("BENCHMARK_DB_PASSWORD", "1234"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            statement.execute("CREATE TABLE tblexpense (id bigint PRIMARY KEY, department_id bigint, expense_category varchar(255), expense_date date, " +
+                    "amount numeric(38,2), description varchar(255), status varchar(255), created_at timestamp(6), updated_at timestamp(6))");
+            statement.execute("INSERT INTO tblexpense SELECT i, i % 20 + 1, (ARRAY['PERSONNEL','BUSSINESS','TRAVEL','OFFICE_SUPPLIES','MARKETING','EDUCATION','INSURANCE','TAX','UTILITIES','OTHER'])[i % 10 + 1], " +
+                    "DATE '" + LAST_DAY + "' - (i % " + DAYS + "), (i % 997) * 3.25 + 10, 'expense ' || i, CASE WHEN i % 50 = 0 THEN 'DELETED' ELSE 'APPROVED' END, now(), now() " +
+                    "FROM generate_series(1, " + EXPENSES + ") i");
+            statement.execute("CREATE INDEX idx_expense_date_status_category ON tblexpense (expense_date, status, expense_category, amount)");
+            statement.execute("VACUUM ANALYZE tblexpense");
+        }
+        startDate = Date.valueOf(LAST_DAY.minusDays(rangeDays - 1));
+        endDate = Date.valueOf(LAST_DAY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public BigDecimal totalInJava() throws SQLException {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Row row : loadExpenses(false)) {
+            total = total.add(row.amount());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal totalInDatabase() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COALESCE(SUM(e.amount), 0) FROM tblexpense e WHERE e.expense_date BETWEEN ? AND ?")) {
+            statement.setDate(1, startDate);
+            statement.setDate(2, endDate);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getBigDecimal(1);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<BigDecimal> monthsInJava() throws SQLException {
+        List<Row> rows = loadExpenses(true);
+        rows.sort(Comparator.comparing(row -> row.expenseDate().getMonthValue()));
+        List<BigDecimal> months = zeroMonths();
+        for (Row row : rows) {
+            int monthIndex = row.expenseDate().getMonthValue() - 1;
+            months.set(monthIndex, months.get(monthIndex).add(row.amount()));
+        }
+        return months;
+    }
+
+    @Benchmark
+    public List<BigDecimal> monthsInDatabase() throws SQLException {
+        List<BigDecimal> months = zeroMonths();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT EXTRACT(MONTH FROM e.expense_date), SUM(e.amount) FROM tblexpense e " +
+                        "WHERE e.expense_date BETWEEN ? AND ? AND e.status <> 'DELETED' GROUP BY EXTRACT(MONTH FROM e.expense_date)")) {
+            statement.setDate(1, startDate);
+            statement.setDate(2, endDate);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    months.set(resultSet.getInt(1) - 1, resultSet.getBigDecimal(2));
+                }
+            }
+        }
+        return months;
+    }
+
+    @Benchmark
+    public List<String> topCategoriesInJava() throws SQLException {
+        List<Row> rows = loadExpenses(true);
+        rows.sort(Comparator.comparing(Row::amount).reversed());
+        List<String> categories = new ArrayList<>();
+        for (Row row : rows) {
+            if (categories.size() == 5) {
+                break;
+            }
+            if (!categories.contains(row.expenseCategory())) {
+                categories.add(row.expenseCategory());
+            }
+        }
+        return categories;
+    }
+
+    @Benchmark
+    public List<String> topCategoriesInDatabase() throws SQLException {
+        List<String> categories = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT e.expense_category FROM tblexpense e WHERE e.expense_date BETWEEN ? AND ? AND e.status <> 'DELETED' " +
+                        "GROUP BY e.expense_category ORDER BY MAX(e.amount) DESC FETCH FIRST 5 ROWS ONLY")) {
+            statement.setDate(1, startDate);
+            statement.setDate(2, endDate);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    categories.add(resultSet.getString(1));
+                }
+            }
+        }
+        return categories;
+    }
+
+    // Every column of the entity, like findAllByExpenseDateBetween(AndStatusNot) loads them
+    private List<Row> loadExpenses(boolean skipDeleted) throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT e.id, e.department_id, e.expense_category, e.expense_date, e.amount, e.description, e.status, e.created_at, e.updated_at FROM tblexpense e " +
+                        "WHERE e.expense_date BETWEEN ? AND ?" + (skipDeleted ? " AND e.status <> 'DELETED'" : ""))) {
+            statement.setDate(1, startDate);
+            statement.setDate(2, endDate);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(new Row(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3), resultSet.getDate(4).toLocalDate(),
+                            resultSet.getBigDecimal(5), resultSet.getString(6), resultSet.getString(7),
+                            resultSet.getTimestamp(8).toLocalDateTime(), resultSet.getTimestamp(9).toLocalDateTime()));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static List<BigDecimal> zeroMonths() {
+        List<BigDecimal> months = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            months.add(BigDecimal.ZERO);
+        }
+        return months;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+
+    public record Row(Long id, Long departmentId, String expenseCategory, LocalDate expenseDate, BigDecimal amount,
+                      String description, String status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.businessapi.RabbitMQ.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class ExpenseEventModel {
+    Long id;
+    Long departmentId;
+    String expenseCategory;
+    LocalDate expenseDate;
+    BigDecimal amount;
+    String description;
+    String status;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
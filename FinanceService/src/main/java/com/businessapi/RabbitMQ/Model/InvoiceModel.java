@@ -13,6 +13,8 @@ import java.time.LocalDate;
 @Builder
 @Data
 public class InvoiceModel {
+    // Sell order the invoice belongs to, an order is invoiced only once however often its message arrives
+    Long orderId;
     String buyerTcNo;
     String buyerEmail;
     String buyerPhone;
@@ -1,24 +1,44 @@
 package com.businessapi.configs;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class RabbitMQConfig {
 
     String directExchange = "businessDirectExchange";
+    String roleChangeFanoutExchange = "roleChangeFanoutExchange";
     String queueFindAuthByToken = "find.auth.by.token";
     String keyFindAuthByToken = "key.find.auth.by.token";
     String queueGetModelFromStockService = "queueGetModelFromStockService";
     String keyGetModelFromStockService = "keyGetModelFromStockService";
+    String queueGetModelBatchFromStockService = "queueGetModelBatchFromStockService";
+    String keyGetModelBatchFromStockService = "keyGetModelBatchFromStockService";
+    //Analytics fact tables are fed from these queues, declared here too so events wait for AnalyticsService
+    String queueAnalyticsInvoiceEvent = "queueAnalyticsInvoiceEvent";
+    String keyAnalyticsInvoiceEvent = "keyAnalyticsInvoiceEvent";
+    String queueAnalyticsExpenseEvent = "queueAnalyticsExpenseEvent";
+    String keyAnalyticsExpenseEvent = "keyAnalyticsExpenseEvent";
+    //AnalyticsService pulls existing rows page by page (id cursor) through these queues
+    String queueAnalyticsBackfillInvoice = "queueAnalyticsBackfillInvoice";
+    String keyAnalyticsBackfillInvoice = "keyAnalyticsBackfillInvoice";
+    String queueAnalyticsBackfillExpense = "queueAnalyticsBackfillExpense";
+    String keyAnalyticsBackfillExpense = "keyAnalyticsBackfillExpense";
 
     @Bean
     public DirectExchange directExchange(){
@@ -35,6 +55,16 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(queueGetModelFromStockService).to(directExchange).with(keyGetModelFromStockService);
     }
 
+    @Bean
+    public Queue queueGetModelBatchFromStockService(){
+        return new Queue(queueGetModelBatchFromStockService);
+    }
+
+    @Bean
+    public Binding bindingGetModelBatchFromStockService(Queue queueGetModelBatchFromStockService, DirectExchange directExchange){
+        return BindingBuilder.bind(queueGetModelBatchFromStockService).to(directExchange).with(keyGetModelBatchFromStockService);
+    }
+
     @Bean
     public Queue queueFindAuthByToken() {
         return new Queue(queueFindAuthByToken);
@@ -45,6 +75,84 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(queueFindAuthByToken).to(directExchange).with(keyFindAuthByToken);
     }
 
+    @Bean
+    public Queue queueAnalyticsInvoiceEvent(){
+        return new Queue(queueAnalyticsInvoiceEvent);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsInvoiceEvent(Queue queueAnalyticsInvoiceEvent, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsInvoiceEvent).to(directExchange).with(keyAnalyticsInvoiceEvent);
+    }
+
+    @Bean
+    public Queue queueAnalyticsExpenseEvent(){
+        return new Queue(queueAnalyticsExpenseEvent);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsExpenseEvent(Queue queueAnalyticsExpenseEvent, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsExpenseEvent).to(directExchange).with(keyAnalyticsExpenseEvent);
+    }
+
+    @Bean
+    public Queue queueAnalyticsBackfillInvoice(){
+        return new Queue(queueAnalyticsBackfillInvoice);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsBackfillInvoice(Queue queueAnalyticsBackfillInvoice, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsBackfillInvoice).to(directExchange).with(keyAnalyticsBackfillInvoice);
+    }
+
+    @Bean
+    public Queue queueAnalyticsBackfillExpense(){
+        return new Queue(queueAnalyticsBackfillExpense);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsBackfillExpense(Queue queueAnalyticsBackfillExpense, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsBackfillExpense).to(directExchange).with(keyAnalyticsBackfillExpense);
+    }
+
+    //UserManagement publishes an authId here whenever that user's roles or status change, every instance gets its own queue
+    @Bean
+    public FanoutExchange roleChangeFanoutExchange(){
+        return new FanoutExchange(roleChangeFanoutExchange);
+    }
+
+    @Bean
+    public Queue queueRoleChange(){
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingRoleChange(Queue queueRoleChange, FanoutExchange roleChangeFanoutExchange){
+        return BindingBuilder.bind(queueRoleChange).to(roleChangeFanoutExchange);
+    }
+
+    //Invoices from StockService are consumed in batches, each batch is one saveAll and one ack
+    @Bean
+    SimpleRabbitListenerContainerFactory invoiceBatchContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+                                                                      @Value("${finance.invoice-consumer.batch-size:100}") int batchSize,
+                                                                      @Value("${finance.invoice-consumer.prefetch:250}") int prefetch,
+                                                                      @Value("${finance.invoice-consumer.concurrency:1}") int concurrency,
+                                                                      @Value("${finance.invoice-consumer.max-concurrency:4}") int maxConcurrency,
+                                                                      @Value("${finance.invoice-consumer.receive-timeout:100ms}") Duration receiveTimeout){
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        //A batch can only fill up if the broker may send at least that many unacked messages
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        //A partial batch is handed to the listener once no message arrived for this long
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        return factory;
+    }
+
     @Bean
     MessageConverter messageConverter(){
         return new Jackson2JsonMessageConverter();
@@ -20,6 +20,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
@@ -27,6 +28,7 @@ import java.util.stream.Collectors;
 public class JwtTokenFilter extends OncePerRequestFilter {
     private final JwtTokenManager jwtTokenManager;
     private final RabbitTemplate rabbitTemplate;
+    private final RoleCache roleCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException
@@ -39,14 +41,27 @@ public class JwtTokenFilter extends OncePerRequestFilter {
             Long authId = jwtTokenManager.getIdFromToken(token).orElseThrow(() -> new FinanceServiceException(ErrorType.INVALID_TOKEN));
 
 
-            UserRoleListModel modal = (UserRoleListModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyRolesByAuthId", authId);
-            EmailAndPasswordModel modal2 = (EmailAndPasswordModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyEmailAndPasswordFromAuth", authId);
+            //Tokens issued in role-claims mode carry the roles and skip both broker calls, the principal is then the authId
+            Optional<List<String>> tokenRoles = jwtTokenManager.getRolesFromToken(token);
+            Object principal;
+            List<String> userRoles;
+            if (tokenRoles.isPresent())
+            {
+                principal = authId;
+                userRoles = tokenRoles.get();
+            }
+            else
+            {
+                userRoles = roleCache.getRoles(authId, id -> ((UserRoleListModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyRolesByAuthId", id)).getUserRoles());
+                EmailAndPasswordModel modal2 = (EmailAndPasswordModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyEmailAndPasswordFromAuth", authId);
+                principal = modal2.getEmail();
+            }
 
-            List<GrantedAuthority> authorities = modal.getUserRoles().stream()
+            List<GrantedAuthority> authorities = userRoles.stream()
                     .map(SimpleGrantedAuthority::new)
                     .collect(Collectors.toList());
 
-            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(modal2.getEmail(), null, authorities);
+            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(principal, null, authorities);
 
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         }
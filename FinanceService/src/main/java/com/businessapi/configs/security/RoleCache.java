@@ -0,0 +1,43 @@
+package com.businessapi.configs.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded authId -> roles cache in front of the keyRolesByAuthId RPC to UserManagement.
+ * Entries expire after a TTL and are evicted as soon as UserManagement publishes a role change
+ * on roleChangeFanoutExchange. Hit/miss/eviction counts are exported as the "roleCache" cache metrics.
+ */
+@Component
+public class RoleCache {
+    private final Cache<Long, List<String>> cache;
+
+    public RoleCache(MeterRegistry meterRegistry,
+                     @Value("${auth.role-cache.expire-after-write:5m}") Duration expireAfterWrite,
+                     @Value("${auth.role-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "roleCache");
+    }
+
+    public List<String> getRoles(Long authId, Function<Long, List<String>> loader) {
+        return cache.get(authId, loader);
+    }
+
+    @RabbitListener(queues = "#{queueRoleChange.name}")
+    public void evict(Long authId) {
+        cache.invalidate(authId);
+    }
+}
@@ -23,6 +23,7 @@ public class Endpoints {
     public static final String INCOME = "/income";
     public static final String DECLARATION = "/declaration";
     public static final String DEPARTMENT = "/department";
+    public static final String IMPORT = "/import";
 
 
     //methods
@@ -40,6 +41,7 @@ public class Endpoints {
     public static final String CREATE_FOR_INCOME_TAX = "/create-for-income-tax";
     public static final String CREATE_FOR_VAT = "/create-for-vat";
     public static final String CREATE_FOR_CORPORATE_TAX = "/create-for-corporate-tax";
+    public static final String CREATE_FOR_ALL_TAXES = "/create-for-all-taxes";
     public static final String CREATE = "/create";
     public static final String COMPARE = "/compare";
     public static final String GET_ALL_CATEGORIES = "/get-all-categories";
@@ -57,6 +57,17 @@ public class DeclarationController {
                 .build());
     }
 
+    @PostMapping(CREATE_FOR_ALL_TAXES)
+    @Operation(summary = "Generates income tax, VAT and corporate tax declarations of a period at once")
+    public ResponseEntity<ResponseDTO<List<Declaration>>> createForAllTaxes(@RequestBody DeclarationSaveRequestDTO dto) {
+        return ResponseEntity.ok(ResponseDTO
+                .<List<Declaration>>builder()
+                .data(declarationService.createDeclarationsForAllTaxes(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(CREATE)
     @Operation(summary = "Generates a declaration")
     public ResponseEntity<ResponseDTO<BigDecimal>> create(@RequestBody GenerateDeclarationRequestDTO dto) {
@@ -0,0 +1,66 @@
+package com.businessapi.controllers;
+
+import com.businessapi.dto.response.ImportJobResponseDTO;
+import com.businessapi.dto.response.ResponseDTO;
+import com.businessapi.entity.enums.EImportType;
+import com.businessapi.services.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import static com.businessapi.constants.Endpoints.*;
+
+@RestController
+@RequestMapping(ROOT + IMPORT)
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class ImportController {
+    private final ImportService importService;
+
+    @PostMapping(value = INCOME, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Starts importing incomes from a CSV or XLSX file with the columns source, amount, incomeDate")
+    public ResponseEntity<ResponseDTO<ImportJobResponseDTO>> importIncomes(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(ResponseDTO
+                .<ImportJobResponseDTO>builder()
+                .data(importService.start(EImportType.INCOME, file))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
+    @PostMapping(value = EXPENSE, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Starts importing expenses from a CSV or XLSX file with the columns department, expenseCategory, expenseDate, amount, description")
+    public ResponseEntity<ResponseDTO<ImportJobResponseDTO>> importExpenses(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(ResponseDTO
+                .<ImportJobResponseDTO>builder()
+                .data(importService.start(EImportType.EXPENSE, file))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
+    @PostMapping(value = INVOICE, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Starts importing invoices from a CSV or XLSX file with the columns buyerTcNo, buyerEmail, buyerPhone, productId, productName, quantity, price, invoiceDate, totalAmount")
+    public ResponseEntity<ResponseDTO<ImportJobResponseDTO>> importInvoices(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(ResponseDTO
+                .<ImportJobResponseDTO>builder()
+                .data(importService.start(EImportType.INVOICE, file))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
+    @PostMapping(FIND_BY_ID)
+    @Operation(summary = "Shows the progress and the rejected rows of an import job")
+    public ResponseEntity<ResponseDTO<ImportJobResponseDTO>> findById(String id) {
+        return ResponseEntity.ok(ResponseDTO
+                .<ImportJobResponseDTO>builder()
+                .data(importService.findById(id))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+}
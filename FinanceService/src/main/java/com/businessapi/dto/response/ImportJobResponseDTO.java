@@ -0,0 +1,22 @@
+package com.businessapi.dto.response;
+
+import com.businessapi.entity.enums.EImportJobStatus;
+import com.businessapi.entity.enums.EImportType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ImportJobResponseDTO(
+        String jobId,
+        EImportType type,
+        String fileName,
+        EImportJobStatus status,
+        Long rowsRead,
+        Long rowsImported,
+        Long rowsRejected,
+        List<ImportRowErrorResponseDTO> errors,
+        String message,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+}
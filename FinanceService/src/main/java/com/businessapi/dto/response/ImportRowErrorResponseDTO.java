@@ -0,0 +1,7 @@
+package com.businessapi.dto.response;
+
+public record ImportRowErrorResponseDTO(
+        Long row,
+        String message
+) {
+}
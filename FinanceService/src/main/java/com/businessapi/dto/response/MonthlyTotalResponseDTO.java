@@ -0,0 +1,9 @@
+package com.businessapi.dto.response;
+
+import java.math.BigDecimal;
+
+public record MonthlyTotalResponseDTO(
+        Integer month,
+        BigDecimal total
+) {
+}
@@ -14,7 +14,9 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblbudget")
+@Table(name = "tblbudget", indexes = {
+        @Index(name = "idx_budget_department_status", columnList = "department_id, status, subAmount")
+})
 public class Budget extends BaseEntity{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
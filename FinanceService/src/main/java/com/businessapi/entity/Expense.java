@@ -4,6 +4,10 @@ package com.businessapi.entity;
 import com.businessapi.entity.enums.EExpenseCategory;
 import com.businessapi.entity.enums.EStatus;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.businessapi.util.AnalyticsEventPublisher;
+import com.businessapi.util.LedgerEventListener;
+import com.businessapi.util.PeriodTotalsCache;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -17,10 +21,16 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblexpense")
+@EntityListeners({AnalyticsEventPublisher.class, PeriodTotalsCache.class, LedgerEventListener.class})
+@Table(name = "tblexpense", indexes = {
+        @Index(name = "idx_expense_date_status_category", columnList = "expenseDate, status, expenseCategory, amount"),
+        @Index(name = "idx_expense_department_status", columnList = "department_id, status, amount")
+})
 public class Expense extends BaseEntity {
+    // Sequence ids let Hibernate batch the inserts of a bulk import
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "tblexpense_seq", allocationSize = 100)
     Long id;
 
     @Enumerated(EnumType.STRING)
@@ -34,4 +44,10 @@ public class Expense extends BaseEntity {
     @JoinColumn(name = "department_id")
     @JsonBackReference
     Department department;
+
+    // What the period-close ledger last counted this row as
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    LedgerEventListener.Contribution ledgerContribution;
 }
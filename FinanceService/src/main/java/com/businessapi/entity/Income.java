@@ -1,5 +1,8 @@
 package com.businessapi.entity;
 
+import com.businessapi.util.LedgerEventListener;
+import com.businessapi.util.PeriodTotalsCache;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,13 +19,24 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblincome")
+@EntityListeners({PeriodTotalsCache.class, LedgerEventListener.class})
+@Table(name = "tblincome", indexes = {
+        @Index(name = "idx_income_date_status_amount", columnList = "incomeDate, status, amount, source")
+})
 public class Income extends BaseEntity{
+    // Sequence ids let Hibernate batch the inserts of a bulk import
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "income_seq")
+    @SequenceGenerator(name = "income_seq", sequenceName = "tblincome_seq", allocationSize = 100)
     Long id;
     String source;
     BigDecimal amount;
     LocalDate incomeDate;
 
+    // What the period-close ledger last counted this row as
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    LedgerEventListener.Contribution ledgerContribution;
+
 }
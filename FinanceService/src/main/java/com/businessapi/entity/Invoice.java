@@ -1,6 +1,7 @@
 package com.businessapi.entity;
 
 import com.businessapi.entity.enums.EInvoiceStatus;
+import com.businessapi.util.AnalyticsEventPublisher;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -13,11 +14,18 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblinvoice")
+@EntityListeners(AnalyticsEventPublisher.class)
+@Table(name = "tblinvoice", indexes = {
+        @Index(name = "idx_invoice_order_id", columnList = "orderId", unique = true)
+})
 public class Invoice extends BaseEntity {
+    // Sequence ids let Hibernate batch the inserts of a consumed invoice batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_seq")
+    @SequenceGenerator(name = "invoice_seq", sequenceName = "tblinvoice_seq", allocationSize = 100)
     Long id;
+    // Set for invoices created from StockService sell orders, null for invoices entered by hand
+    Long orderId;
     String buyerTcNo;
     String buyerEmail;
     String buyerPhone;
@@ -0,0 +1,30 @@
+package com.businessapi.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Income, expense and tax of one day and their running totals up to and including that day, maintained by LedgerService
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tblledgerday")
+public class LedgerDay {
+    @Id
+    LocalDate ledgerDate;
+    BigDecimal income;
+    BigDecimal expense;
+    BigDecimal tax;
+    BigDecimal cumulativeIncome;
+    BigDecimal cumulativeExpense;
+    BigDecimal cumulativeTax;
+}
@@ -0,0 +1,8 @@
+package com.businessapi.entity.enums;
+
+public enum EImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.businessapi.entity.enums;
+
+public enum EImportType {
+    INCOME,
+    EXPENSE,
+    INVOICE
+}
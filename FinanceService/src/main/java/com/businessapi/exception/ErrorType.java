@@ -29,7 +29,10 @@ public enum ErrorType {
     TAX_NOT_FOUND(9014, "Tax Not Found", HttpStatus.BAD_REQUEST),
     INVALID_TOKEN(9015, "Invalid Token", HttpStatus.BAD_REQUEST),
     INCOME_NOT_FOUND(9016, "Income Not Found", HttpStatus.BAD_REQUEST),
-    DEPARTMENT_NOT_FOUND(9017, "Department Not Found", HttpStatus.BAD_REQUEST),;
+    DEPARTMENT_NOT_FOUND(9017, "Department Not Found", HttpStatus.BAD_REQUEST),
+    IMPORT_FILE_NOT_SUPPORTED(9018, "Import File Must Be A CSV Or XLSX File", HttpStatus.BAD_REQUEST),
+    IMPORT_JOB_NOT_FOUND(9019, "Import Job Not Found", HttpStatus.BAD_REQUEST),
+    IMPORT_QUEUE_FULL(9020, "Too Many Imports Waiting, Try Again Later", HttpStatus.SERVICE_UNAVAILABLE),;
 
     private Integer code;
     private String message;
@@ -1,5 +1,6 @@
 package com.businessapi.repositories;
 
+import com.businessapi.dto.response.BudgetMergedByDepartmentResponseDTO;
 import com.businessapi.entity.Budget;
 import com.businessapi.entity.Department;
 import com.businessapi.entity.enums.EStatus;
@@ -15,6 +16,13 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Page<Budget> findAllByStatusNot(EStatus status, Pageable pageable);
     List<Budget> findAllByDepartment(Department department);
 
+    // Budget vs spend of one page of departments, both sums are read from idx_budget_department_status and idx_expense_department_status
+    @Query("SELECT new com.businessapi.dto.response.BudgetMergedByDepartmentResponseDTO(d.id, " +
+            "(SELECT COALESCE(SUM(b.subAmount), 0) FROM Budget b WHERE b.department = d AND b.status = com.businessapi.entity.enums.EStatus.ACTIVE), " +
+            "(SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.department = d AND e.status != com.businessapi.entity.enums.EStatus.DELETED), " +
+            "d.name) FROM Department d WHERE d.status != com.businessapi.entity.enums.EStatus.DELETED AND d.name ILIKE %:searchText% ORDER BY d.id ASC")
+    List<BudgetMergedByDepartmentResponseDTO> sumBudgetAndSpentPerDepartment(@Param("searchText") String searchText, Pageable pageable);
+
     //Page<Budget> findByDepartmentContainingIgnoreCaseAndStatusNot(@Param("department") String department, @Param("status") EStatus status, Pageable pageable);
 
     //List<Budget> findByDepartment (String department);
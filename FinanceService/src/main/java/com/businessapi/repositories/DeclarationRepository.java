@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 
@@ -15,4 +17,19 @@ public interface DeclarationRepository extends JpaRepository<Declaration, Long>
     Page<Declaration> findByTaxTypeContainingIgnoreCase(String taxType, Pageable pageable);
 
     List<Declaration> findAllByTaxType(String taxType);
+
+    // Both totals of a period in one round trip, each sum is answered from the date index of its table
+    @Query(value = "SELECT (SELECT COALESCE(SUM(i.amount), 0) FROM tblincome i WHERE i.income_date BETWEEN :startDate AND :endDate) AS \"totalIncome\", " +
+            "(SELECT COALESCE(SUM(e.amount), 0) FROM tblexpense e WHERE e.expense_date BETWEEN :startDate AND :endDate AND e.status <> 'DELETED') AS \"totalExpense\"", nativeQuery = true)
+    PeriodTotals sumPeriodTotals(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    interface PeriodTotals {
+        BigDecimal getTotalIncome();
+
+        BigDecimal getTotalExpense();
+
+        default BigDecimal getTaxableIncome() {
+            return getTotalIncome().subtract(getTotalExpense());
+        }
+    }
 }
@@ -5,8 +5,12 @@ import com.businessapi.entity.enums.EExpenseCategory;
 import com.businessapi.entity.enums.EStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import com.businessapi.dto.response.MonthlyTotalResponseDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -17,6 +21,18 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     Page<Expense> findAllByStatusNot(EStatus status, Pageable pageable);
     List<Expense> findAllByExpenseDateBetweenAndStatusNot(LocalDate startDate, LocalDate endDate, EStatus status);
     Page<Expense> findAllByStatusNotAndExpenseCategoryNot(EStatus status, EExpenseCategory category, Pageable pageable);
+    List<Expense> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 
+    // Aggregates below are answered from idx_expense_date_status_category without reading the table
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.expenseDate BETWEEN :startDate AND :endDate")
+    BigDecimal sumAmountBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT new com.businessapi.dto.response.MonthlyTotalResponseDTO(EXTRACT(MONTH FROM e.expenseDate), SUM(e.amount)) FROM Expense e " +
+            "WHERE e.expenseDate BETWEEN :startDate AND :endDate AND e.status != :status GROUP BY EXTRACT(MONTH FROM e.expenseDate)")
+    List<MonthlyTotalResponseDTO> sumAmountPerMonth(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("status") EStatus status);
+
+    // Categories ranked by their largest single expense in the range
+    @Query("SELECT e.expenseCategory FROM Expense e WHERE e.expenseDate BETWEEN :startDate AND :endDate AND e.status != :status " +
+            "GROUP BY e.expenseCategory ORDER BY MAX(e.amount) DESC")
+    List<EExpenseCategory> findCategoriesOrderByMaxAmountDesc(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("status") EStatus status, Pageable pageable);
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package com.businessapi.repositories;
 
-import com.businessapi.entity.Budget;
+import com.businessapi.dto.response.MonthlyTotalResponseDTO;
 import com.businessapi.entity.Income;
 import com.businessapi.entity.enums.EStatus;
 import org.springframework.data.domain.Page;
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -22,4 +23,15 @@ public interface IncomeRepository extends JpaRepository<Income, Long> {
 
     List<Income> findAllByIncomeDateBetweenAndStatusNot(LocalDate startDate, LocalDate endDate, EStatus status);
 
+    // Aggregates below are answered from idx_income_date_status_amount without reading the table
+    @Query("SELECT COALESCE(SUM(i.amount), 0) FROM Income i WHERE i.incomeDate BETWEEN :startDate AND :endDate")
+    BigDecimal sumAmountBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.businessapi.dto.response.MonthlyTotalResponseDTO(EXTRACT(MONTH FROM i.incomeDate), SUM(i.amount)) FROM Income i " +
+            "WHERE i.incomeDate BETWEEN :startDate AND :endDate AND i.status != :status GROUP BY EXTRACT(MONTH FROM i.incomeDate)")
+    List<MonthlyTotalResponseDTO> sumAmountPerMonth(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("status") EStatus status);
+
+    @Query("SELECT i.source FROM Income i WHERE i.incomeDate BETWEEN :startDate AND :endDate AND i.status != :status ORDER BY i.amount DESC")
+    List<String> findSourcesOrderByAmountDesc(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("status") EStatus status, Pageable pageable);
+
 }
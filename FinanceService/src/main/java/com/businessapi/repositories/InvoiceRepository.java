@@ -15,6 +15,11 @@ import java.util.List;
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     Page<Invoice> findAllByStatusNot(EStatus status, Pageable pageable);
 
+    List<Invoice> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT i.orderId FROM Invoice i WHERE i.orderId IN :orderIds")
+    List<Long> findOrderIdsIn(@Param("orderIds") Collection<Long> orderIds);
+
     @Query("SELECT i FROM Invoice i WHERE i.productName LIKE %:productName% AND i.status != :status")
     Page<Invoice> findByProductNameContainingIgnoreCaseAndStatusNot(@Param("productName") String productName, @Param("status") EStatus status, Pageable pageable);
 
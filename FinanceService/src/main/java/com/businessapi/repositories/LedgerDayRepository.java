@@ -0,0 +1,66 @@
+package com.businessapi.repositories;
+
+import com.businessapi.entity.LedgerDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface LedgerDayRepository extends JpaRepository<LedgerDay, LocalDate> {
+    // Ledger writers are serialized until commit, readers are not blocked
+    @Modifying
+    @Query(value = "LOCK TABLE tblledgerday IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForUpdate();
+
+    // A new day starts with the running totals of the day before it
+    @Modifying
+    @Query(value = "INSERT INTO tblledgerday (ledger_date, income, expense, tax, cumulative_income, cumulative_expense, cumulative_tax) " +
+            "SELECT :date, 0, 0, 0, COALESCE(p.cumulative_income, 0), COALESCE(p.cumulative_expense, 0), COALESCE(p.cumulative_tax, 0) " +
+            "FROM (SELECT 1) x LEFT JOIN (SELECT * FROM tblledgerday WHERE ledger_date < :date ORDER BY ledger_date DESC LIMIT 1) p ON true " +
+            "ON CONFLICT (ledger_date) DO NOTHING", nativeQuery = true)
+    int insertDayIfMissing(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query(value = "UPDATE tblledgerday SET income = income + :income, expense = expense + :expense, tax = tax + :tax WHERE ledger_date = :date", nativeQuery = true)
+    int addToDay(@Param("date") LocalDate date, @Param("income") BigDecimal income, @Param("expense") BigDecimal expense, @Param("tax") BigDecimal tax);
+
+    @Modifying
+    @Query(value = "UPDATE tblledgerday SET cumulative_income = cumulative_income + :income, cumulative_expense = cumulative_expense + :expense, " +
+            "cumulative_tax = cumulative_tax + :tax WHERE ledger_date >= :date", nativeQuery = true)
+    int addToRunningTotalsFrom(@Param("date") LocalDate date, @Param("income") BigDecimal income, @Param("expense") BigDecimal expense, @Param("tax") BigDecimal tax);
+
+    // Totals of [startDate, endDate] as the difference of two running totals, two index lookups whatever the length of the range
+    @Query(value = "SELECT COALESCE(e.cumulative_income, 0) - COALESCE(s.cumulative_income, 0) AS \"totalIncome\", " +
+            "COALESCE(e.cumulative_expense, 0) - COALESCE(s.cumulative_expense, 0) AS \"totalExpense\", " +
+            "COALESCE(e.cumulative_tax, 0) - COALESCE(s.cumulative_tax, 0) AS \"totalTax\" FROM (SELECT 1) x " +
+            "LEFT JOIN (SELECT * FROM tblledgerday WHERE ledger_date <= :endDate ORDER BY ledger_date DESC LIMIT 1) e ON true " +
+            "LEFT JOIN (SELECT * FROM tblledgerday WHERE ledger_date < :startDate ORDER BY ledger_date DESC LIMIT 1) s ON true", nativeQuery = true)
+    LedgerTotals sumBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Recomputes every day and running total from the incomes and expenses in one statement
+    @Modifying
+    @Query(value = "INSERT INTO tblledgerday (ledger_date, income, expense, tax, cumulative_income, cumulative_expense, cumulative_tax) " +
+            "SELECT d.ledger_date, d.income, d.expense, d.tax, SUM(d.income) OVER w, SUM(d.expense) OVER w, SUM(d.tax) OVER w FROM (" +
+            "SELECT t.ledger_date, SUM(t.income) AS income, SUM(t.expense) AS expense, SUM(t.tax) AS tax FROM (" +
+            "SELECT i.income_date AS ledger_date, i.amount AS income, 0 AS expense, 0 AS tax FROM tblincome i " +
+            "WHERE i.status <> 'DELETED' AND i.income_date IS NOT NULL AND i.amount IS NOT NULL " +
+            "UNION ALL SELECT e.expense_date, 0, e.amount, CASE WHEN e.expense_category = 'TAX' THEN e.amount ELSE 0 END FROM tblexpense e " +
+            "WHERE e.status <> 'DELETED' AND e.expense_date IS NOT NULL AND e.amount IS NOT NULL) t GROUP BY t.ledger_date) d " +
+            "WINDOW w AS (ORDER BY d.ledger_date)", nativeQuery = true)
+    int insertAllDaysFromEntries();
+
+    interface LedgerTotals {
+        BigDecimal getTotalIncome();
+
+        BigDecimal getTotalExpense();
+
+        BigDecimal getTotalTax();
+
+        default BigDecimal getTotalProfit() {
+            return getTotalIncome().subtract(getTotalExpense());
+        }
+    }
+}
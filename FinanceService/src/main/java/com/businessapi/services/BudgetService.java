@@ -9,7 +9,6 @@ import com.businessapi.dto.response.BudgetFindAllResponseDTO;
 import com.businessapi.dto.response.BudgetMergedByDepartmentResponseDTO;
 import com.businessapi.entity.Budget;
 import com.businessapi.entity.Department;
-import com.businessapi.entity.Expense;
 import com.businessapi.entity.enums.EBudgetCategory;
 import com.businessapi.entity.enums.EStatus;
 import com.businessapi.exception.ErrorType;
@@ -29,7 +28,6 @@ import java.util.*;
 public class BudgetService {
     private final BudgetRepository budgetRepository;
     private final DepartmentService departmentService;
-    private final ExpenseService expenseService;
 
     @Transactional
     public Boolean save(BudgetSaveRequestDTO dto) {
@@ -69,29 +67,10 @@ public class BudgetService {
         return true;
     }
 
+    // One query for the page: departments with the sums of their active budgets and not deleted expenses
     public List<BudgetMergedByDepartmentResponseDTO> findAll(PageRequestDTO dto) {
-        List<Department> departmentList = departmentService.findAll();
-        List<BudgetMergedByDepartmentResponseDTO> budgetMergedByDepartmentResponseDTOS = new ArrayList<>();
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        BigDecimal spentAmount = BigDecimal.ZERO;
-        for (Department department : departmentList) {
-            List<Budget> budgets = department.getBudgets();
-            List<Expense> expenses = department.getExpenses();
-            for (Budget budget : budgets) {
-                if (budget.getStatus().equals(EStatus.ACTIVE)) {
-                    totalAmount = totalAmount.add(budget.getSubAmount());
-                }
-            }
-            for (Expense expense : expenses) {
-                if (expense.getDepartment().equals(department)) {
-                    spentAmount = spentAmount.add(expense.getAmount());
-                }
-            }
-            budgetMergedByDepartmentResponseDTOS.add(new BudgetMergedByDepartmentResponseDTO(department.getId(), totalAmount, spentAmount, department.getName()));
-            totalAmount = BigDecimal.ZERO;
-            spentAmount = BigDecimal.ZERO;
-        }
-        return budgetMergedByDepartmentResponseDTOS;
+        String searchText = dto.searchText() == null ? "" : dto.searchText();
+        return budgetRepository.sumBudgetAndSpentPerDepartment(searchText, PageRequest.of(dto.page(), dto.size()));
     }
 
 
@@ -4,11 +4,10 @@ import com.businessapi.dto.request.DeclarationSaveRequestDTO;
 import com.businessapi.dto.request.GenerateDeclarationRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.response.DeclarationResponseDTO;
-import com.businessapi.dto.response.ExpenseResponseDTO;
 import com.businessapi.entity.Declaration;
-import com.businessapi.entity.Income;
 import com.businessapi.entity.enums.EStatus;
 import com.businessapi.repositories.DeclarationRepository;
+import com.businessapi.util.PeriodTotalsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -21,71 +20,54 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DeclarationService {
     private final DeclarationRepository declarationRepository;
-    private final IncomeService incomeService;
-    private final ExpenseService expenseService;
     private final TaxService taxService;
+    private final PeriodTotalsCache periodTotalsCache;
 
-    public Declaration createDeclarationForIncomeTax(DeclarationSaveRequestDTO dto) {
-        BigDecimal taxableIncome = calculateTaxableIncome(dto).get(2);
-        BigDecimal totalTax = taxService.calculateIncomeTax(taxableIncome);
-
-        Declaration declaration = Declaration.builder()
-                .startDate(dto.startDate())
-                .endDate(dto.endDate())
-                .totalIncome(calculateTaxableIncome(dto).get(0))
-                .totalExpense(calculateTaxableIncome(dto).get(1))
-                .totalTax(totalTax)
-                .build();
+    public static final List<String> TAX_TYPES = List.of("income", "kdv", "corporate");
 
-        declarationRepository.save(declaration);
-        return declaration;
+    public Declaration createDeclarationForIncomeTax(DeclarationSaveRequestDTO dto) {
+        return declarationRepository.save(toDeclaration(dto, "income", getPeriodTotals(dto)));
     }
 
     public Declaration createDeclarationForVat(DeclarationSaveRequestDTO dto) {
-        BigDecimal taxableIncome = calculateTaxableIncome(dto).get(2);
-        BigDecimal totalTax = taxService.calculateVat(taxableIncome);
+        return declarationRepository.save(toDeclaration(dto, "kdv", getPeriodTotals(dto)));
+    }
 
-        Declaration declaration = Declaration.builder()
-                .startDate(dto.startDate())
-                .endDate(dto.endDate())
-                .totalIncome(calculateTaxableIncome(dto).get(0))
-                .totalExpense(calculateTaxableIncome(dto).get(1))
-                .totalTax(totalTax)
-                .build();
+    public Declaration createDeclarationForCorporateTax(DeclarationSaveRequestDTO dto) {
+        return declarationRepository.save(toDeclaration(dto, "corporate", getPeriodTotals(dto)));
+    }
 
-        declarationRepository.save(declaration);
-        return declaration;
+    // Declarations of every tax type of the period, all computed from the same totals
+    public List<Declaration> createDeclarationsForAllTaxes(DeclarationSaveRequestDTO dto) {
+        DeclarationRepository.PeriodTotals periodTotals = getPeriodTotals(dto);
+        return declarationRepository.saveAll(TAX_TYPES.stream().map(taxType -> toDeclaration(dto, taxType, periodTotals)).toList());
     }
 
-    public Declaration createDeclarationForCorporateTax(DeclarationSaveRequestDTO dto) {
-        BigDecimal taxableIncome = calculateTaxableIncome(dto).get(2);
-        BigDecimal totalTax = taxService.calculateCorporateTax(taxableIncome);
+    // Income and expense totals come from one aggregate query, declarations of the same period reuse them from the cache
+    private DeclarationRepository.PeriodTotals getPeriodTotals(DeclarationSaveRequestDTO dto) {
+        return periodTotalsCache.get(dto.startDate(), dto.endDate(), () -> declarationRepository.sumPeriodTotals(dto.startDate(), dto.endDate()));
+    }
 
-        Declaration declaration = Declaration.builder()
+    private Declaration toDeclaration(DeclarationSaveRequestDTO dto, String taxType, DeclarationRepository.PeriodTotals periodTotals) {
+        return Declaration.builder()
                 .startDate(dto.startDate())
                 .endDate(dto.endDate())
-                .totalIncome(calculateTaxableIncome(dto).get(0))
-                .totalExpense(calculateTaxableIncome(dto).get(1))
-                .totalTax(totalTax)
+                .totalIncome(periodTotals.getTotalIncome())
+                .totalExpense(periodTotals.getTotalExpense())
+                .totalTax(calculateTax(taxType, periodTotals.getTaxableIncome()))
+                .taxType(taxType)
                 .build();
-
-        declarationRepository.save(declaration);
-        return declaration;
     }
 
-    private List<BigDecimal> calculateTaxableIncome(DeclarationSaveRequestDTO dto){
-        List<Income> incomeList = incomeService.findByDateForDeclaration(dto.startDate(), dto.endDate());
-        List<ExpenseResponseDTO> expenseList = expenseService.findByDate(dto.startDate(), dto.endDate());
-
-        BigDecimal totalIncome = incomeList.stream().map(Income::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalExpense = expenseList.stream().map(ExpenseResponseDTO::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal taxableIncome = totalIncome.subtract(totalExpense);
-
-        return List.of(totalIncome, totalExpense, taxableIncome);
+    private BigDecimal calculateTax(String taxType, BigDecimal taxableIncome) {
+        return switch (taxType) {
+            case "income" -> taxService.calculateIncomeTax(taxableIncome);
+            case "kdv" -> taxService.calculateVat(taxableIncome);
+            case "corporate" -> taxService.calculateCorporateTax(taxableIncome);
+            default -> throw new IllegalStateException("Invalid Tax Type: " + taxType);
+        };
     }
 
-
     public BigDecimal createDeclaration(GenerateDeclarationRequestDTO dto) {
         declarationRepository.findAllByTaxType(dto.taxType()).forEach(declaration -> {
             if (declaration.getStartDate().equals(dto.startDate()) && declaration.getEndDate().equals(dto.endDate())) {
@@ -94,12 +76,7 @@ public class DeclarationService {
         });
         BigDecimal netIncome = dto.totalIncome().subtract(dto.totalExpense());
 
-        BigDecimal totalTax = switch (dto.taxType()) {
-            case "income" -> taxService.calculateIncomeTax(netIncome);
-            case "kdv" -> taxService.calculateVat(netIncome);
-            case "corporate" -> taxService.calculateCorporateTax(netIncome);
-            default -> throw new IllegalStateException("Invalid Tax Type: " + dto.taxType());
-        };
+        BigDecimal totalTax = calculateTax(dto.taxType(), netIncome);
 
         Declaration declaration = Declaration.builder()
                 .startDate(dto.startDate())
@@ -1,8 +1,11 @@
 package com.businessapi.services;
 
+import com.businessapi.RabbitMQ.Model.AnalyticsBackfillRequestModel;
+import com.businessapi.RabbitMQ.Model.ExpenseEventModel;
 import com.businessapi.dto.request.*;
 import com.businessapi.dto.response.ExpenseCategoryResponseDTO;
 import com.businessapi.dto.response.ExpenseResponseDTO;
+import com.businessapi.dto.response.MonthlyTotalResponseDTO;
 import com.businessapi.entity.Budget;
 import com.businessapi.entity.Department;
 import com.businessapi.entity.Expense;
@@ -11,8 +14,10 @@ import com.businessapi.entity.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.FinanceServiceException;
 import com.businessapi.repositories.ExpenseRepository;
+import com.businessapi.util.AnalyticsEventPublisher;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
@@ -31,7 +36,6 @@ public class ExpenseService {
     @Transactional
     public Boolean save(ExpenseSaveRequestDTO dto) {
         Department department = departmentService.getDepartmentById(dto.departmentId());
-        department.getExpenses().size();
         Expense expense = Expense.builder()
                 .expenseCategory(dto.expenseCategory())
                 .expenseDate(dto.expenseDate())
@@ -47,7 +51,6 @@ public class ExpenseService {
 //        Budget budgetByDepartment = budgetService.findByDepartment(dto.department());
 //        budgetByDepartment.setSpentAmount(budgetByDepartment.getSpentAmount().add(dto.amount()));
 
-        department.getExpenses().add(expense);
         expenseRepository.save(expense);
         return true;
     }
@@ -114,12 +117,7 @@ public class ExpenseService {
     }
 
     public BigDecimal calculateTotalExpenseBetweenDates(LocalDate startDate, LocalDate endDate) {
-        List<Expense> allExpenseList = expenseRepository.findAllByExpenseDateBetween(startDate, endDate);
-        BigDecimal totalExpense = BigDecimal.ZERO;
-        for (Expense expense : allExpenseList) {
-            totalExpense = totalExpense.add(expense.getAmount());
-        }
-        return totalExpense;
+        return expenseRepository.sumAmountBetween(startDate, endDate);
     }
 
 
@@ -133,38 +131,34 @@ public class ExpenseService {
         return expenseCategoriesWithIdAndName;
     }
 
+    // Totals of each month of the year (January first), the database returns at most 12 rows
     public List<BigDecimal> getForMonths(ExpenseFindByDateRequestDTO dto) {
-        List<Expense> expenseList = expenseRepository.findAllByExpenseDateBetweenAndStatusNot(dto.startDate(), dto.endDate(), EStatus.DELETED);
-
-        expenseList.sort((o1, o2) -> o1.getExpenseDate().getMonthValue() - o2.getExpenseDate().getMonthValue());
-
         List<BigDecimal> expenseAmountsOfMonths = new ArrayList<>();
 
         for (int i = 0; i < 12; i++) {
             expenseAmountsOfMonths.add(BigDecimal.ZERO);
         }
 
-        for (Expense expense : expenseList) {
-            int monthIndex = expense.getExpenseDate().getMonthValue() - 1;
-            BigDecimal currentAmount = expenseAmountsOfMonths.get(monthIndex);
-            expenseAmountsOfMonths.set(monthIndex, currentAmount.add(expense.getAmount()));
+        for (MonthlyTotalResponseDTO monthlyTotal : expenseRepository.sumAmountPerMonth(dto.startDate(), dto.endDate(), EStatus.DELETED)) {
+            expenseAmountsOfMonths.set(monthlyTotal.month() - 1, monthlyTotal.total());
         }
-        System.out.println(expenseAmountsOfMonths);
         return expenseAmountsOfMonths;
     }
 
+    // Up to 5 distinct categories, the one with the largest single expense first
     public List<ExpenseCategoryResponseDTO> getMostExpensive(ExpenseFindByDateRequestDTO dto) {
-        List<Expense> expenseList = expenseRepository.findAllByExpenseDateBetweenAndStatusNot(dto.startDate(), dto.endDate(), EStatus.DELETED);
-        expenseList.sort((o1, o2) -> o2.getAmount().compareTo(o1.getAmount()));
+        List<EExpenseCategory> categories = expenseRepository.findCategoriesOrderByMaxAmountDesc(dto.startDate(), dto.endDate(), EStatus.DELETED, PageRequest.ofSize(5));
         List<ExpenseCategoryResponseDTO> mostExpensiveCategories = new ArrayList<>();
-        for (int i = 0; i < 5; i++) {
-            int finalI = i;
-            if (mostExpensiveCategories.stream().noneMatch(category -> category.expenseCategory().equals(expenseList.get(finalI).getExpenseCategory().name()))) {
-                mostExpensiveCategories.add(new ExpenseCategoryResponseDTO((long) (i + 1), expenseList.get(i).getExpenseCategory().name()));
-            } else {
-                i++;
-            }
+        for (int i = 0; i < categories.size(); i++) {
+            mostExpensiveCategories.add(new ExpenseCategoryResponseDTO((long) (i + 1), categories.get(i).name()));
         }
         return mostExpensiveCategories;
     }
-}
\ No newline at end of file
+
+    // One page of expenses for AnalyticsService backfill, keyset paginated on id
+    @RabbitListener(queues = "queueAnalyticsBackfillExpense")
+    public List<ExpenseEventModel> findExpensesForAnalyticsBackfill(AnalyticsBackfillRequestModel model) {
+        return expenseRepository.findAllByIdGreaterThanOrderByIdAsc(model.getAfterId(), PageRequest.ofSize(model.getLimit()))
+                .stream().map(AnalyticsEventPublisher::toEvent).toList();
+    }
+}
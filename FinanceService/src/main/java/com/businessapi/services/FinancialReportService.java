@@ -3,15 +3,13 @@ package com.businessapi.services;
 import com.businessapi.dto.request.FinancialReportSaveRequestDTO;
 import com.businessapi.dto.request.FinancialReportUpdateRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
-import com.businessapi.dto.response.ExpenseResponseDTO;
-import com.businessapi.entity.Expense;
 import com.businessapi.entity.FinancialReport;
-import com.businessapi.entity.enums.EExpenseCategory;
 import com.businessapi.entity.enums.EFinancialReportType;
 import com.businessapi.entity.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.FinanceServiceException;
 import com.businessapi.repositories.FinancialRepository;
+import com.businessapi.repositories.LedgerDayRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -23,19 +21,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FinancialReportService {
     private final FinancialRepository financialRepository;
-    private final IncomeService incomeService;
-    private final ExpenseService expenseService;
+    private final LedgerService ledgerService;
 
+    // Totals come from the running totals of the period-close ledger, not from the incomes and expenses of the range
     public Boolean save(FinancialReportSaveRequestDTO dto) {
-        BigDecimal totalIncome = incomeService.calculateTotalIncomeBetweenDates(dto.startDate(), dto.endDate());
-        BigDecimal totalOutcome = expenseService.calculateTotalExpenseBetweenDates(dto.startDate(), dto.endDate());
-        List<ExpenseResponseDTO> expenseList = expenseService.findByDate(dto.startDate(), dto.endDate());
-        BigDecimal taxPaid = BigDecimal.ZERO;
-        for (ExpenseResponseDTO expense : expenseList) {
-            if (expense.expenseCategory().equals(EExpenseCategory.TAX)) {
-                taxPaid = taxPaid.add(expense.amount());
-            }
-        }
+        LedgerDayRepository.LedgerTotals totals = ledgerService.totalsBetween(dto.startDate(), dto.endDate());
+        BigDecimal totalIncome = totals.getTotalIncome();
+        BigDecimal totalOutcome = totals.getTotalExpense();
+        BigDecimal taxPaid = totals.getTotalTax();
         String message = createMessage(totalIncome, totalOutcome, taxPaid);
         FinancialReport financialReport = FinancialReport.builder()
                 .financialReportType(dto.financialReportType())
@@ -92,6 +85,7 @@ public class FinancialReportService {
         return financialRepository.findById(id).orElseThrow(() -> new FinanceServiceException(ErrorType.FINANCIAL_REPORT_NOT_FOUND));
     }
 
+    // Each report's period is read from the ledger again, so entries added or edited after the report was saved are included
     public FinancialReport compare(List<Long> ids) {
         List<FinancialReport> financialReports = financialRepository.findAllById(ids);
         BigDecimal totalIncome = BigDecimal.ZERO;
@@ -99,10 +93,11 @@ public class FinancialReportService {
         BigDecimal totalTax = BigDecimal.ZERO;
         BigDecimal totalProfit = BigDecimal.ZERO;
         for (FinancialReport financialReport : financialReports) {
-            totalIncome = totalIncome.add(financialReport.getTotalIncome());
-            totalOutcome = totalOutcome.add(financialReport.getTotalOutcome());
-            totalTax = totalTax.add(financialReport.getTotalTax());
-            totalProfit = totalProfit.add(financialReport.getTotalProfit());
+            LedgerDayRepository.LedgerTotals totals = ledgerService.totalsBetween(financialReport.getStartDate(), financialReport.getEndDate());
+            totalIncome = totalIncome.add(totals.getTotalIncome());
+            totalOutcome = totalOutcome.add(totals.getTotalExpense());
+            totalTax = totalTax.add(totals.getTotalTax());
+            totalProfit = totalProfit.add(totals.getTotalProfit());
         }
         String message = createMessageForComparingReports(totalIncome, totalOutcome, totalTax);
         return FinancialReport.builder()
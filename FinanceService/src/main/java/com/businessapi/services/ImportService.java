@@ -0,0 +1,263 @@
+package com.businessapi.services;
+
+import com.businessapi.dto.response.ImportJobResponseDTO;
+import com.businessapi.entity.Department;
+import com.businessapi.entity.Expense;
+import com.businessapi.entity.Income;
+import com.businessapi.entity.Invoice;
+import com.businessapi.entity.enums.EExpenseCategory;
+import com.businessapi.entity.enums.EImportType;
+import com.businessapi.entity.enums.EStatus;
+import com.businessapi.exception.ErrorType;
+import com.businessapi.exception.FinanceServiceException;
+import com.businessapi.repositories.DepartmentRepository;
+import com.businessapi.repositories.ExpenseRepository;
+import com.businessapi.repositories.IncomeRepository;
+import com.businessapi.repositories.InvoiceRepository;
+import com.businessapi.util.ImportFileReader;
+import com.businessapi.util.ImportJob;
+import com.businessapi.util.ImportRow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bulk import of incomes, expenses and invoices from CSV or XLSX files. The upload is stored in a temp file and
+ * imported in the background, the returned job id is used to follow the progress. Rows are parsed one at a time,
+ * invalid rows are reported and skipped, valid rows are saved in chunks of finance.import.chunk-size with one saveAll
+ * each, which Hibernate sends as JDBC batches. The entity listeners (ledger, analytics, declaration cache) run as for single saves.
+ * Job state is kept in memory of this instance for finance.import.job-retention after the job finished.
+ */
+@Slf4j
+@Service
+public class ImportService {
+    private static final List<String> INCOME_COLUMNS = List.of("source", "amount", "incomeDate");
+    private static final List<String> EXPENSE_COLUMNS = List.of("department", "expenseCategory", "expenseDate", "amount");
+    private static final List<String> INVOICE_COLUMNS = List.of("productName", "quantity", "invoiceDate", "totalAmount");
+
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final DepartmentRepository departmentRepository;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, ImportJob> jobs;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ImportService(IncomeRepository incomeRepository,
+                         ExpenseRepository expenseRepository,
+                         InvoiceRepository invoiceRepository,
+                         DepartmentRepository departmentRepository,
+                         @Value("${finance.import.chunk-size:1000}") int chunkSize,
+                         @Value("${finance.import.max-errors:100}") int maxErrors,
+                         @Value("${finance.import.concurrency:2}") int concurrency,
+                         @Value("${finance.import.queue-capacity:10}") int queueCapacity,
+                         @Value("${finance.import.job-retention:24h}") Duration jobRetention) {
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.departmentRepository = departmentRepository;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("finance-import-"));
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImportJobResponseDTO start(EImportType type, MultipartFile file) {
+        String fileName = file == null ? null : file.getOriginalFilename();
+        if (file == null || file.isEmpty() || !ImportFileReader.isSupported(fileName)) {
+            throw new FinanceServiceException(ErrorType.IMPORT_FILE_NOT_SUPPORTED);
+        }
+        Path copy;
+        try {
+            copy = Files.createTempFile("finance-import-", fileName.substring(fileName.lastIndexOf('.')));
+            file.transferTo(copy);
+        } catch (IOException e) {
+            log.error("Import file " + fileName + " could not be stored", e);
+            throw new FinanceServiceException(ErrorType.INTERNAL_SERVER_ERROR);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), type, fileName, maxErrors);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, copy));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            deleteQuietly(copy);
+            throw new FinanceServiceException(ErrorType.IMPORT_QUEUE_FULL);
+        }
+        return job.toResponse();
+    }
+
+    public ImportJobResponseDTO findById(String id) {
+        ImportJob job = id == null ? null : jobs.getIfPresent(id);
+        if (job == null) {
+            throw new FinanceServiceException(ErrorType.IMPORT_JOB_NOT_FOUND);
+        }
+        return job.toResponse();
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.start();
+        try {
+            ChunkedImport<?> chunkedImport = switch (job.getType()) {
+                case INCOME -> new ChunkedImport<>(job, INCOME_COLUMNS, this::toIncome, incomeRepository);
+                case EXPENSE -> new ChunkedImport<>(job, EXPENSE_COLUMNS, expenseMapper(), expenseRepository);
+                case INVOICE -> new ChunkedImport<>(job, INVOICE_COLUMNS, this::toInvoice, invoiceRepository);
+            };
+            ImportFileReader.read(file, job.getFileName(), chunkedImport);
+            chunkedImport.flush();
+            job.complete();
+        } catch (ImportRow.InvalidRowException | FinanceServiceException e) {
+            job.fail(e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            log.error("Import " + job.getId() + " of " + job.getFileName() + " failed", e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(file);
+            // Retention counts from the end of the job
+            jobs.put(job.getId(), job);
+        }
+    }
+
+    private Income toIncome(ImportRow row) {
+        return Income.builder()
+                .source(row.requiredText("source"))
+                .amount(row.positiveAmount("amount"))
+                .incomeDate(row.date("incomeDate"))
+                .build();
+    }
+
+    // Departments are loaded once per import, the department column holds the name (case insensitive) or the id
+    private Function<ImportRow, Expense> expenseMapper() {
+        Map<String, Department> departments = new HashMap<>();
+        for (Department department : departmentRepository.findAll()) {
+            if (department.getStatus() != EStatus.DELETED) {
+                departments.put(ImportRow.columnKey(department.getName()), department);
+                departments.put(String.valueOf(department.getId()), department);
+            }
+        }
+        return row -> {
+            String departmentName = row.requiredText("department");
+            Department department = departments.get(ImportRow.columnKey(departmentName));
+            if (department == null) {
+                throw new ImportRow.InvalidRowException("department not found: " + departmentName);
+            }
+            Expense expense = Expense.builder()
+                    .department(department)
+                    .expenseCategory(row.enumValue("expenseCategory", EExpenseCategory.class))
+                    .expenseDate(row.date("expenseDate"))
+                    .amount(row.positiveAmount("amount"))
+                    .description(row.text("description"))
+                    .build();
+            if (expense.getExpenseCategory().equals(EExpenseCategory.TAX)) {
+                expense.setStatus(EStatus.APPROVED);
+            }
+            return expense;
+        };
+    }
+
+    private Invoice toInvoice(ImportRow row) {
+        return Invoice.builder()
+                .buyerTcNo(row.text("buyerTcNo"))
+                .buyerEmail(row.text("buyerEmail"))
+                .buyerPhone(row.text("buyerPhone"))
+                .productId(row.longValue("productId"))
+                .productName(row.requiredText("productName"))
+                .quantity(row.positiveInteger("quantity"))
+                .price(row.amount("price"))
+                .invoiceDate(row.date("invoiceDate"))
+                .totalAmount(row.positiveAmount("totalAmount"))
+                .build();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Import file " + file + " could not be deleted: " + e.getMessage());
+        }
+    }
+
+    // First row is the header, every other row is mapped and collected until the chunk is full
+    private class ChunkedImport<T> implements ImportFileReader.RowHandler {
+        private final ImportJob job;
+        private final List<String> requiredColumns;
+        private final Function<ImportRow, T> mapper;
+        private final JpaRepository<T, Long> repository;
+        private Map<String, Integer> columns;
+        private char decimalSeparator = '.';
+        private List<T> chunk = new ArrayList<>();
+
+        ChunkedImport(ImportJob job, List<String> requiredColumns, Function<ImportRow, T> mapper, JpaRepository<T, Long> repository) {
+            this.job = job;
+            this.requiredColumns = requiredColumns;
+            this.mapper = mapper;
+            this.repository = repository;
+        }
+
+        @Override
+        public void start(char decimalSeparator) {
+            this.decimalSeparator = decimalSeparator;
+        }
+
+        @Override
+        public void row(long rowNumber, List<String> cells) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Import stopped, the service is shutting down");
+            }
+            if (columns == null) {
+                columns = ImportRow.columnsOf(cells, requiredColumns);
+                return;
+            }
+            if (ImportRow.isBlank(cells)) {
+                return;
+            }
+            job.rowRead();
+            try {
+                chunk.add(mapper.apply(new ImportRow(columns, cells, decimalSeparator)));
+            } catch (ImportRow.InvalidRowException e) {
+                job.rejected(rowNumber, e.getMessage());
+                return;
+            }
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        // One transaction per chunk, a new list so the saved entities can be collected
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            repository.saveAll(chunk);
+            job.imported(chunk.size());
+            chunk = new ArrayList<>(chunkSize);
+        }
+    }
+}
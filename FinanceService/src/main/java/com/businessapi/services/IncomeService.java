@@ -4,6 +4,7 @@ import com.businessapi.dto.request.IncomeFindByDateRequestDTO;
 import com.businessapi.dto.request.IncomeSaveRequestDTO;
 import com.businessapi.dto.request.IncomeUpdateRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
+import com.businessapi.dto.response.MonthlyTotalResponseDTO;
 import com.businessapi.entity.Income;
 import com.businessapi.entity.enums.EStatus;
 import com.businessapi.exception.FinanceServiceException;
@@ -47,6 +48,7 @@ public class IncomeService {
         income.setSource(dto.source());
         income.setAmount(dto.amount());
         income.setIncomeDate(dto.incomeDate());
+        incomeRepository.save(income);
         return true;
     }
 
@@ -59,12 +61,7 @@ public class IncomeService {
     }
 
     public BigDecimal calculateTotalIncomeBetweenDates(LocalDate startDate, LocalDate endDate) {
-        List<Income> incomeList = incomeRepository.findAllByIncomeDateBetween(startDate, endDate);
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        for (Income income : incomeList) {
-            totalIncome = totalIncome.add(income.getAmount());
-        }
-        return totalIncome;
+        return incomeRepository.sumAmountBetween(startDate, endDate);
     }
 
     public Income findById(Long id) {
@@ -80,33 +77,22 @@ public class IncomeService {
     }
 
 
+    // Totals of each month of the year (January first), the database returns at most 12 rows
     public List<BigDecimal> getForMonths(IncomeFindByDateRequestDTO dto) {
-        List<Income> incomeList = incomeRepository.findAllByIncomeDateBetweenAndStatusNot(dto.startDate(), dto.endDate(), EStatus.DELETED);
-
-        incomeList.sort((o1, o2) -> o1.getIncomeDate().getMonthValue() - o2.getIncomeDate().getMonthValue());
-
         List<BigDecimal> incomeAmountsOfMonths = new ArrayList<>();
 
         for (int i = 0; i < 12; i++) {
             incomeAmountsOfMonths.add(BigDecimal.ZERO);
         }
 
-        for (Income income : incomeList) {
-            int monthIndex = income.getIncomeDate().getMonthValue() - 1;
-            BigDecimal currentAmount = incomeAmountsOfMonths.get(monthIndex);
-            incomeAmountsOfMonths.set(monthIndex, currentAmount.add(income.getAmount()));
+        for (MonthlyTotalResponseDTO monthlyTotal : incomeRepository.sumAmountPerMonth(dto.startDate(), dto.endDate(), EStatus.DELETED)) {
+            incomeAmountsOfMonths.set(monthlyTotal.month() - 1, monthlyTotal.total());
         }
-        System.out.println(incomeAmountsOfMonths);
         return incomeAmountsOfMonths;
     }
 
+    // Sources of the 5 largest incomes, fewer if the range has less than 5
     public List<String> getMostSource(IncomeFindByDateRequestDTO dto) {
-        List<Income> incomeList = incomeRepository.findAllByIncomeDateBetweenAndStatusNot(dto.startDate(), dto.endDate(), EStatus.DELETED);
-        incomeList.sort((o1, o2) -> o2.getAmount().compareTo(o1.getAmount()));
-        List<String> mostToLeastSourceList = new ArrayList<>();
-        for (int i = 0; i < 5; i++) {
-            mostToLeastSourceList.add(incomeList.get(i).getSource());
-        }
-        return mostToLeastSourceList;
+        return incomeRepository.findSourcesOrderByAmountDesc(dto.startDate(), dto.endDate(), EStatus.DELETED, PageRequest.ofSize(5));
     }
 }
@@ -1,5 +1,8 @@
 package com.businessapi.services;
 
+import com.businessapi.RabbitMQ.Model.AnalyticsBackfillRequestModel;
+import com.businessapi.RabbitMQ.Model.InvoiceBatchModel;
+import com.businessapi.RabbitMQ.Model.InvoiceEventModel;
 import com.businessapi.RabbitMQ.Model.InvoiceModel;
 import com.businessapi.dto.request.InvoiceSaveRequestDTO;
 import com.businessapi.dto.request.InvoiceUpdateRequestDTO;
@@ -10,17 +13,24 @@ import com.businessapi.entity.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.FinanceServiceException;
 import com.businessapi.repositories.InvoiceRepository;
+import com.businessapi.util.AnalyticsEventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class InvoiceService {
     private final InvoiceRepository invoiceRepository;
+    private final MeterRegistry meterRegistry;
 
     public Boolean save(InvoiceSaveRequestDTO dto) {
         Invoice invoice = Invoice.builder()
@@ -78,9 +88,38 @@ public class InvoiceService {
     }
 
 
-    @RabbitListener(queues = "queueGetModelFromStockService")
-    public void createInvoiceFromModel (InvoiceModel model) {
-        Invoice invoice = Invoice.builder()
+    // Up to finance.invoice-consumer.batch-size messages arrive together, are stored with one saveAll and acked as one batch
+    @RabbitListener(queues = "queueGetModelFromStockService", containerFactory = "invoiceBatchContainerFactory")
+    public void createInvoiceFromModel (List<InvoiceModel> models) {
+        saveNewInvoices(models);
+    }
+
+    // StockService's invoice outbox sends its invoices in batches
+    @RabbitListener(queues = "queueGetModelBatchFromStockService")
+    public void createInvoicesFromBatch(InvoiceBatchModel model) {
+        saveNewInvoices(model.getInvoices());
+    }
+
+    // Invoices arrive at least once, the order id is the dedup key: orders already invoiced (or twice in the same batch) are skipped.
+    // Two consumers saving the same order at once hit idx_invoice_order_id, the batch is redelivered and the order skipped then.
+    // Rate of finance.invoice.consumer.saved is the consumer throughput, finance.invoice.consumer.batch the time per batch
+    private void saveNewInvoices(List<InvoiceModel> models) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Set<Long> invoicedOrderIds = new HashSet<>(invoiceRepository.findOrderIdsIn(models.stream()
+                .map(InvoiceModel::getOrderId).filter(Objects::nonNull).toList()));
+        List<Invoice> invoices = invoiceRepository.saveAll(models.stream()
+                .filter(model -> model.getOrderId() == null || invoicedOrderIds.add(model.getOrderId()))
+                .map(this::toInvoice)
+                .toList());
+        meterRegistry.counter("finance.invoice.consumer.saved").increment(invoices.size());
+        meterRegistry.counter("finance.invoice.consumer.duplicates").increment(models.size() - invoices.size());
+        meterRegistry.summary("finance.invoice.consumer.batch.size").record(models.size());
+        sample.stop(meterRegistry.timer("finance.invoice.consumer.batch"));
+    }
+
+    private Invoice toInvoice(InvoiceModel model) {
+        return Invoice.builder()
+                .orderId(model.getOrderId())
                 .buyerTcNo(model.getBuyerTcNo())
                 .buyerEmail(model.getBuyerEmail())
                 .buyerPhone(model.getBuyerPhone())
@@ -91,7 +130,12 @@ public class InvoiceService {
                 .invoiceDate(model.getInvoiceDate())
                 .totalAmount(model.getTotalAmount())
                 .build();
-        invoiceRepository.save(invoice);
     }
-}
 
+    // One page of invoices for AnalyticsService backfill, keyset paginated on id
+    @RabbitListener(queues = "queueAnalyticsBackfillInvoice")
+    public List<InvoiceEventModel> findInvoicesForAnalyticsBackfill(AnalyticsBackfillRequestModel model) {
+        return invoiceRepository.findAllByIdGreaterThanOrderByIdAsc(model.getAfterId(), PageRequest.ofSize(model.getLimit()))
+                .stream().map(AnalyticsEventPublisher::toEvent).toList();
+    }
+}
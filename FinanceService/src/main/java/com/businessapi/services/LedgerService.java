@@ -0,0 +1,94 @@
+package com.businessapi.services;
+
+import com.businessapi.repositories.LedgerDayRepository;
+import com.businessapi.util.LedgerEventListener.Contribution;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Period-close ledger: income, expense and tax of every day with their running totals (tblledgerday), so totals of
+ * any date range are the difference of two running totals instead of a scan of the incomes and expenses.
+ * Writes arrive from LedgerEventListener as signed per-day differences, are summed per transaction and applied right
+ * before it commits, after Hibernate's last flush: the day itself is updated and the running totals move from that day on.
+ * Writers are serialized on the ledger table for that last step only.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+    private final LedgerDayRepository ledgerDayRepository;
+    private final EntityManager entityManager;
+
+    public LedgerDayRepository.LedgerTotals totalsBetween(LocalDate startDate, LocalDate endDate) {
+        return ledgerDayRepository.sumBetween(startDate, endDate);
+    }
+
+    // Takes back what a row was counted as and counts it as it is now, either side may be null
+    public void record(Contribution before, Contribution after) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Incomes and expenses can only be written in a transaction");
+        }
+        Map<LocalDate, Contribution> pending = pendingContributions();
+        if (before != null) {
+            pending.merge(before.date(), before.negate(), Contribution::add);
+        }
+        if (after != null) {
+            pending.merge(after.date(), after, Contribution::add);
+        }
+    }
+
+    // Applied by Hibernate right before the commit, after its commit-time flush: dirty checked edits and deferred
+    // inserts only reach the listener in that flush, a Spring beforeCommit would run too early to see them
+    @SuppressWarnings("unchecked")
+    private Map<LocalDate, Contribution> pendingContributions() {
+        Map<LocalDate, Contribution> pending = (Map<LocalDate, Contribution>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<LocalDate, Contribution> contributions = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, contributions);
+            ActionQueue actionQueue = entityManager.unwrap(SessionImplementor.class).getActionQueue();
+            actionQueue.registerProcess((BeforeTransactionCompletionProcess) session -> apply(contributions));
+            actionQueue.registerProcess((AfterTransactionCompletionProcess) (success, session) ->
+                    TransactionSynchronizationManager.unbindResourceIfPossible(this));
+            pending = contributions;
+        }
+        return pending;
+    }
+
+    // Days in ascending order, so concurrent writers lock rows in the same order
+    private void apply(Map<LocalDate, Contribution> contributions) {
+        Map<LocalDate, Contribution> days = new TreeMap<>(contributions);
+        contributions.clear();
+        days.values().removeIf(Contribution::isZero);
+        if (days.isEmpty()) {
+            return;
+        }
+        ledgerDayRepository.lockForUpdate();
+        days.forEach((date, contribution) -> {
+            ledgerDayRepository.insertDayIfMissing(date);
+            ledgerDayRepository.addToDay(date, contribution.income(), contribution.expense(), contribution.tax());
+            ledgerDayRepository.addToRunningTotalsFrom(date, contribution.income(), contribution.expense(), contribution.tax());
+        });
+    }
+
+    // Fills the ledger of a database that has entries from before it existed
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (ledgerDayRepository.count() == 0) {
+            ledgerDayRepository.lockForUpdate();
+            ledgerDayRepository.insertAllDaysFromEntries();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.businessapi.util;
+
+import com.businessapi.RabbitMQ.Model.ExpenseEventModel;
+import com.businessapi.RabbitMQ.Model.InvoiceEventModel;
+import com.businessapi.entity.Expense;
+import com.businessapi.entity.Invoice;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that publishes the current state of every written invoice and expense to
+ * AnalyticsService. Events are sent after commit, so rolled back writes never reach the analytics fact tables.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsEventPublisher {
+    public static final String KEY_INVOICE_EVENT = "keyAnalyticsInvoiceEvent";
+    public static final String KEY_EXPENSE_EVENT = "keyAnalyticsExpenseEvent";
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity) {
+        if (entity instanceof Invoice invoice) {
+            publish(KEY_INVOICE_EVENT, toEvent(invoice));
+        } else if (entity instanceof Expense expense) {
+            publish(KEY_EXPENSE_EVENT, toEvent(expense));
+        }
+    }
+
+    public static InvoiceEventModel toEvent(Invoice invoice) {
+        return InvoiceEventModel.builder()
+                .id(invoice.getId())
+                .productId(invoice.getProductId())
+                .productName(invoice.getProductName())
+                .quantity(invoice.getQuantity())
+                .price(invoice.getPrice())
+                .totalAmount(invoice.getTotalAmount())
+                .invoiceDate(invoice.getInvoiceDate())
+                .status(invoice.getStatus() == null ? null : invoice.getStatus().name())
+                .createdAt(invoice.getCreatedAt())
+                .updatedAt(invoice.getUpdatedAt())
+                .build();
+    }
+
+    public static ExpenseEventModel toEvent(Expense expense) {
+        return ExpenseEventModel.builder()
+                .id(expense.getId())
+                .departmentId(expense.getDepartment() == null ? null : expense.getDepartment().getId())
+                .expenseCategory(expense.getExpenseCategory() == null ? null : expense.getExpenseCategory().name())
+                .expenseDate(expense.getExpenseDate())
+                .amount(expense.getAmount())
+                .description(expense.getDescription())
+                .status(expense.getStatus() == null ? null : expense.getStatus().name())
+                .createdAt(expense.getCreatedAt())
+                .updatedAt(expense.getUpdatedAt())
+                .build();
+    }
+
+    private void publish(String routingKey, Object event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rabbitTemplate.convertAndSend("businessDirectExchange", routingKey, event);
+                }
+            });
+        } else {
+            rabbitTemplate.convertAndSend("businessDirectExchange", routingKey, event);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.businessapi.util;
+
+import com.businessapi.exception.ErrorType;
+import com.businessapi.exception.FinanceServiceException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads CSV and XLSX import files one row at a time. Rows are handed to the caller while the file is parsed,
+ * so memory use does not grow with the file size. CSV files are UTF-8 with a comma or semicolon delimiter, a semicolon
+ * delimiter means numbers are written with a decimal comma.
+ * XLSX files are read with POI's SAX event API: only the first sheet, number cells arrive unformatted and date cells as yyyy-MM-dd.
+ */
+public class ImportFileReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        // Called once before the first row with the decimal separator of the numbers in the file
+        default void start(char decimalSeparator) {
+        }
+
+        // rowNumber is the 1 based row of the file, the header is row 1
+        void row(long rowNumber, List<String> cells);
+    }
+
+    private ImportFileReader() {
+    }
+
+    public static boolean isSupported(String fileName) {
+        return fileName != null && (isCsv(fileName) || isXlsx(fileName));
+    }
+
+    public static void read(Path file, String fileName, RowHandler handler) throws IOException {
+        if (fileName != null && isCsv(fileName)) {
+            readCsv(file, handler);
+        } else if (fileName != null && isXlsx(fileName)) {
+            readXlsx(file, handler);
+        } else {
+            throw new FinanceServiceException(ErrorType.IMPORT_FILE_NOT_SUPPORTED);
+        }
+    }
+
+    private static boolean isCsv(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    private static boolean isXlsx(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx");
+    }
+
+    // Quoted cells may contain delimiters, line breaks and "" for a quote
+    private static void readCsv(Path file, RowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.mark(1);
+            if (reader.read() != '\uFEFF') {
+                reader.reset();
+            }
+            char delimiter = detectDelimiter(reader);
+            handler.start(delimiter == ';' ? ',' : '.');
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            long rowNumber = 1;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (quoted) {
+                    if (c != '"') {
+                        cell.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        cell.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == delimiter) {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                    handler.row(rowNumber++, cells);
+                    cells = new ArrayList<>();
+                } else {
+                    cell.append((char) c);
+                }
+            }
+            if (!cells.isEmpty() || !cell.isEmpty()) {
+                cells.add(cell.toString());
+                handler.row(rowNumber, cells);
+            }
+        }
+    }
+
+    // Excel saves CSV with semicolons in locales that use the comma as decimal separator, numbers of such files are read that way
+    private static char detectDelimiter(BufferedReader reader) throws IOException {
+        reader.mark(64 * 1024);
+        int commas = 0;
+        int semicolons = 0;
+        int c;
+        for (int read = 0; read < 64 * 1024 && (c = reader.read()) != -1 && c != '\n' && c != '\r'; read++) {
+            if (c == ',') {
+                commas++;
+            } else if (c == ';') {
+                semicolons++;
+            }
+        }
+        reader.reset();
+        return semicolons > commas ? ';' : ',';
+    }
+
+    // Shared strings are held in memory by POI, the sheet itself is parsed as a stream
+    private static void readXlsx(Path file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            handler.start('.');
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), new ReadOnlySharedStringsTable(pkg),
+                        new SheetRows(handler), new RawValueFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Not a readable XLSX file: " + e.getMessage(), e);
+        }
+    }
+
+    private static class SheetRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private List<String> cells;
+
+        SheetRows(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.row(rowNum + 1L, cells);
+        }
+
+        // Empty cells are not in the sheet, the gap before a cell is filled from its reference
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference == null ? cells.size() : new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue);
+        }
+    }
+
+    // Amounts without thousands separators or currency symbols of the cell format, dates in ISO format
+    private static class RawValueFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.businessapi.util;
+
+import com.businessapi.dto.response.ImportJobResponseDTO;
+import com.businessapi.dto.response.ImportRowErrorResponseDTO;
+import com.businessapi.entity.enums.EImportJobStatus;
+import com.businessapi.entity.enums.EImportType;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one bulk import, written by the import thread and read by status requests.
+ * Only the first maxErrors rejected rows are kept with their reason, the rest are only counted.
+ */
+public class ImportJob {
+    @Getter
+    private final String id;
+    @Getter
+    private final EImportType type;
+    @Getter
+    private final String fileName;
+    private final int maxErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<ImportRowErrorResponseDTO> errors = new ArrayList<>();
+    private EImportJobStatus status = EImportJobStatus.PENDING;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private String message;
+    private LocalDateTime finishedAt;
+
+    public ImportJob(String id, EImportType type, String fileName, int maxErrors) {
+        this.id = id;
+        this.type = type;
+        this.fileName = fileName;
+        this.maxErrors = maxErrors;
+    }
+
+    public synchronized void start() {
+        status = EImportJobStatus.RUNNING;
+    }
+
+    public synchronized void rowRead() {
+        rowsRead++;
+    }
+
+    public synchronized void rejected(long row, String reason) {
+        rowsRejected++;
+        if (errors.size() < maxErrors) {
+            errors.add(new ImportRowErrorResponseDTO(row, reason));
+        }
+    }
+
+    public synchronized void imported(int count) {
+        rowsImported += count;
+    }
+
+    public synchronized void complete() {
+        status = EImportJobStatus.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    // Chunks saved before the failure stay imported, rowsImported tells how far it got
+    public synchronized void fail(String reason) {
+        status = EImportJobStatus.FAILED;
+        message = reason;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized ImportJobResponseDTO toResponse() {
+        return new ImportJobResponseDTO(id, type, fileName, status, rowsRead, rowsImported, rowsRejected,
+                List.copyOf(errors), message, createdAt, finishedAt);
+    }
+}
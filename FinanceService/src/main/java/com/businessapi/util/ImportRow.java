@@ -0,0 +1,151 @@
+package com.businessapi.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * One data row of an import file, cells are looked up by their header name (case insensitive).
+ * The getters validate the cell and throw InvalidRowException with a message for the import job when it is unusable.
+ */
+public class ImportRow {
+    private static final DateTimeFormatter DOTTED_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    // 1234.56 or 1,234.56
+    private static final Pattern DECIMAL_POINT = Pattern.compile("[-+]?(\\d{1,3}(,\\d{3})+|\\d+)(\\.\\d+)?");
+    // 1234,56 or 1.234,56
+    private static final Pattern DECIMAL_COMMA = Pattern.compile("[-+]?(\\d{1,3}(\\.\\d{3})+|\\d+)(,\\d+)?");
+
+    private final Map<String, Integer> columns;
+    private final List<String> cells;
+    private final char decimalSeparator;
+
+    public ImportRow(Map<String, Integer> columns, List<String> cells, char decimalSeparator) {
+        this.columns = columns;
+        this.cells = cells;
+        this.decimalSeparator = decimalSeparator;
+    }
+
+    public static String columnKey(String header) {
+        return header == null ? "" : header.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Header row as column name -> cell index, the first of duplicated names wins
+    public static Map<String, Integer> columnsOf(List<String> header, List<String> requiredColumns) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(columnKey(header.get(i)), i);
+        }
+        List<String> missing = requiredColumns.stream().filter(column -> !columns.containsKey(columnKey(column))).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidRowException("Missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    public static boolean isBlank(List<String> cells) {
+        return cells.stream().allMatch(cell -> cell == null || cell.isBlank());
+    }
+
+    // Null when the column is missing or the cell is empty
+    public String text(String column) {
+        Integer index = columns.get(columnKey(column));
+        if (index == null || index >= cells.size() || cells.get(index) == null || cells.get(index).isBlank()) {
+            return null;
+        }
+        return cells.get(index).trim();
+    }
+
+    public String requiredText(String column) {
+        String value = text(column);
+        if (value == null) {
+            throw new InvalidRowException(column + " is empty");
+        }
+        return value;
+    }
+
+    public BigDecimal positiveAmount(String column) {
+        BigDecimal amount = amount(column);
+        if (amount == null) {
+            throw new InvalidRowException(column + " is empty");
+        }
+        if (amount.signum() <= 0) {
+            throw new InvalidRowException(column + " must be greater than 0");
+        }
+        return amount;
+    }
+
+    // Thousands separators are allowed, the decimal separator is the one of the file
+    public BigDecimal amount(String column) {
+        String value = text(column);
+        if (value == null) {
+            return null;
+        }
+        if (decimalSeparator == ',') {
+            if (!DECIMAL_COMMA.matcher(value).matches()) {
+                throw new InvalidRowException(column + " is not a number like 1234,56: " + value);
+            }
+            return new BigDecimal(value.replace(".", "").replace(',', '.'));
+        }
+        if (!DECIMAL_POINT.matcher(value).matches()) {
+            throw new InvalidRowException(column + " is not a number like 1234.56: " + value);
+        }
+        return new BigDecimal(value.replace(",", ""));
+    }
+
+    public Integer positiveInteger(String column) {
+        String value = requiredText(column);
+        try {
+            int number = Integer.parseInt(value);
+            if (number <= 0) {
+                throw new InvalidRowException(column + " must be greater than 0");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new InvalidRowException(column + " is not a whole number: " + value);
+        }
+    }
+
+    public Long longValue(String column) {
+        String value = text(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidRowException(column + " is not a whole number: " + value);
+        }
+    }
+
+    // yyyy-MM-dd, or dd.MM.yyyy as bank statements print it
+    public LocalDate date(String column) {
+        String value = requiredText(column);
+        try {
+            return value.indexOf('.') > 0 ? LocalDate.parse(value, DOTTED_DATE) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRowException(column + " is not a date like 2024-12-31: " + value);
+        }
+    }
+
+    public <E extends Enum<E>> E enumValue(String column, Class<E> type) {
+        String value = requiredText(column);
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRowException(column + " is not one of " + Arrays.toString(type.getEnumConstants()) + ": " + value);
+        }
+    }
+
+    public static class InvalidRowException extends RuntimeException {
+        public InvalidRowException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.businessapi.util;
+
+import com.businessapi.entity.Expense;
+import com.businessapi.entity.Income;
+import com.businessapi.entity.enums.EExpenseCategory;
+import com.businessapi.entity.enums.EStatus;
+import com.businessapi.services.LedgerService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * JPA entity listener of Income and Expense that keeps the period-close ledger up to date.
+ * Every row remembers what it was last counted as, a write passes the old and the new contribution to LedgerService,
+ * so edits, deletes and entries dated in the past only move the totals by their difference.
+ */
+@Component
+public class LedgerEventListener {
+    private final LedgerService ledgerService;
+
+    // Lazy, Hibernate asks for its entity listeners while the repositories LedgerService needs are still being created
+    public LedgerEventListener(@Lazy LedgerService ledgerService) {
+        this.ledgerService = ledgerService;
+    }
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        setCounted(entity, contributionOf(entity));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity) {
+        Contribution contribution = contributionOf(entity);
+        ledgerService.record(countedOf(entity), contribution);
+        setCounted(entity, contribution);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        ledgerService.record(countedOf(entity), null);
+        setCounted(entity, null);
+    }
+
+    // Deleted rows and rows without a date or amount count as nothing
+    private static Contribution contributionOf(Object entity) {
+        if (entity instanceof Income income) {
+            if (income.getStatus() == EStatus.DELETED || income.getIncomeDate() == null || income.getAmount() == null) {
+                return null;
+            }
+            return new Contribution(income.getIncomeDate(), income.getAmount(), BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        if (entity instanceof Expense expense) {
+            if (expense.getStatus() == EStatus.DELETED || expense.getExpenseDate() == null || expense.getAmount() == null) {
+                return null;
+            }
+            BigDecimal tax = expense.getExpenseCategory() == EExpenseCategory.TAX ? expense.getAmount() : BigDecimal.ZERO;
+            return new Contribution(expense.getExpenseDate(), BigDecimal.ZERO, expense.getAmount(), tax);
+        }
+        return null;
+    }
+
+    private static Contribution countedOf(Object entity) {
+        if (entity instanceof Income income) {
+            return income.getLedgerContribution();
+        }
+        if (entity instanceof Expense expense) {
+            return expense.getLedgerContribution();
+        }
+        return null;
+    }
+
+    private static void setCounted(Object entity, Contribution contribution) {
+        if (entity instanceof Income income) {
+            income.setLedgerContribution(contribution);
+        } else if (entity instanceof Expense expense) {
+            expense.setLedgerContribution(contribution);
+        }
+    }
+
+    public record Contribution(LocalDate date, BigDecimal income, BigDecimal expense, BigDecimal tax) {
+        public Contribution negate() {
+            return new Contribution(date, income.negate(), expense.negate(), tax.negate());
+        }
+
+        public Contribution add(Contribution other) {
+            return new Contribution(date, income.add(other.income), expense.add(other.expense), tax.add(other.tax));
+        }
+
+        public boolean isZero() {
+            return income.signum() == 0 && expense.signum() == 0 && tax.signum() == 0;
+        }
+    }
+}
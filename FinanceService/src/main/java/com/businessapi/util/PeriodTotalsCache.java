@@ -0,0 +1,84 @@
+package com.businessapi.util;
+
+import com.businessapi.repositories.DeclarationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Income and expense totals of the periods declarations were generated for, so VAT, income and corporate tax
+ * declarations of the same period share one ledger scan. Also registered as JPA entity listener of Income and Expense:
+ * any write to them clears the cache after commit. The TTL bounds how long writes made on other instances go unnoticed.
+ * Every clear also moves the generation on, a load that started before it is returned but not cached, since it may
+ * have read the ledger before the write.
+ * Hit/miss counts are exported as the "declarationPeriodTotals" cache metrics.
+ */
+@Component
+public class PeriodTotalsCache {
+    private final Cache<Period, DeclarationRepository.PeriodTotals> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PeriodTotalsCache(MeterRegistry meterRegistry,
+                             @Value("${finance.declaration.period-totals.expire-after-write:10m}") Duration expireAfterWrite,
+                             @Value("${finance.declaration.period-totals.maximum-size:1000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "declarationPeriodTotals");
+    }
+
+    public DeclarationRepository.PeriodTotals get(LocalDate startDate, LocalDate endDate, Supplier<DeclarationRepository.PeriodTotals> loader) {
+        Period period = new Period(startDate, endDate);
+        DeclarationRepository.PeriodTotals totals = cache.getIfPresent(period);
+        if (totals != null) {
+            return totals;
+        }
+        long loadGeneration = generation.get();
+        totals = loader.get();
+        cache.put(period, totals);
+        // Checked after the put, a clear between the check and the put would otherwise be missed
+        if (generation.get() != loadGeneration) {
+            cache.asMap().remove(period, totals);
+        }
+        return totals;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAll();
+                }
+            });
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private record Period(LocalDate startDate, LocalDate endDate) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.businessapi.services;
+
+import com.businessapi.dto.response.ImportJobResponseDTO;
+import com.businessapi.entity.enums.EImportJobStatus;
+import com.businessapi.entity.enums.EImportType;
+import com.businessapi.repositories.ExpenseRepository;
+import com.businessapi.repositories.IncomeRepository;
+import com.businessapi.repositories.LedgerDayRepository;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Needs the PostgreSQL database of application.yml, like FinanceServiceApplicationTests.
+ * Chunks of 2 rows, so every file is saved in several transactions.
+ */
+@SpringBootTest(properties = "finance.import.chunk-size=2")
+class ImportServiceIntegrationTest {
+    @MockBean
+    RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    ImportService importService;
+
+    @Autowired
+    IncomeRepository incomeRepository;
+
+    @Autowired
+    ExpenseRepository expenseRepository;
+
+    @Autowired
+    LedgerService ledgerService;
+
+    @Test
+    void importsSemicolonCsvWithDecimalCommasAndReportsInvalidRows() throws InterruptedException {
+        LocalDate day = LocalDate.of(2091, 3, 1);
+        String csv = "source;amount;incomeDate\n" +
+                "Bank A;1.234,56;2091-03-01\n" +
+                "\"Bank; B\";100;01.03.2091\n" +
+                "Bank C;12.5;2091-03-01\n" +
+                "Bank D;-5;2091-03-01\n" +
+                "Bank E;0,44;2091-03-02\n";
+
+        ImportJobResponseDTO job = awaitJob(importService.start(EImportType.INCOME,
+                new MockMultipartFile("file", "incomes.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(EImportJobStatus.COMPLETED, job.status());
+        assertEquals(5, job.rowsRead());
+        assertEquals(3, job.rowsImported());
+        assertEquals(2, job.rowsRejected());
+        assertEquals(4, job.errors().get(0).row());
+        assertEquals(5, job.errors().get(1).row());
+        assertAmount("1335.00", incomeRepository.sumAmountBetween(day, day.plusDays(1)));
+        assertAmount("1335.00", ledgerService.totalsBetween(day, day.plusDays(1)).getTotalIncome());
+    }
+
+    @Test
+    void importsXlsxExpensesIntoTheLedger() throws IOException, InterruptedException {
+        LocalDate day = LocalDate.of(2092, 6, 1);
+        byte[] xlsx;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            CellStyle date = workbook.createCellStyle();
+            date.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy"));
+            CellStyle money = workbook.createCellStyle();
+            money.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+            String[][] rows = {
+                    {"sales", "TRAVEL", "1500.25"},
+                    {"IT", "tax", "300"},
+                    {"Unknown", "OTHER", "10"},
+                    {"1", "OFFICE_SUPPLIES", "49.75"}
+            };
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("department");
+            header.createCell(1).setCellValue("expenseCategory");
+            header.createCell(2).setCellValue("expenseDate");
+            header.createCell(3).setCellValue("amount");
+            for (int i = 0; i < rows.length; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(rows[i][0]);
+                row.createCell(1).setCellValue(rows[i][1]);
+                row.createCell(2).setCellValue(day);
+                row.getCell(2).setCellStyle(date);
+                row.createCell(3).setCellValue(Double.parseDouble(rows[i][2]));
+                row.getCell(3).setCellStyle(money);
+            }
+            workbook.write(out);
+            xlsx = out.toByteArray();
+        }
+
+        ImportJobResponseDTO job = awaitJob(importService.start(EImportType.EXPENSE,
+                new MockMultipartFile("file", "expenses.xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", xlsx)));
+
+        assertEquals(EImportJobStatus.COMPLETED, job.status());
+        assertEquals(3, job.rowsImported());
+        assertEquals(1, job.rowsRejected());
+        assertEquals(4, job.errors().get(0).row());
+        LedgerDayRepository.LedgerTotals totals = ledgerService.totalsBetween(day, day);
+        assertAmount("1850.00", expenseRepository.sumAmountBetween(day, day));
+        assertAmount("1850.00", totals.getTotalExpense());
+        assertAmount("300", totals.getTotalTax());
+    }
+
+    private ImportJobResponseDTO awaitJob(ImportJobResponseDTO started) throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            ImportJobResponseDTO job = importService.findById(started.jobId());
+            if (job.status() == EImportJobStatus.COMPLETED || job.status() == EImportJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import " + started.jobId() + " did not finish");
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "amount " + actual);
+    }
+}
@@ -0,0 +1,80 @@
+package com.businessapi.services;
+
+import com.businessapi.dto.request.IncomeSaveRequestDTO;
+import com.businessapi.dto.request.IncomeUpdateRequestDTO;
+import com.businessapi.entity.Income;
+import com.businessapi.repositories.ExpenseRepository;
+import com.businessapi.repositories.IncomeRepository;
+import com.businessapi.repositories.LedgerDayRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Needs the PostgreSQL database of application.yml, like FinanceServiceApplicationTests.
+ * Writes go through the services, so the ledger sees them the way Hibernate flushes them at commit.
+ */
+@SpringBootTest
+class LedgerServiceIntegrationTest {
+    // Far from the demo data, the ledger of this day only holds what the test writes
+    private static final LocalDate DAY = LocalDate.of(2090, 1, 15);
+
+    @MockBean
+    RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    IncomeService incomeService;
+
+    @Autowired
+    IncomeRepository incomeRepository;
+
+    @Autowired
+    ExpenseRepository expenseRepository;
+
+    @Autowired
+    LedgerService ledgerService;
+
+    // The demo data is written through the services at startup, none of it is deleted
+    @Test
+    void ledgerMatchesTheDemoData() {
+        LocalDate start = LocalDate.of(1900, 1, 1);
+        LocalDate end = DAY.minusYears(1);
+        LedgerDayRepository.LedgerTotals totals = ledgerService.totalsBetween(start, end);
+        assertEquals(0, incomeRepository.sumAmountBetween(start, end).compareTo(totals.getTotalIncome()));
+        assertEquals(0, expenseRepository.sumAmountBetween(start, end).compareTo(totals.getTotalExpense()));
+        assertEquals(1, totals.getTotalExpense().signum());
+    }
+
+    @Test
+    void ledgerFollowsInsertUpdateAndSoftDeleteOfAnIncome() {
+        incomeService.saveIncome(new IncomeSaveRequestDTO("ledger test", new BigDecimal("100.00"), DAY));
+        assertTotalIncome("100.00");
+
+        List<Income> incomes = incomeRepository.findAllByIncomeDateBetween(DAY, DAY);
+        assertEquals(1, incomes.size());
+        Long id = incomes.get(0).getId();
+
+        incomeService.updateIncome(new IncomeUpdateRequestDTO(id, "ledger test", new BigDecimal("250.00"), DAY));
+        assertTotalIncome("250.00");
+
+        incomeService.updateIncome(new IncomeUpdateRequestDTO(id, "ledger test", new BigDecimal("250.00"), DAY.plusDays(1)));
+        assertEquals(0, new BigDecimal("250.00").compareTo(ledgerService.totalsBetween(DAY.plusDays(1), DAY.plusDays(1)).getTotalIncome()));
+        assertEquals(0, ledgerService.totalsBetween(DAY, DAY).getTotalIncome().signum());
+
+        incomeService.deleteIncome(id);
+        assertTotalIncome("0");
+    }
+
+    private void assertTotalIncome(String expected) {
+        BigDecimal totalIncome = ledgerService.totalsBetween(DAY.minusDays(1), DAY.plusDays(1)).getTotalIncome();
+        assertEquals(0, new BigDecimal(expected).compareTo(totalIncome), "total income " + totalIncome);
+    }
+}
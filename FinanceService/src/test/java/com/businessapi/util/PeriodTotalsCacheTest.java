@@ -0,0 +1,57 @@
+package com.businessapi.util;
+
+import com.businessapi.repositories.DeclarationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PeriodTotalsCacheTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+
+    private final PeriodTotalsCache cache = new PeriodTotalsCache(new SimpleMeterRegistry(), Duration.ofMinutes(10), 100);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesTheSecondCallFromTheCache() {
+        cache.get(START, END, () -> totals("100"));
+        cache.get(START, END, () -> totals("100"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void doesNotCacheALoadThatOverlappedAWrite() {
+        DeclarationRepository.PeriodTotals stale = cache.get(START, END, () -> {
+            DeclarationRepository.PeriodTotals totals = totals("100");
+            // Committed while the ledger was being read
+            cache.onWrite(new Object());
+            return totals;
+        });
+        assertEquals(new BigDecimal("100"), stale.getTotalIncome());
+
+        DeclarationRepository.PeriodTotals fresh = cache.get(START, END, () -> totals("150"));
+        assertEquals(new BigDecimal("150"), fresh.getTotalIncome());
+        assertEquals(2, loads.get());
+    }
+
+    private DeclarationRepository.PeriodTotals totals(String income) {
+        loads.incrementAndGet();
+        return new DeclarationRepository.PeriodTotals() {
+            @Override
+            public BigDecimal getTotalIncome() {
+                return new BigDecimal(income);
+            }
+
+            @Override
+            public BigDecimal getTotalExpense() {
+                return BigDecimal.ZERO;
+            }
+        };
+    }
+}
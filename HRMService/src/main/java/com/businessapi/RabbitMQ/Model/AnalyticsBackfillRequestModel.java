@@ -0,0 +1,16 @@
+package com.businessapi.RabbitMQ.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class AnalyticsBackfillRequestModel {
+    // Returns rows with id > afterId, ordered by id, at most limit rows
+    Long afterId;
+    Integer limit;
+}
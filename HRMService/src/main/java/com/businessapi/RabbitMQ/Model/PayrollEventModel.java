@@ -0,0 +1,22 @@
+package com.businessapi.RabbitMQ.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class PayrollEventModel {
+    Long id;
+    Long employeeId;
+    LocalDate salaryDate;
+    Double grossSalary;
+    Double deductions;
+    Double netSalary;
+    String status;
+}
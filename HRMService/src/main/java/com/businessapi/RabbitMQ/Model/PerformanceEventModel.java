@@ -0,0 +1,20 @@
+package com.businessapi.RabbitMQ.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class PerformanceEventModel {
+    Long id;
+    Long employeeId;
+    LocalDate date;
+    Integer score;
+    String status;
+}
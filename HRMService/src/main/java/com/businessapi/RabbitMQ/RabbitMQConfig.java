@@ -1,9 +1,11 @@
 package com.businessapi.RabbitMQ;
 
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -15,9 +17,20 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
     private final String businessDirectExchange = "businessDirectExchange";
+    private final String roleChangeFanoutExchange = "roleChangeFanoutExchange";
 
     String queueFindAuthByToken = "find.auth.by.token";
     String keyFindAuthByToken = "key.find.auth.by.token";
+    //Analytics fact tables are fed from these queues, declared here too so events wait for AnalyticsService
+    String queueAnalyticsPayrollEvent = "queueAnalyticsPayrollEvent";
+    String keyAnalyticsPayrollEvent = "keyAnalyticsPayrollEvent";
+    String queueAnalyticsPerformanceEvent = "queueAnalyticsPerformanceEvent";
+    String keyAnalyticsPerformanceEvent = "keyAnalyticsPerformanceEvent";
+    //AnalyticsService pulls existing rows page by page (id cursor) through these queues
+    String queueAnalyticsBackfillPayroll = "queueAnalyticsBackfillPayroll";
+    String keyAnalyticsBackfillPayroll = "keyAnalyticsBackfillPayroll";
+    String queueAnalyticsBackfillPerformance = "queueAnalyticsBackfillPerformance";
+    String keyAnalyticsBackfillPerformance = "keyAnalyticsBackfillPerformance";
 
 
     @Bean
@@ -37,6 +50,62 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(queueFindAuthByToken).to(directExchange).with(keyFindAuthByToken);
     }
 
+    @Bean
+    public Queue queueAnalyticsPayrollEvent(){
+        return new Queue(queueAnalyticsPayrollEvent);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsPayrollEvent(Queue queueAnalyticsPayrollEvent, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsPayrollEvent).to(directExchange).with(keyAnalyticsPayrollEvent);
+    }
+
+    @Bean
+    public Queue queueAnalyticsPerformanceEvent(){
+        return new Queue(queueAnalyticsPerformanceEvent);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsPerformanceEvent(Queue queueAnalyticsPerformanceEvent, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsPerformanceEvent).to(directExchange).with(keyAnalyticsPerformanceEvent);
+    }
+
+    @Bean
+    public Queue queueAnalyticsBackfillPayroll(){
+        return new Queue(queueAnalyticsBackfillPayroll);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsBackfillPayroll(Queue queueAnalyticsBackfillPayroll, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsBackfillPayroll).to(directExchange).with(keyAnalyticsBackfillPayroll);
+    }
+
+    @Bean
+    public Queue queueAnalyticsBackfillPerformance(){
+        return new Queue(queueAnalyticsBackfillPerformance);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsBackfillPerformance(Queue queueAnalyticsBackfillPerformance, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsBackfillPerformance).to(directExchange).with(keyAnalyticsBackfillPerformance);
+    }
+
+    //UserManagement publishes an authId here whenever that user's roles or status change, every instance gets its own queue
+    @Bean
+    public FanoutExchange roleChangeFanoutExchange(){
+        return new FanoutExchange(roleChangeFanoutExchange);
+    }
+
+    @Bean
+    public Queue queueRoleChange(){
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingRoleChange(Queue queueRoleChange, FanoutExchange roleChangeFanoutExchange){
+        return BindingBuilder.bind(queueRoleChange).to(roleChangeFanoutExchange);
+    }
+
     @Bean
     MessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -21,6 +21,7 @@ public class EndPoints {
     public static final String DELETE = "/delete";
     public static final String UPDATE = "/update";
     public static final String FIND_ALL = "/find-all";
+    public static final String FIND_ALL_BY_CURSOR = "/find-all-by-cursor";
     public static final String NUMBER_MEN = "/number-men";
     public static final String NUMBER_WOMEN = "/number-women";
     public static final String NUMBER_DEPARTMENTS = "/number-departments";
@@ -2,9 +2,11 @@ package com.businessapi.controller;
 
 import com.businessapi.dto.request.AttendanceSaveRequestDTO;
 import com.businessapi.dto.request.AttendanceUpdateRequestDTO;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.EmployeeSaveRequestDTO;
 import com.businessapi.dto.request.EmployeeUpdateRequestDTO;
 import com.businessapi.dto.response.AttendanceResponseDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.EmployeeResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 import com.businessapi.dto.response.ResponseDTO;
@@ -70,6 +72,17 @@ public class AttendanceController {
                 .code(200)
                 .build());
     }
+    @PostMapping (FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Find Attendance page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<AttendanceResponseDTO>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<AttendanceResponseDTO>>builder()
+                .data(attendanceService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
     @DeleteMapping(DELETE)
     @Operation(summary = "Delete Attendance by id")
     public ResponseEntity<ResponseDTO<Boolean>> delete(@RequestParam Long id){
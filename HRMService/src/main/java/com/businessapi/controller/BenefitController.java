@@ -3,9 +3,11 @@ package com.businessapi.controller;
 
 import com.businessapi.dto.request.BenefitSaveRequestDTO;
 import com.businessapi.dto.request.BenefitUpdateRequestDTO;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.EmployeeSaveRequestDTO;
 import com.businessapi.dto.request.EmployeeUpdateRequestDTO;
 import com.businessapi.dto.response.BenefitResponseDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.EmployeeResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 import com.businessapi.dto.response.ResponseDTO;
@@ -70,6 +72,17 @@ public class BenefitController {
                 .code(200)
                 .build());
     }
+    @PostMapping (FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Find Benefit page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<BenefitResponseDTO>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<BenefitResponseDTO>>builder()
+                .data(benefitService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
     @DeleteMapping(DELETE)
     @Operation(summary = "Delete Benefit by id")
     public ResponseEntity<ResponseDTO<Boolean>> delete(@RequestParam Long id){
@@ -1,9 +1,11 @@
 package com.businessapi.controller;
 
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.EmployeeSaveRequestDTO;
 import com.businessapi.dto.request.EmployeeUpdateRequestDTO;
 import com.businessapi.dto.response.BirthDateResponseDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.EmployeeResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 import com.businessapi.dto.response.ResponseDTO;
@@ -74,6 +76,17 @@ public class EmployeeController {
                 .code(200)
                 .build());
     }
+    @PostMapping (FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Find employees page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<Employee>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<Employee>>builder()
+                .data(employeeService.searchByNameWithCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
     @DeleteMapping(DELETE)
     @Operation(summary = "Delete employee by id")
     public ResponseEntity<ResponseDTO<Boolean>> delete(@RequestParam Long id){
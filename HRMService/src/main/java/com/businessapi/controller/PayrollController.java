@@ -1,10 +1,12 @@
 package com.businessapi.controller;
 
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.EmployeeSaveRequestDTO;
 import com.businessapi.dto.request.EmployeeUpdateRequestDTO;
 import com.businessapi.dto.request.PayrollSaveRequestDTO;
 import com.businessapi.dto.request.PayrollUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.EmployeeResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 import com.businessapi.dto.response.PayrollResponseDTO;
@@ -71,6 +73,17 @@ public class PayrollController {
                 .code(200)
                 .build());
     }
+    @PostMapping (FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Find payroll page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<PayrollResponseDTO>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<PayrollResponseDTO>>builder()
+                .data(payrollService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
     @DeleteMapping(DELETE)
     @Operation(summary = "Delete payroll by id")
     public ResponseEntity<ResponseDTO<Boolean>> delete(@RequestParam Long id){
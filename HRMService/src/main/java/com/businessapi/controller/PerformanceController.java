@@ -1,6 +1,7 @@
 package com.businessapi.controller;
 
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PerformanceSaveRequestDTO;
 import com.businessapi.dto.request.PerformanceUpdateRequestDTO;
 
@@ -68,6 +69,17 @@ public class PerformanceController {
                 .code(200)
                 .build());
     }
+    @PostMapping (FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Find Performance page by page with a cursor")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<PerformanceResponseDTO>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<PerformanceResponseDTO>>builder()
+                .data(performanceService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
     @DeleteMapping(DELETE)
     @Operation(summary = "Delete Performance by id")
     public ResponseEntity<ResponseDTO<Boolean>> delete(@RequestParam Long id){
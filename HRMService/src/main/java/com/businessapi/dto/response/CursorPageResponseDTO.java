@@ -0,0 +1,11 @@
+package com.businessapi.dto.response;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record CursorPageResponseDTO<T>(
+    List<T> content,
+    String nextCursor
+   )
+{
+}
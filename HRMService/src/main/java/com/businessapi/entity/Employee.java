@@ -15,7 +15,9 @@ import java.time.LocalDate;
 @Builder
 @Data
 @Entity
-@Table(name = "tblemployee")
+@Table(name = "tblemployee", indexes = {
+        @Index(name = "idx_employee_member_first_name", columnList = "memberId, firstName, id")
+})
 public class Employee {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
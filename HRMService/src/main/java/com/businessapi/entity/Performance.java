@@ -1,5 +1,6 @@
 package com.businessapi.entity;
 
+import com.businessapi.utility.AnalyticsEventPublisher;
 import com.businessapi.utility.enums.EStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -14,6 +15,7 @@ import java.time.LocalDate;
 @Builder
 @Data
 @Entity
+@EntityListeners(AnalyticsEventPublisher.class)
 @Table(name = "tblperformance")
 public class Performance {
     @Id
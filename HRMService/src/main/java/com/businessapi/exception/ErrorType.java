@@ -30,7 +30,10 @@ public enum ErrorType {
     NOT_FOUNDED_EMPLOYEE(6000,"EMployee bulunamadı",HttpStatus.BAD_REQUEST),
     NOT_FOUNDED_BENEFIT(6003,"Benefit bulunamadı ",HttpStatus.BAD_REQUEST ),
 
-    NOT_FOUNDED_PAYROLL(6002,"Payroll bulunamadı" ,HttpStatus.BAD_REQUEST );
+    NOT_FOUNDED_PAYROLL(6002,"Payroll bulunamadı" ,HttpStatus.BAD_REQUEST ),
+
+    INVALID_PAGE_CURSOR(6006,"Sayfa imleci geçersiz", HttpStatus.BAD_REQUEST),
+    INVALID_PAGE_SIZE(6007,"Sayfa boyutu en az 1 olmalıdır", HttpStatus.BAD_REQUEST);
 
 
 
@@ -1,12 +1,25 @@
 package com.businessapi.repository;
 
+import com.businessapi.dto.response.AttendanceResponseDTO;
 import com.businessapi.entity.Attendance;
 import com.businessapi.utility.enums.EStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface AttendanceRepository extends JpaRepository<Attendance,Long > {
     List<Attendance> findAllByStatus(EStatus eStatus);
 
+    //Employee is joined in the same query and the page is sought on id, the offset list above loads every row
+    @Query("SELECT new com.businessapi.dto.response.AttendanceResponseDTO(a.id, a.employeeId, e.firstName, e.lastName, a.date, a.checkInTime, a.checkOutTime) FROM Attendance a " +
+            "JOIN Employee e ON e.id = a.employeeId " +
+            "WHERE a.status = :status AND e.memberId = :memberId " +
+            "AND (e.firstName ILIKE %:searchText% OR e.lastName ILIKE %:searchText%) " +
+            "AND a.id > :afterId " +
+            "ORDER BY a.id ASC")
+    List<AttendanceResponseDTO> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterId") Long afterId, Pageable pageable);
+
 }
@@ -1,13 +1,26 @@
 package com.businessapi.repository;
 
 
+import com.businessapi.dto.response.BenefitResponseDTO;
 import com.businessapi.entity.Benefit;
 import com.businessapi.utility.enums.EStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface BenefitRepository extends JpaRepository<Benefit,Long > {
     List<Benefit> findAllByStatus(EStatus eStatus);
 
+    //Employee is joined in the same query and the page is sought on id, the offset list above loads every row
+    @Query("SELECT new com.businessapi.dto.response.BenefitResponseDTO(b.id, b.employeeId, e.firstName, e.lastName, b.type, b.amount, b.startDate, b.endDate) FROM Benefit b " +
+            "JOIN Employee e ON e.id = b.employeeId " +
+            "WHERE b.status = :status AND e.memberId = :memberId " +
+            "AND (e.firstName ILIKE %:searchText% OR e.lastName ILIKE %:searchText%) " +
+            "AND b.id > :afterId " +
+            "ORDER BY b.id ASC")
+    List<BenefitResponseDTO> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterId") Long afterId, Pageable pageable);
+
 }
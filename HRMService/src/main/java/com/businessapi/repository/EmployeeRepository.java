@@ -6,12 +6,23 @@ import com.businessapi.entity.Employee;
 import com.businessapi.entity.Payroll;
 import com.businessapi.utility.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface EmployeeRepository extends JpaRepository<Employee,Long > {
-    List<Employee> findAllByFirstNameContainingIgnoreCaseAndStatusAndMemberIdOrderByFirstNameAsc(String s, EStatus status,Long memberId, PageRequest of);
+    //ILIKE instead of the derived upper(first_name) LIKE, so idx_employee_first_name_trgm in import.sql can serve it
+    @Query("SELECT e FROM Employee e WHERE e.firstName ILIKE %:searchText% AND e.status = :status AND e.memberId = :memberId ORDER BY e.firstName ASC")
+    List<Employee> findAllByFirstNameContainingIgnoreCaseAndStatusAndMemberIdOrderByFirstNameAsc(@Param("searchText") String s, @Param("status") EStatus status, @Param("memberId") Long memberId, PageRequest of);
+
+    //Row-value seek on (firstName, id) for the cursor endpoint instead of an OFFSET
+    @Query("SELECT e FROM Employee e WHERE e.firstName ILIKE %:searchText% AND e.status = :status AND e.memberId = :memberId " +
+            "AND (e.firstName, e.id) > (:afterKey, :afterId) " +
+            "ORDER BY e.firstName ASC, e.id ASC")
+    List<Employee> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterKey") String afterKey, @Param("afterId") Long afterId, Pageable pageable);
 
 
     Long countByGenderAndStatusAndMemberId(String gender, EStatus status, Long memberId);
@@ -3,10 +3,14 @@ package com.businessapi.repository;
 
 
 
+import com.businessapi.dto.response.PayrollResponseDTO;
 import com.businessapi.entity.Payroll;
 import com.businessapi.utility.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -14,4 +18,15 @@ public interface PayrollRepository extends JpaRepository<Payroll,Long > {
 
     List<Payroll> findAllByStatus(EStatus eStatus);
 
+    //Employee is joined in the same query and the page is sought on id, the offset list above loads every row
+    @Query("SELECT new com.businessapi.dto.response.PayrollResponseDTO(p.id, p.employeeId, e.firstName, e.lastName, p.salaryDate, p.grossSalary, p.deductions, p.netSalary) FROM Payroll p " +
+            "JOIN Employee e ON e.id = p.employeeId " +
+            "WHERE p.status = :status AND e.memberId = :memberId " +
+            "AND (e.firstName ILIKE %:searchText% OR e.lastName ILIKE %:searchText%) " +
+            "AND p.id > :afterId " +
+            "ORDER BY p.id ASC")
+    List<PayrollResponseDTO> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterId") Long afterId, Pageable pageable);
+
+    List<Payroll> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
 }
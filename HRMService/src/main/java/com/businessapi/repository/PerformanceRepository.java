@@ -4,13 +4,28 @@ package com.businessapi.repository;
 
 
 
+import com.businessapi.dto.response.PerformanceResponseDTO;
 import com.businessapi.entity.Performance;
 import com.businessapi.utility.enums.EStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface PerformanceRepository extends JpaRepository<Performance,Long > {
     List<Performance> findAllByStatus(EStatus eStatus);
 
+    //Employee is joined in the same query and the page is sought on id, the offset list above loads every row
+    @Query("SELECT new com.businessapi.dto.response.PerformanceResponseDTO(p.id, p.employeeId, e.firstName, e.lastName, p.date, p.score, p.feedback) FROM Performance p " +
+            "JOIN Employee e ON e.id = p.employeeId " +
+            "WHERE p.status = :status AND e.memberId = :memberId " +
+            "AND (e.firstName ILIKE %:searchText% OR e.lastName ILIKE %:searchText%) " +
+            "AND p.id > :afterId " +
+            "ORDER BY p.id ASC")
+    List<PerformanceResponseDTO> findAllAfterCursor(@Param("searchText") String searchText, @Param("status") EStatus status, @Param("memberId") Long memberId, @Param("afterId") Long afterId, Pageable pageable);
+
+    List<Performance> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
 }
@@ -2,7 +2,9 @@ package com.businessapi.service;
 
 import com.businessapi.dto.request.AttendanceSaveRequestDTO;
 import com.businessapi.dto.request.AttendanceUpdateRequestDTO;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.response.AttendanceResponseDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 import com.businessapi.dto.response.PayrollResponseDTO;
 import com.businessapi.entity.Attendance;
@@ -12,6 +14,8 @@ import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.HRMException;
 import com.businessapi.repository.AttendanceRepository;
 import com.businessapi.repository.EmployeeRepository;
+import com.businessapi.utility.PageCursor;
+import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -111,6 +115,14 @@ public class AttendanceService {
         return attendanceResponseDTOList.subList(start, end);
     }
 
+    // Same list as findAll, filtered, joined and paged in the database with the cursor of the previous page
+    public CursorPageResponseDTO<AttendanceResponseDTO> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        String searchText = dto.searchText() == null ? "" : dto.searchText();
+        List<AttendanceResponseDTO> rows = attendanceRepository.findAllAfterCursor(searchText, EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), AttendanceResponseDTO::id);
+    }
+
     public Boolean delete(Long id) {
         Attendance attendance = attendanceRepository.findById(id).orElseThrow(() -> new HRMException(ErrorType.NOT_FOUNDED_ATTENDANCE));
         attendance.setStatus(EStatus.PASSIVE);
@@ -3,7 +3,9 @@ package com.businessapi.service;
 
 import com.businessapi.dto.request.BenefitSaveRequestDTO;
 import com.businessapi.dto.request.BenefitUpdateRequestDTO;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.response.BenefitResponseDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 import com.businessapi.dto.response.PayrollResponseDTO;
 import com.businessapi.entity.Benefit;
@@ -13,6 +15,8 @@ import com.businessapi.exception.HRMException;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.repository.BenefitRepository;
 import com.businessapi.repository.EmployeeRepository;
+import com.businessapi.utility.PageCursor;
+import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -116,6 +120,14 @@ public class BenefitService {
         return benefitResponseDTOList.subList(start, end);
     }
 
+    // Same list as findAll, filtered, joined and paged in the database with the cursor of the previous page
+    public CursorPageResponseDTO<BenefitResponseDTO> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        String searchText = dto.searchText() == null ? "" : dto.searchText();
+        List<BenefitResponseDTO> rows = benefitRepository.findAllAfterCursor(searchText, EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), BenefitResponseDTO::id);
+    }
+
 
     public Boolean delete(Long id) {
         Benefit benefit = benefitRepository.findById(id).orElseThrow(() -> new HRMException(ErrorType.NOT_FOUNDED_BENEFIT));
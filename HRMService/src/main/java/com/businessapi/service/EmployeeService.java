@@ -1,15 +1,18 @@
 package com.businessapi.service;
 
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.EmployeeSaveRequestDTO;
 import com.businessapi.dto.request.EmployeeUpdateRequestDTO;
 import com.businessapi.dto.response.BirthDateResponseDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.EmployeeResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 import com.businessapi.entity.Employee;
 import com.businessapi.exception.HRMException;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.repository.EmployeeRepository;
+import com.businessapi.utility.PageCursor;
 import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import lombok.RequiredArgsConstructor;
@@ -105,6 +108,12 @@ public class EmployeeService {
 
     }
 
+    public CursorPageResponseDTO<Employee> searchByNameWithCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<Employee> employees = employeeRepository.findAllAfterCursor(dto.searchText(), EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), after.keyOrEmpty(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(employees, dto.size(), Employee::getFirstName, Employee::getId);
+    }
+
     public Boolean delete(Long id) {
         Employee employee = employeeRepository.findById(id).orElseThrow(() -> new HRMException(ErrorType.NOT_FOUNDED_EMPLOYEE));
         employee.setStatus(EStatus.PASSIVE);
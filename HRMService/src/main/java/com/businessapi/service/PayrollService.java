@@ -1,8 +1,12 @@
 package com.businessapi.service;
 
 
+import com.businessapi.RabbitMQ.Model.AnalyticsBackfillRequestModel;
+import com.businessapi.RabbitMQ.Model.PayrollEventModel;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PayrollSaveRequestDTO;
 import com.businessapi.dto.request.PayrollUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 
 import com.businessapi.dto.response.PayrollResponseDTO;
@@ -12,8 +16,12 @@ import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.HRMException;
 import com.businessapi.repository.EmployeeRepository;
 import com.businessapi.repository.PayrollRepository;
+import com.businessapi.utility.AnalyticsEventPublisher;
+import com.businessapi.utility.PageCursor;
+import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
 import org.springframework.data.domain.Page;
@@ -118,6 +126,14 @@ public class PayrollService {
         return payrollResponseDTOList.subList(start, end);
     }
 
+    // Same list as findAll, filtered, joined and paged in the database with the cursor of the previous page
+    public CursorPageResponseDTO<PayrollResponseDTO> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        String searchText = dto.searchText() == null ? "" : dto.searchText();
+        List<PayrollResponseDTO> rows = payrollRepository.findAllAfterCursor(searchText, EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), PayrollResponseDTO::id);
+    }
+
 
 
 
@@ -127,31 +143,11 @@ public class PayrollService {
         payrollRepository.save(payroll);
         return true;
     }
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    // One page of payroll records for AnalyticsService backfill, keyset paginated on id
+    @RabbitListener(queues = "queueAnalyticsBackfillPayroll")
+    public List<PayrollEventModel> findPayrollsForAnalyticsBackfill(AnalyticsBackfillRequestModel model) {
+        return payrollRepository.findAllByIdGreaterThanOrderByIdAsc(model.getAfterId(), PageRequest.ofSize(model.getLimit()))
+                .stream().map(AnalyticsEventPublisher::toEvent).toList();
+    }
+}
@@ -1,8 +1,12 @@
 package com.businessapi.service;
 
 
+import com.businessapi.RabbitMQ.Model.AnalyticsBackfillRequestModel;
+import com.businessapi.RabbitMQ.Model.PerformanceEventModel;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PerformanceSaveRequestDTO;
 import com.businessapi.dto.request.PerformanceUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.DepartmentScoreResponseDTO;
 import com.businessapi.dto.response.PageRequestDTO;
 import com.businessapi.dto.response.PayrollResponseDTO;
@@ -14,8 +18,12 @@ import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.HRMException;
 import com.businessapi.repository.EmployeeRepository;
 import com.businessapi.repository.PerformanceRepository;
+import com.businessapi.utility.AnalyticsEventPublisher;
+import com.businessapi.utility.PageCursor;
+import com.businessapi.utility.SessionManager;
 import com.businessapi.utility.enums.EStatus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -113,6 +121,14 @@ public class PerformanceService {
         return performanceResponseDTOList.subList(start, end);
     }
 
+    // Same list as findAll, filtered, joined and paged in the database with the cursor of the previous page
+    public CursorPageResponseDTO<PerformanceResponseDTO> findAllByCursor(CursorPageRequestDTO dto) {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        String searchText = dto.searchText() == null ? "" : dto.searchText();
+        List<PerformanceResponseDTO> rows = performanceRepository.findAllAfterCursor(searchText, EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), PerformanceResponseDTO::id);
+    }
+
 
     public Boolean delete(Long id) {
         Performance performance = performanceRepository.findById(id).orElseThrow(() -> new HRMException(ErrorType.NOT_FOUNDED_PERFORMANCE));
@@ -150,4 +166,10 @@ public class PerformanceService {
         return departmentScores;
     }
 
+    // One page of performance records for AnalyticsService backfill, keyset paginated on id
+    @RabbitListener(queues = "queueAnalyticsBackfillPerformance")
+    public List<PerformanceEventModel> findPerformancesForAnalyticsBackfill(AnalyticsBackfillRequestModel model) {
+        return performanceRepository.findAllByIdGreaterThanOrderByIdAsc(model.getAfterId(), PageRequest.ofSize(model.getLimit()))
+                .stream().map(AnalyticsEventPublisher::toEvent).toList();
+    }
 }
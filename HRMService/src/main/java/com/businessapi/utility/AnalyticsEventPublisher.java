@@ -0,0 +1,71 @@
+package com.businessapi.utility;
+
+import com.businessapi.RabbitMQ.Model.PayrollEventModel;
+import com.businessapi.RabbitMQ.Model.PerformanceEventModel;
+import com.businessapi.entity.Payroll;
+import com.businessapi.entity.Performance;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that publishes the current state of every written payroll and performance record to
+ * AnalyticsService. Events are sent after commit, so rolled back writes never reach the analytics fact tables.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsEventPublisher {
+    public static final String KEY_PAYROLL_EVENT = "keyAnalyticsPayrollEvent";
+    public static final String KEY_PERFORMANCE_EVENT = "keyAnalyticsPerformanceEvent";
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity) {
+        if (entity instanceof Payroll payroll) {
+            publish(KEY_PAYROLL_EVENT, toEvent(payroll));
+        } else if (entity instanceof Performance performance) {
+            publish(KEY_PERFORMANCE_EVENT, toEvent(performance));
+        }
+    }
+
+    public static PayrollEventModel toEvent(Payroll payroll) {
+        return PayrollEventModel.builder()
+                .id(payroll.getId())
+                .employeeId(payroll.getEmployeeId())
+                .salaryDate(payroll.getSalaryDate())
+                .grossSalary(payroll.getGrossSalary())
+                .deductions(payroll.getDeductions())
+                .netSalary(payroll.getNetSalary())
+                .status(payroll.getStatus() == null ? null : payroll.getStatus().name())
+                .build();
+    }
+
+    public static PerformanceEventModel toEvent(Performance performance) {
+        return PerformanceEventModel.builder()
+                .id(performance.getId())
+                .employeeId(performance.getEmployeeId())
+                .date(performance.getDate())
+                .score(performance.getScore())
+                .status(performance.getStatus() == null ? null : performance.getStatus().name())
+                .build();
+    }
+
+    private void publish(String routingKey, Object event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rabbitTemplate.convertAndSend("businessDirectExchange", routingKey, event);
+                }
+            });
+        } else {
+            rabbitTemplate.convertAndSend("businessDirectExchange", routingKey, event);
+        }
+    }
+}
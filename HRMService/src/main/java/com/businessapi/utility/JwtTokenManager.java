@@ -3,15 +3,23 @@ package com.businessapi.utility;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.HRMException;
 import com.businessapi.utility.enums.ERole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -22,6 +30,48 @@ public class JwtTokenManager {
     String ISSUER;
     private final Long EXDATE = 1000L * 60 * 60 ; // 1 Hour
 
+    private static final long VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+    private JWTVerifier verifier;
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void initVerifier() {
+        verifier = JWT.require(Algorithm.HMAC512(SECRETKEY)).withIssuer(ISSUER).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(UNTIL_TOKEN_EXPIRES)
+                .build();
+    }
+
+    /**
+     * Verifies the token with the verifier built at startup. A token that verified once is served from a bounded
+     * cache until its exp, so a client reusing the same token doesn't pay for the HMAC-512 check on every request.
+     */
+    DecodedJWT verify(String token) {
+        return verifiedTokens.get(token, verifier::verify);
+    }
+
+    //Entries live until the token's exp, tokens without exp are not cached
+    private static final Expiry<String, DecodedJWT> UNTIL_TOKEN_EXPIRES = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(String token, DecodedJWT decodedJWT, long currentTime) {
+            Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+            if (expiresAt == null)
+                return 0;
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
     public Optional<String> createToken(Long authId) {
         String token;
         try {
@@ -39,9 +89,7 @@ public class JwtTokenManager {
 
     public Boolean validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC512(SECRETKEY);
-            JWTVerifier verifier = JWT.require(algorithm).withIssuer(ISSUER).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
             if (decodedJWT == null) {
                 return false;
             }
@@ -58,9 +106,7 @@ public class JwtTokenManager {
 
     public Optional<Long> getIdFromToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC512(SECRETKEY);
-            JWTVerifier verifier = JWT.require(algorithm).withIssuer(ISSUER).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
 
             if (decodedJWT == null) {
                 throw new HRMException(ErrorType.INVALID_TOKEN);
@@ -75,11 +121,24 @@ public class JwtTokenManager {
         }
     }
 
+    /**
+     * Roles signed into the token by AuthService in role-claims mode, empty for tokens that only carry authId.
+     */
+    public Optional<List<String>> getRolesFromToken(String token) {
+        try {
+            DecodedJWT decodedJWT = verify(token);
+            Claim roles = decodedJWT.getClaim("roles");
+            if (roles.isMissing() || roles.isNull())
+                return Optional.empty();
+            return Optional.of(roles.asList(String.class));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
     public ERole getRoleFromToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC512(SECRETKEY);
-            JWTVerifier verifier = JWT.require(algorithm).withIssuer(ISSUER).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
+            DecodedJWT decodedJWT = verify(token);
 
             if (decodedJWT == null) {
                 System.out.println("Could the token be empty?????");
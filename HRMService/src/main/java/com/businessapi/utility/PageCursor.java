@@ -0,0 +1,84 @@
+package com.businessapi.utility;
+
+import com.businessapi.dto.response.CursorPageResponseDTO;
+import com.businessapi.exception.ErrorType;
+import com.businessapi.exception.HRMException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position of the last row of a page in a list sorted by (sortKey, id) or only by id, used by the find-all-by-cursor endpoints.
+ * The next page is read with a row-value seek, (sortKey, id) > (:afterKey, :afterId) or id > :afterId, instead of an OFFSET.
+ * PostgreSQL uses it as an index condition, so deep pages cost the same as the first one. The first page seeks after ('', 0),
+ * which is before every row. Clients only see it as an opaque token.
+ *
+ * @param sortKey sort column value of the last row, null on the first page or when the row has none, empty for lists sorted by id
+ * @param id      id of the last row, null on the first page
+ */
+public record PageCursor(String sortKey, Long id) {
+    public static final PageCursor FIRST = new PageCursor(null, null);
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                return new PageCursor(null, Long.parseLong(value));
+            }
+            return new PageCursor(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new HRMException(ErrorType.INVALID_PAGE_CURSOR);
+        }
+    }
+
+    // The first page seeks after ('', 0)
+    public String keyOrEmpty() {
+        return sortKey == null ? "" : sortKey;
+    }
+
+    public long idOrZero() {
+        return id == null ? 0L : id;
+    }
+
+    // A null sort key is written without the separator, so it can't be mistaken for the text "null"
+    public String encode() {
+        String value = sortKey == null ? String.valueOf(id) : id + ":" + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Page size of a request: below 1 is rejected, above MAX_PAGE_SIZE is capped
+    public static int pageSize(int size) {
+        if (size < 1) {
+            throw new HRMException(ErrorType.INVALID_PAGE_SIZE);
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // One row more than the page size is read to know whether there is a next page
+    public static Pageable pageable(int size) {
+        return PageRequest.ofSize(pageSize(size) + 1);
+    }
+
+    public static <T> CursorPageResponseDTO<T> toPage(List<T> rows, int size, Function<T, String> sortKey, Function<T, Long> id) {
+        size = pageSize(size);
+        if (rows.size() <= size) {
+            return new CursorPageResponseDTO<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        T last = content.get(size - 1);
+        return new CursorPageResponseDTO<>(List.copyOf(content), new PageCursor(sortKey.apply(last), id.apply(last)).encode());
+    }
+
+    public static <T> CursorPageResponseDTO<T> toPage(List<T> rows, int size, Function<T, Long> id) {
+        return toPage(rows, size, row -> "", id);
+    }
+}
@@ -0,0 +1,4 @@
+-- Runs after Hibernate creates the schema (ddl-auto create-drop). Trigram index for the ILIKE '%text%' employee search, member_id first (btree_gin) so one tenant's rows are matched without scanning the others
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_employee_first_name_trgm ON tblemployee USING gin (member_id, first_name gin_trgm_ops);
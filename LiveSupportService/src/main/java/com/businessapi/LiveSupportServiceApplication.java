@@ -2,8 +2,10 @@ package com.businessapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class LiveSupportServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(LiveSupportServiceApplication.class, args);
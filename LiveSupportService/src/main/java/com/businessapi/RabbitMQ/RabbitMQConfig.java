@@ -0,0 +1,59 @@
+package com.businessapi.RabbitMQ;
+
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+    private final String businessDirectExchange = "businessDirectExchange";
+    private final String roleChangeFanoutExchange = "roleChangeFanoutExchange";
+
+
+    //Roles of a chat user are asked from UserManagement with keyRolesByAuthId on this exchange
+    @Bean
+    public DirectExchange businessDirectExchange() {
+        return new DirectExchange(businessDirectExchange);
+    }
+
+    //UserManagement publishes an authId here whenever that user's roles or status change, every instance gets its own queue
+    @Bean
+    public FanoutExchange roleChangeFanoutExchange(){
+        return new FanoutExchange(roleChangeFanoutExchange);
+    }
+
+    @Bean
+    public Queue queueRoleChange(){
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingRoleChange(Queue queueRoleChange, FanoutExchange roleChangeFanoutExchange){
+        return BindingBuilder.bind(queueRoleChange).to(roleChangeFanoutExchange);
+    }
+
+    @Bean
+    MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+
+    @Bean
+    RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setMessageConverter(messageConverter());
+        return rabbitTemplate;
+    }
+
+
+}
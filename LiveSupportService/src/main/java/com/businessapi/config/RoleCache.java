@@ -0,0 +1,38 @@
+package com.businessapi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded authId -> roles cache in front of the keyRolesByAuthId RPC to UserManagement.
+ * Entries expire after a TTL and are evicted as soon as UserManagement publishes a role change
+ * on roleChangeFanoutExchange.
+ */
+@Component
+public class RoleCache {
+    private final Cache<Long, List<String>> cache;
+
+    public RoleCache(@Value("${auth.role-cache.expire-after-write:5m}") Duration expireAfterWrite,
+                     @Value("${auth.role-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public List<String> getRoles(Long authId, Function<Long, List<String>> loader) {
+        return cache.get(authId, loader);
+    }
+
+    @RabbitListener(queues = "#{queueRoleChange.name}")
+    public void evict(Long authId) {
+        cache.invalidate(authId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.businessapi.config;
+
+import com.businessapi.exception.ConversationAccessDeniedException;
+import com.businessapi.service.ChatUserService;
+import com.businessapi.service.ConversationAccessService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates the JWT once on STOMP CONNECT ("Authorization: Bearer ..." or a "token" native header) and binds the
+ * authId and chat role to the session as its principal, so message handlers no longer verify a token per chat message.
+ * SUBSCRIBE is only allowed to /topic/conversations/{id} of a conversation the principal has access to. SEND is only
+ * allowed to /app destinations, the broker topics are written by the server; the conversation of /app/sendMessage is in
+ * the payload and checked by WebSocketMessageHandler.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String CONVERSATION_TOPIC_PREFIX = "/topic/conversations/";
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    private final ChatUserService chatUserService;
+    private final ConversationAccessService conversationAccessService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT -> {
+                String token = resolveToken(accessor);
+                if (token == null) {
+                    throw new IllegalArgumentException("Invalid token");
+                }
+                accessor.setUser(chatUserService.authenticate(token));
+            }
+            case SUBSCRIBE -> {
+                Long conversationId = conversationIdOf(accessor.getDestination());
+                if (!conversationAccessService.canAccess(principalOf(accessor), conversationId)) {
+                    throw new ConversationAccessDeniedException(conversationId);
+                }
+            }
+            case SEND -> {
+                principalOf(accessor);
+                String destination = accessor.getDestination();
+                if (destination == null || !destination.startsWith(APPLICATION_PREFIX)) {
+                    throw new IllegalArgumentException("Messages can only be sent to " + APPLICATION_PREFIX + " destinations");
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private StompPrincipal principalOf(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof StompPrincipal principal) {
+            return principal;
+        }
+        throw new IllegalArgumentException("Invalid token");
+    }
+
+    // null for anything but /topic/conversations/{id}, which denies the subscription
+    private static Long conversationIdOf(String destination) {
+        if (destination == null || !destination.startsWith(CONVERSATION_TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(CONVERSATION_TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String resolveToken(StompHeaderAccessor accessor) {
+        String authorization = accessor.getFirstNativeHeader("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            return authorization.substring(7);
+        }
+        return accessor.getFirstNativeHeader("token");
+    }
+}
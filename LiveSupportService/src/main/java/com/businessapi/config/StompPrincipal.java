@@ -0,0 +1,21 @@
+package com.businessapi.config;
+
+import com.businessapi.entity.enums.ERole;
+
+import java.security.Principal;
+
+/**
+ * Authenticated chat user: name is the authId, role is resolved from the user's roles once per STOMP session
+ * (or per history request), clients can no longer choose the role their messages are sent with.
+ */
+public record StompPrincipal(String name, ERole role) implements Principal {
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public Long authId() {
+        return Long.valueOf(name);
+    }
+}
@@ -0,0 +1,50 @@
+package com.businessapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP broker ayarları. relay.enabled=false iken uygulama içi simple broker kullanılır (tek instance),
+ * true iken mesajlar RabbitMQ STOMP eklentisine aktarılır ve servis birden fazla replica ile çalışabilir.
+ */
+@Data
+@Component
+@ConfigurationProperties("websocket.broker")
+public class WebSocketBrokerProperties {
+    private Relay relay = new Relay();
+    //İstemci ile broker arasındaki heartbeat süreleri (ms), {gönderme, alma}
+    private long[] heartbeat = {10000, 10000};
+    private ChannelPool inbound = new ChannelPool();
+    private ChannelPool outbound = new ChannelPool();
+    private Transport transport = new Transport();
+
+    @Data
+    public static class Relay {
+        private boolean enabled = false;
+        private String host = "localhost";
+        private int port = 61613;
+        private String virtualHost = "/";
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+        private long systemHeartbeatSendInterval = 10000;
+        private long systemHeartbeatReceiveInterval = 10000;
+    }
+
+    @Data
+    public static class ChannelPool {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+        private int queueCapacity = 10000;
+    }
+
+    //Yavaş istemcilere karşı backpressure: limit aşılınca oturum kapatılır
+    @Data
+    public static class Transport {
+        private int sendTimeLimit = 15 * 1000;
+        private int sendBufferSizeLimit = 512 * 1024;
+        private int messageSizeLimit = 64 * 1024;
+    }
+}
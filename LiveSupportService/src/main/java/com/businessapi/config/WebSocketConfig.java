@@ -1,19 +1,56 @@
 package com.businessapi.config;
 
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final WebSocketBrokerProperties brokerProperties;
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketConfig(StompAuthChannelInterceptor stompAuthChannelInterceptor, WebSocketBrokerProperties brokerProperties) {
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+        this.brokerProperties = brokerProperties;
+    }
+
+    // Simple broker heartbeat'leri için Spring'in kendi messageBrokerTaskScheduler'ı kullanılır
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        WebSocketBrokerProperties.Relay relay = brokerProperties.getRelay();
+        if (relay.isEnabled()) {
+            // RabbitMQ STOMP eklentisine aktarım, birden fazla instance aynı broker'ı paylaşır
+            config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setVirtualHost(relay.getVirtualHost())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(relay.getSystemHeartbeatSendInterval())
+                    .setSystemHeartbeatReceiveInterval(relay.getSystemHeartbeatReceiveInterval());
+        } else {
+            config.enableSimpleBroker("/topic")
+                    .setHeartbeatValue(brokerProperties.getHeartbeat())
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         config.setApplicationDestinationPrefixes("/app");
     }
 
@@ -22,4 +59,29 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
         registry.addEndpoint("/ws").setAllowedOrigins("*");
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // JWT is checked once on CONNECT, the authId is then the session principal
+        registration.interceptors(stompAuthChannelInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(brokerProperties.getInbound().getCorePoolSize())
+                .maxPoolSize(brokerProperties.getInbound().getMaxPoolSize())
+                .queueCapacity(brokerProperties.getInbound().getQueueCapacity());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(brokerProperties.getOutbound().getCorePoolSize())
+                .maxPoolSize(brokerProperties.getOutbound().getMaxPoolSize())
+                .queueCapacity(brokerProperties.getOutbound().getQueueCapacity());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(brokerProperties.getTransport().getSendTimeLimit())
+                .setSendBufferSizeLimit(brokerProperties.getTransport().getSendBufferSizeLimit())
+                .setMessageSizeLimit(brokerProperties.getTransport().getMessageSizeLimit());
+    }
 }
@@ -0,0 +1,42 @@
+package com.businessapi.controller;
+
+import com.businessapi.config.StompPrincipal;
+import com.businessapi.dto.response.ChatHistoryResponseDTO;
+import com.businessapi.entity.Conversation;
+import com.businessapi.service.ChatHistoryService;
+import com.businessapi.service.ChatUserService;
+import com.businessapi.service.ConversationAccessService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/dev/v1/live-support")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ChatHistoryController {
+
+    private final ChatHistoryService chatHistoryService;
+    private final ChatUserService chatUserService;
+    private final ConversationAccessService conversationAccessService;
+
+    // Opens a conversation owned by the caller, its id is then used for /topic/conversations/{id} and the history
+    @PostMapping("/conversations")
+    public ResponseEntity<Conversation> openConversation(@RequestParam String token) {
+        return ResponseEntity.ok(conversationAccessService.open(chatUserService.authenticate(token)));
+    }
+
+    @GetMapping("/conversations/{conversationId}/messages")
+    public ResponseEntity<ChatHistoryResponseDTO> getHistory(@RequestParam String token,
+                                                             @PathVariable Long conversationId,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                                             @RequestParam(required = false) Long beforeId,
+                                                             @RequestParam(defaultValue = "50") int size) {
+        StompPrincipal user = chatUserService.authenticate(token);
+        conversationAccessService.checkAccess(user, conversationId);
+        return ResponseEntity.ok(chatHistoryService.getHistory(conversationId, before, beforeId, size));
+    }
+}
@@ -8,8 +8,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatMessageDTO {
-    private String token;
+    private Long conversationId;
     private String message;
-    private String senderRole;
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.businessapi.dto.response;
+
+import com.businessapi.entity.ChatMessage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatHistoryResponseDTO {
+    private List<ChatMessage> messages;
+    // Pass these back as before/beforeId to load the next (older) page, null when there is nothing older
+    private LocalDateTime nextBefore;
+    private Long nextBeforeId;
+}
@@ -15,13 +15,17 @@ import java.time.LocalDateTime;
 @Builder
 @Data
 @Entity
-@Table(name = "tblchat")
+@Table(name = "tblchat", indexes = {
+        @Index(name = "idx_chat_conversation_timestamp", columnList = "conversationId, timestamp, id")
+})
 public class ChatMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_message_seq")
+    @SequenceGenerator(name = "chat_message_seq", sequenceName = "tblchat_seq", allocationSize = 100)
     private Long id;
 
+    private Long conversationId;
     private Long senderId;
     private String message;
     private LocalDateTime timestamp;
@@ -0,0 +1,12 @@
+package com.businessapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class ConversationAccessDeniedException extends RuntimeException {
+
+    public ConversationAccessDeniedException(Long conversationId) {
+        super("No access to conversation " + conversationId);
+    }
+}
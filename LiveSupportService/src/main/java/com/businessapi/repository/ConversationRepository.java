@@ -0,0 +1,14 @@
+package com.businessapi.repository;
+
+import com.businessapi.entity.Conversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    @Query("SELECT c.ownerId FROM Conversation c WHERE c.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+}
@@ -1,11 +1,25 @@
 package com.businessapi.repository;
 
 import com.businessapi.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface LiveSupportRepository extends JpaRepository<ChatMessage, Long> {
 
+    // Newest page of a conversation, served from idx_chat_conversation_timestamp
+    List<ChatMessage> findByConversationIdOrderByTimestampDescIdDesc(Long conversationId, Pageable pageable);
 
+    // Keyset page: messages strictly older than the (timestamp, id) of the last message the client has
+    @Query("SELECT c FROM ChatMessage c WHERE c.conversationId = :conversationId " +
+            "AND (c.timestamp < :before OR (c.timestamp = :before AND c.id < :beforeId)) " +
+            "ORDER BY c.timestamp DESC, c.id DESC")
+    List<ChatMessage> findPageBefore(@Param("conversationId") Long conversationId,
+                                     @Param("before") LocalDateTime before,
+                                     @Param("beforeId") Long beforeId,
+                                     Pageable pageable);
 }
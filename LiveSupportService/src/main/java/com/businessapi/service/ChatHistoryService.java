@@ -0,0 +1,38 @@
+package com.businessapi.service;
+
+import com.businessapi.dto.response.ChatHistoryResponseDTO;
+import com.businessapi.entity.ChatMessage;
+import com.businessapi.repository.LiveSupportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ChatHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LiveSupportRepository liveSupportRepository;
+
+    /**
+     * Returns one page of a conversation, newest first. Without a cursor the latest messages are returned, otherwise
+     * the messages older than (before, beforeId). Paging is keyset based, so deep pages cost the same as the first.
+     */
+    public ChatHistoryResponseDTO getHistory(Long conversationId, LocalDateTime before, Long beforeId, int size) {
+        PageRequest limit = PageRequest.ofSize(Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        List<ChatMessage> messages = (before == null || beforeId == null)
+                ? liveSupportRepository.findByConversationIdOrderByTimestampDescIdDesc(conversationId, limit)
+                : liveSupportRepository.findPageBefore(conversationId, before, beforeId, limit);
+
+        ChatHistoryResponseDTO.ChatHistoryResponseDTOBuilder response = ChatHistoryResponseDTO.builder().messages(messages);
+        if (messages.size() == limit.getPageSize()) {
+            ChatMessage last = messages.get(messages.size() - 1);
+            response.nextBefore(last.getTimestamp()).nextBeforeId(last.getId());
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.businessapi.service;
+
+import com.businessapi.entity.ChatMessage;
+import com.businessapi.repository.LiveSupportRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Write-behind buffer for chat messages. Handlers enqueue and return immediately, a scheduled flush persists the
+ * buffered messages with saveAll so Hibernate can send them as JDBC batches. When the buffer is full the message
+ * is saved synchronously instead of being dropped.
+ * A batch that fails is not lost: when the database is unavailable the whole batch is kept and saved first on the next
+ * flush, when the data is rejected the messages are saved one by one so only the rejected ones are logged and dropped.
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter {
+
+    private final LiveSupportRepository liveSupportRepository;
+    private final BlockingQueue<ChatMessage> pending;
+    private final int batchSize;
+    // Messages of a failed flush, only touched under the flush lock
+    private final List<ChatMessage> retry = new ArrayList<>();
+
+    public ChatMessageWriter(LiveSupportRepository liveSupportRepository,
+                             @Value("${live-support.writer.capacity:10000}") int capacity,
+                             @Value("${live-support.writer.batch-size:200}") int batchSize) {
+        this.liveSupportRepository = liveSupportRepository;
+        this.pending = new LinkedBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+    }
+
+    public void write(ChatMessage chatMessage) {
+        if (!pending.offer(chatMessage)) {
+            liveSupportRepository.save(chatMessage);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${live-support.writer.flush-interval:200}")
+    public synchronized void flush() {
+        List<ChatMessage> batch = new ArrayList<>(retry);
+        retry.clear();
+        if (batch.isEmpty()) {
+            pending.drainTo(batch, batchSize);
+        }
+        while (!batch.isEmpty()) {
+            if (!save(batch)) {
+                return;
+            }
+            batch = new ArrayList<>(batchSize);
+            pending.drainTo(batch, batchSize);
+        }
+    }
+
+    // false when messages are left in retry, the next flush starts with them
+    private boolean save(List<ChatMessage> batch) {
+        try {
+            liveSupportRepository.saveAll(batch);
+            return true;
+        } catch (NonTransientDataAccessException e) {
+            log.warn("Saving " + batch.size() + " chat messages failed, saving them one by one: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Saving " + batch.size() + " chat messages failed, retrying on the next flush: " + e.getMessage());
+            keepForRetry(batch);
+            return false;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            ChatMessage chatMessage = batch.get(i);
+            try {
+                liveSupportRepository.save(clearId(chatMessage));
+            } catch (NonTransientDataAccessException e) {
+                log.error("Chat message of conversation " + chatMessage.getConversationId() + " from " + chatMessage.getSenderId()
+                        + " was rejected and dropped: " + chatMessage.getMessage(), e);
+            } catch (RuntimeException e) {
+                log.warn("Saving chat messages failed, retrying on the next flush: " + e.getMessage());
+                keepForRetry(batch.subList(i, batch.size()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void keepForRetry(List<ChatMessage> messages) {
+        messages.forEach(chatMessage -> retry.add(clearId(chatMessage)));
+    }
+
+    // The rolled back saveAll already assigned ids from the sequence, a kept id would make save() merge instead of insert
+    private static ChatMessage clearId(ChatMessage chatMessage) {
+        chatMessage.setId(null);
+        return chatMessage;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        int lost = retry.size() + pending.size();
+        if (lost > 0) {
+            log.error(lost + " chat messages could not be saved before shutdown");
+        }
+    }
+}
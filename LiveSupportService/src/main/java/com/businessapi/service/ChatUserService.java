@@ -0,0 +1,52 @@
+package com.businessapi.service;
+
+import com.businessapi.RabbitMQ.Model.UserRoleListModel;
+import com.businessapi.config.RoleCache;
+import com.businessapi.config.StompPrincipal;
+import com.businessapi.entity.enums.ERole;
+import com.businessapi.util.JwtTokenManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ChatUserService {
+
+    private final JwtTokenManager jwtTokenManager;
+    private final RoleCache roleCache;
+    private final RabbitTemplate rabbitTemplate;
+
+    /**
+     * Verifies the token and resolves the chat role of its user. Roles come from the token in role-claims mode,
+     * otherwise from UserManagement through the RoleCache.
+     */
+    public StompPrincipal authenticate(String token) {
+        Long authId = jwtTokenManager.getIdFromToken(token)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid token"));
+        List<String> roles = jwtTokenManager.getRolesFromToken(token)
+                .orElseGet(() -> roleCache.getRoles(authId, this::findRoles));
+        return new StompPrincipal(authId.toString(), chatRole(roles));
+    }
+
+    private List<String> findRoles(Long authId) {
+        UserRoleListModel userRoles = (UserRoleListModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyRolesByAuthId", authId);
+        if (userRoles == null || userRoles.getUserRoles() == null) {
+            throw new IllegalStateException("Roles of " + authId + " could not be loaded");
+        }
+        return userRoles.getUserRoles();
+    }
+
+    // Support staff answer every conversation, everybody else is a user of the application
+    private static ERole chatRole(List<String> roles) {
+        if (roles.contains("SUPPORTER")) {
+            return ERole.SUPPORTER;
+        }
+        if (roles.contains("ADMIN") || roles.contains("SUPER_ADMIN")) {
+            return ERole.ADMIN;
+        }
+        return ERole.USER;
+    }
+}
@@ -0,0 +1,60 @@
+package com.businessapi.service;
+
+import com.businessapi.config.StompPrincipal;
+import com.businessapi.entity.Conversation;
+import com.businessapi.entity.enums.ERole;
+import com.businessapi.exception.ConversationAccessDeniedException;
+import com.businessapi.repository.ConversationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Decides who may read and write a conversation: the user who opened it, and support staff (SUPPORTER, ADMIN) for
+ * every conversation. The owner of a conversation never changes, so it is cached and checking a chat message
+ * doesn't cost a query.
+ */
+@Service
+public class ConversationAccessService {
+
+    private final ConversationRepository conversationRepository;
+    private final Cache<Long, Long> owners;
+
+    public ConversationAccessService(ConversationRepository conversationRepository,
+                                     @Value("${live-support.conversation-cache.maximum-size:10000}") long maximumSize) {
+        this.conversationRepository = conversationRepository;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public Conversation open(StompPrincipal user) {
+        Conversation conversation = conversationRepository.save(Conversation.builder()
+                .ownerId(user.authId())
+                .createdAt(LocalDateTime.now())
+                .build());
+        owners.put(conversation.getId(), conversation.getOwnerId());
+        return conversation;
+    }
+
+    public void checkAccess(StompPrincipal user, Long conversationId) {
+        if (!canAccess(user, conversationId)) {
+            throw new ConversationAccessDeniedException(conversationId);
+        }
+    }
+
+    public boolean canAccess(StompPrincipal user, Long conversationId) {
+        if (user == null || conversationId == null) {
+            return false;
+        }
+        // Unknown conversations are not cached, the loader returns null for them
+        Long ownerId = owners.get(conversationId, id -> conversationRepository.findOwnerIdById(id).orElse(null));
+        if (ownerId == null) {
+            return false;
+        }
+        return ownerId.equals(user.authId()) || user.role() == ERole.SUPPORTER || user.role() == ERole.ADMIN;
+    }
+}
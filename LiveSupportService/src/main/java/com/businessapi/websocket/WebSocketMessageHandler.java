@@ -1,11 +1,11 @@
 package com.businessapi.websocket;
 
 
+import com.businessapi.config.StompPrincipal;
 import com.businessapi.dto.request.ChatMessageDTO;
 import com.businessapi.entity.ChatMessage;
-import com.businessapi.entity.enums.ERole;
-import com.businessapi.repository.LiveSupportRepository;
-import com.businessapi.util.JwtTokenManager;
+import com.businessapi.service.ChatMessageWriter;
+import com.businessapi.service.ConversationAccessService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -13,7 +13,6 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 @RequiredArgsConstructor
 @Controller
@@ -21,27 +20,31 @@ public class WebSocketMessageHandler {
 
     private final SimpMessagingTemplate messagingTemplate;
 
-    private final LiveSupportRepository liveSupportRepository;
+    private final ChatMessageWriter chatMessageWriter;
 
-    private final JwtTokenManager jwtTokenManager;
+    private final ConversationAccessService conversationAccessService;
 
 
+    // The sender and its role are the principal bound at CONNECT, see StompAuthChannelInterceptor
     @MessageMapping("/sendMessage")
-    public void receiveMessage(@Payload ChatMessageDTO chatMessageDTO) {
-        Optional<Long> authId = jwtTokenManager.getIdFromToken(chatMessageDTO.getToken());
-
-        if (!authId.isPresent()) {
+    public void receiveMessage(@Payload ChatMessageDTO chatMessageDTO, StompPrincipal principal) {
+        if (principal == null) {
             throw new IllegalArgumentException("Invalid token");
         }
+        if (chatMessageDTO.getConversationId() == null) {
+            throw new IllegalArgumentException("conversationId is required");
+        }
+        conversationAccessService.checkAccess(principal, chatMessageDTO.getConversationId());
 
         ChatMessage chatMessage = new ChatMessage();
-        chatMessage.setSenderId(authId.get());
+        chatMessage.setConversationId(chatMessageDTO.getConversationId());
+        chatMessage.setSenderId(principal.authId());
         chatMessage.setMessage(chatMessageDTO.getMessage());
         chatMessage.setTimestamp(LocalDateTime.now());
-        chatMessage.setSenderRole(ERole.valueOf(chatMessageDTO.getSenderRole()));
+        chatMessage.setSenderRole(principal.role());
 
-        liveSupportRepository.save(chatMessage);
-        messagingTemplate.convertAndSend("/topic/messages", chatMessage);
+        chatMessageWriter.write(chatMessage);
+        messagingTemplate.convertAndSend("/topic/conversations/" + chatMessage.getConversationId(), chatMessage);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.businessapi.config;
+
+import com.businessapi.exception.ErrorType;
+import com.businessapi.exception.NotificationException;
+import com.businessapi.util.JwtTokenManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * STOMP CONNECT sırasında JWT'yi bir kez doğrular ve oturuma authId'yi principal olarak bağlar.
+ * Böylece convertAndSendToUser(authId, ...) ile gönderilen mesajlar sadece o kullanıcının oturumlarına gider.
+ * Token "Authorization: Bearer ..." ya da "token" native header'ı ile gönderilebilir.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtTokenManager jwtTokenManager;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+        String token = resolveToken(accessor);
+        if (token == null) {
+            throw new NotificationException(ErrorType.INVALID_TOKEN);
+        }
+        Long authId = jwtTokenManager.getAuthIdFromToken(token)
+                .orElseThrow(() -> new NotificationException(ErrorType.INVALID_TOKEN));
+        accessor.setUser(new UsernamePasswordAuthenticationToken(authId.toString(), null, List.of()));
+        return message;
+    }
+
+    private String resolveToken(StompHeaderAccessor accessor) {
+        String authorization = accessor.getFirstNativeHeader("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            return authorization.substring(7);
+        }
+        return accessor.getFirstNativeHeader("token");
+    }
+}
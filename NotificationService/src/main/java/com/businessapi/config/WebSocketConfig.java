@@ -1,16 +1,36 @@
 package com.businessapi.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final WebSocketBrokerProperties brokerProperties;
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketConfig(StompAuthChannelInterceptor stompAuthChannelInterceptor, WebSocketBrokerProperties brokerProperties) {
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+        this.brokerProperties = brokerProperties;
+    }
+
+    // Simple broker heartbeat'leri için Spring'in kendi messageBrokerTaskScheduler'ı kullanılır
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
@@ -19,10 +39,55 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // Configure message broker
-        registry.enableSimpleBroker("/topic"); // Configure the in-memory broker
+        WebSocketBrokerProperties.Relay relay = brokerProperties.getRelay();
+        if (relay.isEnabled()) {
+            // RabbitMQ STOMP eklentisine aktarım, birden fazla instance aynı broker'ı paylaşır
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setVirtualHost(relay.getVirtualHost())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(relay.getSystemHeartbeatSendInterval())
+                    .setSystemHeartbeatReceiveInterval(relay.getSystemHeartbeatReceiveInterval())
+                    // Kullanıcı başka bir instance'a bağlıysa /user/... mesajları bu topic üzerinden ona ulaşır
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue") // Configure the in-memory broker
+                    .setHeartbeatValue(brokerProperties.getHeartbeat())
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         registry.setApplicationDestinationPrefixes("/app"); // Prefix for client messages
+        registry.setUserDestinationPrefix("/user"); // Kullanıcıya özel mesajlar: /user/queue/...
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // CONNECT sırasında JWT doğrulanır ve authId principal olarak oturuma bağlanır
+        registration.interceptors(stompAuthChannelInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(brokerProperties.getInbound().getCorePoolSize())
+                .maxPoolSize(brokerProperties.getInbound().getMaxPoolSize())
+                .queueCapacity(brokerProperties.getInbound().getQueueCapacity());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(brokerProperties.getOutbound().getCorePoolSize())
+                .maxPoolSize(brokerProperties.getOutbound().getMaxPoolSize())
+                .queueCapacity(brokerProperties.getOutbound().getQueueCapacity());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(brokerProperties.getTransport().getSendTimeLimit())
+                .setSendBufferSizeLimit(brokerProperties.getTransport().getSendBufferSizeLimit())
+                .setMessageSizeLimit(brokerProperties.getTransport().getMessageSizeLimit());
     }
 
 
-}
\ No newline at end of file
+}
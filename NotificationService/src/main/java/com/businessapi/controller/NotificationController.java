@@ -8,7 +8,7 @@ import com.businessapi.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,7 +27,7 @@ public class NotificationController {
 
     @PostMapping(CREATE_NOTIFICATION)
     @MessageMapping("/notifications/create")
-    @SendTo("/topic/create-notifications")
+    @SendToUser("/queue/create-notifications")
     public ResponseEntity<Void> createNotification(@RequestBody NotificationRequestDto dto) {
         notificationService.createNotification(dto.getAuthId(), dto.getTitle(), dto.getMessage());
         return ResponseEntity.ok().build();
@@ -47,7 +47,7 @@ public class NotificationController {
     }
     @GetMapping(GET_UNREAD_COUNT)
     @MessageMapping("/notifications/unreadcount")
-    @SendTo("/topic/unreadcountNotifications")
+    @SendToUser("/queue/unreadcountNotifications")
     public ResponseEntity<Long> getUnreadNotificationCount(@RequestParam String token) {
         long unreadCount = notificationService.getUnreadNotificationCount(token);
         return ResponseEntity.ok(unreadCount);
@@ -57,7 +57,7 @@ public class NotificationController {
 
     @PatchMapping(READ)
     @MessageMapping("/notifications/markasread")
-    @SendTo("/topic/markasread-notifications")
+    @SendToUser("/queue/markasread-notifications")
     public ResponseEntity<Void> markAsRead(@RequestParam String token, @RequestParam Long notificationId) {
         notificationService.markAsRead(token, notificationId);
         return ResponseEntity.noContent().build();
@@ -66,7 +66,7 @@ public class NotificationController {
 
     @DeleteMapping(DELETE)
     @MessageMapping("/notifications/delete")
-    @SendTo("/topic/delete-notifications")
+    @SendToUser("/queue/delete-notifications")
     public ResponseEntity<Void> deleteNotifications(@RequestParam String token, @RequestBody List<Long> notificationIds) {
         notificationService.deleteNotifications(token, notificationIds);
         return ResponseEntity.noContent().build();
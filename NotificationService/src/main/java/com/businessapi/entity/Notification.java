@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "tbl_notification")
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "tbl_notification_seq", allocationSize = 500)
     Long id;
     private Long authId;
     private String title;
@@ -2,6 +2,8 @@ package com.businessapi.repository;
 
 import com.businessapi.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,7 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByAuthIdAndIsReadFalseAndIsDeletedFalse(Long authId);
 
     long countByAuthIdAndIsReadFalseAndIsDeletedFalse(Long authId);
+
+    @Query("SELECT n.authId, COUNT(n) FROM Notification n WHERE n.authId IN :authIds AND n.isRead = false AND n.isDeleted = false GROUP BY n.authId")
+    List<Object[]> countUnreadGroupedByAuthId(@Param("authIds") List<Long> authIds);
 }
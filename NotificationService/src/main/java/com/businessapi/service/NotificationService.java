@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,27 +17,46 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final JwtTokenManager jwtTokenManager;
+    private final UnreadCountTracker unreadCountTracker;
 
     @Autowired
-    public NotificationService(NotificationRepository notificationRepository, SimpMessagingTemplate messagingTemplate, JwtTokenManager jwtTokenManager) {
+    public NotificationService(NotificationRepository notificationRepository, SimpMessagingTemplate messagingTemplate, JwtTokenManager jwtTokenManager, UnreadCountTracker unreadCountTracker) {
         this.notificationRepository = notificationRepository;
         this.messagingTemplate = messagingTemplate;
         this.jwtTokenManager = jwtTokenManager;
+        this.unreadCountTracker = unreadCountTracker;
     }
 
     public void createNotification(Long authId, String title, String message) {
-        Notification notification = new Notification();
-        notification.setAuthId(authId);
-        notification.setTitle(title);
-        notification.setMessage(message);
-        notification.setRead(false);
-        notification.setDeleted(false);
+        createNotifications(List.of(authId), title, message);
+    }
 
-        notificationRepository.save(notification);
+    /**
+     * Tüm bildirimleri tek saveAll ile kaydeder (hibernate.jdbc.batch_size ile batch insert yapılır).
+     * Okunmamış sayıları her bildirim için sayılmaz, UnreadCountTracker authId'leri biriktirip flush'ta tek sorguyla sayar ve gönderir.
+     */
+    public void createNotifications(List<Long> authIds, String title, String message) {
+        if (authIds == null || authIds.isEmpty()) {
+            return;
+        }
+        List<Notification> notifications = new ArrayList<>(authIds.size());
+        for (Long authId : authIds) {
+            Notification notification = new Notification();
+            notification.setAuthId(authId);
+            notification.setTitle(title);
+            notification.setMessage(message);
+            notification.setRead(false);
+            notification.setDeleted(false);
+            notifications.add(notification);
+        }
 
-        messagingTemplate.convertAndSend("/topic/create-notifications", notification);
+        notificationRepository.saveAll(notifications);
 
-        updateUnreadCount(authId);  // AuthId ile güncelle
+        for (Notification notification : notifications) {
+            messagingTemplate.convertAndSendToUser(notification.getAuthId().toString(), "/queue/create-notifications", notification);
+        }
+
+        unreadCountTracker.notificationsCreated(authIds);
     }
 
     public void markAsRead(String token, Long notificationId) {
@@ -49,12 +69,15 @@ public class NotificationService {
             throw new RuntimeException("You do not have permission to mark this notification as read");
         }
 
+        boolean wasUnread = !notification.isRead();
         notification.setRead(true);
         notificationRepository.save(notification);
 
-        messagingTemplate.convertAndSend("/topic/markasread-notifications", notification);
+        messagingTemplate.convertAndSendToUser(authId.toString(), "/queue/markasread-notifications", notification);
 
-        updateUnreadCount(authId);  // AuthId ile güncelle
+        if (wasUnread) {
+            unreadCountTracker.decrement(authId, 1);
+        }
     }
 
     public void deleteNotifications(String token, List<Long> notificationIds) {
@@ -69,10 +92,10 @@ public class NotificationService {
         notificationRepository.deleteAll(notificationsToDelete);
 
         for (Notification notification : notificationsToDelete) {
-            messagingTemplate.convertAndSend("/topic/delete-notifications", notification);
+            messagingTemplate.convertAndSendToUser(authId.toString(), "/queue/delete-notifications", notification);
         }
 
-        updateUnreadCount(authId);  // AuthId ile güncelle
+        unreadCountTracker.decrement(authId, notificationsToDelete.stream().filter(notification -> !notification.isRead()).count());
     }
 
     private Long extractAuthIdFromToken(String token) {
@@ -96,11 +119,6 @@ public class NotificationService {
 
     public long getUnreadNotificationCount(String token) {
         Long authId = extractAuthIdFromToken(token);
-        return notificationRepository.countByAuthIdAndIsReadFalseAndIsDeletedFalse(authId);
-    }
-
-    private void updateUnreadCount(Long authId) {  // AuthId'yi al
-        long unreadCount = notificationRepository.countByAuthIdAndIsReadFalseAndIsDeletedFalse(authId);
-        messagingTemplate.convertAndSend("/topic/unreadNotifications", unreadCount);
+        return unreadCountTracker.getUnreadCount(authId);
     }
 }
@@ -23,8 +23,6 @@ public class RabbitMQListener {
     }
 
     public void saveNotifications(RabbitMQNotification rabbitMQNotification) {
-        rabbitMQNotification.getAuthIds().forEach(authId -> {
-            notificationService.createNotification(authId, rabbitMQNotification.getTitle(), rabbitMQNotification.getMessage());
-        });
+        notificationService.createNotifications(rabbitMQNotification.getAuthIds(), rabbitMQNotification.getTitle(), rabbitMQNotification.getMessage());
     }
 }
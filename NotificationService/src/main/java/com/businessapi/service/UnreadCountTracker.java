@@ -0,0 +1,119 @@
+package com.businessapi.service;
+
+import com.businessapi.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AuthId bazında okunmamış bildirim sayılarını bellekte tutar.
+ * Değişen authId'ler kısa bir pencere boyunca biriktirilir; flush'ta hepsi tek (parçalı) GROUP BY sorgusu ile veritabanından
+ * yeniden sayılır ve her authId için tek push yapılır. Böylece relay modunda birden fazla replica aynı kullanıcının
+ * bildirimlerini değiştirse de push edilen sayı veritabanındaki sayıdır, replica'ların sayaçları birbirinden kopamaz.
+ * Sayaçlar aradaki getUnreadCount okumaları içindir; başka bir replica'daki değişiklikleri en geç expire-after-write sonra görürler.
+ */
+@Component
+public class UnreadCountTracker {
+
+    private static final int MAX_IN_PARAMETERS = 10_000;
+
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Cache<Long, AtomicLong> unreadCounts;
+    private final Set<Long> dirtyAuthIds = ConcurrentHashMap.newKeySet();
+
+    public UnreadCountTracker(NotificationRepository notificationRepository,
+                              SimpMessagingTemplate messagingTemplate,
+                              @Value("${notifications.unread-count.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.notificationRepository = notificationRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.unreadCounts = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public long getUnreadCount(Long authId) {
+        return counterOf(authId).get();
+    }
+
+    /**
+     * Yeni eklenen bildirimleri sayaçlara yansıtır ve authId'leri bir sonraki flush'a bırakır. Bu çağrı kayıtlar
+     * veritabanına yazıldıktan sonra yapılmalıdır, flush'taki sayım yeni kayıtları görmelidir.
+     */
+    public void notificationsCreated(Collection<Long> authIds) {
+        Map<Long, Long> createdPerAuthId = new HashMap<>();
+        authIds.forEach(authId -> createdPerAuthId.merge(authId, 1L, Long::sum));
+
+        createdPerAuthId.forEach((authId, created) -> {
+            // Bellekte sayacı olmayan authId için yükleme yapılmaz, flush zaten veritabanından sayar
+            AtomicLong counter = unreadCounts.getIfPresent(authId);
+            if (counter != null) {
+                counter.addAndGet(created);
+            }
+            dirtyAuthIds.add(authId);
+        });
+    }
+
+    // PostgreSQL bir sorguda en fazla 32767 parametre kabul eder, IN listesi parçalar halinde sorgulanır
+    private Map<Long, Long> countUnread(Set<Long> authIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> ids = new ArrayList<>(authIds);
+        for (int from = 0; from < ids.size(); from += MAX_IN_PARAMETERS) {
+            notificationRepository.countUnreadGroupedByAuthId(ids.subList(from, Math.min(from + MAX_IN_PARAMETERS, ids.size())))
+                    .forEach(row -> counts.put((Long) row[0], (Long) row[1]));
+        }
+        return counts;
+    }
+
+    public void decrement(Long authId, long delta) {
+        if (delta <= 0) {
+            return;
+        }
+        AtomicLong counter = unreadCounts.getIfPresent(authId);
+        if (counter != null) {
+            counter.updateAndGet(current -> Math.max(0, current - delta));
+        }
+        dirtyAuthIds.add(authId);
+    }
+
+    /**
+     * Biriken authId'leri veritabanından tekrar sayar, sayaçları bu değerle değiştirir ve push eder.
+     * Sayım ile sayacın yazılması arasında gelen bir değişiklik sayacı eskitebilir; o authId tekrar işaretlendiği için
+     * bir sonraki flush düzeltir.
+     */
+    @Scheduled(fixedDelayString = "${notifications.unread-count.flush-interval:500}")
+    public void flush() {
+        Set<Long> authIds = new HashSet<>();
+        for (Long authId : dirtyAuthIds) {
+            dirtyAuthIds.remove(authId);
+            authIds.add(authId);
+        }
+        if (authIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> counts = countUnread(authIds);
+        for (Long authId : authIds) {
+            long count = counts.getOrDefault(authId, 0L);
+            unreadCounts.put(authId, new AtomicLong(count));
+            messagingTemplate.convertAndSendToUser(authId.toString(), "/queue/unreadNotifications", count);
+        }
+    }
+
+    private AtomicLong counterOf(Long authId) {
+        return unreadCounts.get(authId, id -> new AtomicLong(notificationRepository.countByAuthIdAndIsReadFalseAndIsDeletedFalse(id)));
+    }
+}
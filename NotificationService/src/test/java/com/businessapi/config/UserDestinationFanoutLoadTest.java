@@ -0,0 +1,181 @@
+package com.businessapi.config;
+
+import com.businessapi.util.JwtTokenManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.DefaultUserDestinationResolver;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.messaging.DefaultSimpUserRegistry;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Wires the simple broker and the user destination handler the same way WebSocketConfig does, with
+ * StompAuthChannelInterceptor on the client inbound channel, and counts the frames written to each client session.
+ * Clients connect with a JWT only, so the session user is whatever the interceptor read from the token.
+ */
+class UserDestinationFanoutLoadTest {
+
+    private final Map<String, Integer> deliveredFrames = new ConcurrentHashMap<>();
+    private JwtTokenManager jwtTokenManager;
+    private ExecutorSubscribableChannel clientInbound;
+    private DefaultSimpUserRegistry userRegistry;
+    private SimpMessagingTemplate messagingTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenManager = new JwtTokenManager();
+        ReflectionTestUtils.setField(jwtTokenManager, "secretKey", "test-secret");
+        ReflectionTestUtils.setField(jwtTokenManager, "issuer", "test-issuer");
+        ReflectionTestUtils.invokeMethod(jwtTokenManager, "initVerifier");
+
+        clientInbound = new ExecutorSubscribableChannel();
+        clientInbound.addInterceptor(new StompAuthChannelInterceptor(jwtTokenManager));
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutbound.subscribe(message -> {
+            if (SimpMessageType.MESSAGE.equals(SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))) {
+                deliveredFrames.merge(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()), 1, Integer::sum);
+            }
+        });
+
+        userRegistry = new DefaultSimpUserRegistry();
+        new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic", "/queue")).start();
+        new UserDestinationMessageHandler(clientInbound, brokerChannel, new DefaultUserDestinationResolver(userRegistry)).start();
+
+        messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setUserDestinationPrefix("/user");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 10_000})
+    void perUserSendReachesOnlyTheSessionOfThatUser(int connections) {
+        connectClients(connections);
+        long authId = connections / 2;
+
+        messagingTemplate.convertAndSendToUser(String.valueOf(authId), "/queue/create-notifications", "payload");
+
+        assertEquals(Map.of("session-" + authId, 1), deliveredFrames);
+
+        deliveredFrames.clear();
+        messagingTemplate.convertAndSend("/topic/create-notifications", "payload");
+
+        assertEquals(connections, deliveredFrames.size());
+    }
+
+    @Test
+    void userWithSeveralSessionsReceivesOneFramePerSession() {
+        connectClients(100);
+        connect(42L, "extra-session");
+
+        messagingTemplate.convertAndSendToUser("42", "/queue/create-notifications", "payload");
+
+        assertEquals(Map.of("session-42", 1, "extra-session", 1), deliveredFrames);
+    }
+
+    @Test
+    void sessionUserComesFromTheTokenNotFromTheFrame() {
+        connectClients(10);
+        // Claims to be user 3 in the frame, but the token belongs to user 7
+        StompHeaderAccessor connect = stompFrame(StompCommand.CONNECT, "spoofing-session", null);
+        connect.setNativeHeader("Authorization", "Bearer " + token(7L));
+        connect.setUser(new UsernamePasswordAuthenticationToken("3", null, List.of()));
+        Principal principal = send(connect);
+        registerSession("spoofing-session", principal);
+
+        messagingTemplate.convertAndSendToUser("3", "/queue/create-notifications", "payload");
+
+        assertEquals("7", principal.getName());
+        assertEquals(Map.of("session-3", 1), deliveredFrames);
+    }
+
+    @Test
+    void connectWithoutAValidTokenIsRejected() {
+        StompHeaderAccessor withoutToken = stompFrame(StompCommand.CONNECT, "anonymous-session", null);
+        assertThrows(MessageDeliveryException.class, () -> send(withoutToken));
+
+        StompHeaderAccessor forged = stompFrame(StompCommand.CONNECT, "forged-session", null);
+        forged.setNativeHeader("token", token(1L) + "x");
+        assertThrows(MessageDeliveryException.class, () -> send(forged));
+
+        assertNull(userRegistry.getUser("1"));
+    }
+
+    private void connectClients(int connections) {
+        for (long i = 0; i < connections; i++) {
+            connect(i, "session-" + i);
+        }
+    }
+
+    // What StompSubProtocolHandler does for a client: CONNECT through the inbound channel, then the connected
+    // event with the principal the interceptor attached, then the SUBSCRIBE frames of the client
+    private void connect(Long authId, String sessionId) {
+        StompHeaderAccessor connect = stompFrame(StompCommand.CONNECT, sessionId, null);
+        connect.setNativeHeader("Authorization", "Bearer " + token(authId));
+        registerSession(sessionId, send(connect));
+    }
+
+    private void registerSession(String sessionId, Principal principal) {
+        StompHeaderAccessor connected = stompFrame(StompCommand.CONNECTED, sessionId, principal);
+        userRegistry.onApplicationEvent(new SessionConnectedEvent(this, message(connected), principal));
+        subscribe(sessionId, principal, "/user/queue/create-notifications");
+        subscribe(sessionId, principal, "/topic/create-notifications");
+    }
+
+    private void subscribe(String sessionId, Principal principal, String destination) {
+        StompHeaderAccessor subscribe = stompFrame(StompCommand.SUBSCRIBE, sessionId, principal);
+        subscribe.setDestination(destination);
+        subscribe.setSubscriptionId("sub-" + destination.hashCode());
+        Message<byte[]> message = message(subscribe);
+        userRegistry.onApplicationEvent(new SessionSubscribeEvent(this, message, principal));
+        clientInbound.send(message);
+    }
+
+    private Principal send(StompHeaderAccessor accessor) {
+        Message<byte[]> message = message(accessor);
+        clientInbound.send(message);
+        return SimpMessageHeaderAccessor.getUser(message.getHeaders());
+    }
+
+    private String token(Long authId) {
+        return jwtTokenManager.createToken(authId).orElseThrow();
+    }
+
+    private static StompHeaderAccessor stompFrame(StompCommand command, String sessionId, Principal principal) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(principal);
+        accessor.setSessionAttributes(new HashMap<>());
+        // Left mutable like the frames of StompSubProtocolHandler, so the interceptor can set the user
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -4,6 +4,8 @@ import com.businessapi.entities.Department;
 import com.businessapi.entities.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,7 +16,9 @@ public interface DepartmentRepository extends JpaRepository<Department, Long>
 
     Optional<Department> findByIdAndMemberId(Long id, Long memberId);
 
-    List<Department> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(String name, Long memberId, EStatus status, PageRequest pageable);
+    //ILIKE instead of the derived upper(name) LIKE, so idx_department_name_trgm in import.sql can serve it
+    @Query("SELECT d FROM Department d WHERE d.name ILIKE %:name% AND d.memberId = :memberId AND d.status != :status ORDER BY d.name ASC")
+    List<Department> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(@Param("name") String name, @Param("memberId") Long memberId, @Param("status") EStatus status, PageRequest pageable);
 
     Boolean existsByNameIgnoreCaseAndMemberIdAndStatusIsNot(String name, Long memberIdFromAuthenticatedMember, EStatus status);
 }
@@ -4,6 +4,8 @@ import com.businessapi.entities.Employee;
 import com.businessapi.entities.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +14,9 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long>
 {
     Optional<Employee> findByIdAndMemberId(Long id, Long memberId);
 
-    List<Employee> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(String s, Long memberIdFromAuthenticatedMember, EStatus eStatus, PageRequest of);
+    //ILIKE instead of the derived upper(name) LIKE, so idx_employee_name_trgm in import.sql can serve it
+    @Query("SELECT e FROM Employee e WHERE e.name ILIKE %:searchText% AND e.memberId = :memberId AND e.status != :status ORDER BY e.name ASC")
+    List<Employee> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(@Param("searchText") String s, @Param("memberId") Long memberIdFromAuthenticatedMember, @Param("status") EStatus eStatus, PageRequest of);
 
     List<Employee> findAllByMemberIdAndStatusIsNot(Long memberId, EStatus eStatus);
 
@@ -0,0 +1,5 @@
+-- Runs after Hibernate creates the schema (ddl-auto create-drop). Trigram indexes for the ILIKE '%text%' list searches, member_id first (btree_gin) so one tenant's rows are matched without scanning the others
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_department_name_trgm ON tbldepartment USING gin (member_id, name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employee_name_trgm ON tblemployee USING gin (member_id, name gin_trgm_ops);
@@ -0,0 +1,175 @@
+package com.businessapi.services;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of OrderService.findAllBuyOrders over 100k seeded orders, using the SQL Hibernate sends for each version:
+ * perRowLookups loads the member's matching products, pages orders by product id list and looks up every supplier
+ * one by one before sorting the page in memory (what the service used to do), projection is the single
+ * joined, sorted and paginated query OrderRepository now runs.
+ *
+ * Needs a PostgreSQL database, the tables are created in their own schema and dropped afterwards.
+ * Run with: BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/StockDB BENCHMARK_DB_USERNAME=postgres BENCHMARK_DB_PASSWORD=1234 ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuyOrderListBenchmark
+{
+    private static final String SCHEMA = "order_list_benchmark";
+    private static final long MEMBER_ID = 1L;
+    private static final int ORDERS = 100_000;
+    private static final int PRODUCTS = 1_000;
+    private static final int SUPPLIERS = 200;
+
+    @Param({"0", "500"})
+    public int page;
+
+    @Param({"20"})
+    public int size;
+
+    @Param({"", "product 1"})
+    public String searchText;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException
+    {
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_DB_URL", "jdbc:postgresql://localhost:5432/StockDB"),
+                env("BENCHMARK_DB_USERNAME", "postgres"),
+                env("BENCHMARK_DB_PASSWORD", "1234"));
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            statement.execute("CREATE TABLE tblsupplier (id bigint PRIMARY KEY, member_id bigint, name varchar(255), email varchar(255), status varchar(255))");
+            statement.execute("CREATE TABLE tblproduct (id bigint PRIMARY KEY, member_id bigint, supplier_id bigint, name varchar(255), status varchar(255))");
+            statement.execute("CREATE TABLE tblorder (id bigint PRIMARY KEY, member_id bigint, customer_id bigint, supplier_id bigint, product_id bigint, quantity integer, " +
+                    "unit_price numeric(38,2), total numeric(38,2), order_type varchar(255), created_at timestamp(6), status varchar(255))");
+            statement.execute("CREATE INDEX idx_order_member_type_status ON tblorder (member_id, order_type, status)");
+            statement.execute("INSERT INTO tblsupplier SELECT i, " + MEMBER_ID + ", 'supplier ' || i, 'supplier' || i || '@mail.com', 'ACTIVE' " +
+                    "FROM generate_series(1, " + SUPPLIERS + ") i");
+            statement.execute("INSERT INTO tblproduct SELECT i, " + MEMBER_ID + ", i % " + SUPPLIERS + " + 1, 'product ' || i, 'ACTIVE' " +
+                    "FROM generate_series(1, " + PRODUCTS + ") i");
+            statement.execute("INSERT INTO tblorder SELECT i, " + MEMBER_ID + ", NULL, i % " + SUPPLIERS + " + 1, i % " + PRODUCTS + " + 1, i % 10 + 1, 10, (i % 10 + 1) * 10, " +
+                    "'BUY', now() - i * interval '1 minute', CASE WHEN i % 50 = 0 THEN 'DELETED' ELSE 'ACTIVE' END " +
+                    "FROM generate_series(1, " + ORDERS + ") i");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException
+    {
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Row> perRowLookups() throws SQLException
+    {
+        List<Long> productIds = new ArrayList<>();
+        List<String> productNames = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT p.id, p.name FROM tblproduct p WHERE upper(p.name) LIKE upper(?) AND p.member_id = ? ORDER BY p.name ASC"))
+        {
+            statement.setString(1, "%" + searchText + "%");
+            statement.setLong(2, MEMBER_ID);
+            try (ResultSet resultSet = statement.executeQuery())
+            {
+                while (resultSet.next())
+                {
+                    productIds.add(resultSet.getLong(1));
+                    productNames.add(resultSet.getString(2));
+                }
+            }
+        }
+
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement orders = connection.prepareStatement(
+                "SELECT o.id, o.product_id, o.supplier_id, o.unit_price, o.quantity, o.total, o.order_type, o.created_at, o.status FROM tblorder o " +
+                        "WHERE o.product_id = ANY (?) AND o.member_id = ? AND o.status <> 'DELETED' AND o.order_type = 'BUY' OFFSET ? ROWS FETCH FIRST ? ROWS ONLY");
+             PreparedStatement supplier = connection.prepareStatement(
+                     "SELECT s.name, s.email FROM tblsupplier s WHERE s.id = ? AND s.member_id = ?"))
+        {
+            orders.setArray(1, connection.createArrayOf("bigint", productIds.toArray()));
+            orders.setLong(2, MEMBER_ID);
+            orders.setInt(3, page * size);
+            orders.setInt(4, size);
+            try (ResultSet resultSet = orders.executeQuery())
+            {
+                while (resultSet.next())
+                {
+                    long productId = resultSet.getLong(2);
+                    String productName = productNames.get(productIds.indexOf(productId));
+                    supplier.setLong(1, resultSet.getLong(3));
+                    supplier.setLong(2, MEMBER_ID);
+                    try (ResultSet supplierRow = supplier.executeQuery())
+                    {
+                        supplierRow.next();
+                        rows.add(new Row(resultSet.getLong(1), supplierRow.getString(1), supplierRow.getString(2), productName,
+                                resultSet.getBigDecimal(4), resultSet.getInt(5), resultSet.getBigDecimal(6), resultSet.getString(7),
+                                resultSet.getTimestamp(8).toLocalDateTime(), resultSet.getString(9)));
+                    }
+                }
+            }
+        }
+        rows.sort(Comparator.comparing(Row::productName));
+        return rows;
+    }
+
+    @Benchmark
+    public List<Row> projection() throws SQLException
+    {
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT o.id, s.name, s.email, p.name, o.unit_price, o.quantity, o.total, o.order_type, o.created_at, o.status FROM tblorder o " +
+                        "JOIN tblproduct p ON p.id = o.product_id JOIN tblsupplier s ON s.id = o.supplier_id " +
+                        "WHERE p.name ILIKE ? AND o.member_id = ? AND o.order_type = 'BUY' AND o.status <> 'DELETED' " +
+                        "ORDER BY p.name ASC, o.id ASC OFFSET ? ROWS FETCH FIRST ? ROWS ONLY"))
+        {
+            statement.setString(1, "%" + searchText + "%");
+            statement.setLong(2, MEMBER_ID);
+            statement.setInt(3, page * size);
+            statement.setInt(4, size);
+            try (ResultSet resultSet = statement.executeQuery())
+            {
+                while (resultSet.next())
+                {
+                    rows.add(new Row(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
+                            resultSet.getBigDecimal(5), resultSet.getInt(6), resultSet.getBigDecimal(7), resultSet.getString(8),
+                            resultSet.getTimestamp(9).toLocalDateTime(), resultSet.getString(10)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String env(String name, String defaultValue)
+    {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+
+    public record Row(Long id, String supplierName, String email, String productName, BigDecimal unitPrice, Integer quantity,
+                      BigDecimal total, String orderType, LocalDateTime createdAt, String status)
+    {
+    }
+}
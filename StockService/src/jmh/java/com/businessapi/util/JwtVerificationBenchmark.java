@@ -0,0 +1,64 @@
+package com.businessapi.util;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification throughput of the same token, as a client reusing it for an hour would send it:
+ * cold builds the algorithm and verifier per call (what JwtTokenManager used to do),
+ * reusedVerifier only skips that setup, cached goes through JwtTokenManager's verified-token cache.
+ * java-jwt 4.x still gets and initialises a new Mac inside every verify(), so a reused verifier only saves the
+ * builder allocations and stays close to cold; the HMAC work itself is only skipped by the cache.
+ * Three forks with five warmup iterations, a single fork was not enough to tell cold and reusedVerifier apart.
+ *
+ * Run with: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+public class JwtVerificationBenchmark
+{
+    private static final String SECRET = "benchmark-secret";
+    private static final String ISSUER = "benchmark-issuer";
+
+    private JwtTokenManager jwtTokenManager;
+    private JWTVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setup()
+    {
+        jwtTokenManager = new JwtTokenManager();
+        jwtTokenManager.SECRETKEY = SECRET;
+        jwtTokenManager.ISSUER = ISSUER;
+        jwtTokenManager.initVerifier();
+        verifier = JWT.require(Algorithm.HMAC512(SECRET)).withIssuer(ISSUER).build();
+        token = jwtTokenManager.createToken(1L).orElseThrow();
+    }
+
+    @Benchmark
+    public Long cold()
+    {
+        return JWT.require(Algorithm.HMAC512(SECRET)).withIssuer(ISSUER).build()
+                .verify(token).getClaim("authId").asLong();
+    }
+
+    @Benchmark
+    public Long reusedVerifier()
+    {
+        return verifier.verify(token).getClaim("authId").asLong();
+    }
+
+    @Benchmark
+    public Long cached()
+    {
+        return jwtTokenManager.getIdFromToken(token).orElseThrow();
+    }
+}
@@ -13,6 +13,8 @@ import java.time.LocalDate;
 @Builder
 @Data
 public class InvoiceModel {
+    //FinanceService creates at most one invoice per order id, so a redelivered message is ignored
+    Long orderId;
     String buyerTcNo;
     String buyerEmail;
     String buyerPhone;
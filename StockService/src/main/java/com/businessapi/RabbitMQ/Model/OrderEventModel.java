@@ -0,0 +1,28 @@
+package com.businessapi.RabbitMQ.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class OrderEventModel {
+    Long id;
+    Long memberId;
+    Long customerId;
+    Long supplierId;
+    Long productId;
+    Integer quantity;
+    BigDecimal unitPrice;
+    BigDecimal total;
+    String orderType;
+    String status;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -1,8 +1,10 @@
 package com.businessapi.configs;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -17,8 +19,22 @@ public class RabbitMQConfig
 {
     //TODO QUEUES WILL CHANGE LATER
     String directExchange="businessDirectExchange";
+    String roleChangeFanoutExchange = "roleChangeFanoutExchange";
     String queueFindAuthByToken = "find.auth.by.token";
     String keyFindAuthByToken = "key.find.auth.by.token";
+    //Bulk sell orders send all their invoices to FinanceService in one message
+    String queueGetModelBatchFromStockService = "queueGetModelBatchFromStockService";
+    String keyGetModelBatchFromStockService = "keyGetModelBatchFromStockService";
+    //Analytics fact tables are fed from these queues, declared here too so events wait for AnalyticsService
+    String queueAnalyticsOrderEvent = "queueAnalyticsOrderEvent";
+    String keyAnalyticsOrderEvent = "keyAnalyticsOrderEvent";
+    String queueAnalyticsStockMovementEvent = "queueAnalyticsStockMovementEvent";
+    String keyAnalyticsStockMovementEvent = "keyAnalyticsStockMovementEvent";
+    //AnalyticsService pulls existing rows page by page (id cursor) through these queues
+    String queueAnalyticsBackfillOrder = "queueAnalyticsBackfillOrder";
+    String keyAnalyticsBackfillOrder = "keyAnalyticsBackfillOrder";
+    String queueAnalyticsBackfillStockMovement = "queueAnalyticsBackfillStockMovement";
+    String keyAnalyticsBackfillStockMovement = "keyAnalyticsBackfillStockMovement";
 
     @Bean
     public DirectExchange directExchange(){
@@ -36,6 +52,72 @@ public class RabbitMQConfig
         return BindingBuilder.bind(queueFindAuthByToken).to(directExchange).with(keyFindAuthByToken);
     }
 
+    @Bean
+    public Queue queueGetModelBatchFromStockService(){
+        return new Queue(queueGetModelBatchFromStockService);
+    }
+
+    @Bean
+    public Binding bindingGetModelBatchFromStockService(Queue queueGetModelBatchFromStockService, DirectExchange directExchange){
+        return BindingBuilder.bind(queueGetModelBatchFromStockService).to(directExchange).with(keyGetModelBatchFromStockService);
+    }
+
+    @Bean
+    public Queue queueAnalyticsOrderEvent(){
+        return new Queue(queueAnalyticsOrderEvent);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsOrderEvent(Queue queueAnalyticsOrderEvent, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsOrderEvent).to(directExchange).with(keyAnalyticsOrderEvent);
+    }
+
+    @Bean
+    public Queue queueAnalyticsStockMovementEvent(){
+        return new Queue(queueAnalyticsStockMovementEvent);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsStockMovementEvent(Queue queueAnalyticsStockMovementEvent, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsStockMovementEvent).to(directExchange).with(keyAnalyticsStockMovementEvent);
+    }
+
+    @Bean
+    public Queue queueAnalyticsBackfillOrder(){
+        return new Queue(queueAnalyticsBackfillOrder);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsBackfillOrder(Queue queueAnalyticsBackfillOrder, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsBackfillOrder).to(directExchange).with(keyAnalyticsBackfillOrder);
+    }
+
+    @Bean
+    public Queue queueAnalyticsBackfillStockMovement(){
+        return new Queue(queueAnalyticsBackfillStockMovement);
+    }
+
+    @Bean
+    public Binding bindingAnalyticsBackfillStockMovement(Queue queueAnalyticsBackfillStockMovement, DirectExchange directExchange){
+        return BindingBuilder.bind(queueAnalyticsBackfillStockMovement).to(directExchange).with(keyAnalyticsBackfillStockMovement);
+    }
+
+    //UserManagement publishes an authId here whenever that user's roles or status change, every instance gets its own queue
+    @Bean
+    public FanoutExchange roleChangeFanoutExchange(){
+        return new FanoutExchange(roleChangeFanoutExchange);
+    }
+
+    @Bean
+    public Queue queueRoleChange(){
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingRoleChange(Queue queueRoleChange, FanoutExchange roleChangeFanoutExchange){
+        return BindingBuilder.bind(queueRoleChange).to(roleChangeFanoutExchange);
+    }
+
     @Bean
     MessageConverter messageConverter(){
         return new Jackson2JsonMessageConverter();
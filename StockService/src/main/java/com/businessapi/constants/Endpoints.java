@@ -29,18 +29,28 @@ public class Endpoints
     public static final String DELETE = "/delete";
     public static final String UPDATE = "/update";
     public static final String FIND_ALL = "/find-all";
+    public static final String FIND_ALL_BY_CURSOR = "/find-all-by-cursor";
+    public static final String SEARCH = "/search";
 
     public static final String FIND_BY_ID = "/find-by-id";
     public static final String FIND_ALL_BY_MINIMUM_STOCK_LEVEL = "/find-all-by-minimum-stock-level";
     public static final String SAVE_BUY_ORDER = "/save-buy-order";
     public static final String SAVE_SELL_ORDER = "/save-sell-order";
+    public static final String SAVE_SELL_ORDER_BATCH = "/save-sell-order-batch";
     public static final String APPROVE_ORDER = "/approve-order";
     public static final String CHANGE_AUTO_ORDER_MODE = "/change-auto-order-mode";
     public static final String FIND_ALL_BUY_ORDERS = "/find-all-buy-orders";
     public static final String FIND_ALL_SELL_ORDERS = "/find-all-sell-orders";
+    public static final String FIND_ALL_BUY_ORDERS_BY_CURSOR = "/find-all-buy-orders-by-cursor";
+    public static final String FIND_ALL_SELL_ORDERS_BY_CURSOR = "/find-all-sell-orders-by-cursor";
     public static final String FIND_ORDERS_OF_SUPPLIER = "/find-orders-of-supplier";
 
     public static final String UPDATE_BUY_ORDER = "/update-buy-order";
     public static final String UPDATE_SELL_ORDER = "/update-sell-order";
     public static final String SAVE_FROM_ORDER_ID = "/save-from-order-id";
+    public static final String TRANSFER = "/transfer";
+    public static final String FIND_STOCK_LEVELS = "/find-stock-levels";
+    public static final String FIND_STOCK_TOTALS = "/find-stock-totals";
+    public static final String UPDATE_STOCK_LEVEL = "/update-stock-level";
+    public static final String FIND_STOCK_AT = "/find-stock-at";
 }
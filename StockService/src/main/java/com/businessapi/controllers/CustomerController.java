@@ -1,6 +1,8 @@
 package com.businessapi.controllers;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.CustomerSaveRequestDTO;
 import com.businessapi.dto.response.CustomerUpdateRequestDTO;
 import com.businessapi.dto.response.ResponseDTO;
@@ -76,6 +78,32 @@ public class CustomerController
                 .build());
     }
 
+    @PostMapping(FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Finds customers page by page with a cursor")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<Customer>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<Customer>>builder()
+                .data(customerService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
+    @PostMapping(SEARCH)
+    @Operation(summary = "Searches customers by name, surname and email, best match first")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<List<Customer>>> search(@RequestBody PageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<List<Customer>>builder()
+                .data(customerService.search(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(FIND_BY_ID)
     @Operation(summary = "Finds customer by Id")
     @PreAuthorize("hasAnyAuthority('IMM')")
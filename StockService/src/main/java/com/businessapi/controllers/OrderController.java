@@ -4,6 +4,7 @@ import static com.businessapi.constants.Endpoints.*;
 
 import com.businessapi.dto.request.*;
 import com.businessapi.dto.response.BuyOrderResponseDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.dto.response.SellOrderResponseDTO;
 import com.businessapi.dto.response.SupplierOrderResponseDTO;
@@ -38,6 +39,19 @@ public class OrderController
                 .build());
     }
 
+    @PostMapping(SAVE_SELL_ORDER_BATCH)
+    @Operation(summary = "Creates many sell Orders in one transaction, returns their ids")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<List<Long>>> saveSellOrderBatch(@RequestBody SellOrderBatchSaveRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<List<Long>>builder()
+                .data(orderService.saveSellOrders(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(SAVE_BUY_ORDER)
     @Operation(summary = "Creates new buy Order")
     @PreAuthorize("hasAnyAuthority('IMM')")
@@ -104,6 +118,19 @@ public class OrderController
                 .build());
     }
 
+    @PostMapping(FIND_ALL_BUY_ORDERS_BY_CURSOR)
+    @Operation(summary = "Finds buy orders page by page with a cursor")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<BuyOrderResponseDTO>>> findAllBuyOrdersByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<BuyOrderResponseDTO>>builder()
+                .data(orderService.findAllBuyOrdersByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(FIND_ALL_SELL_ORDERS)
     @Operation(summary = "Finds all sell orders with respect to pagination")
     @PreAuthorize("hasAnyAuthority('IMM')")
@@ -117,6 +144,19 @@ public class OrderController
                 .build());
     }
 
+    @PostMapping(FIND_ALL_SELL_ORDERS_BY_CURSOR)
+    @Operation(summary = "Finds sell orders page by page with a cursor")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<SellOrderResponseDTO>>> findAllSellOrdersByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<SellOrderResponseDTO>>builder()
+                .data(orderService.findAllSellOrdersByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(FIND_BY_ID)
     @Operation(summary = "Finds Order by Id")
     @PreAuthorize("hasAnyAuthority('IMM')")
@@ -1,6 +1,7 @@
 package com.businessapi.controllers;
 
 import com.businessapi.dto.request.*;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.entities.ProductCategory;
 import com.businessapi.services.ProductCategoryService;
@@ -74,6 +75,19 @@ public class ProductCategoryController
                 .build());
     }
 
+    @PostMapping(FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Finds Product Categories page by page with a cursor")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<ProductCategory>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<ProductCategory>>builder()
+                .data(productCategoryService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(FIND_BY_ID)
     @Operation(summary = "Finds Product Category by Id")
     @PreAuthorize("hasAnyAuthority('IMM')")
@@ -1,16 +1,22 @@
 package com.businessapi.controllers;
 
 import com.businessapi.dto.request.*;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ProductResponseDTO;
+import com.businessapi.dto.response.ProductStockResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
+import com.businessapi.dto.response.StockAtDateResponseDTO;
 import com.businessapi.entities.Product;
 import com.businessapi.services.ProductService;
+import com.businessapi.services.StockLedgerService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.businessapi.constants.Endpoints.*;
@@ -22,6 +28,7 @@ import static com.businessapi.constants.Endpoints.*;
 public class ProductController
 {
     private final ProductService productService;
+    private final StockLedgerService stockLedgerService;
 
     @PostMapping(SAVE)
     @Operation(summary = "Creates new Product")
@@ -75,6 +82,32 @@ public class ProductController
                 .build());
     }
 
+    @PostMapping(FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Finds Products page by page with a cursor")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<ProductResponseDTO>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<ProductResponseDTO>>builder()
+                .data(productService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
+    @PostMapping(SEARCH)
+    @Operation(summary = "Searches Products by name and description, best match first")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<List<Product>>> search(@RequestBody PageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<List<Product>>builder()
+                .data(productService.search(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(FIND_BY_ID)
     @Operation(summary = "Finds Product by Id")
     @PreAuthorize("hasAnyAuthority('IMM')")
@@ -114,4 +147,42 @@ public class ProductController
                 .build());
     }
 
+    @PostMapping(FIND_STOCK_LEVELS)
+    @Operation(summary = "Finds stock of Product in each Ware House")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<List<ProductStockResponseDTO>>> findStockLevels(Long id){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<List<ProductStockResponseDTO>>builder()
+                .data(productService.findStockLevels(id))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
+    @PutMapping(UPDATE_STOCK_LEVEL)
+    @Operation(summary = "Updates minimum stock level and/or corrects the stock count of Product in a Ware House")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<Boolean>> updateStockLevel(@RequestBody ProductStockLevelUpdateRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<Boolean>builder()
+                .data(productService.updateStockLevel(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
+    @PostMapping(FIND_STOCK_AT)
+    @Operation(summary = "Finds stock of Product (or all Products if id is empty) in each Ware House at the given date")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<List<StockAtDateResponseDTO>>> findStockAt(Long id, @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<List<StockAtDateResponseDTO>>builder()
+                .data(stockLedgerService.findStockAt(id, date))
+                .message("Success")
+                .code(200)
+                .build());
+    }
 }
@@ -1,8 +1,11 @@
 package com.businessapi.controllers;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.StockMovementSaveDTO;
 import com.businessapi.dto.request.StockMovementUpdateRequestDTO;
+import com.businessapi.dto.request.StockTransferRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.dto.response.StockMovementResponseDTO;
 import com.businessapi.entities.StockMovement;
@@ -77,6 +80,19 @@ public class StockMovementController
                 .build());
     }
 
+    @PostMapping(FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Finds Stock Movements page by page with a cursor")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<StockMovementResponseDTO>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<StockMovementResponseDTO>>builder()
+                .data(stockMovementService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(FIND_BY_ID)
     @Operation(summary = "Finds Stock Movement by Id")
     @PreAuthorize("hasAnyAuthority('IMM')")
@@ -103,4 +119,16 @@ public class StockMovementController
                 .build());
     }
 
+    @PostMapping(TRANSFER)
+    @Operation(summary = "Transfers stock of a Product between Ware Houses")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<Boolean>> transfer(@RequestBody StockTransferRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<Boolean>builder()
+                .data(stockMovementService.transfer(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
 }
@@ -1,6 +1,7 @@
 package com.businessapi.controllers;
 
 import com.businessapi.dto.request.*;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
 import com.businessapi.entities.Supplier;
 import com.businessapi.services.SupplierService;
@@ -74,6 +75,19 @@ public class SupplierController
                 .build());
     }
 
+    @PostMapping(FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Finds Suppliers page by page with a cursor")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<Supplier>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<Supplier>>builder()
+                .data(supplierService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(FIND_BY_ID)
     @Operation(summary = "Finds Supplier by Id")
     @PreAuthorize("hasAnyAuthority('IMM')")
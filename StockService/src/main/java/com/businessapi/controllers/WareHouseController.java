@@ -1,9 +1,13 @@
 package com.businessapi.controllers;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.WareHouseSaveRequestDTO;
 import com.businessapi.dto.request.WareHouseUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
+import com.businessapi.dto.response.ProductStockResponseDTO;
 import com.businessapi.dto.response.ResponseDTO;
+import com.businessapi.dto.response.WareHouseStockResponseDTO;
 import com.businessapi.entities.WareHouse;
 import com.businessapi.services.WareHouseService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -77,6 +81,19 @@ public class WareHouseController
                 .build());
     }
 
+    @PostMapping(FIND_ALL_BY_CURSOR)
+    @Operation(summary = "Finds Ware Houses page by page with a cursor")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<CursorPageResponseDTO<WareHouse>>> findAllByCursor(@RequestBody CursorPageRequestDTO dto){
+
+        return ResponseEntity.ok(ResponseDTO
+                .<CursorPageResponseDTO<WareHouse>>builder()
+                .data(wareHouseService.findAllByCursor(dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
+
     @PostMapping(FIND_BY_ID)
     @Operation(summary = "Finds Ware House by Id")
     @PreAuthorize("hasAnyAuthority('IMM')")
@@ -90,7 +107,29 @@ public class WareHouseController
                 .build());
     }
 
+    @PostMapping(FIND_STOCK_LEVELS)
+    @Operation(summary = "Finds stock of each Product in Ware House with respect to pagination")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<List<ProductStockResponseDTO>>> findStockLevels(Long id, @RequestBody PageRequestDTO dto){
 
+        return ResponseEntity.ok(ResponseDTO
+                .<List<ProductStockResponseDTO>>builder()
+                .data(wareHouseService.findStockLevels(id, dto))
+                .message("Success")
+                .code(200)
+                .build());
+    }
 
+    @PostMapping(FIND_STOCK_TOTALS)
+    @Operation(summary = "Finds product count and total stock of each Ware House")
+    @PreAuthorize("hasAnyAuthority('IMM')")
+    public ResponseEntity<ResponseDTO<List<WareHouseStockResponseDTO>>> findStockTotals(){
 
+        return ResponseEntity.ok(ResponseDTO
+                .<List<WareHouseStockResponseDTO>>builder()
+                .data(wareHouseService.findStockTotals())
+                .message("Success")
+                .code(200)
+                .build());
+    }
 }
@@ -2,7 +2,9 @@ package com.businessapi.dto.request;
 
 public record BuyOrderSaveRequestDTO(Long supplierId,
                                      Long productId,
-                                     Integer quantity
+                                     Integer quantity,
+                                     //Optional, the product's own warehouse is used when empty
+                                     Long wareHouseId
 
                                   )
 
@@ -0,0 +1,9 @@
+package com.businessapi.dto.request;
+
+// cursor is the nextCursor of the previous page, empty for the first page
+public record CursorPageRequestDTO(
+    String searchText,
+    String cursor,
+    int size)
+{
+}
@@ -0,0 +1,9 @@
+package com.businessapi.dto.request;
+
+public record ProductStockLevelUpdateRequestDTO(Long productId,
+                                                Long wareHouseId,
+                                                Integer minimumStockLevel,
+                                                Integer stockCount
+)
+{
+}
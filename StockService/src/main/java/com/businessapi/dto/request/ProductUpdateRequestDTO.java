@@ -9,7 +9,6 @@ public record ProductUpdateRequestDTO(Long id,
                                       String name,
                                       String description,
                                       BigDecimal price,
-                                      Integer stockCount,
                                       Integer minimumStockLevel)
 {
 }
@@ -0,0 +1,7 @@
+package com.businessapi.dto.request;
+
+import java.util.List;
+
+public record SellOrderBatchSaveRequestDTO(List<SellOrderSaveRequestDTO> orders)
+{
+}
@@ -0,0 +1,9 @@
+package com.businessapi.dto.request;
+
+public record StockTransferRequestDTO(Long productId,
+                                      Long fromWareHouseId,
+                                      Long toWareHouseId,
+                                      Integer quantity
+)
+{
+}
@@ -0,0 +1,12 @@
+package com.businessapi.dto.response;
+
+public record ProductStockResponseDTO(
+        Long productId,
+        String productName,
+        Long wareHouseId,
+        String wareHouseName,
+        Integer stockCount,
+        Integer minimumStockLevel,
+        Boolean isAutoOrdered)
+{
+}
@@ -0,0 +1,10 @@
+package com.businessapi.dto.response;
+
+public record StockAtDateResponseDTO(
+        Long productId,
+        String productName,
+        Long wareHouseId,
+        String wareHouseName,
+        Long stockCount)
+{
+}
@@ -0,0 +1,9 @@
+package com.businessapi.dto.response;
+
+public record WareHouseStockResponseDTO(
+        Long wareHouseId,
+        String wareHouseName,
+        Long productCount,
+        Long totalStock)
+{
+}
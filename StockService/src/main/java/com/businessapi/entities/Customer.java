@@ -12,7 +12,9 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblcustomer")
+@Table(name = "tblcustomer", indexes = {
+        @Index(name = "idx_customer_member_name", columnList = "memberId, name, id")
+})
 public class Customer extends BaseEntity
 {
     @Id
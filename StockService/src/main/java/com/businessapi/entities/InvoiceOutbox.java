@@ -0,0 +1,41 @@
+package com.businessapi.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Invoice of a sell order waiting to be sent to FinanceService, written in the transaction of the order and deleted once the broker confirms it
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "tblinvoiceoutbox")
+public class InvoiceOutbox
+{
+    //Sequence ids let Hibernate batch the rows of a bulk order request
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_outbox_seq")
+    @SequenceGenerator(name = "invoice_outbox_seq", sequenceName = "tblinvoiceoutbox_seq", allocationSize = 100)
+    Long id;
+    Long orderId;
+    String buyerTcNo;
+    String buyerEmail;
+    String buyerPhone;
+    Long productId;
+    String productName;
+    Integer quantity;
+    BigDecimal price;
+    BigDecimal totalAmount;
+    LocalDate invoiceDate;
+    @Builder.Default
+    LocalDateTime createdAt = LocalDateTime.now();
+    //Set while a relay sends the row, expired claims are picked up again
+    LocalDateTime claimedUntil;
+}
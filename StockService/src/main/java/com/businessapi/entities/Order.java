@@ -3,6 +3,7 @@ package com.businessapi.entities;
 import com.businessapi.entities.enums.EOrderType;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.StockServiceException;
+import com.businessapi.util.AnalyticsEventPublisher;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -15,11 +16,18 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblorder")
+@EntityListeners(AnalyticsEventPublisher.class)
+@Table(name = "tblorder", indexes = {
+        @Index(name = "idx_order_member_type_status", columnList = "memberId, orderType, status"),
+        @Index(name = "idx_order_member_type_id", columnList = "memberId, orderType, id"),
+        @Index(name = "idx_order_product", columnList = "productId, id")
+})
 public class Order extends BaseEntity
 {
+    //Sequence ids let Hibernate batch the inserts of a bulk order request
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "tblorder_seq", allocationSize = 100)
     Long id;
     Long memberId;
 
@@ -31,6 +39,8 @@ public class Order extends BaseEntity
 
 
     Long productId;
+    // Warehouse the stock leaves from for sell orders and arrives to for buy orders
+    Long wareHouseId;
     Integer quantity;
     BigDecimal unitPrice;
     BigDecimal total;
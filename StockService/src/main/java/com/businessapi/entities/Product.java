@@ -12,7 +12,9 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblproduct")
+@Table(name = "tblproduct", indexes = {
+        @Index(name = "idx_product_member_name", columnList = "memberId, name, id")
+})
 public class Product extends BaseEntity
 {
     @Id
@@ -20,15 +22,16 @@ public class Product extends BaseEntity
     Long id;
     Long memberId;
     Long supplierId;
+    //Default warehouse, used by orders and movements that don't name one. Stock per warehouse is kept in ProductStock
     Long wareHouseId;
     Long productCategoryId;
     String name;
     String description;
     BigDecimal price;
+    //Total over all warehouses. Written on insert only, later changes go through StockReservationService so a stale entity save can't overwrite them
+    @Column(updatable = false)
     Integer stockCount;
     Integer minimumStockLevel;
-    @Builder.Default
-    Boolean isProductAutoOrdered= false;
     //TODO CHANGE IT TO FALSE LATER
     @Builder.Default
     Boolean isAutoOrderEnabled = true;
@@ -12,7 +12,9 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblproductcategory")
+@Table(name = "tblproductcategory", indexes = {
+        @Index(name = "idx_product_category_member_name", columnList = "memberId, name, id")
+})
 public class ProductCategory extends BaseEntity
 {
     @Id
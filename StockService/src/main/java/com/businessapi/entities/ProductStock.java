@@ -0,0 +1,44 @@
+package com.businessapi.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Stock of one product in one warehouse, Product.stockCount is the sum over all warehouses of the product
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@IdClass(ProductStock.Key.class)
+@Table(name = "tblproductstock", indexes = {
+        @Index(name = "idx_product_stock_member_warehouse", columnList = "memberId, wareHouseId")
+})
+public class ProductStock
+{
+    @Id
+    Long productId;
+    @Id
+    Long wareHouseId;
+    Long memberId;
+    //Rows are only written through ProductStockRepository's single-statement updates, see StockReservationService
+    Integer stockCount;
+    //Reorder point of this location, starts as the product's minimum stock level
+    Integer minimumStockLevel;
+    Boolean isAutoOrdered;
+    LocalDateTime updatedAt;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class Key implements Serializable
+    {
+        Long productId;
+        Long wareHouseId;
+    }
+}
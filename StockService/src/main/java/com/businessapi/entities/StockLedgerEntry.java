@@ -0,0 +1,35 @@
+package com.businessapi.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// One change of stock in one warehouse, rows are only ever inserted. Corrections are new rows with the opposite sign
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Immutable
+@Table(name = "tblstockledger", indexes = {
+        @Index(name = "idx_stock_ledger_location_time", columnList = "productId, wareHouseId, occurredAt"),
+        @Index(name = "idx_stock_ledger_time", columnList = "occurredAt")
+})
+public class StockLedgerEntry
+{
+    //Sequence ids let Hibernate batch the entries of a bulk order request
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_ledger_seq")
+    @SequenceGenerator(name = "stock_ledger_seq", sequenceName = "tblstockledger_seq", allocationSize = 100)
+    Long id;
+    Long productId;
+    Long wareHouseId;
+    //Signed, positive entries add to stock
+    Integer quantity;
+    LocalDateTime occurredAt;
+}
@@ -1,12 +1,14 @@
 package com.businessapi.entities;
 
 import com.businessapi.entities.enums.EStockMovementType;
+import com.businessapi.util.AnalyticsEventPublisher;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
 
 @EqualsAndHashCode(callSuper = true)
 @SuperBuilder
@@ -14,7 +16,15 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblstockmovement")
+@EntityListeners(AnalyticsEventPublisher.class)
+//Append only, an update or delete is recorded as a reversal movement pointing to the original
+@Immutable
+@Table(name = "tblstockmovement", indexes = {
+        @Index(name = "idx_stock_movement_member_status", columnList = "memberId, status"),
+        @Index(name = "idx_stock_movement_member_id", columnList = "memberId, id"),
+        @Index(name = "idx_stock_movement_product", columnList = "productId, id"),
+        @Index(name = "idx_stock_movement_reversal_of", columnList = "reversalOfId", unique = true)
+})
 public class StockMovement extends BaseEntity
 {
     @Id
@@ -25,4 +35,6 @@ public class StockMovement extends BaseEntity
     Long warehouseId;
     Integer quantity;
     EStockMovementType stockMovementType;
+    //Id of the movement this one takes back, null for regular movements
+    Long reversalOfId;
 }
@@ -0,0 +1,39 @@
+package com.businessapi.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Stock of one product in one warehouse as of takenAt, i.e. the sum of all ledger entries that occurred until then
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@IdClass(StockSnapshot.Key.class)
+@Table(name = "tblstocksnapshot")
+public class StockSnapshot
+{
+    @Id
+    Long productId;
+    @Id
+    Long wareHouseId;
+    @Id
+    LocalDateTime takenAt;
+    Integer stockCount;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class Key implements Serializable
+    {
+        Long productId;
+        Long wareHouseId;
+        LocalDateTime takenAt;
+    }
+}
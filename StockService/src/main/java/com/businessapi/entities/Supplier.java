@@ -13,7 +13,9 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblsupplier")
+@Table(name = "tblsupplier", indexes = {
+        @Index(name = "idx_supplier_member_name", columnList = "memberId, name, id")
+})
 public class Supplier extends BaseEntity
 {
     @Id
@@ -13,7 +13,9 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tblwarehouse")
+@Table(name = "tblwarehouse", indexes = {
+        @Index(name = "idx_warehouse_member_name", columnList = "memberId, name, id")
+})
 public class WareHouse extends BaseEntity
 {
     @Id
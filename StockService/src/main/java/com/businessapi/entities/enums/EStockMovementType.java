@@ -2,5 +2,11 @@ package com.businessapi.entities.enums;
 
 public enum EStockMovementType
 {
-    IN,OUT
+    IN,OUT;
+
+    // Type of the movement that takes this one back
+    public EStockMovementType opposite()
+    {
+        return this == IN ? OUT : IN;
+    }
 }
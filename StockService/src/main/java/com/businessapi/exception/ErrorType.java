@@ -40,7 +40,13 @@ public enum ErrorType
     ORDER_CAN_NOT_BE_UPDATED(9024, "Order Arrived Or Approved Can Not Be Updated", HttpStatus.BAD_REQUEST),
     STOCK_MOVEMENT_CAN_NOT_BE_DELETED(9025, "Stock Movement Can Not Be Deleted", HttpStatus.BAD_REQUEST),
     VALUE_CAN_NOT_BE_BELOW_ZERO(9026, "Value Can Not Be Below Zero", HttpStatus.BAD_REQUEST),
-    IDENTITY_NO_ALREADY_EXISTS(9027, "Identity No Already Exists", HttpStatus.BAD_REQUEST);
+    IDENTITY_NO_ALREADY_EXISTS(9027, "Identity No Already Exists", HttpStatus.BAD_REQUEST),
+    ORDER_BATCH_TOO_LARGE(9028, "Order Batch Too Large", HttpStatus.BAD_REQUEST),
+    PRODUCT_STOCK_NOT_FOUND(9029, "Product Has No Stock In This Warehouse", HttpStatus.BAD_REQUEST),
+    SAME_WAREHOUSE_TRANSFER(9030, "Source And Target Warehouse Can Not Be The Same", HttpStatus.BAD_REQUEST),
+    INVALID_PAGE_CURSOR(9031, "Invalid Page Cursor", HttpStatus.BAD_REQUEST),
+    INVOICE_PUBLISH_FAILED(9032, "Invoices Could Not Be Sent To Finance Service", HttpStatus.INTERNAL_SERVER_ERROR),
+    INVALID_PAGE_SIZE(9033, "Page Size Must Be At Least 1", HttpStatus.BAD_REQUEST);
 
     private Integer code;
     private String message;
@@ -5,18 +5,46 @@ import com.businessapi.entities.Customer;
 import com.businessapi.entities.ProductCategory;
 import com.businessapi.entities.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long>
 {
-    List<Customer> findAllByNameContainingIgnoreCaseAndStatusIsNotAndMemberIdOrderByNameAsc(String s, EStatus status,Long memberId, PageRequest of);
+    //ILIKE instead of the derived upper(name) LIKE, so idx_customer_name_trgm in import.sql can serve it
+    @Query("SELECT c FROM Customer c WHERE c.name ILIKE %:name% AND c.status != :status AND c.memberId = :memberId ORDER BY c.name ASC")
+    List<Customer> findAllByNameContainingIgnoreCaseAndStatusIsNotAndMemberIdOrderByNameAsc(@Param("name") String s, @Param("status") EStatus status, @Param("memberId") Long memberId, PageRequest of);
+
+    //Row-value seek on (name, id) for the cursor endpoints, served by idx_customer_member_name
+    @Query("SELECT c FROM Customer c WHERE c.name ILIKE %:name% AND c.status != :status AND c.memberId = :memberId " +
+            "AND (c.name, c.id) > (:afterName, :afterId) " +
+            "ORDER BY c.name ASC, c.id ASC")
+    List<Customer> findAllByNameAfterCursor(@Param("name") String name, @Param("status") EStatus status, @Param("memberId") Long memberId,
+                                            @Param("afterName") String afterName, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Ranked search over full name and email for the search box: prefix matches first, then by trigram
+     * word similarity, so typos and partial words still match. The full name expression is the one indexed in import.sql.
+     */
+    @Query(value = "SELECT c.* FROM tblcustomer c " +
+            "WHERE c.member_id = :memberId AND c.status != 'DELETED' " +
+            "AND ((COALESCE(c.name, '') || ' ' || COALESCE(c.surname, '')) ILIKE CONCAT('%', :text, '%') OR c.email ILIKE CONCAT('%', :text, '%') " +
+            "OR :text <% (COALESCE(c.name, '') || ' ' || COALESCE(c.surname, '')) OR :text <% c.email) " +
+            "ORDER BY (c.name ILIKE CONCAT(:text, '%') OR c.surname ILIKE CONCAT(:text, '%') OR c.email ILIKE CONCAT(:text, '%')) DESC, " +
+            "GREATEST(word_similarity(:text, COALESCE(c.name, '') || ' ' || COALESCE(c.surname, '')), word_similarity(:text, COALESCE(c.email, ''))) DESC, c.name ASC, c.id ASC", nativeQuery = true)
+    List<Customer> search(@Param("text") String text, @Param("memberId") Long memberId, Pageable pageable);
+
     Optional<Customer> findCustomerByEmailIgnoreCase(String email);
 
     Optional<Customer> findByIdAndMemberId(Long id, Long memberId);
 
+    List<Customer> findAllByIdInAndMemberId(Collection<Long> ids, Long memberId);
+
     Optional<Object> findCustomerByEmailIgnoreCaseAndMemberId(String email, Long memberId);
 
     boolean existsByIdentityNoAndMemberId(String s, Long memberId);
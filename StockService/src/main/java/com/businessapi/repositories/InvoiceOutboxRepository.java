@@ -0,0 +1,27 @@
+package com.businessapi.repositories;
+
+import com.businessapi.entities.InvoiceOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface InvoiceOutboxRepository extends JpaRepository<InvoiceOutbox, Long>
+{
+    //Claims the oldest unclaimed rows for claimSeconds in one short statement, other replicas skip the locked and claimed rows
+    @Transactional
+    @Query(value = "UPDATE tblinvoiceoutbox SET claimed_until = now() + make_interval(secs => :claimSeconds) WHERE id IN (" +
+            "SELECT id FROM tblinvoiceoutbox WHERE claimed_until IS NULL OR claimed_until < now() " +
+            "ORDER BY id ASC LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING *", nativeQuery = true)
+    List<InvoiceOutbox> claimOldest(@Param("limit") int limit, @Param("claimSeconds") long claimSeconds);
+
+    //Gives the rows of a failed send back to the next run instead of waiting for the claim to expire
+    @Transactional
+    @Modifying
+    @Query("UPDATE InvoiceOutbox i SET i.claimedUntil = null WHERE i.id IN :ids")
+    int releaseClaim(@Param("ids") Collection<Long> ids);
+}
@@ -1,12 +1,14 @@
 package com.businessapi.repositories;
 
+import com.businessapi.dto.response.BuyOrderResponseDTO;
+import com.businessapi.dto.response.SellOrderResponseDTO;
 import com.businessapi.dto.response.SupplierOrderResponseDTO;
 import com.businessapi.entities.Order;
 import com.businessapi.entities.Supplier;
 import com.businessapi.entities.enums.EOrderType;
 import com.businessapi.entities.enums.EStatus;
-import jakarta.activation.DataContentHandler;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,7 +18,64 @@ import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long>
 {
-    List<Order> findAllByProductIdInAndMemberIdAndStatusIsNotAndOrderType(List<Long> ids,Long memberId,EStatus status, EOrderType orderType, PageRequest of);
+    @Query("SELECT new com.businessapi.dto.response.BuyOrderResponseDTO(o.id, s.name, s.email, p.name, o.unitPrice, o.quantity, o.total, o.orderType, o.createdAt, o.status) FROM Order o " +
+            "JOIN Product p ON p.id = o.productId JOIN Supplier s ON s.id = o.supplierId " +
+            "WHERE p.name ILIKE %:name% " +
+            "AND o.memberId = :memberId " +
+            "AND o.orderType = com.businessapi.entities.enums.EOrderType.BUY " +
+            "AND o.status != :status " +
+            "ORDER BY p.name ASC, o.id ASC")
+    List<BuyOrderResponseDTO> findAllBuyOrdersByProductNameContainingIgnoreCaseAndMemberIdAndStatusNot(
+            @Param("name") String name,
+            @Param("memberId") Long memberId,
+            @Param("status") EStatus status,
+            PageRequest of);
+
+    //Same list as above in id order, sought on the order id with idx_order_member_type_id instead of skipped with an OFFSET.
+    //Product name order can't be sought, the name belongs to the joined product
+    @Query("SELECT new com.businessapi.dto.response.BuyOrderResponseDTO(o.id, s.name, s.email, p.name, o.unitPrice, o.quantity, o.total, o.orderType, o.createdAt, o.status) FROM Order o " +
+            "JOIN Product p ON p.id = o.productId JOIN Supplier s ON s.id = o.supplierId " +
+            "WHERE p.name ILIKE %:name% " +
+            "AND o.memberId = :memberId " +
+            "AND o.orderType = com.businessapi.entities.enums.EOrderType.BUY " +
+            "AND o.status != :status " +
+            "AND o.id > :afterId " +
+            "ORDER BY o.id ASC")
+    List<BuyOrderResponseDTO> findAllBuyOrdersAfterCursor(
+            @Param("name") String name,
+            @Param("memberId") Long memberId,
+            @Param("status") EStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT new com.businessapi.dto.response.SellOrderResponseDTO(o.id, CONCAT(c.name, ' ', c.surname), c.email, p.name, o.unitPrice, o.total, o.quantity, o.orderType, o.createdAt, o.status) FROM Order o " +
+            "JOIN Product p ON p.id = o.productId JOIN Customer c ON c.id = o.customerId " +
+            "WHERE p.name ILIKE %:name% " +
+            "AND o.memberId = :memberId " +
+            "AND o.orderType = com.businessapi.entities.enums.EOrderType.SELL " +
+            "AND o.status != :status " +
+            "ORDER BY p.name ASC, o.id ASC")
+    List<SellOrderResponseDTO> findAllSellOrdersByProductNameContainingIgnoreCaseAndMemberIdAndStatusNot(
+            @Param("name") String name,
+            @Param("memberId") Long memberId,
+            @Param("status") EStatus status,
+            PageRequest of);
+
+    //Same list as above in id order, sought on the order id with idx_order_member_type_id instead of skipped with an OFFSET
+    @Query("SELECT new com.businessapi.dto.response.SellOrderResponseDTO(o.id, CONCAT(c.name, ' ', c.surname), c.email, p.name, o.unitPrice, o.total, o.quantity, o.orderType, o.createdAt, o.status) FROM Order o " +
+            "JOIN Product p ON p.id = o.productId JOIN Customer c ON c.id = o.customerId " +
+            "WHERE p.name ILIKE %:name% " +
+            "AND o.memberId = :memberId " +
+            "AND o.orderType = com.businessapi.entities.enums.EOrderType.SELL " +
+            "AND o.status != :status " +
+            "AND o.id > :afterId " +
+            "ORDER BY o.id ASC")
+    List<SellOrderResponseDTO> findAllSellOrdersAfterCursor(
+            @Param("name") String name,
+            @Param("memberId") Long memberId,
+            @Param("status") EStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 
     @Query("SELECT new com.businessapi.dto.response.SupplierOrderResponseDTO(o.id, p.name, o.unitPrice, o.quantity, o.total, o.orderType, o.createdAt, o.status) FROM Order o " +
             "JOIN Product p ON o.supplierId = p.supplierId " +
@@ -32,4 +91,6 @@ public interface OrderRepository extends JpaRepository<Order, Long>
 
     Optional<Order> findByIdAndMemberId(Long id, Long memberId);
 
+    List<Order> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
 }
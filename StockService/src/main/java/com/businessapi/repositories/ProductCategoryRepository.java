@@ -4,14 +4,26 @@ package com.businessapi.repositories;
 import com.businessapi.entities.ProductCategory;
 import com.businessapi.entities.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long>
 {
-    List<ProductCategory> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(String s, Long memberId, EStatus status,PageRequest of);
+    //ILIKE instead of the derived upper(name) LIKE, so idx_product_category_name_trgm in import.sql can serve it
+    @Query("SELECT pc FROM ProductCategory pc WHERE pc.name ILIKE %:name% AND pc.memberId = :memberId AND pc.status != :status ORDER BY pc.name ASC")
+    List<ProductCategory> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(@Param("name") String s, @Param("memberId") Long memberId, @Param("status") EStatus status, PageRequest of);
+
+    //Row-value seek on (name, id) for the cursor endpoints, served by idx_product_category_member_name
+    @Query("SELECT pc FROM ProductCategory pc WHERE pc.name ILIKE %:name% AND pc.memberId = :memberId AND pc.status != :status " +
+            "AND (pc.name, pc.id) > (:afterName, :afterId) " +
+            "ORDER BY pc.name ASC, pc.id ASC")
+    List<ProductCategory> findAllByNameAfterCursor(@Param("name") String name, @Param("memberId") Long memberId, @Param("status") EStatus status,
+                                                   @Param("afterName") String afterName, @Param("afterId") Long afterId, Pageable pageable);
 
     Boolean existsByMemberIdAndNameIgnoreCase(Long memberId, String name);
 
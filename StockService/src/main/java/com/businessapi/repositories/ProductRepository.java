@@ -5,9 +5,13 @@ import com.businessapi.dto.response.ProductResponseDTO;
 import com.businessapi.entities.Product;
 import com.businessapi.entities.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,18 +24,44 @@ public interface ProductRepository extends JpaRepository<Product, Long>
             "AND p.status = :status " +
             "ORDER BY p.name ASC")
     List<ProductResponseDTO> findAllByNameContainingIgnoreCaseAndStatusAndMemberIdOrderByName(String s, EStatus status, Long memberId, PageRequest of);
+
+    //Row-value seek on (name, id) for the cursor endpoint, served by idx_product_member_name
+    @Query("SELECT new com.businessapi.dto.response.ProductResponseDTO(p.id, s.name, w.name, pc.name, p.name, p.description, p.price, p.stockCount, p.minimumStockLevel, p.isAutoOrderEnabled, p.createdAt, p.updatedAt, p.status) FROM Product p " +
+            "JOIN Supplier s ON s.id = p.supplierId JOIN WareHouse w ON w.id = p.wareHouseId JOIN ProductCategory pc ON pc.id = p.productCategoryId " +
+            "WHERE p.name ILIKE %:name% " +
+            "AND p.memberId = :memberId " +
+            "AND p.status = :status " +
+            "AND (p.name, p.id) > (:afterName, :afterId) " +
+            "ORDER BY p.name ASC, p.id ASC")
+    List<ProductResponseDTO> findAllByNameAfterCursor(@Param("name") String name, @Param("status") EStatus status, @Param("memberId") Long memberId,
+                                                      @Param("afterName") String afterName, @Param("afterId") Long afterId, Pageable pageable);
+
     @Query("SELECT p FROM Product p WHERE p.stockCount < p.minimumStockLevel AND p.status = :status AND p.memberId = :memberId AND p.name ILIKE %:name% ORDER BY p.name ASC")
     List<Product> findAllByMinimumStockLevelAndStatusAndNameContainingIgnoreCaseOrderByNameAsc(
             EStatus status, Long memberId, String name, PageRequest of);
 
-    List<Product> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(String name, Long memberId, EStatus status);
-
+    /**
+     * Ranked search over name and description for the search box: prefix matches of the name first, then by trigram
+     * word similarity, so typos and partial words still match. Served by the pg_trgm indexes in import.sql.
+     */
+    @Query(value = "SELECT p.* FROM tblproduct p " +
+            "WHERE p.member_id = :memberId AND p.status = 'ACTIVE' " +
+            "AND (p.name ILIKE CONCAT('%', :text, '%') OR p.description ILIKE CONCAT('%', :text, '%') OR :text <% p.name OR :text <% p.description) " +
+            "ORDER BY (p.name ILIKE CONCAT(:text, '%')) DESC, " +
+            "GREATEST(word_similarity(:text, p.name), word_similarity(:text, COALESCE(p.description, '')) * 0.5) DESC, p.name ASC, p.id ASC", nativeQuery = true)
+    List<Product> search(@Param("text") String text, @Param("memberId") Long memberId, Pageable pageable);
 
-    List<Product> findAllByNameContainingIgnoreCaseAndMemberIdOrderByNameAsc(String name, Long memberId);
+    Optional<Product>  findByIdAndMemberId(Long id, Long memberId);
 
+    List<Product> findAllByIdInAndMemberId(Collection<Long> ids, Long memberId);
 
-    @Query("SELECT p FROM Product p WHERE p.stockCount < p.minimumStockLevel AND p.status = :status")
-    List<Product> findAllByMinimumStockLevelAndStatus(EStatus status);
+    //Stock count is the total over all warehouses and only changed next to ProductStockRepository's updates, see StockReservationService
+    @Modifying
+    @Query("UPDATE Product p SET p.stockCount = p.stockCount + :delta, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int addToStockCount(@Param("id") Long id, @Param("delta") Integer delta);
 
-    Optional<Product>  findByIdAndMemberId(Long id, Long memberId);
+    @Modifying
+    @Query("UPDATE Product p SET p.stockCount = (SELECT COALESCE(SUM(ps.stockCount), 0) FROM ProductStock ps WHERE ps.productId = p.id), " +
+            "p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int recalculateStockCount(@Param("id") Long id);
 }
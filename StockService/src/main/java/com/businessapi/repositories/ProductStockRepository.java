@@ -0,0 +1,86 @@
+package com.businessapi.repositories;
+
+import com.businessapi.dto.response.ProductStockResponseDTO;
+import com.businessapi.dto.response.WareHouseStockResponseDTO;
+import com.businessapi.entities.ProductStock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductStockRepository extends JpaRepository<ProductStock, ProductStock.Key>
+{
+    //Stock levels are only changed through these single-statement updates, see StockReservationService
+    @Modifying
+    @Query("UPDATE ProductStock ps SET ps.stockCount = ps.stockCount - :quantity, ps.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ps.productId = :productId AND ps.wareHouseId = :wareHouseId AND ps.stockCount >= :quantity")
+    int decreaseStockIfAvailable(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId, @Param("quantity") Integer quantity);
+
+    //Creates the location on its first movement, member and reorder point are taken from the product
+    @Modifying
+    @Query(value = "INSERT INTO tblproductstock (product_id, ware_house_id, member_id, stock_count, minimum_stock_level, is_auto_ordered, updated_at) " +
+            "SELECT p.id, :wareHouseId, p.member_id, :quantity, p.minimum_stock_level, false, now() FROM tblproduct p WHERE p.id = :productId " +
+            "ON CONFLICT (product_id, ware_house_id) DO UPDATE SET " +
+            "stock_count = tblproductstock.stock_count + EXCLUDED.stock_count, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int increaseStock(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId, @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query(value = "INSERT INTO tblproductstock (product_id, ware_house_id, member_id, stock_count, minimum_stock_level, is_auto_ordered, updated_at) " +
+            "SELECT p.id, :wareHouseId, p.member_id, :stockCount, p.minimum_stock_level, false, now() FROM tblproduct p WHERE p.id = :productId " +
+            "ON CONFLICT (product_id, ware_house_id) DO UPDATE SET " +
+            "stock_count = EXCLUDED.stock_count, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int setStockCount(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId, @Param("stockCount") Integer stockCount);
+
+    @Query("SELECT ps.stockCount FROM ProductStock ps WHERE ps.productId = :productId AND ps.wareHouseId = :wareHouseId")
+    Optional<Integer> findStockCount(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+
+    //Row stays locked until commit, so the ledger gets the exact difference of an overwrite
+    @Query(value = "SELECT stock_count FROM tblproductstock WHERE product_id = :productId AND ware_house_id = :wareHouseId FOR UPDATE", nativeQuery = true)
+    Optional<Integer> findStockCountForUpdate(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+
+    @Modifying
+    @Query("UPDATE ProductStock ps SET ps.minimumStockLevel = :minimumStockLevel, ps.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ps.productId = :productId AND ps.wareHouseId = :wareHouseId")
+    int setMinimumStockLevel(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId, @Param("minimumStockLevel") Integer minimumStockLevel);
+
+    //Low stock predicate matches the partial index idx_product_stock_auto_order_candidate in import.sql
+    @Query("SELECT ps FROM ProductStock ps WHERE ps.isAutoOrdered = false AND ps.stockCount < ps.minimumStockLevel " +
+            "AND (ps.productId > :afterProductId OR (ps.productId = :afterProductId AND ps.wareHouseId > :afterWareHouseId)) " +
+            "AND EXISTS (SELECT p.id FROM Product p WHERE p.id = ps.productId AND p.status = com.businessapi.entities.enums.EStatus.ACTIVE AND p.isAutoOrderEnabled = true) " +
+            "ORDER BY ps.productId ASC, ps.wareHouseId ASC")
+    List<ProductStock> findAutoOrderCandidates(@Param("afterProductId") Long afterProductId, @Param("afterWareHouseId") Long afterWareHouseId, Pageable pageable);
+
+    //Only one caller can flip the flag, so only one auto order is created per location and low stock period even across replicas
+    @Modifying
+    @Query("UPDATE ProductStock ps SET ps.isAutoOrdered = true, ps.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ps.productId = :productId AND ps.wareHouseId = :wareHouseId AND ps.isAutoOrdered = false AND ps.stockCount < ps.minimumStockLevel " +
+            "AND EXISTS (SELECT p.id FROM Product p WHERE p.id = ps.productId AND p.status = com.businessapi.entities.enums.EStatus.ACTIVE AND p.isAutoOrderEnabled = true)")
+    int claimAutoOrder(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+
+    @Modifying
+    @Query("UPDATE ProductStock ps SET ps.isAutoOrdered = false, ps.updatedAt = CURRENT_TIMESTAMP WHERE ps.productId = :productId AND ps.wareHouseId = :wareHouseId")
+    int clearAutoOrdered(@Param("productId") Long productId, @Param("wareHouseId") Long wareHouseId);
+
+    @Query("SELECT new com.businessapi.dto.response.ProductStockResponseDTO(p.id, p.name, w.id, w.name, ps.stockCount, ps.minimumStockLevel, ps.isAutoOrdered) FROM ProductStock ps " +
+            "JOIN Product p ON p.id = ps.productId JOIN WareHouse w ON w.id = ps.wareHouseId " +
+            "WHERE ps.productId = :productId AND ps.memberId = :memberId " +
+            "ORDER BY w.name ASC")
+    List<ProductStockResponseDTO> findAllByProductIdAndMemberId(@Param("productId") Long productId, @Param("memberId") Long memberId);
+
+    @Query("SELECT new com.businessapi.dto.response.ProductStockResponseDTO(p.id, p.name, w.id, w.name, ps.stockCount, ps.minimumStockLevel, ps.isAutoOrdered) FROM ProductStock ps " +
+            "JOIN Product p ON p.id = ps.productId JOIN WareHouse w ON w.id = ps.wareHouseId " +
+            "WHERE ps.wareHouseId = :wareHouseId AND ps.memberId = :memberId AND p.status != com.businessapi.entities.enums.EStatus.DELETED " +
+            "ORDER BY p.name ASC")
+    List<ProductStockResponseDTO> findAllByWareHouseIdAndMemberId(@Param("wareHouseId") Long wareHouseId, @Param("memberId") Long memberId, Pageable pageable);
+
+    @Query("SELECT new com.businessapi.dto.response.WareHouseStockResponseDTO(w.id, w.name, COUNT(ps.productId), COALESCE(SUM(ps.stockCount), 0)) FROM ProductStock ps " +
+            "JOIN WareHouse w ON w.id = ps.wareHouseId " +
+            "WHERE ps.memberId = :memberId AND ps.stockCount > 0 " +
+            "GROUP BY w.id, w.name " +
+            "ORDER BY w.name ASC")
+    List<WareHouseStockResponseDTO> sumStockPerWareHouse(@Param("memberId") Long memberId);
+}
@@ -0,0 +1,8 @@
+package com.businessapi.repositories;
+
+import com.businessapi.entities.StockLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StockLedgerRepository extends JpaRepository<StockLedgerEntry, Long>
+{
+}
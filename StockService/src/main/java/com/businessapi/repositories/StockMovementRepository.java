@@ -1,18 +1,53 @@
 package com.businessapi.repositories;
 
 
-import com.businessapi.entities.Order;
+import com.businessapi.dto.response.StockMovementResponseDTO;
 import com.businessapi.entities.StockMovement;
 import com.businessapi.entities.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface StockMovementRepository extends JpaRepository<StockMovement, Long>
 {
-    List<StockMovement> findAllByProductIdInAndStatusIsNot(List<Long> productIdList, EStatus status, PageRequest of);
+    @Query("SELECT new com.businessapi.dto.response.StockMovementResponseDTO(sm.id, p.name, w.name, sm.quantity, sm.status, sm.stockMovementType, sm.createdAt) FROM StockMovement sm " +
+            "JOIN Product p ON p.id = sm.productId JOIN WareHouse w ON w.id = sm.warehouseId " +
+            "WHERE p.name ILIKE %:name% " +
+            "AND sm.memberId = :memberId " +
+            "AND sm.status != :status " +
+            "AND sm.reversalOfId IS NULL AND NOT EXISTS (SELECT r.id FROM StockMovement r WHERE r.reversalOfId = sm.id) " +
+            "ORDER BY p.name ASC, sm.id ASC")
+    List<StockMovementResponseDTO> findAllByProductNameContainingIgnoreCaseAndMemberIdAndStatusNot(
+            @Param("name") String name,
+            @Param("memberId") Long memberId,
+            @Param("status") EStatus status,
+            PageRequest of);
+
+    //Same list as above in id order, sought on the movement id with idx_stock_movement_member_id instead of skipped with an OFFSET.
+    //Product name order can't be sought, the name belongs to the joined product
+    @Query("SELECT new com.businessapi.dto.response.StockMovementResponseDTO(sm.id, p.name, w.name, sm.quantity, sm.status, sm.stockMovementType, sm.createdAt) FROM StockMovement sm " +
+            "JOIN Product p ON p.id = sm.productId JOIN WareHouse w ON w.id = sm.warehouseId " +
+            "WHERE p.name ILIKE %:name% " +
+            "AND sm.memberId = :memberId " +
+            "AND sm.status != :status " +
+            "AND sm.reversalOfId IS NULL AND NOT EXISTS (SELECT r.id FROM StockMovement r WHERE r.reversalOfId = sm.id) " +
+            "AND sm.id > :afterId " +
+            "ORDER BY sm.id ASC")
+    List<StockMovementResponseDTO> findAllAfterCursor(
+            @Param("name") String name,
+            @Param("memberId") Long memberId,
+            @Param("status") EStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 
     Optional<StockMovement> findByIdAndMemberId(Long id, Long memberId);
+
+    boolean existsByReversalOfId(Long reversalOfId);
+
+    List<StockMovement> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -0,0 +1,50 @@
+package com.businessapi.repositories;
+
+import com.businessapi.entities.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, StockSnapshot.Key>
+{
+    @Query("SELECT MAX(s.takenAt) FROM StockSnapshot s WHERE s.takenAt < :before")
+    Optional<LocalDateTime> findLatestTakenAtBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Snapshots every location that had ledger entries in (from, takenAt]: its previous snapshot plus the entries since.
+     * Locations without a change keep their previous snapshot, a point-in-time read just goes back further for them.
+     * Conflicts are skipped, so two replicas taking the same snapshot write it once.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tblstocksnapshot (product_id, ware_house_id, taken_at, stock_count) " +
+            "SELECT c.product_id, c.ware_house_id, :takenAt, COALESCE(s.stock_count, 0) + " +
+            "(SELECT COALESCE(SUM(l.quantity), 0) FROM tblstockledger l WHERE l.product_id = c.product_id AND l.ware_house_id = c.ware_house_id " +
+            "AND l.occurred_at > COALESCE(s.taken_at, CAST('-infinity' AS timestamp)) AND l.occurred_at <= :takenAt) " +
+            "FROM (SELECT DISTINCT product_id, ware_house_id FROM tblstockledger WHERE occurred_at > :from AND occurred_at <= :takenAt) c " +
+            "LEFT JOIN LATERAL (SELECT ls.stock_count, ls.taken_at FROM tblstocksnapshot ls WHERE ls.product_id = c.product_id AND ls.ware_house_id = c.ware_house_id " +
+            "AND ls.taken_at < :takenAt ORDER BY ls.taken_at DESC LIMIT 1) s ON true " +
+            "ON CONFLICT (product_id, ware_house_id, taken_at) DO NOTHING", nativeQuery = true)
+    int takeSnapshot(@Param("from") LocalDateTime from, @Param("takenAt") LocalDateTime takenAt);
+
+    /**
+     * Stock of the member's products per warehouse at the given time: the latest snapshot not after it plus the ledger
+     * entries between that snapshot and the given time, so at most one snapshot period of entries is read per location.
+     *
+     * @return rows of [productId, productName, wareHouseId, wareHouseName, stockCount]
+     */
+    @Query(value = "SELECT ps.product_id, p.name, ps.ware_house_id, w.name, COALESCE(s.stock_count, 0) + " +
+            "(SELECT COALESCE(SUM(l.quantity), 0) FROM tblstockledger l WHERE l.product_id = ps.product_id AND l.ware_house_id = ps.ware_house_id " +
+            "AND l.occurred_at > COALESCE(s.taken_at, CAST('-infinity' AS timestamp)) AND l.occurred_at <= :at) " +
+            "FROM tblproductstock ps " +
+            "JOIN tblproduct p ON p.id = ps.product_id JOIN tblwarehouse w ON w.id = ps.ware_house_id " +
+            "LEFT JOIN LATERAL (SELECT ls.stock_count, ls.taken_at FROM tblstocksnapshot ls WHERE ls.product_id = ps.product_id AND ls.ware_house_id = ps.ware_house_id " +
+            "AND ls.taken_at <= :at ORDER BY ls.taken_at DESC LIMIT 1) s ON true " +
+            "WHERE ps.member_id = :memberId AND (CAST(:productId AS bigint) IS NULL OR ps.product_id = :productId) " +
+            "ORDER BY p.name ASC, w.name ASC", nativeQuery = true)
+    List<Object[]> findStockAt(@Param("memberId") Long memberId, @Param("productId") Long productId, @Param("at") LocalDateTime at);
+}
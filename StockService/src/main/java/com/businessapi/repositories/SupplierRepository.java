@@ -4,14 +4,26 @@ package com.businessapi.repositories;
 import com.businessapi.entities.Supplier;
 import com.businessapi.entities.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface SupplierRepository extends JpaRepository<Supplier, Long>
 {
-    List<Supplier> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(String s, Long memberId, EStatus status, PageRequest of);
+    //ILIKE instead of the derived upper(name) LIKE, so idx_supplier_name_trgm in import.sql can serve it
+    @Query("SELECT s FROM Supplier s WHERE s.name ILIKE %:name% AND s.memberId = :memberId AND s.status != :status ORDER BY s.name ASC")
+    List<Supplier> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(@Param("name") String s, @Param("memberId") Long memberId, @Param("status") EStatus status, PageRequest of);
+
+    //Row-value seek on (name, id) for the cursor endpoints, served by idx_supplier_member_name
+    @Query("SELECT s FROM Supplier s WHERE s.name ILIKE %:name% AND s.memberId = :memberId AND s.status != :status " +
+            "AND (s.name, s.id) > (:afterName, :afterId) " +
+            "ORDER BY s.name ASC, s.id ASC")
+    List<Supplier> findAllByNameAfterCursor(@Param("name") String name, @Param("memberId") Long memberId, @Param("status") EStatus status,
+                                            @Param("afterName") String afterName, @Param("afterId") Long afterId, Pageable pageable);
 
     Optional<Supplier> findByAuthId(Long authId);
 
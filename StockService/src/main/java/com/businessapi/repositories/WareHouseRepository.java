@@ -4,14 +4,29 @@ package com.businessapi.repositories;
 import com.businessapi.entities.WareHouse;
 import com.businessapi.entities.enums.EStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface WareHouseRepository extends JpaRepository<WareHouse, Long>
 {
-    List<WareHouse> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(String name, Long memberId, EStatus status, PageRequest pageRequest);
+    //ILIKE instead of the derived upper(name) LIKE, so idx_warehouse_name_trgm in import.sql can serve it
+    @Query("SELECT w FROM WareHouse w WHERE w.name ILIKE %:name% AND w.memberId = :memberId AND w.status != :status ORDER BY w.name ASC")
+    List<WareHouse> findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(@Param("name") String name, @Param("memberId") Long memberId, @Param("status") EStatus status, PageRequest pageRequest);
+
+    //Row-value seek on (name, id) for the cursor endpoints, served by idx_warehouse_member_name
+    @Query("SELECT w FROM WareHouse w WHERE w.name ILIKE %:name% AND w.memberId = :memberId AND w.status != :status " +
+            "AND (w.name, w.id) > (:afterName, :afterId) " +
+            "ORDER BY w.name ASC, w.id ASC")
+    List<WareHouse> findAllByNameAfterCursor(@Param("name") String name, @Param("memberId") Long memberId, @Param("status") EStatus status,
+                                             @Param("afterName") String afterName, @Param("afterId") Long afterId, Pageable pageable);
 
     Optional<WareHouse> findByIdAndMemberId(Long id, Long memberId);
+
+    List<WareHouse> findAllByIdInAndMemberId(Collection<Long> ids, Long memberId);
 }
@@ -0,0 +1,76 @@
+package com.businessapi.services;
+
+import com.businessapi.RabbitMQ.Model.EmailSendModal;
+import com.businessapi.dto.request.BuyOrderSaveRequestDTO;
+import com.businessapi.entities.Product;
+import com.businessapi.entities.ProductStock;
+import com.businessapi.entities.Supplier;
+import com.businessapi.repositories.ProductRepository;
+import com.businessapi.repositories.ProductStockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Creates the buy order for a product that fell below the minimum stock level of one of its warehouses.
+ * Low stock is detected right after a stock decrease commits, AutoOrderScheduler only sweeps for what was missed.
+ * The location is claimed with one conditional UPDATE before ordering, so concurrent callers on any replica create
+ * at most one auto order per location until the order arrives there and the flag is cleared again.
+ */
+@Service
+@RequiredArgsConstructor
+public class AutoOrderService
+{
+    private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final OrderService orderService;
+    private final SupplierService supplierService;
+    private final RabbitTemplate rabbitTemplate;
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onStockDecreased(StockReservationService.StockDecreased event)
+    {
+        autoOrderIfLow(event.productId(), event.wareHouseId());
+    }
+
+    /**
+     * Orders minimum stock level * 2 of the product into the warehouse from its supplier and informs the supplier by mail
+     *
+     * @param productId   product to check
+     * @param wareHouseId warehouse to check
+     * @return false if the location is not low on stock, the product has auto order disabled or it was already auto ordered
+     */
+    @Transactional
+    public boolean autoOrderIfLow(Long productId, Long wareHouseId)
+    {
+        if (productStockRepository.claimAutoOrder(productId, wareHouseId) == 0)
+        {
+            return false;
+        }
+        Product product = productRepository.findById(productId).orElseThrow();
+        ProductStock productStock = productStockRepository.findById(new ProductStock.Key(productId, wareHouseId)).orElseThrow();
+        Supplier supplier = supplierService.findById(product.getSupplierId());
+
+        //TODO AUTO ORDER COUNT SET TO MINSTOCKLEVEL*2 MAYBE IT CAN BE CHANGED LATER
+        int quantity = productStock.getMinimumStockLevel() * 2;
+        orderService.saveBuyOrderForAutoScheduler(new BuyOrderSaveRequestDTO(product.getSupplierId(), product.getId(), quantity, wareHouseId), product.getMemberId());
+
+        //Sending suppliers email to inform them, only once the order is committed
+        EmailSendModal mail = new EmailSendModal(supplier.getEmail(), "Auto Order", "Your product " + product.getName() + " is below minimum stock level. We would like to order " + quantity + " of it.");
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                rabbitTemplate.convertAndSend("businessDirectExchange", "keySendMail", mail);
+            }
+        });
+        return true;
+    }
+}
@@ -1,6 +1,8 @@
 package com.businessapi.services;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.CustomerSaveRequestDTO;
 import com.businessapi.dto.response.CustomerUpdateRequestDTO;
 import com.businessapi.entities.Customer;
@@ -8,11 +10,13 @@ import com.businessapi.entities.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.StockServiceException;
 import com.businessapi.repositories.CustomerRepository;
+import com.businessapi.util.PageCursor;
 import com.businessapi.util.SessionManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -102,6 +106,25 @@ public class CustomerService
         return customerRepository.findAllByNameContainingIgnoreCaseAndStatusIsNotAndMemberIdOrderByNameAsc(dto.searchText(), EStatus.DELETED, SessionManager.getMemberIdFromAuthenticatedMember(), PageRequest.of(dto.page(), dto.size()));
     }
 
+    // Keyset version of the list above, the cursor is the (name, id) of the last row of the previous page
+    public CursorPageResponseDTO<Customer> findAllByCursor(CursorPageRequestDTO dto)
+    {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<Customer> rows = customerRepository.findAllByNameAfterCursor(dto.searchText(), EStatus.DELETED, SessionManager.getMemberIdFromAuthenticatedMember(), after.keyOrEmpty(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), Customer::getName, Customer::getId);
+    }
+
+    /**
+     * Ranked search of the member's customers by full name and email, tolerant to typos and partial words
+     *
+     * @param dto search text , page number , page size parameters
+     * @return List of Customer, best match first
+     */
+    public List<Customer> search(PageRequestDTO dto)
+    {
+        return customerRepository.search(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), PageRequest.of(dto.page(), dto.size()));
+    }
+
     public Customer findByIdAndMemberId(Long id)
     {
 
@@ -110,6 +133,11 @@ public class CustomerService
     }
 
 
+    public List<Customer> findAllByIdInAndMemberId(Collection<Long> ids)
+    {
+        return customerRepository.findAllByIdInAndMemberId(ids, SessionManager.getMemberIdFromAuthenticatedMember());
+    }
+
     public Customer findbyId(Long aLong)
     {
         return customerRepository.findById(aLong).orElseThrow(() -> new StockServiceException(ErrorType.CUSTOMER_NOT_FOUND));
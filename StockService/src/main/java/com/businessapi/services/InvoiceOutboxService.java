@@ -0,0 +1,162 @@
+package com.businessapi.services;
+
+import com.businessapi.RabbitMQ.Model.InvoiceBatchModel;
+import com.businessapi.RabbitMQ.Model.InvoiceModel;
+import com.businessapi.entities.Customer;
+import com.businessapi.entities.InvoiceOutbox;
+import com.businessapi.entities.Order;
+import com.businessapi.entities.Product;
+import com.businessapi.exception.ErrorType;
+import com.businessapi.exception.StockServiceException;
+import com.businessapi.repositories.InvoiceOutboxRepository;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transactional outbox for the invoices of sell orders.
+ * Orders write their invoice rows in their own transaction, so an invoice exists exactly when its order is committed.
+ * InvoiceOutboxRelay then sends the oldest rows to FinanceService as one batch message and deletes them once the broker
+ * confirms it. The rows are claimed for claim-timeout in a short transaction and deleted in a second one, so no row lock or
+ * connection is held while waiting for the confirm. A crash between the confirm and the delete, or a claim that expires,
+ * sends the batch again, FinanceService skips order ids it already has.
+ */
+@Service
+public class InvoiceOutboxService
+{
+    private final InvoiceOutboxRepository invoiceOutboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration claimTimeout;
+
+    public InvoiceOutboxService(InvoiceOutboxRepository invoiceOutboxRepository,
+                                RabbitTemplate rabbitTemplate,
+                                @Value("${stock.invoice-outbox.batch-size:500}") int batchSize,
+                                @Value("${stock.invoice-outbox.confirm-timeout:10s}") Duration confirmTimeout,
+                                @Value("${stock.invoice-outbox.claim-timeout:60s}") Duration claimTimeout)
+    {
+        if (claimTimeout.compareTo(confirmTimeout) <= 0)
+        {
+            throw new IllegalArgumentException("stock.invoice-outbox.claim-timeout must be longer than confirm-timeout");
+        }
+        this.invoiceOutboxRepository = invoiceOutboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Order order, Customer customer, Product product, LocalDate invoiceDate)
+    {
+        invoiceOutboxRepository.save(toOutbox(order, customer, product, invoiceDate));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(List<InvoiceOutbox> invoices)
+    {
+        invoiceOutboxRepository.saveAll(invoices);
+    }
+
+    public static InvoiceOutbox toOutbox(Order order, Customer customer, Product product, LocalDate invoiceDate)
+    {
+        return InvoiceOutbox
+                .builder()
+                .orderId(order.getId())
+                .buyerTcNo(customer.getIdentityNo())
+                .buyerEmail(customer.getEmail())
+                .buyerPhone(customer.getPhoneNo())
+                .productId(product.getId())
+                .productName(product.getName())
+                .quantity(order.getQuantity())
+                .price(product.getPrice())
+                .totalAmount(order.getTotal())
+                .invoiceDate(invoiceDate)
+                .build();
+    }
+
+    /**
+     * Sends the oldest waiting invoices as one message and waits for the publisher confirm before deleting them.
+     * Runs outside a transaction: claiming and deleting are separate short transactions of the repository.
+     *
+     * @return number of invoices sent, less than the batch size when the outbox is drained
+     */
+    public int relayBatch()
+    {
+        List<InvoiceOutbox> invoices = invoiceOutboxRepository.claimOldest(batchSize, claimTimeout.toSeconds()).stream()
+                .sorted(Comparator.comparing(InvoiceOutbox::getId))
+                .toList();
+        if (invoices.isEmpty())
+        {
+            return 0;
+        }
+        List<Long> ids = invoices.stream().map(InvoiceOutbox::getId).toList();
+        try
+        {
+            CorrelationData correlationData = new CorrelationData();
+            rabbitTemplate.convertAndSend("businessDirectExchange", "keyGetModelBatchFromStockService",
+                    new InvoiceBatchModel(invoices.stream().map(InvoiceOutboxService::toModel).toList()), correlationData);
+            awaitAck(correlationData);
+        }
+        catch (RuntimeException e)
+        {
+            //Without the release the rows are sent again once the claim expires
+            try
+            {
+                invoiceOutboxRepository.releaseClaim(ids);
+            }
+            catch (RuntimeException releaseFailure)
+            {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+        invoiceOutboxRepository.deleteAllByIdInBatch(ids);
+        return invoices.size();
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    private void awaitAck(CorrelationData correlationData)
+    {
+        CorrelationData.Confirm confirm;
+        try
+        {
+            confirm = correlationData.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new StockServiceException(ErrorType.INVOICE_PUBLISH_FAILED, "Interrupted while waiting for the broker");
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            throw new StockServiceException(ErrorType.INVOICE_PUBLISH_FAILED, "No confirm from the broker in " + confirmTimeout);
+        }
+        if (!confirm.isAck())
+        {
+            throw new StockServiceException(ErrorType.INVOICE_PUBLISH_FAILED, confirm.getReason());
+        }
+    }
+
+    private static InvoiceModel toModel(InvoiceOutbox invoice)
+    {
+        return new InvoiceModel(invoice.getOrderId(), invoice.getBuyerTcNo(), invoice.getBuyerEmail(), invoice.getBuyerPhone(), invoice.getProductId(),
+                invoice.getProductName(), invoice.getQuantity(), invoice.getPrice(), invoice.getTotalAmount(), invoice.getInvoiceDate());
+    }
+}
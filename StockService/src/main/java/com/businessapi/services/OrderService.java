@@ -1,32 +1,44 @@
 package com.businessapi.services;
 
-import com.businessapi.RabbitMQ.Model.InvoiceModel;
+import com.businessapi.RabbitMQ.Model.AnalyticsBackfillRequestModel;
+import com.businessapi.RabbitMQ.Model.OrderEventModel;
 import com.businessapi.dto.request.*;
 import com.businessapi.dto.response.BuyOrderResponseDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.SellOrderResponseDTO;
 import com.businessapi.dto.response.SupplierOrderResponseDTO;
 import com.businessapi.entities.Customer;
 import com.businessapi.entities.Order;
 import com.businessapi.entities.Product;
+import com.businessapi.entities.ProductStock;
 import com.businessapi.entities.Supplier;
+import com.businessapi.entities.WareHouse;
 import com.businessapi.entities.enums.EOrderType;
 import com.businessapi.entities.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.StockServiceException;
 import com.businessapi.repositories.OrderRepository;
+import com.businessapi.util.AnalyticsEventPublisher;
+import com.businessapi.util.PageCursor;
 import com.businessapi.util.SessionManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,15 +48,21 @@ public class OrderService
     private final OrderRepository orderRepository;
     private final ProductService productService;
     private final CustomerService customerService;
-    private final RabbitTemplate rabbitTemplate;
+    private final StockReservationService stockReservationService;
+    private final WareHouseService wareHouseService;
+    private final InvoiceOutboxService invoiceOutboxService;
     private SupplierService supplierService;
 
+    @Value("${stock.order-batch.max-size:5000}")
+    private int maxOrderBatchSize;
+
     @Autowired
     private void setService(@Lazy SupplierService supplierService)
     {
         this.supplierService = supplierService;
     }
 
+    @Transactional
     public Boolean saveSellOrder(SellOrderSaveRequestDTO dto)
     {
         if (dto.quantity() < 0)
@@ -52,16 +70,13 @@ public class OrderService
             throw new StockServiceException(ErrorType.VALUE_CAN_NOT_BE_BELOW_ZERO);
         }
         Product product = productService.findByIdAndMemberId(dto.productId());
-        if (product.getStockCount() <= dto.quantity())
-        {
-            throw new StockServiceException(ErrorType.INSUFFICIENT_STOCK, product.getName() + " Stock count is: " + product.getStockCount());
-        }
         if (product.getStatus() != EStatus.ACTIVE)
         {
             throw new StockServiceException(ErrorType.PRODUCT_NOT_ACTIVE);
         }
         //TODO IT CAN BE MOVED TO SOMEWHERE LIKE APPROVEOFFER.
-        product.setStockCount(product.getStockCount() - dto.quantity());
+        Long wareHouseId = dto.wareHouseId() != null ? wareHouseService.findByIdAndMemberId(dto.wareHouseId()).getId() : product.getWareHouseId();
+        stockReservationService.reserve(product.getId(), wareHouseId, product.getName(), dto.quantity());
 
         Order order = Order
                 .builder()
@@ -70,30 +85,109 @@ public class OrderService
                 .unitPrice(product.getPrice())
                 .quantity(dto.quantity())
                 .productId(dto.productId())
+                .wareHouseId(wareHouseId)
                 .orderType(EOrderType.SELL)
                 .build();
 
         Order savedOrder = orderRepository.save(order);
         Customer customer = customerService.findByIdAndMemberId(dto.customerId());
-        InvoiceModel invoiceModel = new InvoiceModel(customer.getIdentityNo(), customer.getEmail(), customer.getPhoneNo(), product.getId(), product.getName(),dto.quantity(),product.getPrice(),savedOrder.getTotal(), savedOrder.getCreatedAt().toLocalDate());
-        rabbitTemplate.convertAndSend("businessDirectExchange", "keyGetModelFromStockService",invoiceModel );
+        //Committed together with the order, InvoiceOutboxRelay sends it to FinanceService
+        invoiceOutboxService.add(savedOrder, customer, product, LocalDate.now());
         return true;
     }
 
+    /**
+     * Creates many sell orders in one transaction.
+     * Products, customers and the given warehouses are loaded with one member-scoped IN query each, stock is reserved once per product for the summed
+     * quantity, orders and their invoice outbox rows are inserted through JDBC batches. Any invalid line rejects the whole batch.
+     *
+     * @param dto order lines
+     * @return ids of the created orders, in the order of the lines
+     */
+    @Transactional
+    public List<Long> saveSellOrders(SellOrderBatchSaveRequestDTO dto)
+    {
+        List<SellOrderSaveRequestDTO> lines = dto.orders() == null ? List.of() : dto.orders();
+        if (lines.size() > maxOrderBatchSize)
+        {
+            throw new StockServiceException(ErrorType.ORDER_BATCH_TOO_LARGE, "At most " + maxOrderBatchSize + " orders can be sent at once");
+        }
+        Long memberId = SessionManager.getMemberIdFromAuthenticatedMember();
+
+        Map<Long, Product> products = productService.findAllByIdInAndMemberId(lines.stream().map(SellOrderSaveRequestDTO::productId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Customer> customers = customerService.findAllByIdInAndMemberId(lines.stream().map(SellOrderSaveRequestDTO::customerId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Set<Long> wareHouseIds = wareHouseService.findAllByIdInAndMemberId(lines.stream().map(SellOrderSaveRequestDTO::wareHouseId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().map(WareHouse::getId).collect(Collectors.toSet());
+
+        //(product, warehouse) -> summed quantity, sorted so stripes are always taken in the same order
+        Map<ProductStock.Key, Integer> quantities = new TreeMap<>(Comparator.comparing(ProductStock.Key::getProductId).thenComparing(ProductStock.Key::getWareHouseId));
+        for (SellOrderSaveRequestDTO line : lines)
+        {
+            if (line.quantity() == null || line.quantity() < 0)
+            {
+                throw new StockServiceException(ErrorType.VALUE_CAN_NOT_BE_BELOW_ZERO);
+            }
+            Product product = products.get(line.productId());
+            if (product == null)
+            {
+                throw new StockServiceException(ErrorType.PRODUCT_NOT_FOUND, "Product id: " + line.productId());
+            }
+            if (product.getStatus() != EStatus.ACTIVE)
+            {
+                throw new StockServiceException(ErrorType.PRODUCT_NOT_ACTIVE, product.getName());
+            }
+            if (!customers.containsKey(line.customerId()))
+            {
+                throw new StockServiceException(ErrorType.CUSTOMER_NOT_FOUND, "Customer id: " + line.customerId());
+            }
+            if (line.wareHouseId() != null && !wareHouseIds.contains(line.wareHouseId()))
+            {
+                throw new StockServiceException(ErrorType.WAREHOUSE_NOT_FOUND, "Warehouse id: " + line.wareHouseId());
+            }
+            quantities.merge(new ProductStock.Key(line.productId(), wareHouseOf(line, product)), line.quantity(), Integer::sum);
+        }
+        quantities.forEach((location, quantity) -> stockReservationService.reserve(location.getProductId(), location.getWareHouseId(), products.get(location.getProductId()).getName(), quantity));
+
+        List<Order> orders = orderRepository.saveAll(lines.stream()
+                .<Order>map(line -> Order
+                        .builder()
+                        .memberId(memberId)
+                        .customerId(line.customerId())
+                        .unitPrice(products.get(line.productId()).getPrice())
+                        .quantity(line.quantity())
+                        .productId(line.productId())
+                        .wareHouseId(wareHouseOf(line, products.get(line.productId())))
+                        .orderType(EOrderType.SELL)
+                        .build())
+                .toList());
+
+        LocalDate invoiceDate = LocalDate.now();
+        invoiceOutboxService.addAll(orders.stream()
+                .map(order -> InvoiceOutboxService.toOutbox(order, customers.get(order.getCustomerId()), products.get(order.getProductId()), invoiceDate))
+                .toList());
+
+        return orders.stream().map(Order::getId).toList();
+    }
+
+    private static Long wareHouseOf(SellOrderSaveRequestDTO line, Product product)
+    {
+        return line.wareHouseId() != null ? line.wareHouseId() : product.getWareHouseId();
+    }
+
+    @Transactional
     public Boolean saveSellOrderForDemoData(SellOrderSaveRequestDTO dto)
     {
 
         Product product = productService.findById(dto.productId());
-        if (product.getStockCount() <= dto.quantity())
-        {
-            throw new StockServiceException(ErrorType.INSUFFICIENT_STOCK, product.getName() + " Stock count is: " + product.getStockCount());
-        }
         if (product.getStatus() != EStatus.ACTIVE)
         {
             throw new StockServiceException(ErrorType.PRODUCT_NOT_ACTIVE);
         }
         //TODO IT CAN BE MOVED TO SOMEWHERE LIKE APPROVEOFFER.
-        product.setStockCount(product.getStockCount() - dto.quantity());
+        Long wareHouseId = dto.wareHouseId() != null ? dto.wareHouseId() : product.getWareHouseId();
+        stockReservationService.reserve(product.getId(), wareHouseId, product.getName(), dto.quantity());
 
         Order order = Order
                 .builder()
@@ -102,13 +196,13 @@ public class OrderService
                 .unitPrice(product.getPrice())
                 .quantity(dto.quantity())
                 .productId(dto.productId())
+                .wareHouseId(wareHouseId)
                 .orderType(EOrderType.SELL)
                 .build();
 
         Order savedOrder = orderRepository.save(order);
         Customer customer = customerService.findbyId(dto.customerId());
-        InvoiceModel invoiceModel = new InvoiceModel(customer.getIdentityNo(), customer.getEmail(), customer.getPhoneNo(), product.getId(), product.getName(),dto.quantity(),product.getPrice(),savedOrder.getTotal(), savedOrder.getCreatedAt().toLocalDate());
-        rabbitTemplate.convertAndSend("businessDirectExchange", "keyGetModelFromStockService",invoiceModel );
+        invoiceOutboxService.add(savedOrder, customer, product, LocalDate.now());
         return true;
     }
 
@@ -123,6 +217,7 @@ public class OrderService
         {
             throw new StockServiceException(ErrorType.PRODUCT_NOT_ACTIVE);
         }
+        Long wareHouseId = dto.wareHouseId() != null ? wareHouseService.findByIdAndMemberId(dto.wareHouseId()).getId() : product.getWareHouseId();
 
         Order order = Order
                 .builder()
@@ -131,6 +226,7 @@ public class OrderService
                 .unitPrice(product.getPrice())
                 .quantity(dto.quantity())
                 .productId(dto.productId())
+                .wareHouseId(wareHouseId)
                 .orderType(EOrderType.BUY)
                 .build();
 
@@ -145,6 +241,7 @@ public class OrderService
         {
             throw new StockServiceException(ErrorType.PRODUCT_NOT_ACTIVE);
         }
+        Long wareHouseId = dto.wareHouseId() != null ? dto.wareHouseId() : product.getWareHouseId();
 
         Order order = Order
                 .builder()
@@ -153,6 +250,7 @@ public class OrderService
                 .unitPrice(product.getPrice())
                 .quantity(dto.quantity())
                 .productId(dto.productId())
+                .wareHouseId(wareHouseId)
                 .orderType(EOrderType.BUY)
                 .build();
 
@@ -165,6 +263,7 @@ public class OrderService
         orderRepository.save(order);
     }
 
+    @Transactional
     public Boolean delete(Long id)
     {
         Order order = orderRepository.findByIdAndMemberId(id, SessionManager.getMemberIdFromAuthenticatedMember()).orElseThrow(() -> new StockServiceException(ErrorType.ORDER_NOT_FOUND));
@@ -173,11 +272,11 @@ public class OrderService
         {
             throw new StockServiceException(ErrorType.ORDER_CAN_NOT_BE_DELETED);
         }
-        if (order.getOrderType() == EOrderType.SELL)
+        //A deleted sell order already gave its stock back
+        if (order.getOrderType() == EOrderType.SELL && order.getStatus() != EStatus.DELETED)
         {
             Product product = productService.findByIdAndMemberId(order.getProductId());
-            product.setStockCount(product.getStockCount() + order.getQuantity());
-            productService.save(product);
+            stockReservationService.release(product.getId(), order.getWareHouseId(), order.getQuantity());
         }
 
         order.setStatus(EStatus.DELETED);
@@ -204,6 +303,7 @@ public class OrderService
         return true;
     }
 
+    @Transactional
     public Boolean updateSellOrder(SellOrderUpdateRequestDTO dto)
     {
         if (dto.quantity() < 0)
@@ -212,23 +312,33 @@ public class OrderService
         }
         Order order = orderRepository.findByIdAndMemberId(dto.id(), SessionManager.getMemberIdFromAuthenticatedMember())
                 .orElseThrow(() -> new StockServiceException(ErrorType.ORDER_NOT_FOUND));
+        if (order.getOrderType() != EOrderType.SELL)
+        {
+            throw new StockServiceException(ErrorType.WRONG_ORDER_TYPE);
+        }
+        //A deleted order already gave its stock back, an arrived or approved one has left the warehouse, adjusting would reserve again
+        if (order.getStatus() == EStatus.DELETED)
+        {
+            throw new StockServiceException(ErrorType.ORDER_NOT_ACTIVE);
+        }
+        if (order.getStatus() == EStatus.ARRIVED || order.getStatus() == EStatus.APPROVED)
+        {
+            throw new StockServiceException(ErrorType.ORDER_CAN_NOT_BE_UPDATED);
+        }
 
         Product product = productService.findByIdAndMemberId(dto.productId());
 
-        Integer stockDifference = dto.quantity() - order.getQuantity();
-
-        if (stockDifference < 0)
+        if (product.getId().equals(order.getProductId()))
         {
-            product.setStockCount(product.getStockCount() + Math.abs(stockDifference));
-        } else if (stockDifference > 0)
+            //Only the difference is reserved or given back
+            stockReservationService.adjust(product.getId(), order.getWareHouseId(), product.getName(), order.getQuantity() - dto.quantity());
+        }
+        else
         {
-
-            if (product.getStockCount() < stockDifference)
-            {
-
-                throw new StockServiceException(ErrorType.INSUFFICIENT_STOCK, product.getName() + " Stock count is: " + product.getStockCount());
-            }
-            product.setStockCount(product.getStockCount() - stockDifference);
+            //Product changed, the new product is reserved from its own warehouse first so a failure leaves the old reservation untouched
+            stockReservationService.reserve(product.getId(), product.getWareHouseId(), product.getName(), dto.quantity());
+            stockReservationService.release(order.getProductId(), order.getWareHouseId(), order.getQuantity());
+            order.setWareHouseId(product.getWareHouseId());
         }
 
         order.setQuantity(dto.quantity());
@@ -237,7 +347,6 @@ public class OrderService
 
 
         orderRepository.save(order);
-        productService.save(product);
 
         return true;
     }
@@ -253,63 +362,53 @@ public class OrderService
     }
 
     /**
-     * Finds products with name containing search text
-     * Finds buy orders with respect to pagination
-     * Converts orders to BuyOrderResponseDTO
+     * Finds buy orders whose product name contains search text
+     * Product and supplier are joined in the same query, sorting and pagination happen in the database
      *
      * @param dto search text , page number , page size parameters
      * @return List of BuyOrderResponseDTO
      */
     public List<BuyOrderResponseDTO> findAllBuyOrders(PageRequestDTO dto)
     {
-        //Finds products with name containing search text
-        List<Product> products = productService.findAllByNameContainingIgnoreCaseAndMemberIdOrderByNameAsc(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember());
-        //Mapping products to their ids
-        List<Long> productIdList = products.stream().map(Product::getId).collect(Collectors.toList());
-        //Finds buy orders with respect to pagination, order type and product ids
-        List<Order> orderList = orderRepository.findAllByProductIdInAndMemberIdAndStatusIsNotAndOrderType(productIdList, SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, EOrderType.BUY, PageRequest.of(dto.page(), dto.size()));
-        List<BuyOrderResponseDTO> buyOrderResponseDTOList = new ArrayList<>();
-        //Converting orders to BuyOrderResponseDTO and finding productName + supplierName
-        orderList.stream().forEach(order ->
-        {
-            String productName = products.stream().filter(product -> product.getId() == order.getProductId()).findFirst().get().getName();
-            Supplier supplier = supplierService.findByIdAndMemberId(order.getSupplierId());
-            buyOrderResponseDTOList.add(new BuyOrderResponseDTO(order.getId(), supplier.getName(), supplier.getEmail(), productName, order.getUnitPrice(), order.getQuantity(), order.getTotal(), order.getOrderType(), order.getCreatedAt(), order.getStatus()));
-        });
-        return buyOrderResponseDTOList.stream()
-                .sorted(Comparator.comparing(BuyOrderResponseDTO::productName))
-                .collect(Collectors.toList());
+        return orderRepository.findAllBuyOrdersByProductNameContainingIgnoreCaseAndMemberIdAndStatusNot(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, PageRequest.of(dto.page(), dto.size()));
     }
 
     /**
-     * Finds products with name containing search text
-     * Finds sell orders with respect to pagination
-     * Converts orders to SellOrderResponseDTO
+     * Keyset version of findAllBuyOrders in id order, the cursor is the id of the last order of the previous page
+     *
+     * @param dto search text , cursor of the previous page , page size parameters
+     * @return page of BuyOrderResponseDTO and the cursor of the next page
+     */
+    public CursorPageResponseDTO<BuyOrderResponseDTO> findAllBuyOrdersByCursor(CursorPageRequestDTO dto)
+    {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<BuyOrderResponseDTO> rows = orderRepository.findAllBuyOrdersAfterCursor(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), BuyOrderResponseDTO::id);
+    }
+
+    /**
+     * Finds sell orders whose product name contains search text
+     * Product and customer are joined in the same query, sorting and pagination happen in the database
      *
      * @param dto search text , page number , page size parameters
      * @return List of SellOrderResponseDTO
      */
     public List<SellOrderResponseDTO> findAllSellOrders(PageRequestDTO dto)
     {
-        //Finds products with name containing search text
-        List<Product> products = productService.findAllByNameContainingIgnoreCaseAndMemberIdOrderByNameAsc(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember());
-        //Mapping products to their ids
-        List<Long> productIdList = products.stream().map(Product::getId).collect(Collectors.toList());
-        //Finds buy orders with respect to pagination, order type and product ids
-        List<Order> orderList = orderRepository.findAllByProductIdInAndMemberIdAndStatusIsNotAndOrderType(productIdList, SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, EOrderType.SELL, PageRequest.of(dto.page(), dto.size()));
-        List<SellOrderResponseDTO> sellOrderResponseDTOList = new ArrayList<>();
-        //Converting orders to BuyOrderResponseDTO and finding productName + supplierName
-        orderList.stream().forEach(order ->
-        {
-            String productName = products.stream().filter(product -> product.getId() == order.getProductId()).findFirst().get().getName();
-            Customer customer = customerService.findByIdAndMemberId(order.getCustomerId());
-
-            sellOrderResponseDTOList.add(new SellOrderResponseDTO(order.getId(), customer.getName() + " " + customer.getSurname(), customer.getEmail(), productName, order.getUnitPrice(), order.getTotal(), order.getQuantity(), order.getOrderType(), order.getCreatedAt(), order.getStatus()));
-        });
-        return sellOrderResponseDTOList.stream()
-                .sorted(Comparator.comparing(SellOrderResponseDTO::productName))
-                .collect(Collectors.toList());
+        return orderRepository.findAllSellOrdersByProductNameContainingIgnoreCaseAndMemberIdAndStatusNot(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, PageRequest.of(dto.page(), dto.size()));
+    }
 
+    /**
+     * Keyset version of findAllSellOrders in id order, the cursor is the id of the last order of the previous page
+     *
+     * @param dto search text , cursor of the previous page , page size parameters
+     * @return page of SellOrderResponseDTO and the cursor of the next page
+     */
+    public CursorPageResponseDTO<SellOrderResponseDTO> findAllSellOrdersByCursor(CursorPageRequestDTO dto)
+    {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<SellOrderResponseDTO> rows = orderRepository.findAllSellOrdersAfterCursor(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), SellOrderResponseDTO::id);
     }
 
     public List<SupplierOrderResponseDTO> findOrdersOfSupplier(PageRequestDTO dto)
@@ -325,4 +424,17 @@ public class OrderService
     {
         return orderRepository.findByIdAndMemberId(id, memberIdFromAuthenticatedMember).orElseThrow(() -> new StockServiceException(ErrorType.ORDER_NOT_FOUND));
     }
+
+    /**
+     * Serves one page of orders to AnalyticsService backfill, keyset paginated on id
+     *
+     * @param model id cursor and page size
+     * @return orders with id greater than the cursor as analytics events
+     */
+    @RabbitListener(queues = "queueAnalyticsBackfillOrder")
+    public List<OrderEventModel> findOrdersForAnalyticsBackfill(AnalyticsBackfillRequestModel model)
+    {
+        return orderRepository.findAllByIdGreaterThanOrderByIdAsc(model.getAfterId(), PageRequest.ofSize(model.getLimit()))
+                .stream().map(AnalyticsEventPublisher::toEvent).toList();
+    }
 }
@@ -1,13 +1,16 @@
 package com.businessapi.services;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.ProductCategorySaveRequestDTO;
 import com.businessapi.dto.request.ProductCategoryUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.entities.ProductCategory;
 import com.businessapi.entities.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.StockServiceException;
 import com.businessapi.repositories.ProductCategoryRepository;
+import com.businessapi.util.PageCursor;
 import com.businessapi.util.SessionManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -68,6 +71,14 @@ public class ProductCategoryService
         return productCategoryRepository.findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, PageRequest.of(dto.page(), dto.size()));
     }
 
+    // Keyset version of the list above, the cursor is the (name, id) of the last row of the previous page
+    public CursorPageResponseDTO<ProductCategory> findAllByCursor(CursorPageRequestDTO dto)
+    {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<ProductCategory> rows = productCategoryRepository.findAllByNameAfterCursor(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, after.keyOrEmpty(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), ProductCategory::getName, ProductCategory::getId);
+    }
+
     public ProductCategory findByIdAndMemberId(Long id)
     {
         return productCategoryRepository.findByIdAndMemberId(id, SessionManager.getMemberIdFromAuthenticatedMember()).orElseThrow(() -> new StockServiceException(ErrorType.PRODUCT_CATEGORY_NOT_FOUND));
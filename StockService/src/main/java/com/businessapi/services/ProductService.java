@@ -1,20 +1,29 @@
 package com.businessapi.services;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.ProductSaveRequestDTO;
+import com.businessapi.dto.request.ProductStockLevelUpdateRequestDTO;
 import com.businessapi.dto.request.ProductUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.ProductResponseDTO;
+import com.businessapi.dto.response.ProductStockResponseDTO;
 import com.businessapi.entities.Product;
+import com.businessapi.entities.ProductStock;
 import com.businessapi.entities.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.StockServiceException;
 import com.businessapi.repositories.ProductRepository;
+import com.businessapi.repositories.ProductStockRepository;
+import com.businessapi.util.PageCursor;
 import com.businessapi.util.SessionManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -22,7 +31,10 @@ import java.util.List;
 public class ProductService
 {
     private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
     private final ProductCategoryService productCategoryService;
+    private final StockReservationService stockReservationService;
+    private final WareHouseService wareHouseService;
 
     public Product   findByIdAndMemberId(Long id)
     {
@@ -34,11 +46,17 @@ public class ProductService
         return productRepository.findById(id).orElseThrow(() -> new StockServiceException(ErrorType.PRODUCT_NOT_FOUND));
     }
 
+    public List<Product> findAllByIdInAndMemberId(Collection<Long> ids)
+    {
+        return productRepository.findAllByIdInAndMemberId(ids, SessionManager.getMemberIdFromAuthenticatedMember());
+    }
+
     public Product findById(Long id)
     {
         return productRepository.findById(id).orElseThrow(() -> new StockServiceException(ErrorType.PRODUCT_NOT_FOUND));
     }
 
+    @Transactional
     public Boolean save(ProductSaveRequestDTO dto)
     {
         if (dto.stockCount() < 0 || dto.minimumStockLevel() < 0 || dto.price().compareTo(BigDecimal.ZERO) < 0)
@@ -46,7 +64,11 @@ public class ProductService
             throw new StockServiceException(ErrorType.VALUE_CAN_NOT_BE_BELOW_ZERO);
         }
         productCategoryService.findByIdAndMemberId(dto.productCategoryId());
-        productRepository.save(Product
+        if (dto.wareHouseId() == null)
+        {
+            throw new StockServiceException(ErrorType.WAREHOUSE_NOT_FOUND);
+        }
+        Product product = productRepository.save(Product
                 .builder()
                 .productCategoryId(dto.productCategoryId())
                 .name(dto.name())
@@ -58,13 +80,16 @@ public class ProductService
                 .stockCount(dto.stockCount())
                 .minimumStockLevel(dto.minimumStockLevel())
                 .build());
+        //Initial stock is placed in the product's warehouse
+        stockReservationService.setStockCount(product.getId(), product.getWareHouseId(), dto.stockCount());
         return true;
     }
 
+    @Transactional
     public Boolean saveForDemoData(ProductSaveRequestDTO dto)
     {
         productCategoryService.findById(dto.productCategoryId());
-        productRepository.save(Product
+        Product product = productRepository.save(Product
                 .builder()
                 .productCategoryId(dto.productCategoryId())
                 .name(dto.name())
@@ -76,6 +101,8 @@ public class ProductService
                 .stockCount(dto.stockCount())
                 .minimumStockLevel(dto.minimumStockLevel())
                 .build());
+        //Initial stock is placed in the product's warehouse
+        stockReservationService.setStockCount(product.getId(), product.getWareHouseId(), dto.stockCount());
         return true;
     }
 
@@ -93,9 +120,10 @@ public class ProductService
         return true;
     }
 
+    @Transactional
     public Boolean update(ProductUpdateRequestDTO dto)
     {
-        if (dto.stockCount() < 0 || dto.minimumStockLevel() < 0 || dto.price().compareTo(BigDecimal.ZERO) < 0)
+        if ((dto.minimumStockLevel() != null && dto.minimumStockLevel() < 0) || (dto.price() != null && dto.price().compareTo(BigDecimal.ZERO) < 0))
         {
             throw new StockServiceException(ErrorType.VALUE_CAN_NOT_BE_BELOW_ZERO);
         }
@@ -116,13 +144,11 @@ public class ProductService
         {
             product.setPrice(dto.price());
         }
-        if (dto.stockCount() != null)
-        {
-            product.setStockCount(dto.stockCount());
-        }
         if (dto.minimumStockLevel() != null)
         {
             product.setMinimumStockLevel(dto.minimumStockLevel());
+            //The product form edits its own warehouse, other locations are set through updateStockLevel
+            productStockRepository.setMinimumStockLevel(product.getId(), product.getWareHouseId(), dto.minimumStockLevel());
         }
         productRepository.save(product);
         return true;
@@ -133,6 +159,25 @@ public class ProductService
         return productRepository.findAllByNameContainingIgnoreCaseAndStatusAndMemberIdOrderByName(dto.searchText(), EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), PageRequest.of(dto.page(), dto.size()));
     }
 
+    // Keyset version of the list above, the cursor is the (name, id) of the last row of the previous page
+    public CursorPageResponseDTO<ProductResponseDTO> findAllByCursor(CursorPageRequestDTO dto)
+    {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<ProductResponseDTO> rows = productRepository.findAllByNameAfterCursor(dto.searchText(), EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), after.keyOrEmpty(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), ProductResponseDTO::name, ProductResponseDTO::id);
+    }
+
+    /**
+     * Ranked search of the member's active products by name and description, tolerant to typos and partial words
+     *
+     * @param dto search text , page number , page size parameters
+     * @return List of Product, best match first
+     */
+    public List<Product> search(PageRequestDTO dto)
+    {
+        return productRepository.search(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), PageRequest.of(dto.page(), dto.size()));
+    }
+
     public List<Product> findAllByMinimumStockLevel(PageRequestDTO dto)
     {
         return productRepository.findAllByMinimumStockLevelAndStatusAndNameContainingIgnoreCaseOrderByNameAsc(EStatus.ACTIVE, SessionManager.getMemberIdFromAuthenticatedMember(), dto.searchText(), PageRequest.of(dto.page(), dto.size()));
@@ -148,13 +193,55 @@ public class ProductService
     }
 
 
-    public List<Product> findAllByNameContainingIgnoreCaseAndMemberIdOrderByNameAsc(String name, Long memberId)
+    public List<ProductStock> findAutoOrderCandidates(Long afterProductId, Long afterWareHouseId, int limit)
+    {
+        return productStockRepository.findAutoOrderCandidates(afterProductId, afterWareHouseId, PageRequest.ofSize(limit));
+    }
+
+    // Allows the location to be auto ordered again, called when the previous auto order arrives there
+    public void clearAutoOrdered(Long productId, Long wareHouseId)
+    {
+        productStockRepository.clearAutoOrdered(productId, wareHouseId);
+    }
+
+    /**
+     * Finds stock of the product in each warehouse it is kept in
+     *
+     * @param id product id
+     * @return one entry per warehouse, Product.stockCount is their sum
+     */
+    public List<ProductStockResponseDTO> findStockLevels(Long id)
     {
-        return productRepository.findAllByNameContainingIgnoreCaseAndMemberIdOrderByNameAsc(name, memberId);
+        return productStockRepository.findAllByProductIdAndMemberId(id, SessionManager.getMemberIdFromAuthenticatedMember());
     }
 
-    public List<Product> findAllByMinimumStockLevelAndStatus(EStatus eStatus)
+    /**
+     * Sets the reorder point and/or corrects the stock count of the product in one warehouse, auto orders are created per warehouse.
+     * The stock count is the count of that warehouse only, Product.stockCount is recalculated as the sum of all warehouses.
+     *
+     * @param dto product id, warehouse id, minimum stock level, stock count
+     */
+    @Transactional
+    public Boolean updateStockLevel(ProductStockLevelUpdateRequestDTO dto)
     {
-        return productRepository.findAllByMinimumStockLevelAndStatus(eStatus);
+        if (dto.minimumStockLevel() == null && dto.stockCount() == null)
+        {
+            throw new StockServiceException(ErrorType.BAD_REQUEST_ERROR);
+        }
+        if ((dto.minimumStockLevel() != null && dto.minimumStockLevel() < 0) || (dto.stockCount() != null && dto.stockCount() < 0))
+        {
+            throw new StockServiceException(ErrorType.VALUE_CAN_NOT_BE_BELOW_ZERO);
+        }
+        Product product = findByIdAndMemberId(dto.productId());
+        if (dto.minimumStockLevel() != null && productStockRepository.setMinimumStockLevel(product.getId(), dto.wareHouseId(), dto.minimumStockLevel()) == 0)
+        {
+            throw new StockServiceException(ErrorType.PRODUCT_STOCK_NOT_FOUND);
+        }
+        if (dto.stockCount() != null)
+        {
+            Long wareHouseId = wareHouseService.findByIdAndMemberId(dto.wareHouseId()).getId();
+            stockReservationService.setStockCount(product.getId(), wareHouseId, dto.stockCount());
+        }
+        return true;
     }
 }
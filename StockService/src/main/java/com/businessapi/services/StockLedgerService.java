@@ -0,0 +1,63 @@
+package com.businessapi.services;
+
+import com.businessapi.dto.response.StockAtDateResponseDTO;
+import com.businessapi.repositories.StockSnapshotRepository;
+import com.businessapi.util.SessionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Point-in-time stock from the append-only ledger written by StockReservationService.
+ * Snapshots are taken periodically per (product, warehouse), a read at any time takes the latest snapshot before it
+ * and adds the ledger entries since, so it never replays more than one snapshot period.
+ */
+@Service
+public class StockLedgerService
+{
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final Duration commitLag;
+
+    public StockLedgerService(StockSnapshotRepository stockSnapshotRepository,
+                              @Value("${stock.snapshot.commit-lag:5m}") Duration commitLag)
+    {
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.commitLag = commitLag;
+    }
+
+    /**
+     * Snapshots every location that changed since the previous snapshot.
+     * The snapshot time lags behind now, so entries of transactions still running when it is taken are not skipped.
+     *
+     * @return number of locations snapshotted
+     */
+    @Transactional
+    public int takeSnapshot()
+    {
+        LocalDateTime takenAt = LocalDateTime.now().minus(commitLag).truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime from = stockSnapshotRepository.findLatestTakenAtBefore(takenAt).orElse(BEGINNING);
+        return stockSnapshotRepository.takeSnapshot(from, takenAt);
+    }
+
+    /**
+     * Finds stock per warehouse of one or all products of the member at the given time
+     *
+     * @param productId product id, all products when null
+     * @param at        point in time
+     * @return List of StockAtDateResponseDTO ordered by product and warehouse name
+     */
+    public List<StockAtDateResponseDTO> findStockAt(Long productId, LocalDateTime at)
+    {
+        return stockSnapshotRepository.findStockAt(SessionManager.getMemberIdFromAuthenticatedMember(), productId, at)
+                .stream()
+                .map(row -> new StockAtDateResponseDTO(((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).longValue(), (String) row[3], ((Number) row[4]).longValue()))
+                .toList();
+    }
+}
@@ -1,27 +1,34 @@
 package com.businessapi.services;
 
+import com.businessapi.RabbitMQ.Model.AnalyticsBackfillRequestModel;
+import com.businessapi.RabbitMQ.Model.StockMovementEventModel;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.StockMovementSaveDTO;
+import com.businessapi.dto.request.StockTransferRequestDTO;
 import com.businessapi.dto.request.StockMovementUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.dto.response.StockMovementResponseDTO;
 import com.businessapi.entities.Order;
 import com.businessapi.entities.Product;
 import com.businessapi.entities.StockMovement;
+import com.businessapi.entities.WareHouse;
 import com.businessapi.entities.enums.EOrderType;
 import com.businessapi.entities.enums.EStatus;
 import com.businessapi.entities.enums.EStockMovementType;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.StockServiceException;
 import com.businessapi.repositories.StockMovementRepository;
+import com.businessapi.util.AnalyticsEventPublisher;
+import com.businessapi.util.PageCursor;
 import com.businessapi.util.SessionManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,9 +36,11 @@ public class StockMovementService
 {
     private final StockMovementRepository stockMovementRepository;
     private final ProductService productService;
-    private final WareHouseService wareHouseService;
     private final OrderService orderService;
+    private final StockReservationService stockReservationService;
+    private final WareHouseService wareHouseService;
 
+    @Transactional
     public Boolean save(StockMovementSaveDTO dto)
     {
         if (dto.quantity() < 0)
@@ -39,31 +48,21 @@ public class StockMovementService
             throw new StockServiceException(ErrorType.VALUE_CAN_NOT_BE_BELOW_ZERO);
         }
         Product product = productService.findByIdAndMemberId(dto.productId());
-        if (dto.stockMovementType() == EStockMovementType.OUT)
-        {
-            if (product.getStockCount() < dto.quantity())
-            {
-                throw new StockServiceException(ErrorType.INSUFFICIENT_STOCK, product.getName() + " Stock count is: " + product.getStockCount());
-            }
-            product.setStockCount(product.getStockCount() - dto.quantity());
-            productService.save(product);
-        } else
-        {
-            product.setStockCount(product.getStockCount() + dto.quantity());
-            productService.save(product);
-        }
+        Long wareHouseId = dto.wareHouseId() != null ? wareHouseService.findByIdAndMemberId(dto.wareHouseId()).getId() : product.getWareHouseId();
+        stockReservationService.adjust(product.getId(), wareHouseId, product.getName(), signedQuantity(dto.stockMovementType(), dto.quantity()));
 
         stockMovementRepository.save(StockMovement
                 .builder()
                 .productId(dto.productId())
                 .memberId(SessionManager.getMemberIdFromAuthenticatedMember())
-                .warehouseId(product.getWareHouseId())
+                .warehouseId(wareHouseId)
                 .quantity(dto.quantity())
                 .stockMovementType(dto.stockMovementType())
                 .build());
         return null;
     }
 
+    @Transactional
     public Boolean saveFromOrderId(Long id)
     {
         Order order = orderService.findByIdAndMemberId(id, SessionManager.getMemberIdFromAuthenticatedMember());
@@ -80,21 +79,47 @@ public class StockMovementService
                 .builder()
                 .productId(order.getProductId())
                 .memberId(SessionManager.getMemberIdFromAuthenticatedMember())
-                .warehouseId(product.getWareHouseId())
+                .warehouseId(order.getWareHouseId())
                 .quantity(order.getQuantity())
                 .stockMovementType(EStockMovementType.IN)
                 .build());
 
-        //Adding stock to product
-        product.setStockCount(product.getStockCount() + order.getQuantity());
+        //Adding stock to the warehouse the order was placed for
+        stockReservationService.release(product.getId(), order.getWareHouseId(), order.getQuantity());
 
         //Setting status of product and order
         order.setStatus(EStatus.ARRIVED);
-        product.setIsProductAutoOrdered(false);
+        orderService.save(order);
+        productService.clearAutoOrdered(product.getId(), order.getWareHouseId());
+        return true;
+    }
 
+    /**
+     * Moves stock of a product from one warehouse to another
+     * Saved as an OUT movement from the source and an IN movement to the target, the product's total stays the same
+     *
+     * @param dto product id, source and target warehouse ids, quantity
+     */
+    @Transactional
+    public Boolean transfer(StockTransferRequestDTO dto)
+    {
+        if (dto.quantity() == null || dto.quantity() < 0)
+        {
+            throw new StockServiceException(ErrorType.VALUE_CAN_NOT_BE_BELOW_ZERO);
+        }
+        if (dto.fromWareHouseId() == null || dto.fromWareHouseId().equals(dto.toWareHouseId()))
+        {
+            throw new StockServiceException(ErrorType.SAME_WAREHOUSE_TRANSFER);
+        }
+        Product product = productService.findByIdAndMemberId(dto.productId());
+        WareHouse from = wareHouseService.findByIdAndMemberId(dto.fromWareHouseId());
+        WareHouse to = wareHouseService.findByIdAndMemberId(dto.toWareHouseId());
+        stockReservationService.transfer(product.getId(), from.getId(), to.getId(), product.getName(), dto.quantity());
 
-        orderService.save(order);
-        productService.save(product);
+        Long memberId = SessionManager.getMemberIdFromAuthenticatedMember();
+        stockMovementRepository.saveAll(List.of(
+                StockMovement.builder().productId(product.getId()).memberId(memberId).warehouseId(from.getId()).quantity(dto.quantity()).stockMovementType(EStockMovementType.OUT).build(),
+                StockMovement.builder().productId(product.getId()).memberId(memberId).warehouseId(to.getId()).quantity(dto.quantity()).stockMovementType(EStockMovementType.IN).build()));
         return true;
     }
 
@@ -110,35 +135,38 @@ public class StockMovementService
                 .builder()
                 .productId(dto.productId())
                 .memberId(2L)
-                .warehouseId(product.getWareHouseId())
+                .warehouseId(dto.wareHouseId() != null ? dto.wareHouseId() : product.getWareHouseId())
                 .quantity(dto.quantity())
                 .stockMovementType(dto.stockMovementType())
                 .build());
         return null;
     }
 
+    @Transactional
     public Boolean delete(Long id)
     {
         StockMovement stockMovement = stockMovementRepository.findByIdAndMemberId(id, SessionManager.getMemberIdFromAuthenticatedMember()).orElseThrow(() -> new StockServiceException(ErrorType.STOCK_MOVEMENT_NOT_FOUND));
+        checkNotReversed(stockMovement);
         Product product = productService.findByIdAndMemberId(stockMovement.getProductId());
 
-        if (stockMovement.getStockMovementType() == EStockMovementType.OUT)
+        try
         {
-            product.setStockCount(product.getStockCount() + stockMovement.getQuantity());
-        } else
+            stockReservationService.adjust(product.getId(), stockMovement.getWarehouseId(), product.getName(), -signedQuantity(stockMovement.getStockMovementType(), stockMovement.getQuantity()));
+        }
+        catch (StockServiceException e)
         {
-            product.setStockCount(product.getStockCount() - stockMovement.getQuantity());
-            if (product.getStockCount() < 0)
+            if (e.getErrorType() != ErrorType.INSUFFICIENT_STOCK)
             {
-                throw new StockServiceException(ErrorType.STOCK_MOVEMENT_CAN_NOT_BE_DELETED, "Product stock level can not be below zero");
+                throw e;
             }
+            throw new StockServiceException(ErrorType.STOCK_MOVEMENT_CAN_NOT_BE_DELETED, "Product stock level can not be below zero");
         }
-        productService.save(product);
-        stockMovement.setStatus(EStatus.DELETED);
-        stockMovementRepository.save(stockMovement);
+        //The movement stays as it is, taking it back is a new movement
+        stockMovementRepository.save(reversalOf(stockMovement));
         return true;
     }
 
+    @Transactional
     public Boolean update(StockMovementUpdateRequestDTO dto)
     {
         if (dto.quantity() < 0)
@@ -149,55 +177,66 @@ public class StockMovementService
 
         StockMovement stockMovement = stockMovementRepository.findByIdAndMemberId(dto.id(), SessionManager.getMemberIdFromAuthenticatedMember())
                 .orElseThrow(() -> new StockServiceException(ErrorType.STOCK_MOVEMENT_NOT_FOUND));
+        checkNotReversed(stockMovement);
 
-        // Mevcut stok hareketindeki miktar ve DTO ile gelen yeni miktarı al
-        Integer currentQuantity = stockMovement.getQuantity();
-        Integer newQuantity = dto.quantity();
-        Integer stockDifference = newQuantity - currentQuantity;
+        // Eski hareketin stoğa etkisi geri alınır, yeni hareketin etkisi uygulanır
+        Integer oldEffect = signedQuantity(stockMovement.getStockMovementType(), stockMovement.getQuantity());
+        Integer newEffect = signedQuantity(dto.stockMovementType(), dto.quantity());
 
-        // Stok farkı pozitif ise ekleme yapılacak, negatif ise çıkarma yapılacak
-        if (dto.stockMovementType() == EStockMovementType.OUT)
+        if (product.getId().equals(stockMovement.getProductId()))
         {
-            // Çıkış işlemi (OUT)
-            if (stockDifference > 0)
-            {
-                // Daha fazla çıkış yapılmak isteniyor, stokta yeterli mi?
-                if (product.getStockCount() < stockDifference)
-                {
-                    throw new StockServiceException(ErrorType.INSUFFICIENT_STOCK, product.getName() + " Stock count is: " + product.getStockCount());
-                }
-                // Stoktan fark kadar çıkış yap
-                product.setStockCount(product.getStockCount() - stockDifference);
-            } else
-            {
-                // Çıkış miktarı azaldıysa (stockDifference negatif), stoğa iade yapılır
-                product.setStockCount(product.getStockCount() + Math.abs(stockDifference));
-            }
-        } else if (dto.stockMovementType() == EStockMovementType.IN)
+            // Aynı ürün için sadece fark uygulanır
+            stockReservationService.adjust(product.getId(), stockMovement.getWarehouseId(), product.getName(), newEffect - oldEffect);
+        } else
         {
-            // Giriş işlemi (IN)
-            if (stockDifference > 0)
-            {
-                // Giriş miktarı arttıysa, fark kadar stoğa ekle
-                product.setStockCount(product.getStockCount() + stockDifference);
-            } else
-            {
-                // Giriş miktarı azaldıysa, fark kadar stoktan çıkar
-                product.setStockCount(product.getStockCount() - Math.abs(stockDifference));
-            }
+            // Ürün değiştiyse önce yeni ürüne uygulanır, başarısız olursa eski ürün değişmeden kalır
+            Product oldProduct = productService.findByIdAndMemberId(stockMovement.getProductId());
+            stockReservationService.adjust(product.getId(), stockMovement.getWarehouseId(), product.getName(), newEffect);
+            stockReservationService.adjust(oldProduct.getId(), stockMovement.getWarehouseId(), oldProduct.getName(), -oldEffect);
         }
 
-        productService.save(product);
+        // Hareket değiştirilmez, geri alma hareketi ve düzeltilmiş yeni hareket eklenir
+        stockMovementRepository.saveAll(List.of(
+                reversalOf(stockMovement),
+                StockMovement
+                        .builder()
+                        .productId(dto.productId())
+                        .memberId(stockMovement.getMemberId())
+                        .warehouseId(stockMovement.getWarehouseId())
+                        .quantity(dto.quantity())
+                        .stockMovementType(dto.stockMovementType())
+                        .build()));
 
-        stockMovement.setProductId(dto.productId());
-        stockMovement.setQuantity(dto.quantity());
-        stockMovement.setStockMovementType(dto.stockMovementType());
+        return true;
+    }
 
-        stockMovementRepository.save(stockMovement);
+    // Reversal movements and movements that were already taken back can't be changed again
+    private void checkNotReversed(StockMovement stockMovement)
+    {
+        if (stockMovement.getReversalOfId() != null || stockMovementRepository.existsByReversalOfId(stockMovement.getId()))
+        {
+            throw new StockServiceException(ErrorType.STOCK_MOVEMENT_CAN_NOT_BE_DELETED, "Stock movement was already reversed");
+        }
+    }
 
-        return true;
+    private static StockMovement reversalOf(StockMovement stockMovement)
+    {
+        return StockMovement
+                .builder()
+                .productId(stockMovement.getProductId())
+                .memberId(stockMovement.getMemberId())
+                .warehouseId(stockMovement.getWarehouseId())
+                .quantity(stockMovement.getQuantity())
+                .stockMovementType(stockMovement.getStockMovementType().opposite())
+                .reversalOfId(stockMovement.getId())
+                .build();
     }
 
+    //IN adds to stock, OUT takes from it
+    private static Integer signedQuantity(EStockMovementType stockMovementType, Integer quantity)
+    {
+        return stockMovementType == EStockMovementType.OUT ? -quantity : quantity;
+    }
 
     public StockMovement findByIdAndMemberId(Long id)
     {
@@ -205,34 +244,35 @@ public class StockMovementService
     }
 
     /**
-     * Finds products with name containing search text
-     * Finds sell orders with respect to pagination
-     * Converts orders to StockMovementResponseDTO
+     * Finds stock movements whose product name contains search text
+     * Product and warehouse are joined in the same query, sorting and pagination happen in the database
      *
      * @param dto search text , page number , page size parameters
      * @return List of StockMovementResponseDTO
      */
     public List<StockMovementResponseDTO> findAll(PageRequestDTO dto)
     {
-        //Finds products with name containing search text
-        List<Product> products = productService.findAllByNameContainingIgnoreCaseAndMemberIdOrderByNameAsc(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember());
-        //Mapping products to their ids
-        List<Long> productIdList = products.stream().map(Product::getId).collect(Collectors.toList());
-        //Finds buy orders with respect to pagination, order type and product ids
-        List<StockMovement> stockList = stockMovementRepository.findAllByProductIdInAndStatusIsNot(productIdList, EStatus.DELETED, PageRequest.of(dto.page(), dto.size()));
-        List<StockMovementResponseDTO> stockMovementDtoList = new ArrayList<>();
-        //Converting orders to BuyOrderResponseDTO and finding productName + supplierName
-        stockList.stream().forEach(stock ->
-        {
-            String productName = products.stream().filter(product -> product.getId() == stock.getProductId()).findFirst().get().getName();
-            String wareHouseName = wareHouseService.findByIdAndMemberId(stock.getWarehouseId()).getName();
-            stockMovementDtoList.add(new StockMovementResponseDTO(stock.getId(), productName, wareHouseName, stock.getQuantity(), stock.getStatus(), stock.getStockMovementType(), stock.getCreatedAt()));
-        });
-        return stockMovementDtoList.stream()
-                .sorted(Comparator.comparing(StockMovementResponseDTO::productName))
-                .collect(Collectors.toList());
+        return stockMovementRepository.findAllByProductNameContainingIgnoreCaseAndMemberIdAndStatusNot(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, PageRequest.of(dto.page(), dto.size()));
     }
 
+    // Keyset version of the list above in id order, the cursor is the id of the last row of the previous page
+    public CursorPageResponseDTO<StockMovementResponseDTO> findAllByCursor(CursorPageRequestDTO dto)
+    {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<StockMovementResponseDTO> rows = stockMovementRepository.findAllAfterCursor(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), StockMovementResponseDTO::id);
+    }
 
+    /**
+     * Serves one page of stock movements to AnalyticsService backfill, keyset paginated on id
+     *
+     * @param model id cursor and page size
+     * @return stock movements with id greater than the cursor as analytics events
+     */
+    @RabbitListener(queues = "queueAnalyticsBackfillStockMovement")
+    public List<StockMovementEventModel> findStockMovementsForAnalyticsBackfill(AnalyticsBackfillRequestModel model)
+    {
+        return stockMovementRepository.findAllByIdGreaterThanOrderByIdAsc(model.getAfterId(), PageRequest.ofSize(model.getLimit()))
+                .stream().map(AnalyticsEventPublisher::toEvent).toList();
+    }
 }
-
@@ -0,0 +1,207 @@
+package com.businessapi.services;
+
+import com.businessapi.entities.StockLedgerEntry;
+import com.businessapi.exception.ErrorType;
+import com.businessapi.exception.StockServiceException;
+import com.businessapi.repositories.ProductRepository;
+import com.businessapi.repositories.ProductStockRepository;
+import com.businessapi.repositories.StockLedgerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single entry point for changing stock levels.
+ * Stock is kept per (product, warehouse) in ProductStock, Product.stockCount is the total and is updated in the same
+ * transaction, and every change is appended to the stock ledger. Every change is one conditional UPDATE, so the check and the decrement happen atomically in the database
+ * and two concurrent sell orders can't both take the last units. Same-product callers inside this JVM additionally queue
+ * on a striped lock that is held until the surrounding transaction completes, so they wait here instead of holding a
+ * connection while blocked on the row lock. The stripe is only a throughput aid: if it can't be taken in time the
+ * update still runs and the database keeps it correct.
+ * Every decrease publishes a StockDecreased event, AutoOrderService picks it up after commit to detect low stock.
+ */
+@Service
+public class StockReservationService
+{
+    private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final StockLedgerRepository stockLedgerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutNanos;
+
+    public StockReservationService(ProductRepository productRepository,
+                                   ProductStockRepository productStockRepository,
+                                   StockLedgerRepository stockLedgerRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${stock.reservation.lock-stripes:64}") int lockStripes,
+                                   @Value("${stock.reservation.lock-timeout:2s}") Duration lockTimeout)
+    {
+        this.productRepository = productRepository;
+        this.productStockRepository = productStockRepository;
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.eventPublisher = eventPublisher;
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++)
+        {
+            stripes[i] = new ReentrantLock();
+        }
+        this.lockTimeoutNanos = lockTimeout.toNanos();
+    }
+
+    /**
+     * Takes quantity units of the product out of the warehouse
+     *
+     * @throws StockServiceException INSUFFICIENT_STOCK if less than quantity is left there, stock stays unchanged
+     */
+    @Transactional
+    public void reserve(Long productId, Long wareHouseId, String productName, int quantity)
+    {
+        if (quantity == 0)
+        {
+            return;
+        }
+        lockStripe(productId);
+        takeFromWareHouse(productId, wareHouseId, productName, quantity);
+        productRepository.addToStockCount(productId, -quantity);
+        appendToLedger(productId, wareHouseId, -quantity);
+        eventPublisher.publishEvent(new StockDecreased(productId, wareHouseId));
+    }
+
+    // Puts quantity units of the product back into the warehouse
+    @Transactional
+    public void release(Long productId, Long wareHouseId, int quantity)
+    {
+        if (quantity == 0)
+        {
+            return;
+        }
+        lockStripe(productId);
+        if (productStockRepository.increaseStock(productId, wareHouseId, quantity) == 0)
+        {
+            throw new StockServiceException(ErrorType.PRODUCT_NOT_FOUND);
+        }
+        productRepository.addToStockCount(productId, quantity);
+        appendToLedger(productId, wareHouseId, quantity);
+    }
+
+    // Applies a signed delta, a negative delta is a reservation and fails when stock would go below zero
+    @Transactional
+    public void adjust(Long productId, Long wareHouseId, String productName, int delta)
+    {
+        if (delta < 0)
+        {
+            reserve(productId, wareHouseId, productName, -delta);
+        }
+        else
+        {
+            release(productId, wareHouseId, delta);
+        }
+    }
+
+    // Moves quantity units between two warehouses, the product's total stays the same
+    @Transactional
+    public void transfer(Long productId, Long fromWareHouseId, Long toWareHouseId, String productName, int quantity)
+    {
+        if (quantity == 0)
+        {
+            return;
+        }
+        lockStripe(productId);
+        takeFromWareHouse(productId, fromWareHouseId, productName, quantity);
+        if (productStockRepository.increaseStock(productId, toWareHouseId, quantity) == 0)
+        {
+            throw new StockServiceException(ErrorType.PRODUCT_NOT_FOUND);
+        }
+        appendToLedger(productId, fromWareHouseId, -quantity);
+        appendToLedger(productId, toWareHouseId, quantity);
+        eventPublisher.publishEvent(new StockDecreased(productId, fromWareHouseId));
+    }
+
+    // Overwrites the stock count of one warehouse, used for manual corrections through ProductService.updateStockLevel
+    @Transactional
+    public void setStockCount(Long productId, Long wareHouseId, int stockCount)
+    {
+        lockStripe(productId);
+        int previous = productStockRepository.findStockCountForUpdate(productId, wareHouseId).orElse(0);
+        if (productStockRepository.setStockCount(productId, wareHouseId, stockCount) == 0)
+        {
+            throw new StockServiceException(ErrorType.PRODUCT_NOT_FOUND);
+        }
+        productRepository.recalculateStockCount(productId);
+        appendToLedger(productId, wareHouseId, stockCount - previous);
+        eventPublisher.publishEvent(new StockDecreased(productId, wareHouseId));
+    }
+
+    private void takeFromWareHouse(Long productId, Long wareHouseId, String productName, int quantity)
+    {
+        if (productStockRepository.decreaseStockIfAvailable(productId, wareHouseId, quantity) == 0)
+        {
+            Integer stockCount = productStockRepository.findStockCount(productId, wareHouseId).orElse(0);
+            throw new StockServiceException(ErrorType.INSUFFICIENT_STOCK, productName + " Stock count is: " + stockCount);
+        }
+    }
+
+    private void appendToLedger(Long productId, Long wareHouseId, int quantity)
+    {
+        if (quantity == 0)
+        {
+            return;
+        }
+        stockLedgerRepository.save(StockLedgerEntry
+                .builder()
+                .productId(productId)
+                .wareHouseId(wareHouseId)
+                .quantity(quantity)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void lockStripe(Long productId)
+    {
+        ReentrantLock lock = stripes[Math.floorMod(productId.hashCode(), stripes.length)];
+        boolean locked;
+        try
+        {
+            locked = lock.tryLock(lockTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!locked)
+        {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            //Keep the stripe until commit/rollback, the row lock is held that long as well
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    lock.unlock();
+                }
+            });
+        }
+        else
+        {
+            lock.unlock();
+        }
+    }
+
+    // Published inside the transaction that lowered the stock of the product in the warehouse
+    public record StockDecreased(Long productId, Long wareHouseId)
+    {
+    }
+}
@@ -4,9 +4,11 @@ package com.businessapi.services;
 import com.businessapi.RabbitMQ.Model.EmailSendModal;
 import com.businessapi.RabbitMQ.Model.ExistByEmailModel;
 import com.businessapi.RabbitMQ.Model.SaveUserFromOtherServicesModel;
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.SupplierSaveRequestDTO;
 import com.businessapi.dto.request.SupplierUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
 import com.businessapi.entities.Order;
 import com.businessapi.entities.Supplier;
 import com.businessapi.entities.enums.EOrderType;
@@ -14,6 +16,7 @@ import com.businessapi.entities.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.StockServiceException;
 import com.businessapi.repositories.SupplierRepository;
+import com.businessapi.util.PageCursor;
 import com.businessapi.util.PasswordGenerator;
 import com.businessapi.util.SessionManager;
 import lombok.RequiredArgsConstructor;
@@ -132,6 +135,14 @@ public class SupplierService
         return supplierRepository.findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(dto.searchText(),SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, PageRequest.of(dto.page(), dto.size()));
     }
 
+    // Keyset version of the list above, the cursor is the (name, id) of the last row of the previous page
+    public CursorPageResponseDTO<Supplier> findAllByCursor(CursorPageRequestDTO dto)
+    {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<Supplier> rows = supplierRepository.findAllByNameAfterCursor(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, after.keyOrEmpty(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), Supplier::getName, Supplier::getId);
+    }
+
     public Supplier findByIdAndMemberId(Long id)
     {
         return supplierRepository.findByIdAndMemberId(id, SessionManager.getMemberIdFromAuthenticatedMember()).orElseThrow(() -> new StockServiceException(ErrorType.SUPPLIER_NOT_FOUND));
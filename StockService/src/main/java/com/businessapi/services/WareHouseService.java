@@ -1,18 +1,25 @@
 package com.businessapi.services;
 
+import com.businessapi.dto.request.CursorPageRequestDTO;
 import com.businessapi.dto.request.PageRequestDTO;
 import com.businessapi.dto.request.WareHouseSaveRequestDTO;
 import com.businessapi.dto.request.WareHouseUpdateRequestDTO;
+import com.businessapi.dto.response.CursorPageResponseDTO;
+import com.businessapi.dto.response.ProductStockResponseDTO;
+import com.businessapi.dto.response.WareHouseStockResponseDTO;
 import com.businessapi.entities.WareHouse;
 import com.businessapi.entities.enums.EStatus;
 import com.businessapi.exception.ErrorType;
 import com.businessapi.exception.StockServiceException;
+import com.businessapi.repositories.ProductStockRepository;
 import com.businessapi.repositories.WareHouseRepository;
+import com.businessapi.util.PageCursor;
 import com.businessapi.util.SessionManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -20,6 +27,7 @@ import java.util.List;
 public class WareHouseService
 {
     private final WareHouseRepository wareHouseRepository;
+    private final ProductStockRepository productStockRepository;
 
     public Boolean save(WareHouseSaveRequestDTO dto)
     {
@@ -72,10 +80,41 @@ public class WareHouseService
         return wareHouseRepository.findAllByNameContainingIgnoreCaseAndMemberIdAndStatusIsNotOrderByNameAsc(dto.searchText(),SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, PageRequest.of(dto.page(), dto.size()));
     }
 
+    // Keyset version of the list above, the cursor is the (name, id) of the last row of the previous page
+    public CursorPageResponseDTO<WareHouse> findAllByCursor(CursorPageRequestDTO dto)
+    {
+        PageCursor after = PageCursor.decode(dto.cursor());
+        List<WareHouse> rows = wareHouseRepository.findAllByNameAfterCursor(dto.searchText(), SessionManager.getMemberIdFromAuthenticatedMember(), EStatus.DELETED, after.keyOrEmpty(), after.idOrZero(), PageCursor.pageable(dto.size()));
+        return PageCursor.toPage(rows, dto.size(), WareHouse::getName, WareHouse::getId);
+    }
+
     public WareHouse findByIdAndMemberId(Long id)
     {
 
         return wareHouseRepository.findByIdAndMemberId(id, SessionManager.getMemberIdFromAuthenticatedMember()).orElseThrow(() -> new StockServiceException(ErrorType.WAREHOUSE_NOT_FOUND));
     }
 
+    public List<WareHouse> findAllByIdInAndMemberId(Collection<Long> ids)
+    {
+        return wareHouseRepository.findAllByIdInAndMemberId(ids, SessionManager.getMemberIdFromAuthenticatedMember());
+    }
+
+    /**
+     * Finds stock of every product kept in the warehouse
+     *
+     * @param id  warehouse id
+     * @param dto page number , page size parameters
+     * @return List of ProductStockResponseDTO ordered by product name
+     */
+    public List<ProductStockResponseDTO> findStockLevels(Long id, PageRequestDTO dto)
+    {
+        WareHouse wareHouse = findByIdAndMemberId(id);
+        return productStockRepository.findAllByWareHouseIdAndMemberId(wareHouse.getId(), SessionManager.getMemberIdFromAuthenticatedMember(), PageRequest.of(dto.page(), dto.size()));
+    }
+
+    // Number of products in stock and total units per warehouse of the member
+    public List<WareHouseStockResponseDTO> findStockTotals()
+    {
+        return productStockRepository.sumStockPerWareHouse(SessionManager.getMemberIdFromAuthenticatedMember());
+    }
 }
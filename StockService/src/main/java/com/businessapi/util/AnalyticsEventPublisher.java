@@ -0,0 +1,93 @@
+package com.businessapi.util;
+
+import com.businessapi.RabbitMQ.Model.OrderEventModel;
+import com.businessapi.RabbitMQ.Model.StockMovementEventModel;
+import com.businessapi.entities.Order;
+import com.businessapi.entities.StockMovement;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that publishes the current state of every written order and stock movement to
+ * AnalyticsService. Events are sent after commit, so rolled back writes never reach the analytics fact tables.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsEventPublisher
+{
+    public static final String KEY_ORDER_EVENT = "keyAnalyticsOrderEvent";
+    public static final String KEY_STOCK_MOVEMENT_EVENT = "keyAnalyticsStockMovementEvent";
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity)
+    {
+        if (entity instanceof Order order)
+        {
+            publish(KEY_ORDER_EVENT, toEvent(order));
+        }
+        else if (entity instanceof StockMovement stockMovement)
+        {
+            publish(KEY_STOCK_MOVEMENT_EVENT, toEvent(stockMovement));
+        }
+    }
+
+    public static OrderEventModel toEvent(Order order)
+    {
+        return OrderEventModel.builder()
+                .id(order.getId())
+                .memberId(order.getMemberId())
+                .customerId(order.getCustomerId())
+                .supplierId(order.getSupplierId())
+                .productId(order.getProductId())
+                .quantity(order.getQuantity())
+                .unitPrice(order.getUnitPrice())
+                .total(order.getTotal())
+                .orderType(order.getOrderType() == null ? null : order.getOrderType().name())
+                .status(order.getStatus() == null ? null : order.getStatus().name())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .build();
+    }
+
+    public static StockMovementEventModel toEvent(StockMovement stockMovement)
+    {
+        return StockMovementEventModel.builder()
+                .id(stockMovement.getId())
+                .memberId(stockMovement.getMemberId())
+                .productId(stockMovement.getProductId())
+                .warehouseId(stockMovement.getWarehouseId())
+                .quantity(stockMovement.getQuantity())
+                .stockMovementType(stockMovement.getStockMovementType() == null ? null : stockMovement.getStockMovementType().name())
+                .status(stockMovement.getStatus() == null ? null : stockMovement.getStatus().name())
+                .createdAt(stockMovement.getCreatedAt())
+                .updatedAt(stockMovement.getUpdatedAt())
+                .build();
+    }
+
+    private void publish(String routingKey, Object event)
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    rabbitTemplate.convertAndSend("businessDirectExchange", routingKey, event);
+                }
+            });
+        }
+        else
+        {
+            rabbitTemplate.convertAndSend("businessDirectExchange", routingKey, event);
+        }
+    }
+}
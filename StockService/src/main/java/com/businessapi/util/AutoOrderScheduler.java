@@ -1,52 +1,66 @@
 package com.businessapi.util;
 
-import com.businessapi.RabbitMQ.Model.EmailSendModal;
-import com.businessapi.dto.request.BuyOrderSaveRequestDTO;
-import com.businessapi.entities.Product;
-import com.businessapi.entities.Supplier;
-import com.businessapi.entities.enums.EStatus;
-import com.businessapi.services.OrderService;
+import com.businessapi.entities.ProductStock;
+import com.businessapi.services.AutoOrderService;
 import com.businessapi.services.ProductService;
-import com.businessapi.services.SupplierService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class AutoOrderScheduler
 {
     private final ProductService productService;
-    private final OrderService orderService;
-    private final RabbitTemplate rabbitTemplate;
-    private final SupplierService supplierService;
+    private final AutoOrderService autoOrderService;
+    private final int pageSize;
+
+    public AutoOrderScheduler(ProductService productService,
+                              AutoOrderService autoOrderService,
+                              @Value("${stock.auto-order.sweep-page-size:500}") int pageSize)
+    {
+        this.productService = productService;
+        this.autoOrderService = autoOrderService;
+        this.pageSize = pageSize;
+    }
 
     /**
-     * Every minute database will be checked and if product is below minimum stock level it will be auto ordered
+     * Reconciliation sweep for low stock products that were not auto ordered when their stock decreased,
+     * e.g. minimum stock level raised from the product form or the service stopped before the order was created.
+     * Walks low (product, warehouse) locations of all members in key order one page at a time, each location is
+     * ordered in its own transaction. Running on several replicas at once is safe, AutoOrderService only orders a location once.
      */
-    //TODO CHANGE 1 MIN SCHEDULER TO 1 HOUR LATER
-    @Scheduled(cron = "0 * * * * ?")
-    public void AutoOrderByStockLevel() {
-
-        List<Product> productList = productService.findAllByMinimumStockLevelAndStatus(EStatus.ACTIVE);
-        productList.forEach(product ->
+    @Scheduled(cron = "${stock.auto-order.sweep-cron:0 */15 * * * ?}")
+    public void AutoOrderByStockLevel()
+    {
+        long afterProductId = 0L;
+        long afterWareHouseId = 0L;
+        List<ProductStock> candidates;
+        do
         {
-            if (!product.getIsProductAutoOrdered() && product.getIsAutoOrderEnabled())
+            candidates = productService.findAutoOrderCandidates(afterProductId, afterWareHouseId, pageSize);
+            for (ProductStock candidate : candidates)
             {
-                //Sending suppliers email to inform them.
-                Supplier supplier = supplierService.findById(product.getSupplierId());
-                rabbitTemplate.convertAndSend("businessDirectExchange", "keySendMail", new EmailSendModal(supplier.getEmail(), "Auto Order", "Your product " + product.getName()+" is below minimum stock level. We would like to order " + product.getMinimumStockLevel()*2 + " of it."));
-
-                //TODO AUTO ORDER COUNT SET TO MINSTOCKLEVEL*2 MAYBE IT CAN BE CHANGED LATER
-                orderService.saveBuyOrderForAutoScheduler(new BuyOrderSaveRequestDTO(product.getSupplierId(), product.getId(), product.getMinimumStockLevel() * 2),product.getMemberId());
-                product.setIsProductAutoOrdered(true);
-                productService.save(product);
+                try
+                {
+                    autoOrderService.autoOrderIfLow(candidate.getProductId(), candidate.getWareHouseId());
+                }
+                catch (RuntimeException e)
+                {
+                    //One broken product (e.g. deleted supplier) shouldn't stop the sweep
+                    log.warn("Auto order failed for product " + candidate.getProductId() + " in warehouse " + candidate.getWareHouseId() + ": " + e.getMessage());
+                }
             }
-        });
-
-
+            if (!candidates.isEmpty())
+            {
+                ProductStock last = candidates.get(candidates.size() - 1);
+                afterProductId = last.getProductId();
+                afterWareHouseId = last.getWareHouseId();
+            }
+        }
+        while (candidates.size() == pageSize);
     }
 }
@@ -132,16 +132,16 @@ public class DemoDataGenerator
     private void orderDemoData()
     {
 
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(1L, 2L, 10));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(2L, 5L, 15));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(3L, 8L, 20));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(4L, 10L, 5));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(5L, 12L, 8));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(6L, 1L, 30));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(7L, 3L, 25));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(3L, 7L, 12));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(4L, 9L, 18));
-        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(5L, 14L, 22));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(1L, 2L, 10, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(2L, 5L, 15, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(3L, 8L, 20, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(4L, 10L, 5, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(5L, 12L, 8, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(6L, 1L, 30, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(7L, 3L, 25, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(3L, 7L, 12, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(4L, 9L, 18, null));
+        orderService.saveSellOrderForDemoData(new SellOrderSaveRequestDTO(5L, 14L, 22, null));
 
 
 
@@ -152,16 +152,16 @@ public class DemoDataGenerator
     private void stockMovementDemoData()
     {
 
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(1L,  10, EStockMovementType.IN));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(2L,  15, EStockMovementType.OUT));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(3L,  20, EStockMovementType.IN));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(4L,  22, EStockMovementType.OUT));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(5L,  2, EStockMovementType.IN));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(6L,  7, EStockMovementType.OUT));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(7L,  3, EStockMovementType.IN));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(8L,  5, EStockMovementType.OUT));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(9L,  15, EStockMovementType.IN));
-        stockMovementService.saveForDemoData(new StockMovementSaveDTO(10L, 25, EStockMovementType.OUT));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(1L,  10, EStockMovementType.IN, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(2L,  15, EStockMovementType.OUT, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(3L,  20, EStockMovementType.IN, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(4L,  22, EStockMovementType.OUT, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(5L,  2, EStockMovementType.IN, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(6L,  7, EStockMovementType.OUT, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(7L,  3, EStockMovementType.IN, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(8L,  5, EStockMovementType.OUT, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(9L,  15, EStockMovementType.IN, null));
+        stockMovementService.saveForDemoData(new StockMovementSaveDTO(10L, 25, EStockMovementType.OUT, null));
 
     }
 
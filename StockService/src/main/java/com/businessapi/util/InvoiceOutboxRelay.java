@@ -0,0 +1,37 @@
+package com.businessapi.util;
+
+import com.businessapi.services.InvoiceOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InvoiceOutboxRelay
+{
+    private final InvoiceOutboxService invoiceOutboxService;
+
+    /**
+     * Drains the invoice outbox one batch at a time. Several replicas can run it at once, each claims different rows.
+     * A failed batch stays in the outbox and is sent again on the next run.
+     */
+    @Scheduled(fixedDelayString = "${stock.invoice-outbox.relay-delay:1000}")
+    public void relayInvoices()
+    {
+        try
+        {
+            int sent;
+            do
+            {
+                sent = invoiceOutboxService.relayBatch();
+            }
+            while (sent == invoiceOutboxService.getBatchSize());
+        }
+        catch (RuntimeException e)
+        {
+            log.warn("Invoice outbox relay failed, retrying on the next run: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.businessapi.util;
+
+import com.businessapi.services.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class StockSnapshotScheduler
+{
+    private final StockLedgerService stockLedgerService;
+
+    /**
+     * Every night stock of the locations that changed is snapshotted, point-in-time queries start from these
+     */
+    @Scheduled(cron = "${stock.snapshot.cron:0 0 1 * * ?}")
+    public void takeStockSnapshot()
+    {
+        stockLedgerService.takeSnapshot();
+    }
+}
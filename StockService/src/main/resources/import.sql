@@ -0,0 +1,13 @@
+-- Runs after Hibernate creates the schema (ddl-auto create-drop). Partial index for the auto order sweep, see ProductStockRepository.findAutoOrderCandidates
+CREATE INDEX IF NOT EXISTS idx_product_stock_auto_order_candidate ON tblproductstock (product_id, ware_house_id) WHERE is_auto_ordered = false AND stock_count < minimum_stock_level;
+-- Trigram indexes for the ILIKE '%text%' searches and the ranked search endpoints, member_id first (btree_gin) so one tenant's rows are matched without scanning the others
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_product_name_trgm ON tblproduct USING gin (member_id, name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_product_description_trgm ON tblproduct USING gin (member_id, description gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customer_name_trgm ON tblcustomer USING gin (member_id, name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customer_full_name_trgm ON tblcustomer USING gin (member_id, (COALESCE(name, '') || ' ' || COALESCE(surname, '')) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customer_email_trgm ON tblcustomer USING gin (member_id, email gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_supplier_name_trgm ON tblsupplier USING gin (member_id, name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_product_category_name_trgm ON tblproductcategory USING gin (member_id, name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_warehouse_name_trgm ON tblwarehouse USING gin (member_id, name gin_trgm_ops);
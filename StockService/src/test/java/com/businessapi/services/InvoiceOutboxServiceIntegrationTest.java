@@ -0,0 +1,225 @@
+package com.businessapi.services;
+
+import com.businessapi.RabbitMQ.Model.InvoiceBatchModel;
+import com.businessapi.RabbitMQ.Model.InvoiceModel;
+import com.businessapi.entities.InvoiceOutbox;
+import com.businessapi.exception.ErrorType;
+import com.businessapi.exception.StockServiceException;
+import com.businessapi.repositories.InvoiceOutboxRepository;
+import com.businessapi.util.InvoiceOutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Needs the PostgreSQL database of application.yml, like StockServiceApplicationTests.
+ * Claims, releases and deletes run against the real tblinvoiceoutbox, only the broker confirm is played by the test.
+ * The scheduled relay is replaced by a mock so it doesn't claim the rows of the test.
+ */
+@SpringBootTest
+class InvoiceOutboxServiceIntegrationTest
+{
+    private static final Duration CONFIRM_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration CLAIM_TIMEOUT = Duration.ofSeconds(60);
+
+    @MockBean
+    RabbitTemplate rabbitTemplate;
+
+    @MockBean
+    InvoiceOutboxRelay invoiceOutboxRelay;
+
+    @Autowired
+    InvoiceOutboxRepository invoiceOutboxRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private InvoiceOutboxService invoiceOutboxService;
+
+    @BeforeEach
+    void setUp()
+    {
+        //The demo sell orders leave their invoices in the outbox
+        invoiceOutboxRepository.deleteAllInBatch();
+        invoiceOutboxService = new InvoiceOutboxService(invoiceOutboxRepository, rabbitTemplate, 500, CONFIRM_TIMEOUT, CLAIM_TIMEOUT);
+    }
+
+    @Test
+    void ackDeletesTheSentRows()
+    {
+        List<Long> ids = addInvoices(1L, 2L, 3L);
+        confirmWith(true);
+
+        assertEquals(3, invoiceOutboxService.relayBatch());
+
+        assertEquals(List.of(1L, 2L, 3L), sentOrderIds());
+        assertEquals(0, invoiceOutboxRepository.findAllById(ids).size());
+        assertEquals(0, invoiceOutboxService.relayBatch());
+    }
+
+    @Test
+    void nackReleasesTheClaim()
+    {
+        List<Long> ids = addInvoices(1L, 2L);
+        confirmWith(false);
+
+        StockServiceException e = assertThrows(StockServiceException.class, () -> invoiceOutboxService.relayBatch());
+
+        assertEquals(ErrorType.INVOICE_PUBLISH_FAILED, e.getErrorType());
+        assertUnclaimed(ids);
+        confirmWith(true);
+        assertEquals(2, invoiceOutboxService.relayBatch());
+    }
+
+    @Test
+    void missingConfirmReleasesTheClaimAfterTheTimeout()
+    {
+        //The mock never completes the correlation future
+        List<Long> ids = addInvoices(1L, 2L);
+
+        StockServiceException e = assertThrows(StockServiceException.class, () -> invoiceOutboxService.relayBatch());
+
+        assertEquals(ErrorType.INVOICE_PUBLISH_FAILED, e.getErrorType());
+        assertUnclaimed(ids);
+    }
+
+    @Test
+    void claimedRowsAreSkipped()
+    {
+        addInvoices(1L, 2L, 3L);
+        //Another replica is sending the two oldest rows
+        assertEquals(2, invoiceOutboxRepository.claimOldest(2, CLAIM_TIMEOUT.toSeconds()).size());
+        confirmWith(true);
+
+        assertEquals(1, invoiceOutboxService.relayBatch());
+
+        assertEquals(List.of(3L), sentOrderIds());
+        assertEquals(2, invoiceOutboxRepository.count());
+    }
+
+    @Test
+    void rowsLockedByAnotherClaimAreSkippedWithoutWaiting() throws Exception
+    {
+        List<Long> ids = addInvoices(1L, 2L);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        //Holds the row lock of the oldest row like a claim that hasn't committed yet
+        CompletableFuture<Void> claim = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status ->
+        {
+            jdbcTemplate.queryForList("SELECT id FROM tblinvoiceoutbox WHERE id = ? FOR UPDATE", ids.get(0));
+            locked.countDown();
+            try
+            {
+                done.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        confirmWith(true);
+
+        try
+        {
+            assertEquals(1, invoiceOutboxService.relayBatch());
+        }
+        finally
+        {
+            done.countDown();
+            claim.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of(2L), sentOrderIds());
+        assertEquals(List.of(ids.get(0)), invoiceOutboxRepository.findAll().stream().map(InvoiceOutbox::getId).toList());
+    }
+
+    @Test
+    void expiredClaimIsSentAgain()
+    {
+        List<Long> ids = addInvoices(1L);
+        assertEquals(1, invoiceOutboxRepository.claimOldest(10, CLAIM_TIMEOUT.toSeconds()).size());
+        confirmWith(true);
+        assertEquals(0, invoiceOutboxService.relayBatch());
+
+        //The replica that claimed the row died before its claim ran out
+        jdbcTemplate.update("UPDATE tblinvoiceoutbox SET claimed_until = now() - interval '1 second' WHERE id = ?", ids.get(0));
+
+        assertEquals(1, invoiceOutboxService.relayBatch());
+        assertEquals(List.of(1L), sentOrderIds());
+        assertEquals(0, invoiceOutboxRepository.count());
+    }
+
+    private List<Long> addInvoices(Long... orderIds)
+    {
+        List<InvoiceOutbox> invoices = invoiceOutboxRepository.saveAll(Arrays.stream(orderIds)
+                .map(orderId -> InvoiceOutbox
+                        .builder()
+                        .orderId(orderId)
+                        .productId(1L)
+                        .productName("outbox test")
+                        .quantity(1)
+                        .price(BigDecimal.TEN)
+                        .totalAmount(BigDecimal.TEN)
+                        .invoiceDate(LocalDate.now())
+                        .build())
+                .toList());
+        return invoices.stream().map(InvoiceOutbox::getId).toList();
+    }
+
+    // The broker answers every publish with an ack or a nack
+    private void confirmWith(boolean ack)
+    {
+        doAnswer(invocation ->
+        {
+            invocation.getArgument(3, CorrelationData.class).getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    // Order ids of the last batch sent
+    private List<Long> sentOrderIds()
+    {
+        ArgumentCaptor<InvoiceBatchModel> batch = ArgumentCaptor.forClass(InvoiceBatchModel.class);
+        verify(rabbitTemplate, atLeastOnce())
+                .convertAndSend(eq("businessDirectExchange"), eq("keyGetModelBatchFromStockService"), batch.capture(), any(CorrelationData.class));
+        return batch.getValue().getInvoices().stream().map(InvoiceModel::getOrderId).toList();
+    }
+
+    private void assertUnclaimed(List<Long> ids)
+    {
+        List<InvoiceOutbox> invoices = invoiceOutboxRepository.findAllById(ids);
+        assertEquals(ids.size(), invoices.size());
+        invoices.forEach(invoice -> assertNull(invoice.getClaimedUntil(), "claim of " + invoice.getId()));
+    }
+}
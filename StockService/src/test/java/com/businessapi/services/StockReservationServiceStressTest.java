@@ -0,0 +1,308 @@
+package com.businessapi.services;
+
+import com.businessapi.entities.Product;
+import com.businessapi.exception.ErrorType;
+import com.businessapi.exception.StockServiceException;
+import com.businessapi.repositories.ProductRepository;
+import com.businessapi.repositories.ProductStockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Needs the PostgreSQL database of application.yml, like StockServiceApplicationTests.
+ * Hammers StockReservationService from many threads through its transactional proxy, so every call runs the real
+ * conditional UPDATE, the native upserts and the row locks. The assertions cover what the database has to keep true:
+ * no lost updates, no overselling, product totals equal to the sum of their warehouses and a ledger that adds up to the stock.
+ */
+@SpringBootTest
+class StockReservationServiceStressTest
+{
+    // Below the connection pool size, every reservation borrows a second connection for the after-commit auto order check
+    private static final int THREADS = 8;
+    private static final Long WAREHOUSE = 1L;
+    private static final Long OTHER_WAREHOUSE = 2L;
+    // Far from the demo data members, the products of this member only hold what the test writes
+    private static final Long MEMBER = 90_000L;
+
+    @MockBean
+    RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    StockReservationService stockReservationService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductStockRepository productStockRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hotProductIsNeverOversold() throws Exception
+    {
+        int initialStock = 1_000;
+        int attemptsPerThread = 200;
+        Long productId = createProduct(WAREHOUSE, initialStock);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() ->
+        {
+            for (int i = 0; i < attemptsPerThread; i++)
+            {
+                try
+                {
+                    stockReservationService.reserve(productId, WAREHOUSE, "hot", 1);
+                    reserved.incrementAndGet();
+                }
+                catch (StockServiceException e)
+                {
+                    assertEquals(ErrorType.INSUFFICIENT_STOCK, e.getErrorType());
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(initialStock, reserved.get());
+        assertEquals(THREADS * attemptsPerThread - initialStock, rejected.get());
+        assertEquals(0, stock(productId, WAREHOUSE));
+        assertEquals(0, total(productId));
+        assertEquals(0, ledgerSum(productId, WAREHOUSE));
+    }
+
+    @Test
+    void mixedReservationsAndReleasesLoseNoUpdates() throws Exception
+    {
+        int initialStock = 500;
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+        {
+            productIds.add(createProduct(WAREHOUSE, initialStock));
+        }
+        Map<Long, AtomicLong> netChange = new ConcurrentHashMap<>();
+
+        runConcurrently(() ->
+        {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 200; i++)
+            {
+                Long productId = productIds.get(random.nextInt(productIds.size()));
+                int quantity = random.nextInt(1, 10);
+                try
+                {
+                    if (random.nextBoolean())
+                    {
+                        stockReservationService.reserve(productId, WAREHOUSE, "product-" + productId, quantity);
+                        netChange.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(-quantity);
+                    }
+                    else
+                    {
+                        stockReservationService.release(productId, WAREHOUSE, quantity);
+                        netChange.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(quantity);
+                    }
+                }
+                catch (StockServiceException e)
+                {
+                    assertEquals(ErrorType.INSUFFICIENT_STOCK, e.getErrorType());
+                }
+            }
+        });
+
+        for (Long productId : productIds)
+        {
+            long expected = initialStock + netChange.getOrDefault(productId, new AtomicLong()).get();
+            assertEquals(expected, stock(productId, WAREHOUSE), "stock of product " + productId);
+            assertEquals(expected, total(productId), "total of product " + productId);
+            assertEquals(expected, ledgerSum(productId, WAREHOUSE), "ledger of product " + productId);
+            assertTrue(stock(productId, WAREHOUSE) >= 0);
+        }
+    }
+
+    @Test
+    void stripesHeldUntilCommitAreAlwaysReleased() throws Exception
+    {
+        int initialStock = 10_000;
+        Long first = createProduct(WAREHOUSE, initialStock);
+        Long second = createProduct(WAREHOUSE, initialStock);
+        AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(() ->
+        {
+            for (int i = 0; i < 100; i++)
+            {
+                inTransaction(() ->
+                {
+                    stockReservationService.reserve(first, WAREHOUSE, "first", 1);
+                    stockReservationService.reserve(second, WAREHOUSE, "second", 1);
+                });
+                reserved.addAndGet(2);
+            }
+        });
+
+        assertEquals(THREADS * 200, reserved.get());
+        assertEquals(2L * initialStock - THREADS * 200, stock(first, WAREHOUSE) + stock(second, WAREHOUSE));
+        assertEquals(2L * initialStock - THREADS * 200, total(first) + total(second));
+    }
+
+    @Test
+    void transfersAndSalesKeepWarehousesConsistentWithTotal() throws Exception
+    {
+        int initialStock = 2_000;
+        Long productId = createProduct(WAREHOUSE, initialStock);
+        AtomicInteger sold = new AtomicInteger();
+
+        runConcurrently(() ->
+        {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 200; i++)
+            {
+                boolean forward = random.nextBoolean();
+                Long from = forward ? WAREHOUSE : OTHER_WAREHOUSE;
+                Long to = forward ? OTHER_WAREHOUSE : WAREHOUSE;
+                try
+                {
+                    if (random.nextInt(4) == 0)
+                    {
+                        stockReservationService.reserve(productId, from, "moved", 1);
+                        sold.incrementAndGet();
+                    }
+                    else
+                    {
+                        stockReservationService.transfer(productId, from, to, "moved", random.nextInt(1, 5));
+                    }
+                }
+                catch (StockServiceException e)
+                {
+                    assertEquals(ErrorType.INSUFFICIENT_STOCK, e.getErrorType());
+                }
+            }
+        });
+
+        //The other warehouse has no row until the first transfer creates it through the upsert
+        assertTrue(stock(productId, WAREHOUSE) >= 0);
+        assertTrue(stock(productId, OTHER_WAREHOUSE) >= 0);
+        assertEquals(initialStock - sold.get(), stock(productId, WAREHOUSE) + stock(productId, OTHER_WAREHOUSE));
+        assertEquals(initialStock - sold.get(), total(productId));
+        assertEquals(stock(productId, WAREHOUSE), ledgerSum(productId, WAREHOUSE));
+        assertEquals(stock(productId, OTHER_WAREHOUSE), ledgerSum(productId, OTHER_WAREHOUSE));
+    }
+
+    @Test
+    void overwritesRacingReservationsKeepTheLedgerExact() throws Exception
+    {
+        Long productId = createProduct(WAREHOUSE, 100);
+
+        runConcurrently(() ->
+        {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 100; i++)
+            {
+                try
+                {
+                    if (random.nextInt(5) == 0)
+                    {
+                        stockReservationService.setStockCount(productId, WAREHOUSE, random.nextInt(0, 100));
+                    }
+                    else
+                    {
+                        stockReservationService.reserve(productId, WAREHOUSE, "overwritten", random.nextInt(1, 5));
+                    }
+                }
+                catch (StockServiceException e)
+                {
+                    assertEquals(ErrorType.INSUFFICIENT_STOCK, e.getErrorType());
+                }
+            }
+        });
+
+        //Every overwrite appended the difference to the stock it read under the row lock
+        assertEquals(stock(productId, WAREHOUSE), ledgerSum(productId, WAREHOUSE));
+        assertEquals(stock(productId, WAREHOUSE), total(productId));
+    }
+
+    // Starts with stock only in the given warehouse, set through the service so the ledger holds the initial stock
+    private Long createProduct(Long wareHouseId, int stockCount)
+    {
+        Product product = productRepository.save(Product
+                .builder()
+                .memberId(MEMBER)
+                .wareHouseId(wareHouseId)
+                .name("stress-" + System.nanoTime())
+                .stockCount(0)
+                .isAutoOrderEnabled(false)
+                .build());
+        stockReservationService.setStockCount(product.getId(), wareHouseId, stockCount);
+        return product.getId();
+    }
+
+    private int stock(Long productId, Long wareHouseId)
+    {
+        return productStockRepository.findStockCount(productId, wareHouseId).orElse(0);
+    }
+
+    private int total(Long productId)
+    {
+        return productRepository.findById(productId).orElseThrow().getStockCount();
+    }
+
+    private long ledgerSum(Long productId, Long wareHouseId)
+    {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM tblstockledger WHERE product_id = ? AND ware_house_id = ?",
+                Long.class, productId, wareHouseId);
+    }
+
+    // Starts all workers at once and waits for them
+    private void runConcurrently(Runnable work) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++)
+        {
+            futures.add(executor.submit(() ->
+            {
+                start.await();
+                work.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures)
+        {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    // The stripe is held until the after-completion callback of this transaction, like it is under a @Transactional caller
+    private void inTransaction(Runnable work)
+    {
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+}
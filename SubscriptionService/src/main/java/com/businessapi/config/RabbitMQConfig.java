@@ -13,6 +13,7 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig
 {
     String directExchange="businessDirectExchange";
+    String roleChangeFanoutExchange = "roleChangeFanoutExchange";
     String queueFindAuthByToken = "find.auth.by.token";
     String keyFindAuthByToken = "key.find.auth.by.token";
     public static final String queueAddRoleFromSubscription = "queueAddRoleFromSubscription";
@@ -71,6 +72,22 @@ public class RabbitMQConfig
     }
 
     ////////////////////////////////
+    //UserManagement publishes an authId here whenever that user's roles or status change, every instance gets its own queue
+    @Bean
+    public FanoutExchange roleChangeFanoutExchange(){
+        return new FanoutExchange(roleChangeFanoutExchange);
+    }
+
+    @Bean
+    public Queue queueRoleChange(){
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingRoleChange(Queue queueRoleChange, FanoutExchange roleChangeFanoutExchange){
+        return BindingBuilder.bind(queueRoleChange).to(roleChangeFanoutExchange);
+    }
+
     @Bean
     MessageConverter messageConverter(){
         return new Jackson2JsonMessageConverter();
@@ -64,6 +64,9 @@ public class RabbitConfig {
     //authId ile auth servisten kullanıcının mail adresini almak için kullanılan kuyrul yapısı
     public static final String queueGetMailByAuthId = "queueGetMailByAuthId";
     public static final String keyGetMailByAuthId = "keyGetMailByAuthId";
+    //authId listesi ile tek sorguda kullanıcıların mail adreslerini almak için kullanılan kuyruk yapısı
+    public static final String queueGetMailsByAuthIds = "queueGetMailsByAuthIds";
+    public static final String keyGetMailsByAuthIds = "keyGetMailsByAuthIds";
     //Satın alma işlemi sonrası rol ataması için kullanılacak bağlantıda gerekli kuyruk yapısı
     public static final String queueAddRoleFromSubscription = "queueAddRoleFromSubscription";
     public static final String keyAddRoleFromSubscription = "keyAddRoleFromSubscription";
@@ -87,6 +90,9 @@ public class RabbitConfig {
     private static final String queueSendMailNewPassword = "queueSendMailNewPassword";
     private static final String keySendMailNewPassword = "keySendMailNewPassword";
 
+    //Kullanıcının rolleri/statüsü değiştiğinde diğer servislerdeki rol cache'lerinin temizlenmesi için fanout exchange
+    public static final String ROLE_CHANGE_EXCHANGE = "roleChangeFanoutExchange";
+
 
     @Bean
     public Queue queue() {
@@ -110,6 +116,11 @@ public class RabbitConfig {
         return new DirectExchange(businessDirectExchange);
     }
 
+    @Bean
+    public FanoutExchange roleChangeFanoutExchange() {
+        return new FanoutExchange(ROLE_CHANGE_EXCHANGE);
+    }
+
 
 
 
@@ -164,6 +175,11 @@ public class RabbitConfig {
         return new Queue(queueGetMailByAuthId);
     }
 
+    @Bean
+    public Queue queueGetMailsByAuthIds() {
+        return new Queue(queueGetMailsByAuthIds);
+    }
+
     @Bean
     public Queue queueAddRoleFromSubscription() {
         return new Queue(queueAddRoleFromSubscription);
@@ -238,6 +254,11 @@ public class RabbitConfig {
     public Binding bindingGetMailByAuthId(Queue queueGetMailByAuthId, DirectExchange businessDirectExchange) {
         return BindingBuilder.bind(queueGetMailByAuthId).to(businessDirectExchange).with(keyGetMailByAuthId);
     }
+
+    @Bean
+    public Binding bindingGetMailsByAuthIds(Queue queueGetMailsByAuthIds, DirectExchange businessDirectExchange) {
+        return BindingBuilder.bind(queueGetMailsByAuthIds).to(businessDirectExchange).with(keyGetMailsByAuthIds);
+    }
     @Bean
     public Binding bindingAddRoleFromSubscription (Queue queueAddRoleFromSubscription, DirectExchange businessDirectExchange) {
         return BindingBuilder.bind(queueAddRoleFromSubscription).to(businessDirectExchange).with(keyAddRoleFromSubscription);
@@ -1,6 +1,7 @@
 package com.businessapi.service;
 
 import com.businessapi.RabbitMQ.Model.*;
+import com.businessapi.config.RabbitConfig;
 import com.businessapi.dto.requestDTOs.*;
 import com.businessapi.dto.responseDTOs.GetAllUsersResponseDTO;
 import com.businessapi.dto.responseDTOs.GetUserInformationDTO;
@@ -21,9 +22,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -92,6 +97,7 @@ public class UserService {
 
         rabbitTemplate.convertAndSend("businessDirectExchange","keyDeleteAuth", user.getAuthId());
         userRepository.save(user);
+        publishRoleChange(user.getAuthId());
     }
 
     @Transactional
@@ -141,15 +147,15 @@ public class UserService {
                 .toList();
 
         List<GetAllUsersResponseDTO> allUsersResponseDTOList = new ArrayList<>();
+        Map<Long, String> mailsByAuthId = getMailsByAuthIds(allUsersList);
 
        allUsersList.forEach(user -> {
            List<String> userRolesString = user.getRole().stream().map(Role::getRoleName).toList();
-           String usersMail = (String) rabbitTemplate.convertSendAndReceive("businessDirectExchange","keyGetMailByAuthId", user.getAuthId());
            allUsersResponseDTOList.add(GetAllUsersResponseDTO.builder()
                    .id(user.getId())
                    .firstName(user.getFirstName())
                    .lastName(user.getLastName())
-                   .email(usersMail)
+                   .email(mailsByAuthId.get(user.getAuthId()))
                    .status(user.getStatus())
                    .userRoles(userRolesString)
                    .build());
@@ -163,17 +169,17 @@ public class UserService {
     public PageableUserListResponseDTO pageableGettAll(PageRequestDTO pageRequestDTO) {
         Pageable pageable = PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size());
         Page<User> userPage = userRepository.findAllByLastNameContainingIgnoreCaseExcludingSuperAdmin(pageRequestDTO.searchText(),pageable);
+        Map<Long, String> mailsByAuthId = getMailsByAuthIds(userPage.getContent());
 
         List<GetAllUsersResponseDTO> allUsersResponseDTOList = userPage.getContent().stream()
                 //.filter(user -> user.getRole().stream().noneMatch(role -> role.getRoleName().equals("SUPER_ADMIN")))
                 .map(user -> {
                     List<String> userRolesString = user.getRole().stream().map(Role::getRoleName).toList();
-                    String usersMail = (String) rabbitTemplate.convertSendAndReceive("businessDirectExchange", "keyGetMailByAuthId", user.getAuthId());
                     return GetAllUsersResponseDTO.builder()
                             .id(user.getId())
                             .firstName(user.getFirstName())
                             .lastName(user.getLastName())
-                            .email(usersMail)
+                            .email(mailsByAuthId.get(user.getAuthId()))
                             .status(user.getStatus())
                             .userRoles(userRolesString)
                             .build();
@@ -182,6 +188,22 @@ public class UserService {
         return PageableUserListResponseDTO.builder().userList(allUsersResponseDTOList).totalElements(userPage.getTotalElements()).currentPage(userPage.getNumber()).totalPages(userPage.getTotalPages()).build();
     }
 
+    /**
+     * Listedeki kullanıcıların mail adreslerini auth servisten tek bir istekle alır.
+     * Cevap gelmezse boş map döner, mail alanları null kalır.
+     */
+    private Map<Long, String> getMailsByAuthIds(List<User> users) {
+        List<Long> authIds = users.stream().map(User::getAuthId).filter(Objects::nonNull).distinct().toList();
+        if (authIds.isEmpty()) {
+            return Map.of();
+        }
+        MailsByAuthIdsModel response = (MailsByAuthIdsModel) rabbitTemplate.convertSendAndReceive("businessDirectExchange", RabbitConfig.keyGetMailsByAuthIds, AuthIdListModel.builder().authIds(authIds).build());
+        if (response == null || response.getMails() == null) {
+            return Map.of();
+        }
+        return response.getMails();
+    }
+
 
 
 
@@ -192,7 +214,7 @@ public class UserService {
         user.getRole().add(roleById);
         isUserCustomer(user);
         userRepository.save(user);
-
+        publishRoleChange(user.getAuthId());
     }
 
     private void isUserCustomer(User user) {
@@ -220,6 +242,23 @@ public class UserService {
 
 
 
+    /**
+     * Diğer servislerdeki JwtTokenFilter rol cache'lerine ilgili authId'nin geçersiz olduğunu bildirir.
+     * Transaction açıksa mesaj commit sonrasında gönderilir, böylece cache eski rolleri tekrar yüklemez.
+     */
+    private void publishRoleChange(Long authId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rabbitTemplate.convertAndSend(RabbitConfig.ROLE_CHANGE_EXCHANGE, "", authId);
+                }
+            });
+        } else {
+            rabbitTemplate.convertAndSend(RabbitConfig.ROLE_CHANGE_EXCHANGE, "", authId);
+        }
+    }
+
     public UserRoleListModel getRolesForSecurity(Long authId){
         List<Role> userRoles = userRepository.getUserRoles(authId);
         List<String> userRolesString = new ArrayList<>();
@@ -281,6 +320,7 @@ public class UserService {
         }
         // if addRoleFromSubscriptionModel.roles is empty just save it empty
         userRepository.save(user);
+        publishRoleChange(user.getAuthId());
     }
     @RabbitListener(queues = "queueDeleteRoleFromSubscription")
     public void deleteRoleFromSubscription(DeleteRoleFromSubscriptionModel deleteRoleFromSubscriptionModel) {
@@ -294,6 +334,7 @@ public class UserService {
             user.getRole().remove(role);
         });
         userRepository.save(user);
+        publishRoleChange(user.getAuthId());
 
     }
 
@@ -333,6 +374,7 @@ public class UserService {
         user.setStatus(updateUserStatusRequestDTO.status());
         rabbitTemplate.convertAndSend("businessDirectExchange", "keyUpdateStatus",UpdateStatusModel.builder().authId(user.getAuthId()).status(user.getStatus()).build());
         userRepository.save(user);
+        publishRoleChange(user.getAuthId());
 
         return null;
     }